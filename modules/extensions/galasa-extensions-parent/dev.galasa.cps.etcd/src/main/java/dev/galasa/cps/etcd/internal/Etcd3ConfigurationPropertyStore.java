@@ -13,7 +13,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
 import javax.validation.constraints.NotNull;
@@ -21,11 +23,18 @@ import javax.validation.constraints.Null;
 
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.IConfigurationPropertyStore;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreWatcher;
 import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Client;
 import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Watch.Listener;
+import io.etcd.jetcd.Watch.Watcher;
 import io.etcd.jetcd.kv.GetResponse;
 import io.etcd.jetcd.options.GetOption;
 import io.etcd.jetcd.options.OptionsUtil;
+import io.etcd.jetcd.options.WatchOption;
+import io.etcd.jetcd.watch.WatchEvent;
+import io.etcd.jetcd.watch.WatchResponse;
 
 /**
  * This class impletements the CPS for etcd using the JETCD client.
@@ -34,7 +43,8 @@ import io.etcd.jetcd.options.OptionsUtil;
  * @author Matthew Chivers
  */
 public class Etcd3ConfigurationPropertyStore extends Etcd3Store implements IConfigurationPropertyStore {
-    
+
+    private final Map<UUID, Watcher> watchers = new ConcurrentHashMap<>();
 
     /**
      * This constructor create a priate KVClient from JETCD for store interactions.
@@ -45,6 +55,10 @@ public class Etcd3ConfigurationPropertyStore extends Etcd3Store implements IConf
         super(cpsUri);
     }
 
+    public Etcd3ConfigurationPropertyStore(Client client) {
+        super(client);
+    }
+
     /**
      * This is the only method for CPS as managers should only need to get
      * properties from the CPS and not set or watch any.
@@ -98,8 +112,50 @@ public class Etcd3ConfigurationPropertyStore extends Etcd3Store implements IConf
         }
     }
 
+    @Override
+    public boolean isWatchSupported() {
+        return true;
+    }
+
+    /**
+     * The watch starts from the revision of the store when this method is called, so the
+     * watcher is told about every change made after this method returns, even if etcd has
+     * not finished setting the watch up by then.
+     */
+    @Override
+    public UUID watchPrefix(@NotNull IConfigurationPropertyStoreWatcher watcher, @NotNull String keyPrefix)
+            throws ConfigurationPropertyStoreException {
+        ByteSequence bsPrefix = ByteSequence.from(keyPrefix, UTF_8);
+        try {
+            GetOption revisionOption = GetOption.builder().isPrefix(true).withCountOnly(true).build();
+            long revision = kvClient.get(bsPrefix, revisionOption).get().getHeader().getRevision();
+
+            WatchOption watchOption = WatchOption.builder().isPrefix(true).withRevision(revision + 1).build();
+            UUID watchId = UUID.randomUUID();
+            watchers.put(watchId, client.getWatchClient().watch(bsPrefix, watchOption, new PassthroughWatcher(watcher)));
+            return watchId;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationPropertyStoreException("Could not watch prefix, interrupted", e);
+        } catch (ExecutionException e) {
+            throw new ConfigurationPropertyStoreException("Could not watch prefix", e);
+        }
+    }
+
+    @Override
+    public void unwatch(@NotNull UUID watchId) throws ConfigurationPropertyStoreException {
+        Watcher etcdWatcher = watchers.remove(watchId);
+        if (etcdWatcher != null) {
+            etcdWatcher.close();
+        }
+    }
+
     @Override
     public void shutdown() throws ConfigurationPropertyStoreException {
+        for (Watcher etcdWatcher : watchers.values()) {
+            etcdWatcher.close();
+        }
+        watchers.clear();
         kvClient.close();
         client.close();
     }
@@ -195,6 +251,48 @@ public class Etcd3ConfigurationPropertyStore extends Etcd3Store implements IConf
         return results;
     }
 
+    private static class PassthroughWatcher implements Listener {
 
+        private final IConfigurationPropertyStoreWatcher watcher;
 
+        public PassthroughWatcher(IConfigurationPropertyStoreWatcher watcher) {
+            this.watcher = watcher;
+        }
+
+        @Override
+        public void onNext(WatchResponse response) {
+            if (response == null || response.getEvents() == null) {
+                return;
+            }
+
+            for (WatchEvent event : response.getEvents()) {
+                KeyValue eventKey = event.getKeyValue();
+                if (event.getEventType() == null || eventKey == null) {
+                    continue;
+                }
+
+                String key = eventKey.getKey().toString(UTF_8);
+                switch (event.getEventType()) {
+                    case DELETE:
+                        watcher.propertyModified(key, null);
+                        break;
+                    case PUT:
+                        watcher.propertyModified(key, eventKey.getValue().toString(UTF_8));
+                        break;
+                    case UNRECOGNIZED:
+                    default:
+                        continue;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            watcher.watchFailed(throwable);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
 }
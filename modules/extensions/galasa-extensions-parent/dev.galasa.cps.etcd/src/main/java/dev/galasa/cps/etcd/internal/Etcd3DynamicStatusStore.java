@@ -75,6 +75,9 @@ public class Etcd3DynamicStatusStore implements IDynamicStatusStore {
 
     private final HashMap<UUID, PassthroughWatcher> watchers = new HashMap<>();
 
+    // The default limit etcd puts on the number of operations in a single transaction
+    private static final int                        MAX_TXN_OPS = 128;
+
     /**
      * The constructure sets up a private KVClient that can be used by this class to
      * interact with the etcd3 cluster.
@@ -332,6 +335,84 @@ public class Etcd3DynamicStatusStore implements IDynamicStatusStore {
         }
     }
 
+    /**
+     * A get of a set of keys in a single transaction, so every value is read at
+     * the same revision of the store.
+     *
+     * @param keys - the keys to retrieve
+     * @return A map of the keys that exist to their values
+     * @throws DynamicStatusStoreException A failure occurred.
+     */
+    @Override
+    public @NotNull Map<String, String> getMultiple(@NotNull Set<String> keys) throws DynamicStatusStoreException {
+        List<ByteSequence[]> ranges = new ArrayList<>();
+        for (String key : keys) {
+            ranges.add(new ByteSequence[] { ByteSequence.from(key, UTF_8), null });
+        }
+        return getRangesAtOneRevision(ranges);
+    }
+
+    /**
+     * A get of all keys and values that start with any of a set of prefixes, in a
+     * single transaction so every prefix is read at the same revision of the store.
+     *
+     * @param keyPrefixes - the prefixes for any key(s)
+     * @return A map of name-value pairs
+     * @throws DynamicStatusStoreException A failure occurred.
+     */
+    @Override
+    public @NotNull Map<String, String> getPrefixes(@NotNull Set<String> keyPrefixes) throws DynamicStatusStoreException {
+        List<ByteSequence[]> ranges = new ArrayList<>();
+        for (String keyPrefix : keyPrefixes) {
+            ByteSequence bsPrefix = ByteSequence.from(keyPrefix, UTF_8);
+            ranges.add(new ByteSequence[] { bsPrefix, OptionsUtil.prefixEndOf(bsPrefix) });
+        }
+        return getRangesAtOneRevision(ranges);
+    }
+
+    /**
+     * Reads each key, or key range, with a get operation in a transaction. etcd limits how
+     * many operations a transaction can hold, so a large request is split across several
+     * transactions, with the later ones pinned to the revision the first one was read at.
+     *
+     * @param ranges pairs of start key and range end, the range end is null for a single key
+     */
+    private Map<String, String> getRangesAtOneRevision(List<ByteSequence[]> ranges) throws DynamicStatusStoreException {
+        Map<String, String> keyValues = new HashMap<>();
+
+        long revision = 0;
+        for (int start = 0; start < ranges.size(); start += MAX_TXN_OPS) {
+            List<ByteSequence[]> batch = ranges.subList(start, Math.min(ranges.size(), start + MAX_TXN_OPS));
+
+            ArrayList<Op> ops = new ArrayList<>();
+            for (ByteSequence[] range : batch) {
+                GetOption.Builder options = GetOption.builder().withRevision(revision);
+                if (range[1] != null) {
+                    options.withRange(range[1]);
+                }
+                ops.add(Op.get(range[0], options.build()));
+            }
+
+            CompletableFuture<TxnResponse> response = kvClient.txn().Then(ops.toArray(new Op[ops.size()])).commit();
+            try {
+                TxnResponse txnResponse = response.get();
+                if (revision == 0) {
+                    revision = txnResponse.getHeader().getRevision();
+                }
+
+                for (GetResponse getResponse : txnResponse.getGetResponses()) {
+                    for (KeyValue kv : getResponse.getKvs()) {
+                        keyValues.put(kv.getKey().toString(UTF_8), kv.getValue().toString(UTF_8));
+                    }
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                Thread.currentThread().interrupt();
+                throw new DynamicStatusStoreException("Could not retrieve key(s).", e);
+            }
+        }
+        return keyValues;
+    }
+
     /**
      * A Simple delete of a singe Key value pair.
      * 
@@ -487,6 +568,7 @@ public class Etcd3DynamicStatusStore implements IDynamicStatusStore {
 
         @Override
         public void onError(Throwable throwable) {
+            watcher.watchFailed(throwable);
         }
 
         @Override
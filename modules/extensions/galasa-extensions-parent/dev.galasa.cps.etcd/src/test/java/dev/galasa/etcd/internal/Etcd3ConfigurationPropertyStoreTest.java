@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.etcd.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+
+import dev.galasa.cps.etcd.internal.Etcd3ConfigurationPropertyStore;
+import dev.galasa.etcd.internal.mocks.MockEtcdClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdKvClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdWatchClient;
+import dev.galasa.etcd.internal.mocks.MockEtcdWatchClient.MockWatcher;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreWatcher;
+import io.etcd.jetcd.api.Event;
+import io.etcd.jetcd.api.KeyValue;
+import io.etcd.jetcd.watch.WatchResponse;
+
+public class Etcd3ConfigurationPropertyStoreTest {
+
+    class MockCpsWatcher implements IConfigurationPropertyStoreWatcher {
+        List<String> changes = new ArrayList<>();
+        Throwable failure;
+
+        @Override
+        public void propertyModified(String key, String newValue) {
+            changes.add(key + "=" + newValue);
+        }
+
+        @Override
+        public void watchFailed(Throwable cause) {
+            failure = cause;
+        }
+    }
+
+    private Event createEvent(Event.EventType type, String key, String value) {
+        KeyValue.Builder kv = KeyValue.newBuilder().setKey(ByteString.copyFromUtf8(key));
+        if (value != null) {
+            kv.setValue(ByteString.copyFromUtf8(value));
+        }
+        return Event.newBuilder().setType(type).setKv(kv).build();
+    }
+
+    @Test
+    public void testWatchPrefixStartsFromTheNextRevisionAndPassesChangesOn() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        MockEtcdClient mockClient = new MockEtcdClient(mockProps);
+        ((MockEtcdKvClient) mockClient.getKVClient()).setRevision(41);
+        MockEtcdWatchClient mockWatchClient = (MockEtcdWatchClient) mockClient.getWatchClient();
+
+        Etcd3ConfigurationPropertyStore store = new Etcd3ConfigurationPropertyStore(mockClient);
+        MockCpsWatcher watcher = new MockCpsWatcher();
+
+        // When...
+        UUID watchId = store.watchPrefix(watcher, "zos.");
+
+        MockWatcher etcdWatcher = mockWatchClient.getWatchers().get(0);
+        io.etcd.jetcd.api.WatchResponse response = io.etcd.jetcd.api.WatchResponse.newBuilder()
+            .addEvents(createEvent(Event.EventType.PUT, "zos.image.PLEXMA.credentialid", "creds"))
+            .addEvents(createEvent(Event.EventType.DELETE, "zos.image.old", null))
+            .build();
+        etcdWatcher.getListener().onNext(new WatchResponse(response));
+
+        // Then...
+        assertThat(store.isWatchSupported()).isTrue();
+        assertThat(watchId).isNotNull();
+        assertThat(etcdWatcher.getKey().toString(UTF_8)).isEqualTo("zos.");
+        assertThat(etcdWatcher.getOption().isPrefix()).isTrue();
+        assertThat(etcdWatcher.getOption().getRevision()).isEqualTo(42);
+        assertThat(watcher.changes).containsExactly("zos.image.PLEXMA.credentialid=creds", "zos.image.old=null");
+    }
+
+    @Test
+    public void testWatchErrorIsPassedOnAndUnwatchClosesTheWatch() throws Exception {
+        // Given...
+        MockEtcdClient mockClient = new MockEtcdClient(new HashMap<>());
+        MockEtcdWatchClient mockWatchClient = (MockEtcdWatchClient) mockClient.getWatchClient();
+
+        Etcd3ConfigurationPropertyStore store = new Etcd3ConfigurationPropertyStore(mockClient);
+        MockCpsWatcher watcher = new MockCpsWatcher();
+        UUID watchId = store.watchPrefix(watcher, "zos.");
+        MockWatcher etcdWatcher = mockWatchClient.getWatchers().get(0);
+
+        // When...
+        Exception failure = new Exception("Connection lost");
+        etcdWatcher.getListener().onError(failure);
+        store.unwatch(watchId);
+
+        // Then...
+        assertThat(watcher.failure).isSameAs(failure);
+        assertThat(etcdWatcher.isClosed()).isTrue();
+    }
+}
@@ -6,7 +6,9 @@
 package dev.galasa.etcd.internal;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -42,4 +44,72 @@ public class Etcd3DynamicStatusStoreTest {
         assertThat(mockLeaseClient.getLeases()).hasSize(1);
         assertThat(mockLeaseClient.getLeases().get(0).getTTL()).isEqualTo(timeToLiveSecs);
     }
+
+    @Test
+    public void testGetMultipleReturnsOnlyTheKeysThatExist() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("run.U1.status", "running");
+        mockProps.put("run.U2.status", "queued");
+        mockProps.put("run.U3.status", "finished");
+
+        Etcd3DynamicStatusStore store = new Etcd3DynamicStatusStore(new MockEtcdClient(mockProps));
+
+        Set<String> keys = new HashSet<>();
+        keys.add("run.U1.status");
+        keys.add("run.U2.status");
+        keys.add("run.U4.status");
+
+        // When...
+        Map<String, String> values = store.getMultiple(keys);
+
+        // Then...
+        assertThat(values).hasSize(2)
+            .containsEntry("run.U1.status", "running")
+            .containsEntry("run.U2.status", "queued");
+    }
+
+    @Test
+    public void testGetMultipleWithMoreKeysThanOneTransactionCanHoldReturnsThemAll() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 300; i++) {
+            mockProps.put("resource.RES" + i, "RUN" + i);
+            keys.add("resource.RES" + i);
+        }
+
+        Etcd3DynamicStatusStore store = new Etcd3DynamicStatusStore(new MockEtcdClient(mockProps));
+
+        // When...
+        Map<String, String> values = store.getMultiple(keys);
+
+        // Then...
+        assertThat(values).isEqualTo(mockProps);
+    }
+
+    @Test
+    public void testGetPrefixesReturnsTheKeysUnderEveryPrefix() throws Exception {
+        // Given...
+        Map<String, String> mockProps = new HashMap<>();
+        mockProps.put("run.U1.status", "running");
+        mockProps.put("run.U1.heartbeat", "now");
+        mockProps.put("run.U10.status", "queued");
+        mockProps.put("run.U2.status", "finished");
+
+        Etcd3DynamicStatusStore store = new Etcd3DynamicStatusStore(new MockEtcdClient(mockProps));
+
+        Set<String> prefixes = new HashSet<>();
+        prefixes.add("run.U1.");
+        prefixes.add("run.U2.");
+
+        // When...
+        Map<String, String> values = store.getPrefixes(prefixes);
+
+        // Then...
+        assertThat(values).hasSize(3)
+            .containsEntry("run.U1.status", "running")
+            .containsEntry("run.U1.heartbeat", "now")
+            .containsEntry("run.U2.status", "finished");
+    }
 }
@@ -23,6 +23,7 @@ import io.etcd.jetcd.Txn;
 import io.etcd.jetcd.api.KeyValue;
 import io.etcd.jetcd.api.KeyValue.Builder;
 import io.etcd.jetcd.api.RangeResponse;
+import io.etcd.jetcd.api.ResponseHeader;
 import io.etcd.jetcd.kv.CompactResponse;
 import io.etcd.jetcd.kv.DeleteResponse;
 import io.etcd.jetcd.kv.GetResponse;
@@ -35,6 +36,7 @@ import io.etcd.jetcd.options.PutOption;
 public class MockEtcdKvClient implements KV {
 
     Map<String, String> kvContents = new HashMap<>();
+    long revision = 0;
 
     public MockEtcdKvClient(Map<String, String> kvContents) {
         this.kvContents = kvContents;
@@ -67,18 +69,17 @@ public class MockEtcdKvClient implements KV {
                 .filter(entry -> entry.getKey().startsWith(keyStr))
                 .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
             
-            RangeResponse rangeResponse;
-            if (matchingKeyValues.isEmpty()) {
-                rangeResponse = RangeResponse.newBuilder().build();
-            } else {
+            RangeResponse.Builder rangeResponseBuilder = RangeResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder().setRevision(revision));
+            if (!matchingKeyValues.isEmpty()) {
                 List<KeyValue> keyValues = new ArrayList<>();
                 for (Entry<String, String> matchingEntry : matchingKeyValues.entrySet()) {
                     KeyValue kv = createKeyValue(matchingEntry.getKey(), matchingEntry.getValue());
                     keyValues.add(kv);
                 }
-                rangeResponse = RangeResponse.newBuilder().addAllKvs(keyValues).build();
-
+                rangeResponseBuilder.addAllKvs(keyValues);
             }
+            RangeResponse rangeResponse = rangeResponseBuilder.build();
             GetResponse mockResponse = new GetResponse(rangeResponse, key);
             response = CompletableFuture.completedFuture(mockResponse);
         }
@@ -121,6 +122,10 @@ public class MockEtcdKvClient implements KV {
         return CompletableFuture.completedFuture(null);
     }
 
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
     private KeyValue createKeyValue(String key, String value) {
         ByteString keyByteStr = ByteString.copyFromUtf8(key);
         Builder builder = KeyValue.newBuilder().setKey(keyByteStr);
@@ -146,7 +151,7 @@ public class MockEtcdKvClient implements KV {
 
     @Override
     public Txn txn() {
-        throw new UnsupportedOperationException("Unimplemented method 'txn'");
+        return new MockEtcdTxn(kvContents, revision);
     }
     
 }
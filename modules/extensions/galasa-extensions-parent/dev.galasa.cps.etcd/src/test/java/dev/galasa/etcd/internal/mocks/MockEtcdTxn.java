@@ -0,0 +1,115 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.etcd.internal.mocks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.protobuf.ByteString;
+
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.Txn;
+import io.etcd.jetcd.api.KeyValue;
+import io.etcd.jetcd.api.RangeRequest;
+import io.etcd.jetcd.api.RangeResponse;
+import io.etcd.jetcd.api.RequestOp;
+import io.etcd.jetcd.api.ResponseHeader;
+import io.etcd.jetcd.api.ResponseOp;
+import io.etcd.jetcd.api.TxnResponse;
+import io.etcd.jetcd.op.Cmp;
+import io.etcd.jetcd.op.Op;
+
+/**
+ * A transaction against the mock KV client which supports unconditional get operations,
+ * all answered at the mock's current revision.
+ */
+public class MockEtcdTxn implements Txn {
+
+    private final Map<String, String> kvContents;
+    private final long revision;
+    private final List<Op> thenOps = new ArrayList<>();
+
+    public MockEtcdTxn(Map<String, String> kvContents, long revision) {
+        this.kvContents = kvContents;
+        this.revision = revision;
+    }
+
+    @Override
+    public Txn If(Cmp... cmps) {
+        throw new UnsupportedOperationException("Unimplemented method 'If'");
+    }
+
+    @Override
+    public Txn Then(Op... ops) {
+        for (Op op : ops) {
+            thenOps.add(op);
+        }
+        return this;
+    }
+
+    @Override
+    public Txn Else(Op... ops) {
+        throw new UnsupportedOperationException("Unimplemented method 'Else'");
+    }
+
+    @Override
+    public CompletableFuture<io.etcd.jetcd.kv.TxnResponse> commit() {
+        TxnResponse.Builder txnResponse = TxnResponse.newBuilder()
+            .setHeader(ResponseHeader.newBuilder().setRevision(revision))
+            .setSucceeded(true);
+
+        for (Op op : thenOps) {
+            RequestOp requestOp = toRequestOp(op);
+            if (!requestOp.hasRequestRange()) {
+                throw new UnsupportedOperationException("Only get operations are supported in a mock transaction");
+            }
+            txnResponse.addResponses(ResponseOp.newBuilder().setResponseRange(getRange(requestOp.getRequestRange())));
+        }
+
+        return CompletableFuture.completedFuture(new io.etcd.jetcd.kv.TxnResponse(txnResponse.build(), ByteSequence.EMPTY));
+    }
+
+    private RangeResponse getRange(RangeRequest request) {
+        String key = request.getKey().toStringUtf8();
+        String rangeEnd = request.getRangeEnd().toStringUtf8();
+
+        RangeResponse.Builder rangeResponse = RangeResponse.newBuilder()
+            .setHeader(ResponseHeader.newBuilder().setRevision(revision));
+        for (Entry<String, String> entry : new TreeMap<>(kvContents).entrySet()) {
+            String existingKey = entry.getKey();
+            boolean isMatch;
+            if (rangeEnd.isEmpty()) {
+                isMatch = existingKey.equals(key);
+            } else {
+                isMatch = existingKey.compareTo(key) >= 0 && existingKey.compareTo(rangeEnd) < 0;
+            }
+
+            if (isMatch) {
+                rangeResponse.addKvs(KeyValue.newBuilder()
+                    .setKey(ByteString.copyFromUtf8(existingKey))
+                    .setValue(ByteString.copyFromUtf8(entry.getValue())));
+            }
+        }
+        rangeResponse.setCount(rangeResponse.getKvsCount());
+        return rangeResponse.build();
+    }
+
+    // The request an operation turns into is only visible inside the jetcd package
+    private RequestOp toRequestOp(Op op) {
+        try {
+            Method method = Op.class.getDeclaredMethod("toRequestOp", ByteSequence.class);
+            method.setAccessible(true);
+            return (RequestOp) method.invoke(op, ByteSequence.EMPTY);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to read the mock transaction operation", e);
+        }
+    }
+}
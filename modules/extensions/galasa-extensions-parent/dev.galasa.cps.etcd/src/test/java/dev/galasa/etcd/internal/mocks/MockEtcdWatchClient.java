@@ -5,19 +5,70 @@
  */
 package dev.galasa.etcd.internal.mocks;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.options.WatchOption;
 
 public class MockEtcdWatchClient implements Watch {
 
+    public class MockWatcher implements Watcher {
+        private final ByteSequence key;
+        private final WatchOption option;
+        private final Listener listener;
+        private boolean isClosed = false;
+
+        public MockWatcher(ByteSequence key, WatchOption option, Listener listener) {
+            this.key = key;
+            this.option = option;
+            this.listener = listener;
+        }
+
+        public ByteSequence getKey() {
+            return key;
+        }
+
+        public WatchOption getOption() {
+            return option;
+        }
+
+        public Listener getListener() {
+            return listener;
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return isClosed;
+        }
+
+        @Override
+        public void requestProgress() {
+            throw new UnsupportedOperationException("Unimplemented method 'requestProgress'");
+        }
+    }
+
+    private List<MockWatcher> watchers = new ArrayList<>();
+
     @Override
     public Watcher watch(ByteSequence key, WatchOption option, Listener listener) {
-        throw new UnsupportedOperationException("Unimplemented method 'watch'");
+        MockWatcher watcher = new MockWatcher(key, option, listener);
+        watchers.add(watcher);
+        return watcher;
     }
 
     @Override
     public void requestProgress() {
         throw new UnsupportedOperationException("Unimplemented method 'requestProgress'");
     }
+
+    public List<MockWatcher> getWatchers() {
+        return watchers;
+    }
 }
@@ -12,9 +12,16 @@ import dev.galasa.extensions.common.api.HttpClientFactory;
 
 public class HttpClientFactoryImpl implements HttpClientFactory {
 
+    // The default of 2 connections per route would hold back stores which send requests in parallel
+    public static final int MAX_CONNECTIONS_PER_ROUTE = 20;
+    public static final int MAX_CONNECTIONS_TOTAL     = 40;
+
     @Override
     public CloseableHttpClient createClient() {
-        return HttpClients.createDefault();
+        return HttpClients.custom()
+            .setMaxConnPerRoute(MAX_CONNECTIONS_PER_ROUTE)
+            .setMaxConnTotal(MAX_CONNECTIONS_TOTAL)
+            .build();
     }
 
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import dev.galasa.extensions.common.couchdb.CouchdbException;
+
+/**
+ * The artifact documents of a run, which artifacts are attached to.
+ *
+ * Every attachment upload has to quote the latest revision of the document it is attached to,
+ * so only one upload at a time can use a document. To let artifacts upload in parallel, an
+ * upload checks a document out of this pool and hands it back when it is done. When all the
+ * documents are busy another document is created, up to a limit, after which uploads wait
+ * for a document to be handed back.
+ */
+public class CouchdbArtifactDocumentPool {
+
+    public static final int DEFAULT_MAX_ARTIFACT_DOCUMENTS = 4;
+
+    /**
+     * An artifact document, and the latest revision of it that we know about.
+     */
+    public static class ArtifactDocument {
+        private final String id;
+        private String revision;
+
+        public ArtifactDocument(String id, String revision) {
+            this.id = id;
+            this.revision = revision;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getRevision() {
+            return revision;
+        }
+
+        public void setRevision(String revision) {
+            this.revision = revision;
+        }
+    }
+
+    /**
+     * Something which can create a new, empty artifact document.
+     */
+    public interface ArtifactDocumentCreator {
+        ArtifactDocument createArtifactDocument() throws CouchdbException;
+    }
+
+    private final ArtifactDocumentCreator creator;
+    private final int maxDocuments;
+
+    // Guarded by this
+    private final List<ArtifactDocument> allDocuments = new ArrayList<>();
+    private final Deque<ArtifactDocument> idleDocuments = new ArrayDeque<>();
+    private int documentsBeingCreated = 0;
+
+    public CouchdbArtifactDocumentPool(ArtifactDocumentCreator creator) {
+        this(creator, DEFAULT_MAX_ARTIFACT_DOCUMENTS);
+    }
+
+    public CouchdbArtifactDocumentPool(ArtifactDocumentCreator creator, int maxDocuments) {
+        this.creator = creator;
+        this.maxDocuments = maxDocuments;
+    }
+
+    /**
+     * Adds a document which already exists to the pool, ready to be checked out.
+     */
+    public synchronized void addDocument(ArtifactDocument document) {
+        allDocuments.add(document);
+        idleDocuments.push(document);
+        notifyAll();
+    }
+
+    /**
+     * Checks out a document which no other upload is using, creating a new document if they are
+     * all busy and the limit has not been reached, or waiting for one to be handed back if it has.
+     *
+     * @return a document which must be handed back with {@link #release(ArtifactDocument)}
+     */
+    public ArtifactDocument acquire() throws CouchdbException, InterruptedException {
+        synchronized (this) {
+            while (idleDocuments.isEmpty()) {
+                if (allDocuments.size() + documentsBeingCreated < maxDocuments) {
+                    documentsBeingCreated++;
+                    break;
+                }
+                wait();
+            }
+
+            // The most recently used document is handed out first, so that
+            // extra documents are only used when uploads really do overlap
+            if (!idleDocuments.isEmpty()) {
+                return idleDocuments.pop();
+            }
+        }
+
+        ArtifactDocument newDocument = null;
+        try {
+            newDocument = creator.createArtifactDocument();
+        } finally {
+            synchronized (this) {
+                documentsBeingCreated--;
+                if (newDocument != null) {
+                    allDocuments.add(newDocument);
+                }
+                notifyAll();
+            }
+        }
+        return newDocument;
+    }
+
+    /**
+     * Hands a document back, so that another upload can use it.
+     */
+    public synchronized void release(ArtifactDocument document) {
+        idleDocuments.push(document);
+        notifyAll();
+    }
+
+    /**
+     * @return the IDs of all the artifact documents, in the order they were created
+     */
+    public synchronized List<String> getDocumentIds() {
+        List<String> documentIds = new ArrayList<>();
+        for (ArtifactDocument document : allDocuments) {
+            documentIds.add(document.getId());
+        }
+        return documentIds;
+    }
+}
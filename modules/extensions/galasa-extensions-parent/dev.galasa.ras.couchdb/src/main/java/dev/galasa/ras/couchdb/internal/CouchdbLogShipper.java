@@ -0,0 +1,235 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+
+import dev.galasa.extensions.common.couchdb.CouchdbException;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+
+/**
+ * Ships the lines of a run log to CouchDB on a background thread, so that the threads
+ * writing to the log do not wait for CouchDB.
+ *
+ * Lines are gathered into chunks. A chunk is queued for shipping when it is full, or when
+ * no full chunk has been queued for a while. The shipping thread sends all the chunks which
+ * have been queued since its last send in one go, so while one send is in progress the next
+ * batch is building up behind it.
+ *
+ * The queue of chunks is bounded. If CouchDB can't keep up and the queue fills, writers
+ * wait for space in the queue rather than the log growing without limit in memory.
+ */
+public class CouchdbLogShipper {
+
+    public static final int  DEFAULT_LINES_PER_CHUNK          = 100;
+    public static final int  DEFAULT_MAX_QUEUED_CHUNKS        = 200;
+    public static final int  DEFAULT_MAX_CHUNKS_PER_SEND      = 50;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLISECS = 5000;
+
+    /**
+     * Something which can store a batch of log chunks, in order.
+     */
+    public interface LogChunkSender {
+        void send(List<LogLines> chunks) throws CouchdbException;
+    }
+
+    private final LogChunkSender sender;
+    private final Log logger;
+
+    private final int linesPerChunk;
+    private final int maxChunksPerSend;
+    private final long flushIntervalMillisecs;
+
+    private final ArrayBlockingQueue<LogLines> queuedChunks;
+
+    // The lines which have not been put into a chunk yet, guarded by the partial chunk lock
+    private final ReentrantLock partialChunkLock = new ReentrantLock();
+    private final List<String> partialChunk = new ArrayList<>();
+    private long lastChunkOrder = 0;
+
+    // The count of chunks sent (or failed), so that flushers know when they are done
+    private final Object progressLock = new Object();
+    private long completedChunkCount = 0;
+    private Exception lastFailure;
+
+    private final Thread shipperThread;
+    private volatile boolean isShutdown = false;
+
+    public CouchdbLogShipper(LogChunkSender sender, Log logger) {
+        this(sender, logger, DEFAULT_LINES_PER_CHUNK, DEFAULT_MAX_QUEUED_CHUNKS, DEFAULT_MAX_CHUNKS_PER_SEND, DEFAULT_FLUSH_INTERVAL_MILLISECS);
+    }
+
+    public CouchdbLogShipper(LogChunkSender sender, Log logger, int linesPerChunk, int maxQueuedChunks, int maxChunksPerSend, long flushIntervalMillisecs) {
+        this.sender = sender;
+        this.logger = logger;
+        this.linesPerChunk = linesPerChunk;
+        this.maxChunksPerSend = maxChunksPerSend;
+        this.flushIntervalMillisecs = flushIntervalMillisecs;
+        this.queuedChunks = new ArrayBlockingQueue<>(maxQueuedChunks);
+
+        this.shipperThread = new Thread(this::shipChunks, "couchdb-ras-log-shipper");
+        this.shipperThread.setDaemon(true);
+        this.shipperThread.start();
+    }
+
+    /**
+     * Adds lines to the log. If the log is backed up, this waits until there is room for them.
+     *
+     * @param lines the lines to add
+     * @throws ResultArchiveStoreException if the shipper has been shut down, or the wait for room was interrupted
+     */
+    public void addLines(List<String> lines) throws ResultArchiveStoreException {
+        if (isShutdown) {
+            throw new ResultArchiveStoreException("The log shipper has been shut down");
+        }
+
+        partialChunkLock.lock();
+        try {
+            partialChunk.addAll(lines);
+            if (partialChunk.size() >= linesPerChunk) {
+                queuePartialChunk(true);
+            }
+        } finally {
+            partialChunkLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all the lines added so far have been sent to CouchDB.
+     *
+     * @throws ResultArchiveStoreException if any lines failed to be sent since the last flush
+     */
+    public void flush() throws ResultArchiveStoreException {
+        long targetChunkCount;
+        partialChunkLock.lock();
+        try {
+            queuePartialChunk(true);
+            targetChunkCount = lastChunkOrder;
+        } finally {
+            partialChunkLock.unlock();
+        }
+
+        Exception failure;
+        synchronized (progressLock) {
+            while (completedChunkCount < targetChunkCount && shipperThread.isAlive()) {
+                try {
+                    progressLock.wait(flushIntervalMillisecs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ResultArchiveStoreException("Interrupted while waiting for the test log to be stored", e);
+                }
+            }
+            failure = lastFailure;
+            lastFailure = null;
+        }
+
+        if (failure != null) {
+            throw new ResultArchiveStoreException("Unable to store the test log", failure);
+        }
+    }
+
+    /**
+     * Sends everything that has been logged, then stops the shipping thread.
+     *
+     * @throws ResultArchiveStoreException if any lines failed to be sent since the last flush
+     */
+    public void shutdown() throws ResultArchiveStoreException {
+        try {
+            flush();
+        } finally {
+            isShutdown = true;
+            shipperThread.interrupt();
+            try {
+                shipperThread.join(flushIntervalMillisecs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Must be called holding the partial chunk lock. The shipping thread must not wait for
+    // room in the queue, or for a writer which is itself waiting for room, as the shipping
+    // thread is the only thing which makes room.
+    private void queuePartialChunk(boolean isWaitForRoom) throws ResultArchiveStoreException {
+        if (partialChunk.isEmpty()) {
+            return;
+        }
+
+        LogLines chunk = new LogLines();
+        chunk.lines = new ArrayList<>(partialChunk);
+        chunk.order = lastChunkOrder + 1;
+
+        boolean isQueued;
+        try {
+            if (isWaitForRoom) {
+                queuedChunks.put(chunk);
+                isQueued = true;
+            } else {
+                isQueued = queuedChunks.offer(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultArchiveStoreException("Interrupted while waiting to queue the test log", e);
+        }
+
+        if (isQueued) {
+            lastChunkOrder = chunk.order;
+            partialChunk.clear();
+        }
+    }
+
+    private void shipChunks() {
+        while (!isShutdown) {
+            try {
+                LogLines firstChunk = queuedChunks.poll(flushIntervalMillisecs, TimeUnit.MILLISECONDS);
+                if (firstChunk == null) {
+                    // Nothing has filled a chunk for a while, so ship what we have
+                    if (partialChunkLock.tryLock()) {
+                        try {
+                            queuePartialChunk(false);
+                        } finally {
+                            partialChunkLock.unlock();
+                        }
+                    }
+                } else {
+                    List<LogLines> batch = new ArrayList<>();
+                    batch.add(firstChunk);
+                    queuedChunks.drainTo(batch, maxChunksPerSend - 1);
+                    sendBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                // We are being shut down
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ResultArchiveStoreException e) {
+                logger.error("Unable to queue the test log", e);
+            }
+        }
+    }
+
+    private void sendBatch(List<LogLines> batch) {
+        try {
+            sender.send(batch);
+        } catch (Exception e) {
+            logger.error("Unable to store " + batch.size() + " chunks of the test log", e);
+            synchronized (progressLock) {
+                lastFailure = e;
+            }
+        } finally {
+            synchronized (progressLock) {
+                completedChunkCount += batch.size();
+                progressLock.notifyAll();
+            }
+        }
+    }
+}
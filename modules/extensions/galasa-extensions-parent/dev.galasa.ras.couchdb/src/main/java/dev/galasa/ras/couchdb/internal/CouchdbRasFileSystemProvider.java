@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.SetContentType;
@@ -39,9 +40,10 @@ public class CouchdbRasFileSystemProvider extends ResultArchiveStoreFileSystemPr
     private static final String                                BASIC_SIZE       = "size";
     private static final String                                POSIX_SIZE       = "posix:size";
 
-    private final HashMap<Path, ResultArchiveStoreContentType> contentTypes     = new HashMap<>();
+    private final Map<Path, ResultArchiveStoreContentType>     contentTypes     = new ConcurrentHashMap<>();
 
-    private final HashSet<CouchdbArtifactPath>                 paths            = new HashSet<>();
+    // Artifacts can be stored from several threads at once, so paths can be added while others are listed
+    private final Set<CouchdbArtifactPath>                     paths            = ConcurrentHashMap.newKeySet();
 
     private final CouchdbRasStore                              couchdbRasStore;
 
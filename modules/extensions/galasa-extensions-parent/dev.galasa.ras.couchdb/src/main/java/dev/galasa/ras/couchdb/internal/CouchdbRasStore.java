@@ -6,7 +6,9 @@
 package dev.galasa.ras.couchdb.internal;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -15,14 +17,25 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.validation.constraints.NotNull;
 import org.apache.commons.logging.Log;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
-import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IResultArchiveStoreService;
@@ -30,12 +43,14 @@ import dev.galasa.framework.spi.IRun;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
 import dev.galasa.framework.spi.SystemEnvironment;
 import dev.galasa.framework.spi.ras.ResultArchiveStoreFileStore;
+import dev.galasa.framework.spi.ras.RunLogRange;
 import dev.galasa.framework.spi.teststructure.TestStructure;
 import dev.galasa.framework.spi.utils.GalasaGson;
 import dev.galasa.framework.spi.utils.ITimeService;
 import dev.galasa.framework.spi.utils.SystemTimeService;
 import dev.galasa.extensions.common.api.HttpClientFactory;
 import dev.galasa.extensions.common.api.LogFactory;
+import dev.galasa.extensions.common.couchdb.CouchdbClashingUpdateException;
 import dev.galasa.extensions.common.couchdb.CouchdbException;
 import dev.galasa.extensions.common.couchdb.CouchdbStore;
 import dev.galasa.extensions.common.couchdb.CouchdbValidator;
@@ -45,8 +60,13 @@ import dev.galasa.extensions.common.impl.HttpClientFactoryImpl;
 import dev.galasa.extensions.common.impl.HttpRequestFactoryImpl;
 import dev.galasa.extensions.common.api.HttpRequestFactory;
 import dev.galasa.extensions.common.impl.LogFactoryImpl;
+import dev.galasa.ras.couchdb.internal.CouchdbArtifactDocumentPool.ArtifactDocument;
 import dev.galasa.ras.couchdb.internal.pojos.Artifacts;
+import dev.galasa.ras.couchdb.internal.pojos.BulkLogLines;
+import dev.galasa.ras.couchdb.internal.pojos.DocumentKeys;
+import dev.galasa.ras.couchdb.internal.pojos.FoundLogLines;
 import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+import dev.galasa.ras.couchdb.internal.pojos.LogLinesRow;
 import dev.galasa.ras.couchdb.internal.pojos.TestStructureCouchdb;
 
 public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStoreService {
@@ -67,6 +87,10 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
 
     public static final String COUCHDB_RUN_ID_PREFIX = "cdb-";
 
+    // The most run log chunk fetches sent to CouchDB at once, across all readers of the store
+    public static final int LOG_FETCH_THREADS = 16;
+    private static final long LOG_FETCH_THREAD_IDLE_SECONDS = 60;
+
     private final Log                          logger            ;
 
     private final IFramework                   framework;                                         // NOSONAR
@@ -81,13 +105,21 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
     private String                             runDocumentId;
     private String                             runDocumentRevision;
 
-    private long                               logOrder           = 0;
+    private CouchdbLogShipper                  logShipper;
+
+    // Fetches run log chunks for readers of the store, created when the first log is read
+    private ExecutorService                    logFetchExecutor;
 
-    private final ArrayList<String>            logCache           = new ArrayList<>(100);
+    // The IDs of the stored log documents, in log order, and how many of them the run document knows about
+    private final ArrayList<String>            logIds             = new ArrayList<>();
+    private int                                logIdsInRunDocument = 0;
+    private CouchdbArtifactDocumentPool        artifactDocuments;
 
-    private ArrayList<String>                  logIds             = new ArrayList<>();
-    private ArrayList<String>                  artifactDocumentId = new ArrayList<>();;
-    private String                             artifactDocumentRev;
+    // Artifacts up to this size are held in memory while they are written, larger ones go to a temporary file
+    public static final int                    DEFAULT_ARTIFACT_MEMORY_BUFFER_MAX_SIZE = 1024 * 1024;
+    private int                                artifactMemoryBufferMaxSize = DEFAULT_ARTIFACT_MEMORY_BUFFER_MAX_SIZE;
+    private final AtomicLong                   artifactBytesBuffered = new AtomicLong();
+    private final AtomicLong                   artifactBytesSpilled  = new AtomicLong();
 
     private TestStructure                      lastTestStructure;
     private ITimeService timeService ;
@@ -123,6 +155,15 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
 
         // *** If this is a run, ensure we can create the run document
         if (this.run != null) {
+            this.artifactDocuments = new CouchdbArtifactDocumentPool(this::createAdditionalArtifactDocument);
+
+            try {
+                IConfigurationPropertyStoreService cps = this.framework.getConfigurationPropertyService(CpsPropertyDef.ARTIFACT_MEMORY_BUFFER_MAX_SIZE.getNamespace());
+                this.artifactMemoryBufferMaxSize = CpsPropertyDef.ARTIFACT_MEMORY_BUFFER_MAX_SIZE.getCpsIntValue(logger, cps, DEFAULT_ARTIFACT_MEMORY_BUFFER_MAX_SIZE);
+            } catch (ConfigurationPropertyStoreException | ResultArchiveStoreException | NumberFormatException e) {
+                throw new CouchdbException("Unable to read the artifact memory buffer size from the CPS", e);
+            }
+
             lastTestStructure = new TestStructure();
             lastTestStructure.setRunName(this.run.getName());
             try {
@@ -131,7 +172,10 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
                 throw new CouchdbException("Validation failed - unable to create initial run document", e);
             }
 
-            createArtifactDocument();
+            this.artifactDocuments.addDocument(createArtifactDocument());
+            this.lastTestStructure.setArtifactRecordIds(this.artifactDocuments.getDocumentIds());
+
+            this.logShipper = new CouchdbLogShipper(this::storeLogChunks, logFactory.getLog(CouchdbLogShipper.class));
         }
 
         ResultArchiveStoreFileStore fileStore = new ResultArchiveStoreFileStore();
@@ -139,20 +183,108 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
     }
 
     // Protected so that we can create artifact documents from elsewhere.
-    protected void createArtifactDocument() throws CouchdbException {
+    protected ArtifactDocument createArtifactDocument() throws CouchdbException {
         Artifacts artifacts = new Artifacts();
-        createArtifactDocument(artifacts);
+        return createArtifactDocument(artifacts);
     }
 
-    protected void createArtifactDocument(Artifacts artifacts) throws CouchdbException {
+    protected ArtifactDocument createArtifactDocument(Artifacts artifacts) throws CouchdbException {
 
         artifacts.runId = this.runDocumentId;
         artifacts.runName = this.run.getName();
 
         String jsonArtifacts = gson.toJson(artifacts);
         PutPostResponse putPostResponse = createDocument(ARTIFACTS_DB, jsonArtifacts);
-        this.artifactDocumentId.add(putPostResponse.id);
-        this.artifactDocumentRev = putPostResponse.rev;
+        return new ArtifactDocument(putPostResponse.id, putPostResponse.rev);
+    }
+
+    // Called when every artifact document is busy with an upload
+    private ArtifactDocument createAdditionalArtifactDocument() throws CouchdbException {
+        ArtifactDocument artifactDocument = createArtifactDocument();
+        logger.info("Created additional artifact document " + artifactDocument.getId() + " to store artifacts in parallel");
+        return artifactDocument;
+    }
+
+    /**
+     * Attaches an artifact to one of the run's artifact documents. Artifacts can be stored from
+     * several threads at once, as each upload uses an artifact document that no other upload is using.
+     * If the document has been updated elsewhere, its latest revision is fetched and the upload retried.
+     *
+     * @param remotePath the path of the artifact in the run's artifacts
+     * @param content the content of the artifact, which must be repeatable so the upload can be retried
+     * @param contentType the content type of the artifact
+     */
+    public void storeArtifact(String remotePath, HttpEntity content, String contentType) throws CouchdbException {
+        ArtifactDocument artifactDocument;
+        try {
+            artifactDocument = artifactDocuments.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CouchdbException("Interrupted while waiting for an artifact document", e);
+        }
+
+        try {
+            String encodedRemotePath = URLEncoder.encode(remotePath, StandardCharsets.UTF_8);
+            RetryableCouchdbUpdateOperationProcessor retryProcessor = new RetryableCouchdbUpdateOperationProcessor(timeService, logFactory);
+            retryProcessor.retryCouchDbUpdateOperation(() -> {
+                HttpPut request = httpRequestFactory.getHttpPutRequest(this.storeUri + "/"+ARTIFACTS_DB+"/" + artifactDocument.getId() + "/" + encodedRemotePath);
+                request.setEntity(content);
+                request.setHeader("Content-Type", contentType);
+                request.setHeader("If-Match", artifactDocument.getRevision());
+
+                String entity;
+                try {
+                    entity = sendHttpRequest(request, HttpStatus.SC_CREATED);
+                } catch (CouchdbClashingUpdateException e) {
+                    refreshArtifactDocumentRevision(artifactDocument);
+                    throw e;
+                }
+
+                PutPostResponse putPostResponse = gson.fromJson(entity, PutPostResponse.class);
+                if (putPostResponse.id == null || putPostResponse.rev == null) {
+                    throw new CouchdbException("Unable to store the artifact attachment - Invalid JSON response");
+                }
+                artifactDocument.setRevision(putPostResponse.rev);
+            });
+        } finally {
+            artifactDocuments.release(artifactDocument);
+        }
+
+        // Make sure the run document knows about any artifact document created for this upload
+        try {
+            updateRunDocumentRecordIds();
+        } catch (ResultArchiveStoreException e) {
+            throw new CouchdbException("Unable to record the artifact documents in the run document", e);
+        }
+    }
+
+    /**
+     * @return the size, in bytes, up to which an artifact is held in memory while it is written
+     */
+    public int getArtifactMemoryBufferMaxSize() {
+        return this.artifactMemoryBufferMaxSize;
+    }
+
+    /**
+     * Records how many bytes of a stored artifact were held in memory or written to a temporary file,
+     * so the totals can be reported when the store is shut down.
+     */
+    public void recordArtifactBytes(long length, boolean isSpilledToFile) {
+        if (isSpilledToFile) {
+            this.artifactBytesSpilled.addAndGet(length);
+        } else {
+            this.artifactBytesBuffered.addAndGet(length);
+        }
+    }
+
+    private void refreshArtifactDocumentRevision(ArtifactDocument artifactDocument) throws CouchdbException {
+        JsonObject document = getDocumentFromDatabase(ARTIFACTS_DB, artifactDocument.getId(), JsonObject.class);
+        JsonElement revision = (document == null) ? null : document.get("_rev");
+        if (revision == null) {
+            throw new CouchdbException("Unable to find the latest revision of artifact document " + artifactDocument.getId());
+        }
+        logger.info("Artifact document " + artifactDocument.getId() + " was updated elsewhere, retrying with revision " + revision.getAsString());
+        artifactDocument.setRevision(revision.getAsString());
     }
 
     @Override
@@ -163,47 +295,61 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
 
         String[] lines = message.split("\r\n?|\n");
 
-        synchronized (logCache) {
-            logCache.addAll(Arrays.asList(lines));
-            if (logCache.size() >= 100) {
-                flushLogCache();
-            }
-        }
+        // The lines are stored in the background, the run document picks up the new
+        // log records the next time it is updated or the store is flushed
+        logShipper.addLines(Arrays.asList(lines));
     }
 
-    private void flushLogCache() throws ResultArchiveStoreException {
-        LogLines logLines = new LogLines();
-        synchronized (logCache) {
-            if (logCache.isEmpty()) {
-                return;
-            }
-            logLines.lines = new ArrayList<>(logCache);
-            logOrder++;
-            logLines.order = logOrder;
-
-            logCache.clear();
+    // Called on the log shipper's thread with the next chunks of the log, in order
+    private void storeLogChunks(List<LogLines> chunks) throws CouchdbException {
+        for (LogLines chunk : chunks) {
+            chunk.runName = this.run.getName();
+            chunk.runId = this.runDocumentId;
         }
-        logLines.runName = this.run.getName();
-        logLines.runId = this.runDocumentId;
 
-        String jsonStructure = gson.toJson(logLines);
+        BulkLogLines bulkLogLines = new BulkLogLines();
+        bulkLogLines.docs = chunks;
 
-        HttpPost request = httpRequestFactory.getHttpPostRequest(this.storeUri + "/"+LOG_DB);
-        request.setEntity(new StringEntity(jsonStructure, StandardCharsets.UTF_8));
+        HttpPost request = httpRequestFactory.getHttpPostRequest(this.storeUri + "/"+LOG_DB+"/_bulk_docs");
+        request.setEntity(new StringEntity(gson.toJson(bulkLogLines), StandardCharsets.UTF_8));
 
-        try{
-            String entity = sendHttpRequest(request, HttpStatus.SC_CREATED);
-            PutPostResponse putPostResponse = gson.fromJson(entity, PutPostResponse.class);
+        String entity = sendHttpRequest(request, HttpStatus.SC_CREATED);
+        PutPostResponse[] putPostResponses = gson.fromJson(entity, PutPostResponse[].class);
+        if (putPostResponses == null || putPostResponses.length != chunks.size()) {
+            throw new CouchdbException("Unable to store the test log - Invalid JSON response");
+        }
+
+        // Keep whatever was stored, even if some of the chunks were rejected
+        List<String> storedLogIds = new ArrayList<>();
+        int rejectedChunks = 0;
+        for (PutPostResponse putPostResponse : putPostResponses) {
             if (putPostResponse.id == null || putPostResponse.rev == null) {
-                throw new CouchdbException("Unable to store the test structure - Invalid JSON response");
+                rejectedChunks++;
+            } else {
+                storedLogIds.add(putPostResponse.id);
             }
+        }
 
-            this.logIds.add(putPostResponse.id);
-            this.updateTestStructure(lastTestStructure);
-        } catch (CouchdbException e) {
-            throw new ResultArchiveStoreException(e);
-        } catch (Exception e) {
-            throw new ResultArchiveStoreException("Unable to store the test log", e);
+        synchronized (logIds) {
+            logIds.addAll(storedLogIds);
+        }
+
+        if (rejectedChunks > 0) {
+            throw new CouchdbException("Unable to store " + rejectedChunks + " chunks of the test log");
+        }
+    }
+
+    private void updateRunDocumentRecordIds() throws ResultArchiveStoreException {
+        boolean isRunDocumentOutOfDate;
+        synchronized (logIds) {
+            isRunDocumentOutOfDate = logIds.size() != logIdsInRunDocument;
+        }
+        synchronized (this) {
+            isRunDocumentOutOfDate |= lastTestStructure.getArtifactRecordIds().size() != artifactDocuments.getDocumentIds().size();
+        }
+
+        if (isRunDocumentOutOfDate) {
+            updateTestStructure(lastTestStructure);
         }
     }
 
@@ -261,8 +407,10 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
         }
 
         this.lastTestStructure = testStructure;
-        this.lastTestStructure.setLogRecordIds(this.logIds);
-        this.lastTestStructure.setArtifactRecordIds(this.artifactDocumentId);
+        synchronized (logIds) {
+            this.lastTestStructure.setLogRecordIds(new ArrayList<>(this.logIds));
+        }
+        this.lastTestStructure.setArtifactRecordIds(this.artifactDocuments.getDocumentIds());
         this.lastTestStructure.normalise();
 
         String jsonStructure = gson.toJson(testStructure);
@@ -284,6 +432,7 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
                 }
                 this.runDocumentId = putPostResponse.id;
                 this.runDocumentRevision = putPostResponse.rev;
+                this.logIdsInRunDocument = testStructure.getLogRecordIds().size();
         } catch (CouchdbException e){
             throw new ResultArchiveStoreException(e);
         }
@@ -303,29 +452,60 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
     }
 
     public String getLog(TestStructure ts) throws ResultArchiveStoreException {
-        StringBuilder sb = new StringBuilder();
-
-        for (String logRecordId : ts.getLogRecordIds()) {
-            HttpGet httpGet = httpRequestFactory.getHttpGetRequest(this.storeUri + "/"+LOG_DB+"/" + logRecordId);
-
-            try{
-                String entity = sendHttpRequest(httpGet, HttpStatus.SC_OK);
-                LogLines logLines = gson.fromJson(entity, LogLines.class);
-                if (logLines.lines != null) {
-                    for (String line : logLines.lines) {
-                        if (sb.length() > 0) {
-                            sb.append("\n");
-                        }
-                        sb.append(line);
-                    }
-                }
-            } catch (CouchdbException e) {
-                throw new ResultArchiveStoreException(e);
-            } catch (Exception e) {
-                throw new ResultArchiveStoreException("Unable to find runs", e);
+        StringWriter writer = new StringWriter();
+        try {
+            writeLog(ts, writer, RunLogRange.ALL_LINES);
+        } catch (IOException e) {
+            throw new ResultArchiveStoreException("Unable to read the test log", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the lines of a run log which are in the range, fetching the log chunks in batches.
+     */
+    public void writeLog(TestStructure ts, Writer writer, RunLogRange range) throws ResultArchiveStoreException, IOException {
+        CouchdbRunLogReader reader = new CouchdbRunLogReader(this::fetchLogChunks, getLogFetchExecutor());
+        reader.writeLog(ts.getLogRecordIds(), writer, range);
+    }
+
+    // Fetches a batch of log chunks in one request, in the same order as their IDs
+    private List<LogLines> fetchLogChunks(List<String> logRecordIds) throws CouchdbException {
+        DocumentKeys documentKeys = new DocumentKeys();
+        documentKeys.keys = logRecordIds;
+
+        HttpPost request = httpRequestFactory.getHttpPostRequest(this.storeUri + "/"+LOG_DB+"/_all_docs?include_docs=true");
+        request.setEntity(new StringEntity(gson.toJson(documentKeys), StandardCharsets.UTF_8));
+
+        String entity = sendHttpRequest(request, HttpStatus.SC_OK);
+        FoundLogLines found = gson.fromJson(entity, FoundLogLines.class);
+        if (found == null || found.rows == null || found.rows.size() != logRecordIds.size()) {
+            throw new CouchdbException("Unable to retrieve the test log - Invalid JSON response");
+        }
+
+        List<LogLines> chunks = new ArrayList<>();
+        for (LogLinesRow row : found.rows) {
+            if (row.doc == null) {
+                throw new CouchdbException("Unable to retrieve test log record " + row.key + " - " + row.error);
             }
+            chunks.add(row.doc);
+        }
+        return chunks;
+    }
+
+    protected synchronized ExecutorService getLogFetchExecutor() {
+        if (this.logFetchExecutor == null) {
+            // Bounded, so that many readers at once queue for CouchDB rather than each adding threads
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(LOG_FETCH_THREADS, LOG_FETCH_THREADS, LOG_FETCH_THREAD_IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "couchdb-ras-log-fetch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            this.logFetchExecutor = executor;
         }
-        return sb.toString();
+        return this.logFetchExecutor;
     }
 
     @Override
@@ -338,8 +518,18 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
 
     @Override
     public void flush() {
+        if (this.logShipper == null) {
+            return;
+        }
+
         try {
-            flushLogCache();
+            logShipper.flush();
+        } catch (ResultArchiveStoreException e) {
+            logger.error("Error with heartbeat flush", e);
+        }
+
+        try {
+            updateRunDocumentRecordIds();
         } catch (ResultArchiveStoreException e) {
             logger.error("Error with heartbeat flush", e);
         }
@@ -348,10 +538,26 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
     @Override
     public void shutdown() {
         this.shutdown = true;
-        try {
-            flushLogCache();
-        } catch (ResultArchiveStoreException e) {
-            logger.error("Error with shutdown flush", e);
+        if (this.logShipper != null) {
+            try {
+                logShipper.shutdown();
+            } catch (ResultArchiveStoreException e) {
+                logger.error("Error with shutdown flush", e);
+            }
+
+            try {
+                updateRunDocumentRecordIds();
+            } catch (ResultArchiveStoreException e) {
+                logger.error("Error with shutdown flush", e);
+            }
+
+            logger.info("Artifact bytes buffered in memory=" + artifactBytesBuffered.get() + " spilled to temporary files=" + artifactBytesSpilled.get());
+        }
+
+        synchronized (this) {
+            if (this.logFetchExecutor != null) {
+                this.logFetchExecutor.shutdownNow();
+            }
         }
 
         try {
@@ -368,14 +574,6 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
         return this.httpClient;
     }
 
-    public String getArtifactDocumentId() {
-        return this.artifactDocumentId.get(0);
-    }
-
-    public String getArtifactDocumentRev() {
-        return this.artifactDocumentRev;
-    }
-
     public URI getCouchdbUri() {
         return this.storeUri;
     }
@@ -384,10 +582,6 @@ public class CouchdbRasStore extends CouchdbStore implements IResultArchiveStore
         return this.gson;
     }
 
-    public void updateArtifactDocumentRev(String newArtifactDocumentRev) {
-        this.artifactDocumentRev = newArtifactDocumentRev;
-    }
-
     @Override
     public @NotNull List<IResultArchiveStoreDirectoryService> getDirectoryServices() {
         ArrayList<IResultArchiveStoreDirectoryService> dirs = new ArrayList<>();
@@ -6,42 +6,46 @@
 package dev.galasa.ras.couchdb.internal;
 
 import java.io.IOException;
-import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SeekableByteChannel;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpStatus;
-import org.apache.http.StatusLine;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.FileEntity;
-import org.apache.http.util.EntityUtils;
 
 import dev.galasa.ResultArchiveStoreContentType;
-import dev.galasa.extensions.common.couchdb.pojos.PutPostResponse;
-import dev.galasa.extensions.common.api.HttpRequestFactory;
 
 /**
  * CouchDBRAS Byte Channel
+ *
+ * The artifact is held in memory while it is written, and stored when the channel is closed.
+ * If the artifact grows beyond the store's memory buffer size, what has been written so far is
+ * moved to a temporary file and the rest of the artifact is written there instead.
  */
 public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
 
+    private static final int                    INITIAL_BUFFER_SIZE = 8192;
+
     private final Log                           logger;
 
-    private static final Charset                UTF8   = Charset.forName("utf-8");
+    private final int                           memoryBufferMaxSize;
+    private byte[]                              memoryBuffer = new byte[0];
+    private int                                 memoryBufferSize;
+    private long                                memoryBufferPosition;
+    private boolean                             isOpen = true;
 
-    private final Path                          cachePath;
-    private final SeekableByteChannel           cacheByteChannel;
-    private final HttpRequestFactory            requestFactory;
+    // Only set once the artifact has outgrown the memory buffer
+    private Path                                cachePath;
+    private SeekableByteChannel                 cacheByteChannel;
 
     private final Path                          remotePath;
     private final ResultArchiveStoreContentType remoteContentType;
@@ -59,21 +63,13 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
         this.couchdbRasStore = couchdbRasStore;
         this.couchdbRasFileSystemProvider = couchdbRasFileSystemProvider;
         this.remotePath = remotePath;
-        this.requestFactory = couchdbRasStore.getRequestFactory();
+        this.memoryBufferMaxSize = couchdbRasStore.getArtifactMemoryBufferMaxSize();
 
         if (remoteContentType != null) {
             this.remoteContentType = remoteContentType;
         } else {
             this.remoteContentType = ResultArchiveStoreContentType.TEXT;
         }
-
-        // TODO put these all in the same /tmp/galasa dir so it is easy to cleanup
-        cachePath = Files.createTempFile("galasa_couchdb", "temp");
-
-        // TODO are we going to provide other options?
-        // StandardOpenOption.TRUNCATE_EXISTING need to standardise across the board
-        cacheByteChannel = Files.newByteChannel(cachePath, StandardOpenOption.WRITE,
-                StandardOpenOption.TRUNCATE_EXISTING);
     }
 
     /*
@@ -83,7 +79,7 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public boolean isOpen() {
-        return cacheByteChannel.isOpen();
+        return isOpen;
     }
 
     /*
@@ -93,46 +89,39 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public void close() throws IOException {
-        cacheByteChannel.close();
-
-        synchronized(this.getClass()) {  // Prevent multiple threads from updating the artifact document at the sametime,  only updated in this class
-
-            try {
-                String encodedRemotePath = URLEncoder.encode(this.remotePath.toString(), UTF8.name());
-
-                HttpPut request = requestFactory.getHttpPutRequest(this.couchdbRasStore.getCouchdbUri() + "/galasa_artifacts/"
-                        + this.couchdbRasStore.getArtifactDocumentId() + "/" + encodedRemotePath);
-                request.setEntity(new FileEntity(cachePath.toFile()));
-                request.setHeader("Content-Type", remoteContentType.value());
-                request.setHeader("If-Match", this.couchdbRasStore.getArtifactDocumentRev());
-
-                try (CloseableHttpResponse response = this.couchdbRasStore.getHttpClient().execute(request)) {
-                    StatusLine statusLine = response.getStatusLine();
-                    if (statusLine.getStatusCode() != HttpStatus.SC_CREATED) {
-                        if (statusLine.getStatusCode() == HttpStatus.SC_CONFLICT) {
-                            logger.error(
-                                    "The run artifact document has been updated by another engine, terminating now to avoid corruption");
-                            System.exit(0);
-                        }
-                        throw new IOException("Unable to store the artifact attachment - " + statusLine.toString());
-                    }
-                    HttpEntity entity = response.getEntity();
-                    String entityStr = EntityUtils.toString(entity);
-                    PutPostResponse putPostResponse = this.couchdbRasStore.getGson().fromJson(entityStr,PutPostResponse.class);
-                    if (putPostResponse.id == null || putPostResponse.rev == null) {
-                        throw new CouchdbRasException("Unable to store the test structure - Invalid JSON response");
-                    }
-                    this.couchdbRasStore.updateArtifactDocumentRev(putPostResponse.rev);
-                    this.couchdbRasFileSystemProvider.addPath((CouchdbArtifactPath) remotePath);
-
-                    String remotePathStr = this.remotePath.toString();
-
-                    logger.info("Stored artifact " + remotePathStr + " length=" + Files.size(cachePath) + " contentType="+ this.remoteContentType.value());
-                } catch (Exception e) {
-                    throw new IOException("Unable to store artifact attachment", e);
-                }
+        if (!isOpen) {
+            return;
+        }
+        isOpen = false;
+
+        boolean isSpilledToFile = (cacheByteChannel != null);
+        long length;
+        HttpEntity content;
+        if (isSpilledToFile) {
+            cacheByteChannel.close();
+            length = Files.size(cachePath);
+            content = new FileEntity(cachePath.toFile());
+        } else {
+            length = memoryBufferSize;
+            content = new ByteArrayEntity(memoryBuffer, 0, memoryBufferSize);
+        }
+
+        // Artifacts from different threads are stored in parallel, the store makes sure
+        // that each upload has an artifact document to itself
+        try {
+            this.couchdbRasStore.storeArtifact(this.remotePath.toString(), content, remoteContentType.value());
+            this.couchdbRasFileSystemProvider.addPath((CouchdbArtifactPath) remotePath);
+            this.couchdbRasStore.recordArtifactBytes(length, isSpilledToFile);
 
-            } finally {
+            String remotePathStr = this.remotePath.toString();
+
+            logger.info("Stored artifact " + remotePathStr + " length=" + length + " contentType="+ this.remoteContentType.value()
+                + " buffer=" + (isSpilledToFile ? "file" : "memory"));
+        } catch (Exception e) {
+            throw new IOException("Unable to store artifact attachment", e);
+        } finally {
+            memoryBuffer = null;
+            if (isSpilledToFile) {
                 try {
                     Files.delete(cachePath);
                 } catch (Exception e) {
@@ -141,6 +130,25 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
         }
     }
 
+    /**
+     * Moves the artifact out of the memory buffer into a temporary file, keeping the current position.
+     */
+    private void spillToFile() throws IOException {
+        // TODO put these all in the same /tmp/galasa dir so it is easy to cleanup
+        cachePath = Files.createTempFile("galasa_couchdb", "temp");
+        cacheByteChannel = Files.newByteChannel(cachePath, StandardOpenOption.WRITE, StandardOpenOption.READ,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        cacheByteChannel.write(ByteBuffer.wrap(memoryBuffer, 0, memoryBufferSize));
+        cacheByteChannel.position(memoryBufferPosition);
+        memoryBuffer = null;
+    }
+
+    private void checkOpen() throws ClosedChannelException {
+        if (!isOpen) {
+            throw new ClosedChannelException();
+        }
+    }
+
     private static final char[] HEX_ARRAY = "0123456789ABCDEF".toCharArray();
     public static String bytesToHex(byte[] bytes) {
         char[] hexChars = new char[bytes.length * 2];
@@ -159,7 +167,18 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public int read(ByteBuffer dst) throws IOException {
-        return cacheByteChannel.read(dst);
+        checkOpen();
+        if (cacheByteChannel != null) {
+            return cacheByteChannel.read(dst);
+        }
+
+        if (memoryBufferPosition >= memoryBufferSize) {
+            return -1;
+        }
+        int length = (int) Math.min(dst.remaining(), memoryBufferSize - memoryBufferPosition);
+        dst.put(memoryBuffer, (int) memoryBufferPosition, length);
+        memoryBufferPosition += length;
+        return length;
     }
 
     /*
@@ -169,7 +188,25 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public int write(ByteBuffer src) throws IOException {
-        return cacheByteChannel.write(src);
+        checkOpen();
+        if (cacheByteChannel == null && memoryBufferPosition + src.remaining() > memoryBufferMaxSize) {
+            spillToFile();
+        }
+        if (cacheByteChannel != null) {
+            return cacheByteChannel.write(src);
+        }
+
+        int length = src.remaining();
+        int endPosition = (int) memoryBufferPosition + length;
+        if (endPosition > memoryBuffer.length) {
+            int newCapacity = Math.max(INITIAL_BUFFER_SIZE, memoryBuffer.length * 2);
+            newCapacity = Math.min(memoryBufferMaxSize, Math.max(newCapacity, endPosition));
+            memoryBuffer = Arrays.copyOf(memoryBuffer, newCapacity);
+        }
+        src.get(memoryBuffer, (int) memoryBufferPosition, length);
+        memoryBufferPosition = endPosition;
+        memoryBufferSize = Math.max(memoryBufferSize, endPosition);
+        return length;
     }
 
     /*
@@ -179,7 +216,11 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public long position() throws IOException {
-        return cacheByteChannel.position();
+        checkOpen();
+        if (cacheByteChannel != null) {
+            return cacheByteChannel.position();
+        }
+        return memoryBufferPosition;
     }
 
     /*
@@ -189,7 +230,16 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public SeekableByteChannel position(long newPosition) throws IOException {
-        return cacheByteChannel.position(newPosition);
+        checkOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("The position must not be negative");
+        }
+        if (cacheByteChannel != null) {
+            cacheByteChannel.position(newPosition);
+        } else {
+            memoryBufferPosition = newPosition;
+        }
+        return this;
     }
 
     /*
@@ -199,7 +249,11 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public long size() throws IOException {
-        return cacheByteChannel.size();
+        checkOpen();
+        if (cacheByteChannel != null) {
+            return cacheByteChannel.size();
+        }
+        return memoryBufferSize;
     }
 
     /*
@@ -209,7 +263,23 @@ public class CouchdbRasWriteByteChannel implements SeekableByteChannel {
      */
     @Override
     public SeekableByteChannel truncate(long size) throws IOException {
-        return cacheByteChannel.truncate(size);
+        checkOpen();
+        if (size < 0) {
+            throw new IllegalArgumentException("The size must not be negative");
+        }
+        if (cacheByteChannel != null) {
+            cacheByteChannel.truncate(size);
+        } else {
+            if (size < memoryBufferSize) {
+                // Clear the truncated bytes, so a later write past the end leaves a gap of zeros
+                Arrays.fill(memoryBuffer, (int) size, memoryBufferSize, (byte) 0);
+                memoryBufferSize = (int) size;
+            }
+            if (memoryBufferPosition > size) {
+                memoryBufferPosition = size;
+            }
+        }
+        return this;
     }
 
 }
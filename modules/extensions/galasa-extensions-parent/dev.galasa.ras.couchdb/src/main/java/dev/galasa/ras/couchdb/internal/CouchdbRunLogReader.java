@@ -0,0 +1,187 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import dev.galasa.extensions.common.couchdb.CouchdbException;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RunLogRange;
+import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+
+/**
+ * Reads a run log out of CouchDB, a batch of log chunks per request, writing the lines
+ * out as soon as they arrive.
+ *
+ * When reading forwards, the next few batches are fetched while the current one is being
+ * written, and the lines are always written in log order. When reading the tail of a log,
+ * batches are fetched from the end of the log backwards until enough lines have been
+ * found, so the earlier chunks are never fetched.
+ */
+public class CouchdbRunLogReader {
+
+    public static final int DEFAULT_CHUNKS_PER_FETCH       = 50;
+    public static final int DEFAULT_MAX_FETCHES_IN_FLIGHT  = 4;
+
+    /**
+     * Something which can fetch log chunks by their document IDs, returning them in the same order as the IDs.
+     */
+    public interface LogChunkFetcher {
+        List<LogLines> fetch(List<String> logRecordIds) throws CouchdbException;
+    }
+
+    private final LogChunkFetcher fetcher;
+    private final ExecutorService executor;
+    private final int chunksPerFetch;
+    private final int maxFetchesInFlight;
+
+    public CouchdbRunLogReader(LogChunkFetcher fetcher, ExecutorService executor) {
+        this(fetcher, executor, DEFAULT_CHUNKS_PER_FETCH, DEFAULT_MAX_FETCHES_IN_FLIGHT);
+    }
+
+    public CouchdbRunLogReader(LogChunkFetcher fetcher, ExecutorService executor, int chunksPerFetch, int maxFetchesInFlight) {
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.chunksPerFetch = chunksPerFetch;
+        this.maxFetchesInFlight = maxFetchesInFlight;
+    }
+
+    /**
+     * Writes the lines of the log which are in the range, separated by newlines.
+     *
+     * @param logRecordIds the IDs of the log chunk documents, in log order
+     * @param writer where to write the lines
+     * @param range which lines are wanted
+     */
+    public void writeLog(List<String> logRecordIds, Writer writer, RunLogRange range) throws ResultArchiveStoreException, IOException {
+        if (logRecordIds == null || logRecordIds.isEmpty()) {
+            return;
+        }
+
+        if (range.isTail()) {
+            writeTail(logRecordIds, writer, range.getTailLines());
+        } else {
+            writeFromLine(logRecordIds, writer, range.getFromLine());
+        }
+    }
+
+    private void writeFromLine(List<String> logRecordIds, Writer writer, int fromLine) throws ResultArchiveStoreException, IOException {
+        List<List<String>> batches = splitIntoBatches(logRecordIds);
+        Deque<Future<List<LogLines>>> fetchesInFlight = new ArrayDeque<>();
+        LineWriter lineWriter = new LineWriter(writer);
+
+        // The chunks do not record how many lines they hold, so the chunks before the
+        // first wanted line still have to be fetched to count their lines
+        int nextBatch = 0;
+        int lineNumber = 0;
+        try {
+            while (nextBatch < batches.size() || !fetchesInFlight.isEmpty()) {
+                while (fetchesInFlight.size() < maxFetchesInFlight && nextBatch < batches.size()) {
+                    List<String> batch = batches.get(nextBatch++);
+                    fetchesInFlight.add(executor.submit(() -> fetcher.fetch(batch)));
+                }
+
+                for (LogLines chunk : waitForFetch(fetchesInFlight.removeFirst())) {
+                    if (chunk.lines != null) {
+                        for (String line : chunk.lines) {
+                            lineNumber++;
+                            if (lineNumber >= fromLine) {
+                                lineWriter.writeLine(line);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (Future<List<LogLines>> fetch : fetchesInFlight) {
+                fetch.cancel(true);
+            }
+        }
+    }
+
+    private void writeTail(List<String> logRecordIds, Writer writer, int tailLines) throws ResultArchiveStoreException, IOException {
+        Deque<List<String>> tailChunks = new ArrayDeque<>();
+        int linesFound = 0;
+
+        int endOfBatch = logRecordIds.size();
+        while (endOfBatch > 0 && linesFound < tailLines) {
+            int startOfBatch = Math.max(0, endOfBatch - chunksPerFetch);
+            List<LogLines> chunks = fetchChunks(logRecordIds.subList(startOfBatch, endOfBatch));
+            for (int i = chunks.size() - 1; i >= 0; i--) {
+                List<String> lines = chunks.get(i).lines;
+                if (lines != null) {
+                    tailChunks.addFirst(lines);
+                    linesFound += lines.size();
+                }
+            }
+            endOfBatch = startOfBatch;
+        }
+
+        LineWriter lineWriter = new LineWriter(writer);
+        int linesToSkip = Math.max(0, linesFound - tailLines);
+        for (List<String> lines : tailChunks) {
+            for (String line : lines) {
+                if (linesToSkip > 0) {
+                    linesToSkip--;
+                } else {
+                    lineWriter.writeLine(line);
+                }
+            }
+        }
+    }
+
+    private List<List<String>> splitIntoBatches(List<String> logRecordIds) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int startOfBatch = 0; startOfBatch < logRecordIds.size(); startOfBatch += chunksPerFetch) {
+            batches.add(logRecordIds.subList(startOfBatch, Math.min(logRecordIds.size(), startOfBatch + chunksPerFetch)));
+        }
+        return batches;
+    }
+
+    private List<LogLines> fetchChunks(List<String> logRecordIds) throws ResultArchiveStoreException {
+        try {
+            return fetcher.fetch(logRecordIds);
+        } catch (CouchdbException e) {
+            throw new ResultArchiveStoreException(e);
+        }
+    }
+
+    private List<LogLines> waitForFetch(Future<List<LogLines>> fetch) throws ResultArchiveStoreException {
+        try {
+            return fetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultArchiveStoreException("Interrupted while fetching the test log", e);
+        } catch (ExecutionException e) {
+            throw new ResultArchiveStoreException(e.getCause());
+        }
+    }
+
+    private static class LineWriter {
+        private final Writer writer;
+        private boolean isFirstLine = true;
+
+        LineWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        void writeLine(String line) throws IOException {
+            if (!isFirstLine) {
+                writer.write("\n");
+            }
+            writer.write(line);
+            isFirstLine = false;
+        }
+    }
+}
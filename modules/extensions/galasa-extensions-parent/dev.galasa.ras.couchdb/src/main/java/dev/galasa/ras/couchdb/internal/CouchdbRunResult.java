@@ -5,12 +5,15 @@
  */
 package dev.galasa.ras.couchdb.internal;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 
 import dev.galasa.extensions.common.api.LogFactory;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
 import dev.galasa.framework.spi.ras.ResultArchiveStoreFileStore;
+import dev.galasa.framework.spi.ras.RunLogRange;
 import dev.galasa.framework.spi.teststructure.TestStructure;
 import dev.galasa.ras.couchdb.internal.operations.CouchdbDeleteRunService;
 import dev.galasa.ras.couchdb.internal.pojos.TestStructureCouchdb;
@@ -53,6 +56,12 @@ public class CouchdbRunResult implements IRunResult {
         return this.store.getLog(this.testStructure);
     }
 
+    @Override
+    public boolean writeLog(Writer writer, RunLogRange range) throws ResultArchiveStoreException, IOException {
+        this.store.writeLog(this.testStructure, writer, range);
+        return true;
+    }
+
 	@Override
 	public void discard() throws ResultArchiveStoreException {
         deleteRunService.discardRun(this.testStructure);
@@ -19,7 +19,11 @@ public enum CpsPropertyDef {
     // If true, then couchdb puts the data inline. ie: Within a json property inside the json document.
     // Default value is 0, ie: No in-lining of attachments.
     // Only applicable when ONE_ARTIFACT_PER_DOCUMENT feature flag is enabled.
-    INLINE_ARTIFACT_MAX_SIZE("couchdb","inline.artifact.max.size")
+    INLINE_ARTIFACT_MAX_SIZE("couchdb","inline.artifact.max.size"),
+
+    // The largest artifact, in bytes, which is held in memory while it is written.
+    // Larger artifacts are written to a temporary file before being stored. 0 means always use a temporary file.
+    ARTIFACT_MEMORY_BUFFER_MAX_SIZE("couchdb","artifact.memory.buffer.max.size")
     ;
 
     private String namespace;
@@ -39,6 +43,10 @@ public enum CpsPropertyDef {
     }
 
     public int getCpsIntValue(org.apache.commons.logging.Log logger, IConfigurationPropertyStoreService cps) throws CouchdbRasException {
+        return getCpsIntValue(logger, cps, 0);
+    }
+
+    public int getCpsIntValue(org.apache.commons.logging.Log logger, IConfigurationPropertyStoreService cps, int defaultValue) throws CouchdbRasException {
         String featurePropertyName = this.getPropertyName();
         int firstDotIndex = featurePropertyName.indexOf('.');
         String prefix = featurePropertyName.substring(0, firstDotIndex);
@@ -55,8 +63,8 @@ public enum CpsPropertyDef {
 
         int value ;
         if (valueStr == null) {
-            logger.trace(MessageFormat.format("Couchdb setting %s is not set. Defaulting.",this.getPropertyName()));
-            value = 0;
+            logger.trace(MessageFormat.format("Couchdb setting {0} is not set. Defaulting to {1}.",this.getPropertyName(),defaultValue));
+            value = defaultValue;
         } else {
             value = Integer.parseInt(valueStr);
         }
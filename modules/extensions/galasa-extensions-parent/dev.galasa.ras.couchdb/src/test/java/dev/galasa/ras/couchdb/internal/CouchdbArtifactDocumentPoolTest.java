@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import dev.galasa.extensions.common.couchdb.CouchdbException;
+import dev.galasa.ras.couchdb.internal.CouchdbArtifactDocumentPool.ArtifactDocument;
+import dev.galasa.ras.couchdb.internal.CouchdbArtifactDocumentPool.ArtifactDocumentCreator;
+
+public class CouchdbArtifactDocumentPoolTest {
+
+    class MockArtifactDocumentCreator implements ArtifactDocumentCreator {
+        AtomicInteger documentsCreated = new AtomicInteger();
+        boolean isFailing = false;
+
+        @Override
+        public ArtifactDocument createArtifactDocument() throws CouchdbException {
+            if (isFailing) {
+                throw new CouchdbException("Unable to create artifact document");
+            }
+            return new ArtifactDocument("doc-" + documentsCreated.incrementAndGet(), "1");
+        }
+    }
+
+    private ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReleasedDocumentIsReusedBeforeAnotherIsCreated() throws Exception {
+        // Given...
+        MockArtifactDocumentCreator creator = new MockArtifactDocumentCreator();
+        CouchdbArtifactDocumentPool pool = new CouchdbArtifactDocumentPool(creator);
+        pool.addDocument(new ArtifactDocument("doc-0", "1"));
+
+        // When...
+        ArtifactDocument first = pool.acquire();
+        pool.release(first);
+        ArtifactDocument second = pool.acquire();
+
+        // Then...
+        assertThat(second).isSameAs(first);
+        assertThat(creator.documentsCreated.get()).isEqualTo(0);
+        assertThat(pool.getDocumentIds()).containsExactly("doc-0");
+    }
+
+    @Test
+    public void testBusyDocumentsCauseNewDocumentsToBeCreatedUpToTheLimit() throws Exception {
+        // Given...
+        MockArtifactDocumentCreator creator = new MockArtifactDocumentCreator();
+        CouchdbArtifactDocumentPool pool = new CouchdbArtifactDocumentPool(creator, 3);
+        pool.addDocument(new ArtifactDocument("doc-0", "1"));
+
+        // When...
+        ArtifactDocument doc1 = pool.acquire();
+        ArtifactDocument doc2 = pool.acquire();
+        ArtifactDocument doc3 = pool.acquire();
+
+        CountDownLatch waiting = new CountDownLatch(1);
+        Future<ArtifactDocument> fourthAcquire = executor.submit(() -> {
+            waiting.countDown();
+            return pool.acquire();
+        });
+        waiting.await();
+
+        // Then...
+        assertThat(pool.getDocumentIds()).containsExactly("doc-0", "doc-1", "doc-2");
+        assertThat(doc1.getId()).isEqualTo("doc-0");
+        assertThat(doc2.getId()).isEqualTo("doc-1");
+        assertThat(doc3.getId()).isEqualTo("doc-2");
+
+        // The pool is full, so the fourth upload has to wait for a document to be handed back
+        Thread.sleep(50);
+        assertThat(fourthAcquire.isDone()).isFalse();
+
+        pool.release(doc2);
+        assertThat(fourthAcquire.get(10, TimeUnit.SECONDS)).isSameAs(doc2);
+        assertThat(creator.documentsCreated.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedCreateDoesNotUseUpASlot() throws Exception {
+        // Given...
+        MockArtifactDocumentCreator creator = new MockArtifactDocumentCreator();
+        CouchdbArtifactDocumentPool pool = new CouchdbArtifactDocumentPool(creator, 2);
+        pool.addDocument(new ArtifactDocument("doc-0", "1"));
+        pool.acquire();
+
+        // When...
+        creator.isFailing = true;
+        Throwable thrown = catchThrowable(() -> pool.acquire());
+
+        creator.isFailing = false;
+        ArtifactDocument newDocument = pool.acquire();
+
+        // Then...
+        assertThat(thrown).isInstanceOf(CouchdbException.class).hasMessage("Unable to create artifact document");
+        assertThat(newDocument.getId()).isEqualTo("doc-1");
+        assertThat(pool.getDocumentIds()).containsExactly("doc-0", "doc-1");
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import dev.galasa.extensions.common.couchdb.CouchdbException;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.ras.couchdb.internal.CouchdbLogShipper.LogChunkSender;
+import dev.galasa.ras.couchdb.internal.mocks.MockLogFactory;
+import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+
+public class CouchdbLogShipperTest {
+
+    class MockLogChunkSender implements LogChunkSender {
+        List<List<LogLines>> batches = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseSends = new CountDownLatch(0);
+        CouchdbException failure;
+
+        @Override
+        public void send(List<LogLines> chunks) throws CouchdbException {
+            firstSendStarted.countDown();
+            try {
+                releaseSends.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            batches.add(new ArrayList<>(chunks));
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        List<String> getAllLines() {
+            List<String> allLines = new ArrayList<>();
+            synchronized (batches) {
+                for (List<LogLines> batch : batches) {
+                    for (LogLines chunk : batch) {
+                        allLines.addAll(chunk.lines);
+                    }
+                }
+            }
+            return allLines;
+        }
+    }
+
+    private List<String> createLines(int firstLine, int lineCount) {
+        List<String> lines = new ArrayList<>();
+        for (int i = firstLine; i < firstLine + lineCount; i++) {
+            lines.add("line " + i);
+        }
+        return lines;
+    }
+
+    private CouchdbLogShipper createShipper(MockLogChunkSender sender, int maxQueuedChunks, long flushIntervalMillisecs) {
+        MockLogFactory logFactory = new MockLogFactory();
+        return new CouchdbLogShipper(sender, logFactory.getLog(CouchdbLogShipper.class), 10, maxQueuedChunks, 50, flushIntervalMillisecs);
+    }
+
+    @Test
+    public void testFlushSendsAllLinesInOrder() throws Exception {
+        // Given...
+        MockLogChunkSender sender = new MockLogChunkSender();
+        CouchdbLogShipper shipper = createShipper(sender, 100, 60000);
+
+        // When...
+        // Each write which fills a chunk queues everything written so far, the
+        // last few lines are only queued by the flush
+        shipper.addLines(createLines(0, 25));
+        shipper.addLines(createLines(25, 12));
+        shipper.addLines(createLines(37, 3));
+        shipper.flush();
+
+        // Then...
+        assertThat(sender.getAllLines()).isEqualTo(createLines(0, 40));
+
+        List<Long> chunkOrders = new ArrayList<>();
+        for (List<LogLines> batch : sender.batches) {
+            for (LogLines chunk : batch) {
+                chunkOrders.add(chunk.order);
+            }
+        }
+        assertThat(chunkOrders).containsExactly(1L, 2L, 3L);
+
+        shipper.shutdown();
+    }
+
+    @Test
+    public void testChunksQueuedDuringASendAreSentTogetherInTheNextSend() throws Exception {
+        // Given...
+        MockLogChunkSender sender = new MockLogChunkSender();
+        sender.releaseSends = new CountDownLatch(1);
+        CouchdbLogShipper shipper = createShipper(sender, 100, 60000);
+
+        // When...
+        shipper.addLines(createLines(0, 10));
+        assertThat(sender.firstSendStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The first send is held up, so these pile up behind it
+        for (int i = 1; i <= 5; i++) {
+            shipper.addLines(createLines(i * 10, 10));
+        }
+        sender.releaseSends.countDown();
+        shipper.flush();
+
+        // Then...
+        assertThat(sender.batches).hasSize(2);
+        assertThat(sender.batches.get(0)).hasSize(1);
+        assertThat(sender.batches.get(1)).hasSize(5);
+        assertThat(sender.getAllLines()).isEqualTo(createLines(0, 60));
+
+        shipper.shutdown();
+    }
+
+    @Test
+    public void testWritersWaitWhenTheQueueIsFull() throws Exception {
+        // Given...
+        MockLogChunkSender sender = new MockLogChunkSender();
+        sender.releaseSends = new CountDownLatch(1);
+        CouchdbLogShipper shipper = createShipper(sender, 2, 60000);
+
+        shipper.addLines(createLines(0, 10));
+        assertThat(sender.firstSendStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When...
+        // The queue has room for two chunks while the first chunk is being sent, the third has to wait
+        Thread writer = new Thread(() -> {
+            try {
+                shipper.addLines(createLines(10, 10));
+                shipper.addLines(createLines(20, 10));
+                shipper.addLines(createLines(30, 10));
+            } catch (ResultArchiveStoreException e) {
+                fail("Unexpected failure adding lines", e);
+            }
+        });
+        writer.start();
+        writer.join(500);
+
+        // Then...
+        assertThat(writer.isAlive()).as("the writer should be waiting for room in the queue").isTrue();
+
+        sender.releaseSends.countDown();
+        writer.join(10000);
+        assertThat(writer.isAlive()).isFalse();
+
+        shipper.flush();
+        assertThat(sender.getAllLines()).isEqualTo(createLines(0, 40));
+
+        shipper.shutdown();
+    }
+
+    @Test
+    public void testPartialChunkIsSentAfterTheFlushIntervalWithoutAFlush() throws Exception {
+        // Given...
+        MockLogChunkSender sender = new MockLogChunkSender();
+        CouchdbLogShipper shipper = createShipper(sender, 100, 50);
+
+        // When...
+        shipper.addLines(createLines(0, 3));
+
+        // Then...
+        long giveUpTime = System.currentTimeMillis() + 10000;
+        while (sender.getAllLines().size() < 3 && System.currentTimeMillis() < giveUpTime) {
+            Thread.sleep(10);
+        }
+        assertThat(sender.getAllLines()).isEqualTo(createLines(0, 3));
+
+        shipper.shutdown();
+    }
+
+    @Test
+    public void testFlushReportsAFailedSend() throws Exception {
+        // Given...
+        MockLogChunkSender sender = new MockLogChunkSender();
+        sender.failure = new CouchdbException("CouchDB is down");
+        CouchdbLogShipper shipper = createShipper(sender, 100, 60000);
+
+        shipper.addLines(createLines(0, 5));
+
+        // When...
+        ResultArchiveStoreException thrown = catchThrowableOfType(() -> {
+            shipper.flush();
+        }, ResultArchiveStoreException.class);
+
+        // Then...
+        assertThat(thrown).isNotNull();
+        assertThat(thrown).hasMessage("Unable to store the test log");
+        assertThat(thrown.getCause()).hasMessage("CouchDB is down");
+
+        // The failure is only reported once
+        sender.failure = null;
+        shipper.flush();
+        shipper.shutdown();
+    }
+
+    @Test
+    public void testCannotAddLinesAfterShutdown() throws Exception {
+        // Given...
+        MockLogChunkSender sender = new MockLogChunkSender();
+        CouchdbLogShipper shipper = createShipper(sender, 100, 60000);
+        shipper.addLines(createLines(0, 5));
+
+        // When...
+        shipper.shutdown();
+        ResultArchiveStoreException thrown = catchThrowableOfType(() -> {
+            shipper.addLines(createLines(5, 5));
+        }, ResultArchiveStoreException.class);
+
+        // Then...
+        assertThat(sender.getAllLines()).isEqualTo(createLines(0, 5));
+        assertThat(thrown).hasMessage("The log shipper has been shut down");
+    }
+}
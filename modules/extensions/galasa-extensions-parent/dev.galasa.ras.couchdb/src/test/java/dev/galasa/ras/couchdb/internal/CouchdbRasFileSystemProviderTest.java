@@ -8,11 +8,15 @@ package dev.galasa.ras.couchdb.internal;
 import static org.assertj.core.api.Assertions.*;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHost;
@@ -104,6 +108,53 @@ public class CouchdbRasFileSystemProviderTest {
         }
     }
 
+    public static class PutArtifactConflictInteraction extends PutArtifactInteraction {
+
+        public PutArtifactConflictInteraction(String rasUriStr, String expectedDocumentIdSentToServer, String expectedDocumentRevSentToServer, String testFileNameToCreate) {
+            super(rasUriStr, expectedDocumentIdSentToServer, expectedDocumentRevSentToServer, null, testFileNameToCreate);
+        }
+
+        @Override
+        public MockCloseableHttpResponse getResponse() {
+            MockCloseableHttpResponse response = new MockCloseableHttpResponse();
+
+            MockStatusLine statusLine = new MockStatusLine();
+            statusLine.setStatusCode(HttpStatus.SC_CONFLICT);
+            response.setStatusLine(statusLine);
+            response.setEntity(new MockHttpEntity("{\"error\":\"conflict\"}"));
+
+            return response;
+        }
+    }
+
+    public static class GetArtifactDocumentInteraction extends BaseHttpInteraction {
+
+        public GetArtifactDocumentInteraction(String rasUriStr, String documentId, String returnedDocumentRev) {
+            super(rasUriStr, documentId, returnedDocumentRev);
+        }
+
+        @Override
+        public void validateRequest(HttpHost host, HttpRequest request) throws RuntimeException {
+            super.validateRequest(host,request);
+            assertThat(request.getRequestLine().getMethod()).isEqualTo("GET");
+            assertThat(request.getRequestLine().getUri()).isEqualTo(getRasUriStr()+"/galasa_artifacts/"+getDocumentId());
+        }
+
+        @Override
+        public MockCloseableHttpResponse getResponse() {
+            String documentPayload = "{\"_id\":\"" + getDocumentId() + "\",\"_rev\":\"" + getReturnedDocumentRev() + "\"}";
+
+            MockCloseableHttpResponse response = new MockCloseableHttpResponse();
+
+            MockStatusLine statusLine = new MockStatusLine();
+            statusLine.setStatusCode(HttpStatus.SC_OK);
+            response.setStatusLine(statusLine);
+            response.setEntity(new MockHttpEntity(documentPayload));
+
+            return response;
+        }
+    }
+
 
 
     @Test 
@@ -170,7 +221,115 @@ public class CouchdbRasFileSystemProviderTest {
         String logContent = mockLogFactory.toString();
         assertThat(logContent).isNotEmpty();
     }
-    
+
+
+    @Test
+    public void testConflictingArtifactUploadIsRetriedWithTheLatestRevision() throws Exception {
+
+        // Given...
+        String fileContent = CouchdbTestFixtures.ATTACHMENT_CONTENT1 ;
+        String testFileNameToCreate = testName.getMethodName();
+
+        List<HttpInteraction> interactions = new ArrayList<HttpInteraction>();
+        // Interactions to get the RAS store created for this run...
+        interactions.add( new CreateTestDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.documentId1,CouchdbTestFixtures.documentRev1) );
+        interactions.add( new CreateArtifactDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124") );
+        // Something else has updated the artifact document, so the first upload clashes...
+        interactions.add( new PutArtifactConflictInteraction( CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124", testFileNameToCreate) ) ;
+        // ... the latest revision of the document is read ...
+        interactions.add( new GetArtifactDocumentInteraction( CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "130") ) ;
+        // ... and the upload is tried again with that revision.
+        interactions.add( new PutArtifactInteraction( CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "130", "131", testFileNameToCreate) ) ;
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore couchdbStore = fixtures.createCouchdbRasStore(null,interactions, mockLogFactory);
+
+        // When...
+        createFile(couchdbStore, testFileNameToCreate, fileContent);
+
+        // Then...
+        String logContent = mockLogFactory.toString();
+        assertThat(logContent).contains("Stored artifact");
+    }
+
+    @Test
+    public void testSmallArtifactIsStoredFromMemory() throws Exception {
+
+        // Given...
+        String testFileNameToCreate = testName.getMethodName();
+
+        List<HttpInteraction> interactions = new ArrayList<HttpInteraction>();
+        interactions.add( new CreateTestDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.documentId1,CouchdbTestFixtures.documentRev1) );
+        interactions.add( new CreateArtifactDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124") );
+        interactions.add( new PutArtifactInteraction( CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124", "125", testFileNameToCreate) ) ;
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore couchdbStore = fixtures.createCouchdbRasStore(null,interactions, mockLogFactory);
+
+        // When...
+        createFile(couchdbStore, testFileNameToCreate, CouchdbTestFixtures.ATTACHMENT_CONTENT1);
+
+        // Then...
+        assertThat(mockLogFactory.toString()).contains("length=11 contentType=plain/text buffer=memory");
+    }
+
+    @Test
+    public void testArtifactLargerThanTheMemoryBufferIsStoredFromATemporaryFile() throws Exception {
+
+        // Given...
+        String testFileNameToCreate = testName.getMethodName();
+
+        Map<String,String> props = new HashMap<String,String>();
+        props.put("artifact.memory.buffer.max.size", "5");
+
+        List<HttpInteraction> interactions = new ArrayList<HttpInteraction>();
+        interactions.add( new CreateTestDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.documentId1,CouchdbTestFixtures.documentRev1) );
+        interactions.add( new CreateArtifactDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124") );
+        interactions.add( new PutArtifactInteraction( CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124", "125", testFileNameToCreate) ) ;
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore couchdbStore = fixtures.createCouchdbRasStore(props,interactions, mockLogFactory);
+
+        // When... the artifact is written in pieces, so it outgrows the memory buffer part way through
+        Path testFilePath = couchdbStore.getStoredArtifactsRoot().resolve(testFileNameToCreate);
+        try (SeekableByteChannel channel = Files.newByteChannel(testFilePath, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            channel.write(ByteBuffer.wrap("Hell".getBytes()));
+            channel.write(ByteBuffer.wrap("o World".getBytes()));
+        }
+
+        // Then...
+        assertThat(mockLogFactory.toString()).contains("length=11 contentType=plain/text buffer=file");
+    }
+
+    @Test
+    public void testArtifactChannelCanSeekAndTruncateWhileInMemory() throws Exception {
+
+        // Given...
+        String testFileNameToCreate = testName.getMethodName();
+
+        List<HttpInteraction> interactions = new ArrayList<HttpInteraction>();
+        interactions.add( new CreateTestDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.documentId1,CouchdbTestFixtures.documentRev1) );
+        interactions.add( new CreateArtifactDocInteractionOK(CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124") );
+        interactions.add( new PutArtifactInteraction( CouchdbTestFixtures.rasUriStr , CouchdbTestFixtures.ARTIFACT_DOCUMENT_ID_1, "124", "125", testFileNameToCreate) ) ;
+
+        MockLogFactory mockLogFactory = new MockLogFactory();
+        CouchdbRasStore couchdbStore = fixtures.createCouchdbRasStore(null,interactions, mockLogFactory);
+
+        // When...
+        Path testFilePath = couchdbStore.getStoredArtifactsRoot().resolve(testFileNameToCreate);
+        try (SeekableByteChannel channel = Files.newByteChannel(testFilePath, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            channel.write(ByteBuffer.wrap("Hello there!".getBytes()));
+            channel.truncate(5);
+            channel.write(ByteBuffer.wrap(" Xorld".getBytes()));
+            channel.position(6);
+            channel.write(ByteBuffer.wrap("W".getBytes()));
+
+            // Then...
+            assertThat(channel.size()).isEqualTo(11);
+            assertThat(channel.position()).isEqualTo(7);
+        }
+        assertThat(mockLogFactory.toString()).contains("buffer=memory");
+    }
 
     private void createFile( CouchdbRasStore couchdbStore, String testFileNameToCreate, String fileContent) throws IOException {
         Path rootDirPath = couchdbStore.getStoredArtifactsRoot();
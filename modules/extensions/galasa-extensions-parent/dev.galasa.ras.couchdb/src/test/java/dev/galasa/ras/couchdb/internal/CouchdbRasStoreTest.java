@@ -8,12 +8,18 @@ package dev.galasa.ras.couchdb.internal;
 import static org.assertj.core.api.Assertions.*;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.util.EntityUtils;
 import org.junit.Test;
@@ -22,9 +28,13 @@ import dev.galasa.extensions.common.couchdb.pojos.PutPostResponse;
 import dev.galasa.extensions.common.mocks.BaseHttpInteraction;
 import dev.galasa.extensions.common.mocks.HttpInteraction;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RunLogRange;
 import dev.galasa.framework.spi.teststructure.TestStructure;
 import dev.galasa.ras.couchdb.internal.mocks.CouchdbTestFixtures;
 import dev.galasa.ras.couchdb.internal.mocks.MockLogFactory;
+import dev.galasa.ras.couchdb.internal.pojos.FoundLogLines;
+import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+import dev.galasa.ras.couchdb.internal.pojos.LogLinesRow;
 import dev.galasa.ras.couchdb.internal.pojos.TestStructureCouchdb;
 
 public class CouchdbRasStoreTest {
@@ -59,6 +69,50 @@ public class CouchdbRasStoreTest {
         }
     }
 
+    class BulkLogLinesInteraction extends BaseHttpInteraction {
+
+        private String[] expectedRequestBodyParts;
+
+        public BulkLogLinesInteraction(String expectedUri, PutPostResponse[] response, String... expectedRequestBodyParts) {
+            super(expectedUri, response, HttpStatus.SC_CREATED);
+            this.expectedRequestBodyParts = expectedRequestBodyParts;
+        }
+
+        @Override
+        public void validateRequest(HttpHost host, HttpRequest request) throws RuntimeException {
+            super.validateRequest(host,request);
+            assertThat(request.getRequestLine().getMethod()).isEqualTo("POST");
+            try {
+                String requestBody = EntityUtils.toString(((HttpPost) request).getEntity());
+                assertThat(requestBody).contains(expectedRequestBodyParts);
+            } catch (IOException ex) {
+                fail("Failed to parse POST request body");
+            }
+        }
+    }
+
+    class FetchLogLinesInteraction extends BaseHttpInteraction {
+
+        private String[] expectedRequestBodyParts;
+
+        public FetchLogLinesInteraction(String expectedUri, FoundLogLines response, String... expectedRequestBodyParts) {
+            super(expectedUri, response, HttpStatus.SC_OK);
+            this.expectedRequestBodyParts = expectedRequestBodyParts;
+        }
+
+        @Override
+        public void validateRequest(HttpHost host, HttpRequest request) throws RuntimeException {
+            super.validateRequest(host,request);
+            assertThat(request.getRequestLine().getMethod()).isEqualTo("POST");
+            try {
+                String requestBody = EntityUtils.toString(((HttpPost) request).getEntity());
+                assertThat(requestBody).contains(expectedRequestBodyParts);
+            } catch (IOException ex) {
+                fail("Failed to parse POST request body");
+            }
+        }
+    }
+
     CouchdbTestFixtures fixtures = new CouchdbTestFixtures();    
 
     private TestStructureCouchdb createTestStructure(String runName, String status, String docId, String revision) {
@@ -73,6 +127,14 @@ public class CouchdbRasStoreTest {
         return testStructure;
     }
 
+    private LogLinesRow createLogLinesRow(String logRecordId, String... lines) {
+        LogLinesRow row = new LogLinesRow();
+        row.key = logRecordId;
+        row.doc = new LogLines();
+        row.doc.lines = List.of(lines);
+        return row;
+    }
+
 
     // Creating the Ras store causes the test structure in the couchdb 
     @Test
@@ -173,4 +235,142 @@ public class CouchdbRasStoreTest {
         assertThat(thrown).isNotNull();
         assertThat(thrown).hasMessage("Failed to get run document revision");
     }
+
+    @Test
+    public void testWriteLogStoresLinesInBulkAndUpdatesRunDocumentOnFlush() throws Exception {
+        // Given...
+        String baseUri = CouchdbTestFixtures.rasUriStr;
+        String docId = CouchdbTestFixtures.documentId1;
+
+        PutPostResponse logDocResponse = new PutPostResponse();
+        logDocResponse.id = "log-doc-1";
+        logDocResponse.rev = "1-abc";
+        logDocResponse.ok = true;
+
+        PutPostResponse runDocResponse = new PutPostResponse();
+        runDocResponse.id = docId;
+        runDocResponse.rev = "125";
+        runDocResponse.ok = true;
+
+        List<HttpInteraction> interactions = List.of(
+            new CouchdbTestFixtures.CreateTestDocInteractionOK(baseUri, docId, "124"),
+            new CouchdbTestFixtures.CreateArtifactDocInteractionOK(baseUri, docId, "124"),
+            new BulkLogLinesInteraction(baseUri + "/" + CouchdbRasStore.LOG_DB + "/_bulk_docs",
+                new PutPostResponse[] { logDocResponse },
+                "\"docs\"", "first line", "second line", "third line", CouchdbTestFixtures.runName1),
+            new UpdateCouchdbDocumentInteraction(baseUri + "/" + CouchdbRasStore.RUNS_DB + "/" + docId, HttpStatus.SC_CREATED, runDocResponse, "log-doc-1"),
+            new UpdateCouchdbDocumentInteraction(baseUri + "/" + CouchdbRasStore.RUNS_DB + "/" + docId, HttpStatus.SC_CREATED, runDocResponse, "log-doc-1")
+        );
+
+        CouchdbRasStore rasStore = fixtures.createCouchdbRasStore(null, interactions, new MockLogFactory());
+
+        // When...
+        rasStore.writeLog("first line\nsecond line");
+        rasStore.writeLog(List.of("third line"));
+        rasStore.flush();
+
+        // Then...
+        // The log was stored and the run document updated by the flush, so the next
+        // update of the run document is the last expected interaction
+        TestStructure testStructure = new TestStructure();
+        rasStore.updateTestStructure(testStructure);
+        assertThat(testStructure.getLogRecordIds()).containsExactly("log-doc-1");
+    }
+
+    @Test
+    public void testWriteLogFetchesTheLogChunksInOneRequest() throws Exception {
+        // Given...
+        String baseUri = CouchdbTestFixtures.rasUriStr;
+        String docId = CouchdbTestFixtures.documentId1;
+
+        FoundLogLines foundLogLines = new FoundLogLines();
+        foundLogLines.rows = List.of(
+            createLogLinesRow("log-doc-1", "line 1", "line 2"),
+            createLogLinesRow("log-doc-2", "line 3"),
+            createLogLinesRow("log-doc-3", "line 4", "line 5")
+        );
+
+        List<HttpInteraction> interactions = List.of(
+            new CouchdbTestFixtures.CreateTestDocInteractionOK(baseUri, docId, "124"),
+            new CouchdbTestFixtures.CreateArtifactDocInteractionOK(baseUri, docId, "124"),
+            new FetchLogLinesInteraction(baseUri + "/" + CouchdbRasStore.LOG_DB + "/_all_docs?include_docs=true",
+                foundLogLines, "\"keys\"", "log-doc-1", "log-doc-2", "log-doc-3")
+        );
+
+        CouchdbRasStore rasStore = fixtures.createCouchdbRasStore(null, interactions, new MockLogFactory());
+
+        TestStructure testStructure = new TestStructure();
+        testStructure.setLogRecordIds(List.of("log-doc-1", "log-doc-2", "log-doc-3"));
+        StringWriter writer = new StringWriter();
+
+        // When...
+        rasStore.writeLog(testStructure, writer, RunLogRange.fromLine(2));
+
+        // Then...
+        assertThat(writer.toString()).isEqualTo("line 2\nline 3\nline 4\nline 5");
+    }
+
+    @Test
+    public void testLogFetchesQueueOnceAllTheLogFetchThreadsAreBusy() throws Exception {
+        // Given...
+        CouchdbRasStore rasStore = fixtures.createCouchdbRasStore(null);
+        ExecutorService executor = rasStore.getLogFetchExecutor();
+
+        CountDownLatch allThreadsBusy = new CountDownLatch(CouchdbRasStore.LOG_FETCH_THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger fetchesStarted = new AtomicInteger();
+
+        try {
+            // When...
+            for (int i = 0; i < CouchdbRasStore.LOG_FETCH_THREADS * 2; i++) {
+                executor.submit(() -> {
+                    fetchesStarted.incrementAndGet();
+                    allThreadsBusy.countDown();
+                    return release.await(10, TimeUnit.SECONDS);
+                });
+            }
+
+            // Then...
+            assertThat(allThreadsBusy.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(fetchesStarted.get()).isEqualTo(CouchdbRasStore.LOG_FETCH_THREADS);
+            assertThat(rasStore.getLogFetchExecutor()).isSameAs(executor);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWriteLogFailsWhenALogChunkIsMissing() throws Exception {
+        // Given...
+        String baseUri = CouchdbTestFixtures.rasUriStr;
+        String docId = CouchdbTestFixtures.documentId1;
+
+        LogLinesRow missingRow = new LogLinesRow();
+        missingRow.key = "log-doc-2";
+        missingRow.error = "not_found";
+
+        FoundLogLines foundLogLines = new FoundLogLines();
+        foundLogLines.rows = List.of(createLogLinesRow("log-doc-1", "line 1"), missingRow);
+
+        List<HttpInteraction> interactions = List.of(
+            new CouchdbTestFixtures.CreateTestDocInteractionOK(baseUri, docId, "124"),
+            new CouchdbTestFixtures.CreateArtifactDocInteractionOK(baseUri, docId, "124"),
+            new FetchLogLinesInteraction(baseUri + "/" + CouchdbRasStore.LOG_DB + "/_all_docs?include_docs=true", foundLogLines, "log-doc-2")
+        );
+
+        CouchdbRasStore rasStore = fixtures.createCouchdbRasStore(null, interactions, new MockLogFactory());
+
+        TestStructure testStructure = new TestStructure();
+        testStructure.setLogRecordIds(List.of("log-doc-1", "log-doc-2"));
+
+        // When...
+        ResultArchiveStoreException thrown = catchThrowableOfType(() -> {
+            rasStore.getLog(testStructure);
+        }, ResultArchiveStoreException.class);
+
+        // Then...
+        assertThat(thrown).isNotNull();
+        assertThat(thrown.getCause()).hasMessageContaining("Unable to retrieve test log record log-doc-2 - not_found");
+    }
 }
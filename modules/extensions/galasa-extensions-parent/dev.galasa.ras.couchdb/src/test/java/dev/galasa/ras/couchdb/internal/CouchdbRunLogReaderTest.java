@@ -0,0 +1,188 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.ras.couchdb.internal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import dev.galasa.extensions.common.couchdb.CouchdbException;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RunLogRange;
+import dev.galasa.ras.couchdb.internal.CouchdbRunLogReader.LogChunkFetcher;
+import dev.galasa.ras.couchdb.internal.pojos.LogLines;
+
+public class CouchdbRunLogReaderTest {
+
+    // Each log chunk "log-N" holds the two lines "line N.1" and "line N.2"
+    class MockLogChunkFetcher implements LogChunkFetcher {
+        List<List<String>> fetchedBatches = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger fetchesInFlight = new AtomicInteger();
+        int maxFetchesInFlightSeen = 0;
+        String failingLogRecordId;
+
+        @Override
+        public List<LogLines> fetch(List<String> logRecordIds) throws CouchdbException {
+            int inFlight = fetchesInFlight.incrementAndGet();
+            synchronized (this) {
+                maxFetchesInFlightSeen = Math.max(maxFetchesInFlightSeen, inFlight);
+            }
+
+            try {
+                fetchedBatches.add(new ArrayList<>(logRecordIds));
+
+                // Earlier batches take longer, so later batches finish first
+                Thread.sleep(Math.max(0, 40 - Integer.parseInt(logRecordIds.get(0).substring(4))));
+
+                List<LogLines> chunks = new ArrayList<>();
+                for (String logRecordId : logRecordIds) {
+                    if (logRecordId.equals(failingLogRecordId)) {
+                        throw new CouchdbException("Unable to retrieve test log record " + logRecordId);
+                    }
+                    LogLines chunk = new LogLines();
+                    String chunkNumber = logRecordId.substring(4);
+                    chunk.lines = List.of("line " + chunkNumber + ".1", "line " + chunkNumber + ".2");
+                    chunks.add(chunk);
+                }
+                return chunks;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CouchdbException("Interrupted", e);
+            } finally {
+                fetchesInFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private List<String> createLogRecordIds(int chunkCount) {
+        List<String> logRecordIds = new ArrayList<>();
+        for (int i = 1; i <= chunkCount; i++) {
+            logRecordIds.add("log-" + i);
+        }
+        return logRecordIds;
+    }
+
+    private String createExpectedLog(int firstChunk, int lastChunk) {
+        List<String> lines = new ArrayList<>();
+        for (int i = firstChunk; i <= lastChunk; i++) {
+            lines.add("line " + i + ".1");
+            lines.add("line " + i + ".2");
+        }
+        return String.join("\n", lines);
+    }
+
+    @Test
+    public void testWholeLogIsFetchedInParallelBatchesAndWrittenInOrder() throws Exception {
+        // Given...
+        MockLogChunkFetcher fetcher = new MockLogChunkFetcher();
+        CouchdbRunLogReader reader = new CouchdbRunLogReader(fetcher, executor, 3, 4);
+        StringWriter writer = new StringWriter();
+
+        // When...
+        reader.writeLog(createLogRecordIds(20), writer, RunLogRange.ALL_LINES);
+
+        // Then...
+        assertThat(writer.toString()).isEqualTo(createExpectedLog(1, 20));
+        assertThat(fetcher.fetchedBatches).hasSize(7);
+        assertThat(fetcher.maxFetchesInFlightSeen).isBetween(2, 4);
+    }
+
+    @Test
+    public void testFromLineSkipsTheEarlierLines() throws Exception {
+        // Given...
+        MockLogChunkFetcher fetcher = new MockLogChunkFetcher();
+        CouchdbRunLogReader reader = new CouchdbRunLogReader(fetcher, executor, 3, 4);
+        StringWriter writer = new StringWriter();
+
+        // When...
+        reader.writeLog(createLogRecordIds(5), writer, RunLogRange.fromLine(6));
+
+        // Then...
+        assertThat(writer.toString()).isEqualTo("line 3.2\n" + createExpectedLog(4, 5));
+    }
+
+    @Test
+    public void testTailOnlyFetchesTheBatchesItNeeds() throws Exception {
+        // Given...
+        MockLogChunkFetcher fetcher = new MockLogChunkFetcher();
+        CouchdbRunLogReader reader = new CouchdbRunLogReader(fetcher, executor, 3, 4);
+        StringWriter writer = new StringWriter();
+
+        // When...
+        // The last batch has 6 lines, so one more batch is needed for 7 lines
+        reader.writeLog(createLogRecordIds(20), writer, RunLogRange.tail(7));
+
+        // Then...
+        assertThat(writer.toString()).isEqualTo("line 17.2\n" + createExpectedLog(18, 20));
+        assertThat(fetcher.fetchedBatches).containsExactly(
+            List.of("log-18", "log-19", "log-20"),
+            List.of("log-15", "log-16", "log-17")
+        );
+    }
+
+    @Test
+    public void testTailLongerThanTheLogWritesTheWholeLog() throws Exception {
+        // Given...
+        MockLogChunkFetcher fetcher = new MockLogChunkFetcher();
+        CouchdbRunLogReader reader = new CouchdbRunLogReader(fetcher, executor, 3, 4);
+        StringWriter writer = new StringWriter();
+
+        // When...
+        reader.writeLog(createLogRecordIds(4), writer, RunLogRange.tail(100));
+
+        // Then...
+        assertThat(writer.toString()).isEqualTo(createExpectedLog(1, 4));
+    }
+
+    @Test
+    public void testFailedFetchIsReported() throws Exception {
+        // Given...
+        MockLogChunkFetcher fetcher = new MockLogChunkFetcher();
+        fetcher.failingLogRecordId = "log-8";
+        CouchdbRunLogReader reader = new CouchdbRunLogReader(fetcher, executor, 3, 4);
+        StringWriter writer = new StringWriter();
+
+        // When...
+        ResultArchiveStoreException thrown = catchThrowableOfType(() -> {
+            reader.writeLog(createLogRecordIds(20), writer, RunLogRange.ALL_LINES);
+        }, ResultArchiveStoreException.class);
+
+        // Then...
+        assertThat(thrown).isNotNull();
+        assertThat(thrown.getCause()).hasMessage("Unable to retrieve test log record log-8");
+    }
+
+    @Test
+    public void testRunWithNoLogWritesNothing() throws Exception {
+        // Given...
+        MockLogChunkFetcher fetcher = new MockLogChunkFetcher();
+        CouchdbRunLogReader reader = new CouchdbRunLogReader(fetcher, executor);
+        StringWriter writer = new StringWriter();
+
+        // When...
+        reader.writeLog(new ArrayList<>(), writer, RunLogRange.ALL_LINES);
+
+        // Then...
+        assertThat(writer.toString()).isEmpty();
+        assertThat(fetcher.fetchedBatches).isEmpty();
+    }
+}
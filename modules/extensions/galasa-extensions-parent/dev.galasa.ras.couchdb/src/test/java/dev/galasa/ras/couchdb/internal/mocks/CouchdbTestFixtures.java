@@ -125,7 +125,7 @@ public class CouchdbTestFixtures {
             // We will reply with a PutPostResponse
 
             PutPostResponse responseTransportBean = new PutPostResponse();
-            responseTransportBean.id = getDocumentId();setAllowComparingPrivateFields(false);
+            responseTransportBean.id = getDocumentId();
             responseTransportBean.ok = true ;
             responseTransportBean.rev = getReturnedDocumentRev();
 
@@ -84,12 +84,16 @@ public class BaseServlet extends HttpServlet {
         processRequest(req, res);
     }
 
-    private void processRequest(HttpServletRequest req, HttpServletResponse res) {
+    private void processRequest(HttpServletRequest req, HttpServletResponse res) throws IOException {
         String errorString = "";
         int httpStatusCode = HttpServletResponse.SC_OK;
 
         try {
             processRoutes(req, res);
+        } catch (ResponseAbortedException ex) {
+            // Part of the response has been sent already, so leave the container to abort it
+            logger.error("Aborting the response to " + req.getPathInfo(), ex);
+            throw ex;
         } catch (InternalServletException ex) {
             // the message is a curated servlet message, we intentionally threw up to this level.
             errorString = ex.getMessage();
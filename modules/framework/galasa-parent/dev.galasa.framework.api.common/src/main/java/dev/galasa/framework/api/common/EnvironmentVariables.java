@@ -40,4 +40,9 @@ public class EnvironmentVariables {
      * Kubernetes resources, like deployments for monitors, that are available in its namespace.
      */
     public static final String GALASA_KUBERNETES_NAMESPACE = "NAMESPACE";
+
+    /**
+     * How long, in seconds, each result archive store is given to answer a query for runs before the query fails.
+     */
+    public static final String GALASA_RAS_QUERY_TIMEOUT_SECONDS = "GALASA_RAS_QUERY_TIMEOUT_SECONDS";
 }
@@ -0,0 +1,23 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.api.common;
+
+import java.io.IOException;
+
+/**
+ * Thrown by a route which fails after it has started streaming a successful response.
+ * The status has already been sent, so the failure cannot be reported in the response.
+ * Instead the servlet lets this through to the servlet container, which aborts the response
+ * rather than ending it as if it was complete.
+ */
+public class ResponseAbortedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResponseAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -33,6 +33,10 @@ public enum ServletErrorMessage {
     GAL5430_GROUP_RUNS_ALREADY_FINISHED               (5430, "I: When trying to cancel the run group ''{0}'', no recent active (unfinished) test runs were found which are part of that group. Archived test runs may be part of that group, which can be queried separately from the Result Archive Store."),
     GAL5431_INVALID_CANCEL_UPDATE_REQUEST             (5431, "E: Error occurred. The field ''result'' in the request body is invalid. The ''result'' value ''{0}'' supplied is not supported. Supported values are: ''cancelled''."),
 
+    // RunLog...
+    GAL5432_INVALID_RUN_LOG_LINE_COUNT                (5432,"E: Error parsing the query parameter ''{0}'' in the request URL. Invalid value ''{1}''. Expecting a whole number greater than zero."),
+    GAL5433_RUN_LOG_FROM_AND_TAIL_SUPPLIED            (5433,"E: Error parsing the query parameters. ''from'' and ''tail'' cannot be used together. Supply one of them, or neither to get the whole run log."),
+
     // RunArtifactsList...
     GAL5007_ERROR_RETRIEVING_ARTIFACTS_LIST           (5007,"E: Error retrieving artifacts for run with identifier ''{0}''."),
 
@@ -194,7 +198,7 @@ public enum ServletErrorMessage {
     // >>>       Unit tests guarantee that this number is 'free' to use for a new error message.
     // >>>       If you do use this number for a new error template, please incriment this value.
     // >>>
-    public static final int GALxxx_NEXT_MESSAGE_NUMBER_TO_USE = 5432;
+    public static final int GALxxx_NEXT_MESSAGE_NUMBER_TO_USE = 5434;
 
 
     private String template ;
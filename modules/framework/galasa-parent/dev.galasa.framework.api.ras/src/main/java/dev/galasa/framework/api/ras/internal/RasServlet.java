@@ -13,6 +13,7 @@ import org.apache.commons.logging.LogFactory;
 
 import dev.galasa.framework.FileSystem;
 import dev.galasa.framework.IFileSystem;
+import dev.galasa.framework.api.ras.internal.common.RasDirectoryServiceQuery;
 import dev.galasa.framework.api.ras.internal.routes.RequestorRoute;
 import dev.galasa.framework.api.ras.internal.routes.ResultNamesRoute;
 import dev.galasa.framework.api.ras.internal.routes.RunArtifactsDownloadRoute;
@@ -23,10 +24,13 @@ import dev.galasa.framework.api.ras.internal.routes.RunQueryRoute;
 import dev.galasa.framework.api.ras.internal.routes.TestClassesRoute;
 import dev.galasa.framework.api.common.BaseServlet;
 import dev.galasa.framework.api.common.Environment;
+import dev.galasa.framework.api.common.EnvironmentVariables;
 import dev.galasa.framework.api.common.SystemEnvironment;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.rbac.RBACException;
 
+import java.util.concurrent.TimeUnit;
+
 import javax.servlet.Servlet;
 import javax.servlet.ServletException;
 
@@ -64,7 +68,7 @@ public class RasServlet extends BaseServlet {
 			addRoute(new RunDetailsRoute(getResponseBuilder(), framework));
 			addRoute(new RunLogRoute(getResponseBuilder(), framework));
 			addRoute(new RunArtifactsListRoute(getResponseBuilder(), fileSystem, framework));
-			addRoute(new RunQueryRoute(getResponseBuilder(), framework));
+			addRoute(new RunQueryRoute(getResponseBuilder(), framework, new RasDirectoryServiceQuery(getRasQueryTimeoutSeconds(), TimeUnit.SECONDS)));
 			addRoute(new RunArtifactsDownloadRoute(getResponseBuilder(), fileSystem, framework));
 			addRoute(new ResultNamesRoute(getResponseBuilder(), framework));
 			addRoute(new RequestorRoute(getResponseBuilder(), framework));
@@ -75,4 +79,18 @@ public class RasServlet extends BaseServlet {
 		logger.info("RasServlet initialised");
 	}
 
+	private long getRasQueryTimeoutSeconds() {
+		long timeoutSeconds = RasDirectoryServiceQuery.DEFAULT_TIMEOUT_SECONDS;
+		String timeoutValue = env.getenv(EnvironmentVariables.GALASA_RAS_QUERY_TIMEOUT_SECONDS);
+		if (timeoutValue != null && !timeoutValue.isBlank()) {
+			try {
+				timeoutSeconds = Long.parseLong(timeoutValue.trim());
+			} catch (NumberFormatException e) {
+				logger.warn("Invalid value for " + EnvironmentVariables.GALASA_RAS_QUERY_TIMEOUT_SECONDS + ": '" + timeoutValue
+					+ "', using the default of " + timeoutSeconds + " seconds");
+			}
+		}
+		return timeoutSeconds;
+	}
+
 }
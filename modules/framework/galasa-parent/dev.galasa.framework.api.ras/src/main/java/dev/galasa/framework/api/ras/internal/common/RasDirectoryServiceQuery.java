@@ -0,0 +1,133 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.api.ras.internal.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+
+/**
+ * Sends the same query to every RAS directory service at the same time, so a query takes as long
+ * as the slowest store rather than the total of all of them.
+ *
+ * The queries run on a small pool of threads shared by every request, and each query has to
+ * finish within a time limit so that one slow store cannot hold up the request forever.
+ */
+public class RasDirectoryServiceQuery {
+
+    public static final long DEFAULT_TIMEOUT_SECONDS = 60;
+
+    private static final int MAX_QUERY_THREADS = 8;
+
+    private static final ExecutorService sharedExecutor = createExecutor();
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    /**
+     * A query to send to a single directory service
+     */
+    public interface DirectoryServiceCall<T> {
+        T call(IResultArchiveStoreDirectoryService directoryService) throws ResultArchiveStoreException;
+    }
+
+    public RasDirectoryServiceQuery() {
+        this(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public RasDirectoryServiceQuery(long timeout, TimeUnit timeoutUnit) {
+        this(sharedExecutor, timeout, timeoutUnit);
+    }
+
+    public RasDirectoryServiceQuery(ExecutorService executor, long timeout, TimeUnit timeoutUnit) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutUnit.toMillis(timeout);
+    }
+
+    /**
+     * Sends a query to every directory service and waits for all of them to answer.
+     *
+     * @param directoryServices the directory services to query
+     * @param call the query to send to each directory service
+     * @return the answer from each directory service, in the same order as the directory services
+     * @throws ResultArchiveStoreException if any of the directory services fails, or does not answer in time
+     */
+    public <T> List<T> queryAll(List<IResultArchiveStoreDirectoryService> directoryServices, DirectoryServiceCall<T> call) throws ResultArchiveStoreException {
+        List<T> results = new ArrayList<>();
+
+        // Even a single store is queried on the pool, so that it is held to the time limit too
+        List<Future<T>> futures = new ArrayList<>();
+        for (IResultArchiveStoreDirectoryService directoryService : directoryServices) {
+            futures.add(executor.submit(() -> call.call(directoryService)));
+        }
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                long remainingMillis = Math.max(0, deadline - System.currentTimeMillis());
+                try {
+                    results.add(futures.get(i).get(remainingMillis, TimeUnit.MILLISECONDS));
+                } catch (TimeoutException e) {
+                    String storeName = getStoreName(directoryServices.get(i));
+                    logger.error("The RAS directory service " + storeName + " did not respond within " + timeoutMillis + "ms");
+                    throw new ResultArchiveStoreException("The RAS directory service " + storeName + " did not respond in time", e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof ResultArchiveStoreException) {
+                        throw (ResultArchiveStoreException) cause;
+                    }
+                    throw new ResultArchiveStoreException("Failed to query a RAS directory service", cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultArchiveStoreException("Interrupted while querying the RAS directory services", e);
+        } finally {
+            // Stop any queries that are no longer wanted because another one has failed
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    private String getStoreName(IResultArchiveStoreDirectoryService directoryService) {
+        String storeName;
+        try {
+            storeName = directoryService.getName();
+        } catch (RuntimeException e) {
+            storeName = directoryService.getClass().getName();
+        }
+        return storeName;
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_QUERY_THREADS, MAX_QUERY_THREADS,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "ras-query-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
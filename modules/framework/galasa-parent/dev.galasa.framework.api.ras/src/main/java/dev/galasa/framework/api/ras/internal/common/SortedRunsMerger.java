@@ -0,0 +1,92 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.api.ras.internal.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges lists of runs which are each already sorted into one sorted sequence, taking only as
+ * many runs as are needed rather than sorting everything together.
+ *
+ * Runs which compare as equal come out in the order of the lists they came from, so the result
+ * is the same as a stable sort of all the lists joined together.
+ */
+public class SortedRunsMerger<T> {
+
+    private final List<List<T>> sortedLists;
+    private final Comparator<T> comparator;
+
+    private class ListCursor {
+        final int listIndex;
+        int position = 0;
+
+        ListCursor(int listIndex) {
+            this.listIndex = listIndex;
+        }
+
+        T current() {
+            return sortedLists.get(listIndex).get(position);
+        }
+    }
+
+    public SortedRunsMerger(List<List<T>> sortedLists, Comparator<T> comparator) {
+        this.sortedLists = sortedLists;
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return how many runs there are in all the lists together
+     */
+    public int getTotalSize() {
+        int totalSize = 0;
+        for (List<T> list : sortedLists) {
+            totalSize += list.size();
+        }
+        return totalSize;
+    }
+
+    /**
+     * Gets a range of runs from the merged sequence, stopping as soon as the range is full.
+     *
+     * @param offset how many runs from the start of the merged sequence to skip
+     * @param count the most runs to return
+     * @return the runs in the range, in merged order
+     */
+    public List<T> getRange(int offset, int count) {
+        PriorityQueue<ListCursor> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()), (a, b) -> {
+            int result = comparator.compare(a.current(), b.current());
+            if (result == 0) {
+                result = Integer.compare(a.listIndex, b.listIndex);
+            }
+            return result;
+        });
+
+        for (int i = 0; i < sortedLists.size(); i++) {
+            if (!sortedLists.get(i).isEmpty()) {
+                heads.add(new ListCursor(i));
+            }
+        }
+
+        List<T> range = new ArrayList<>();
+        int position = 0;
+        while (!heads.isEmpty() && range.size() < count) {
+            ListCursor head = heads.poll();
+            if (position >= offset) {
+                range.add(head.current());
+            }
+            position++;
+
+            head.position++;
+            if (head.position < sortedLists.get(head.listIndex).size()) {
+                heads.add(head);
+            }
+        }
+        return range;
+    }
+}
@@ -8,6 +8,8 @@ package dev.galasa.framework.api.ras.internal.routes;
 import static dev.galasa.framework.api.common.ServletErrorMessage.*;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.regex.Matcher;
 
 import javax.servlet.ServletException;
@@ -17,51 +19,152 @@ import javax.servlet.http.HttpServletResponse;
 import dev.galasa.framework.api.common.HttpRequestContext;
 import dev.galasa.framework.api.common.InternalServletException;
 import dev.galasa.framework.api.common.QueryParameters;
+import dev.galasa.framework.api.common.ResponseAbortedException;
 import dev.galasa.framework.api.common.ResponseBuilder;
 import dev.galasa.framework.api.common.ServletError;
+import dev.galasa.framework.api.common.SupportedQueryParameterNames;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RunLogRange;
 import dev.galasa.framework.spi.rbac.RBACException;
 
 /**
  * Implementation to retrieve the run log for a given run based on its runId.
+ *
+ * The log is streamed to the response as it is read from the RAS. The optional 'from' query
+ * parameter gives the first line wanted, and the optional 'tail' query parameter asks for
+ * the last few lines of the log only. The 200 status is only sent once the first of the log
+ * has been read, so a missing log or a failure to read it is still reported with an error status.
  */
 public class RunLogRoute extends RunsRoute {
 
     protected static final String path = "\\/runs\\/([A-Za-z0-9.\\-=]+)\\/runlog\\/?";
 
+    public static final String QUERY_PARAMETER_FROM = "from";
+    public static final String QUERY_PARAMETER_TAIL = "tail";
+    public static final SupportedQueryParameterNames SUPPORTED_QUERY_PARAMETER_NAMES = new SupportedQueryParameterNames(
+        QUERY_PARAMETER_FROM, QUERY_PARAMETER_TAIL
+    );
+
     public RunLogRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
         //  Regex to match endpoint: /ras/runs/{runid}/runlog
         super(responseBuilder, path, framework);
     }
 
+    @Override
+    public SupportedQueryParameterNames getSupportedQueryParameterNames() {
+        return SUPPORTED_QUERY_PARAMETER_NAMES;
+    }
+
     @Override
     public HttpServletResponse handleGetRequest(String pathInfo, QueryParameters queryParams, HttpRequestContext requestContext, HttpServletResponse res) throws ServletException, IOException, FrameworkException {
         HttpServletRequest request = requestContext.getRequest();
         Matcher matcher = this.getPathRegex().matcher(pathInfo);
         matcher.matches();
         String runId = matcher.group(1);
-        String runLog = getRunlog(runId);
-        if (runLog != null) {
-            return getResponseBuilder().buildResponse(request, res, "text/plain", runLog, HttpServletResponse.SC_OK);
-        } else {
+        RunLogRange range = getRunLogRange(queryParams);
+
+        IRunResult run = getRunByRunId(runId);
+        boolean isLogFound = false;
+        if (run != null) {
+            RunLogResponseWriter writer = new RunLogResponseWriter(request, res);
+            try {
+                isLogFound = run.writeLog(writer, range);
+                if (isLogFound) {
+                    // A log with no lines in the range still gets an empty response
+                    writer.start();
+                    writer.flush();
+                }
+            } catch (ResultArchiveStoreException | IOException | RuntimeException e) {
+                if (writer.isStarted()) {
+                    throw new ResponseAbortedException("Failed to send the run log for run " + runId, e);
+                }
+                throw e;
+            }
+            res = writer.getResponse();
+        }
+
+        if (!isLogFound) {
             ServletError error = new ServletError(GAL5002_INVALID_RUN_ID, runId);
             throw new InternalServletException(error, HttpServletResponse.SC_NOT_FOUND);
         }
+        return res;
     }
 
+    private RunLogRange getRunLogRange(QueryParameters queryParams) throws InternalServletException {
+        boolean isFromPresent = queryParams.isParameterPresent(QUERY_PARAMETER_FROM);
+        boolean isTailPresent = queryParams.isParameterPresent(QUERY_PARAMETER_TAIL);
 
-    public String getRunlog(String runId) throws ResultArchiveStoreException, InternalServletException {
+        RunLogRange range = RunLogRange.ALL_LINES;
+        if (isFromPresent && isTailPresent) {
+            ServletError error = new ServletError(GAL5433_RUN_LOG_FROM_AND_TAIL_SUPPLIED);
+            throw new InternalServletException(error, HttpServletResponse.SC_BAD_REQUEST);
+        } else if (isFromPresent) {
+            range = RunLogRange.fromLine(getPositiveInt(queryParams, QUERY_PARAMETER_FROM));
+        } else if (isTailPresent) {
+            range = RunLogRange.tail(getPositiveInt(queryParams, QUERY_PARAMETER_TAIL));
+        }
+        return range;
+    }
 
-        IRunResult run = getRunByRunId(runId);
-        String runLog = null;
+    private int getPositiveInt(QueryParameters queryParams, String queryParameterName) throws InternalServletException {
+        int value = queryParams.getSingleInt(queryParameterName, 0);
+        if (value < 1) {
+            ServletError error = new ServletError(GAL5432_INVALID_RUN_LOG_LINE_COUNT, queryParameterName, Integer.toString(value));
+            throw new InternalServletException(error, HttpServletResponse.SC_BAD_REQUEST);
+        }
+        return value;
+    }
 
-        if (run != null) {
-           runLog = run.getLog();
+    /**
+     * Builds the 200 response when the first of the log is written to it
+     */
+    private class RunLogResponseWriter extends Writer {
+
+        private final HttpServletRequest request;
+        private HttpServletResponse response;
+        private PrintWriter writer;
+
+        RunLogResponseWriter(HttpServletRequest request, HttpServletResponse response) {
+            this.request = request;
+            this.response = response;
+        }
+
+        boolean isStarted() {
+            return this.writer != null;
+        }
+
+        HttpServletResponse getResponse() {
+            return this.response;
         }
 
-        return runLog;
-     }
-}
\ No newline at end of file
+        void start() throws IOException {
+            if (this.writer == null) {
+                this.response = getResponseBuilder().buildResponse(this.request, this.response, "text/plain", HttpServletResponse.SC_OK);
+                this.writer = this.response.getWriter();
+            }
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (len > 0) {
+                start();
+                this.writer.write(cbuf, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (this.writer != null) {
+                this.writer.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -5,8 +5,6 @@
  */
 package dev.galasa.framework.api.ras.internal.routes;
 
-import org.apache.commons.collections4.ListUtils;
-
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
@@ -19,11 +17,12 @@ import dev.galasa.framework.api.common.SupportedQueryParameterNames;
 import dev.galasa.framework.api.common.QueryParameters;
 import dev.galasa.framework.TestRunLifecycleStatus;
 import dev.galasa.framework.api.ras.internal.common.RasDetailsQueryParams;
+import dev.galasa.framework.api.ras.internal.common.RasDirectoryServiceQuery;
 import dev.galasa.framework.api.ras.internal.common.RasQueryParameters;
 import dev.galasa.framework.api.ras.internal.common.RunResultUtility;
+import dev.galasa.framework.api.ras.internal.common.SortedRunsMerger;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IFramework;
-import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
 import dev.galasa.framework.spi.IRunResult;
 import dev.galasa.framework.spi.ResultArchiveStoreException;
 import dev.galasa.framework.spi.ras.IRasSearchCriteria;
@@ -98,13 +97,20 @@ public class RunQueryRoute extends RunsRoute {
 
 	private static final GalasaGson gson = new GalasaGson();
 
+	private final RasDirectoryServiceQuery directoryServiceQuery;
+
 	public RunQueryRoute(ResponseBuilder responseBuilder, IFramework framework) throws RBACException {
+		this(responseBuilder, framework, new RasDirectoryServiceQuery());
+	}
+
+	public RunQueryRoute(ResponseBuilder responseBuilder, IFramework framework, RasDirectoryServiceQuery directoryServiceQuery) throws RBACException {
 		/* Regex to match endpoints:
 		*  -> /ras/runs
 		*  -> /ras/runs/
 		*  -> /ras/runs?{querystring}
 		*/
 		super(responseBuilder, path, framework);
+		this.directoryServiceQuery = directoryServiceQuery;
 	}
 
 	@Override 
@@ -132,8 +138,6 @@ public class RunQueryRoute extends RunsRoute {
         boolean includeCursor = queryParams.getIncludeCursor();
         String pageCursor = queryParams.getPageCursor();
 
-		List<RasRunResult> runs = new ArrayList<>();
-
 		/* Get list of Run Ids from the URL -
 		If a Run ID parameter list is present in the URL then only return that run / those runs
 		Do not filter as well */
@@ -143,11 +147,15 @@ public class RunQueryRoute extends RunsRoute {
         RasSortField sortValue = queryParams.getSortValue("from:desc");
 
         RasRunResultPage runsPage = null;
+        SortedRunsMerger<RasRunResult> sortedRuns = null;
         String responseJson = null;
 		
         try {
 			if (runIds != null && runIds.size() > 0) {
-                runs = getRunsByIds(runIds, isMethodDetailsExcluded);
+                List<RasRunResult> runs = getRunsByIds(runIds, isMethodDetailsExcluded);
+                Comparator<RasRunResult> runsComparator = buildRunsComparator(queryParams, sortValue);
+                runs.sort(runsComparator);
+                sortedRuns = new SortedRunsMerger<>(List.of(runs), runsComparator);
             } else {
                 List<IRasSearchCriteria> criteria = getCriteria(queryParams);
 
@@ -161,13 +169,13 @@ public class RunQueryRoute extends RunsRoute {
                         runsPage = getRunsPage(pageCursor, pageSize, formatSortField(sortValue), criteria);
                     }
                 } else {
-                    runs = getRuns(criteria, isMethodDetailsExcluded);
+                    Comparator<RasRunResult> runsComparator = buildRunsComparator(queryParams, sortValue);
+                    sortedRuns = new SortedRunsMerger<>(getSortedRuns(criteria, isMethodDetailsExcluded, runsComparator), runsComparator);
                 }
             }
     
             if (runsPage == null) {
-                runs = sortResults(runs, queryParams, sortValue);
-                responseJson = buildResponseBody(runs, pageNum, pageSize);
+                responseJson = buildResponseBody(sortedRuns, pageNum, pageSize);
             } else {
                 responseJson = buildResponseBody(runsPage, pageSize, isMethodDetailsExcluded);
             }
@@ -285,29 +293,32 @@ public class RunQueryRoute extends RunsRoute {
 		return critList;
 	}
 
-	private String buildResponseBody(List<RasRunResult> runs, int pageNum, int pageSize) throws InternalServletException {
+	private String buildResponseBody(SortedRunsMerger<RasRunResult> sortedRuns, int pageNum, int pageSize) throws InternalServletException {
+
+		if (pageSize < 1) {
+            ServletError error = new ServletError(GAL5004_ERROR_RETRIEVING_PAGE);
+            throw new InternalServletException(error, HttpServletResponse.SC_BAD_REQUEST);
+		}
 
-		//Splits up the pages based on the page size
-		List<List<RasRunResult>> paginatedResults = ListUtils.partition(runs, pageSize);
+		int totalRuns = sortedRuns.getTotalSize();
+		int numPages = (totalRuns + pageSize - 1) / pageSize;
 
-		//Building the object to be returned by the API and splitting
+		//Building the object to be returned by the API, only merging the runs needed for the requested page
         JsonObject runsPage = null;
-        try {
-            if ((pageNum == 1) && paginatedResults.isEmpty()) {
-                // No results at all, so return one page saying that.
-                runsPage = pageToJson(runs, runs.size(), 1, pageSize,1);
-            } else {
-                runsPage = pageToJson(
-                    paginatedResults.get(pageNum - 1),
-                    runs.size(),
-                    pageNum,
-                    pageSize,
-                    paginatedResults.size()
-                );
-            }
-        } catch (IndexOutOfBoundsException e) {
+        if ((pageNum == 1) && (numPages == 0)) {
+            // No results at all, so return one page saying that.
+            runsPage = pageToJson(new ArrayList<>(), totalRuns, 1, pageSize, 1);
+        } else if (pageNum < 1 || pageNum > numPages) {
             ServletError error = new ServletError(GAL5004_ERROR_RETRIEVING_PAGE);
-            throw new InternalServletException(error, HttpServletResponse.SC_BAD_REQUEST, e);
+            throw new InternalServletException(error, HttpServletResponse.SC_BAD_REQUEST);
+        } else {
+            runsPage = pageToJson(
+                sortedRuns.getRange((pageNum - 1) * pageSize, pageSize),
+                totalRuns,
+                pageNum,
+                pageSize,
+                numPages
+            );
         }
         return gson.toJson(runsPage);
 	}
@@ -341,20 +352,20 @@ public class RunQueryRoute extends RunsRoute {
 		return obj;
 	}
 
-	private List<RasRunResult> getRuns(List<IRasSearchCriteria> critList, boolean isMethodDetailsExcluded) throws ResultArchiveStoreException, InternalServletException {
+	/**
+	 * Queries every RAS store at the same time. Each store's runs are converted and sorted on
+	 * the thread that fetched them, ready to be merged.
+	 */
+	private List<List<RasRunResult>> getSortedRuns(List<IRasSearchCriteria> critList, boolean isMethodDetailsExcluded, Comparator<RasRunResult> runsComparator) throws ResultArchiveStoreException {
 
 		IRasSearchCriteria[] criteria = new IRasSearchCriteria[critList.size()];
 
 		critList.toArray(criteria);
-		// Collect all the runs from all the RAS stores into a single list
-		List<IRunResult> runs = new ArrayList<>();
-		for (IResultArchiveStoreDirectoryService directoryService : getFramework().getResultArchiveStore().getDirectoryServices()) {
-			runs.addAll(directoryService.getRuns(criteria));
-		}
-
-		List<RasRunResult> runResults = convertRunsToRunResults(runs, isMethodDetailsExcluded);
-
-		return runResults;
+		return directoryServiceQuery.queryAll(getFramework().getResultArchiveStore().getDirectoryServices(), directoryService -> {
+			List<RasRunResult> runResults = convertRunsToRunResults(directoryService.getRuns(criteria), isMethodDetailsExcluded);
+			runResults.sort(runsComparator);
+			return runResults;
+		});
 	}
 
 	private RasRunResultPage getRunsPage(String pageCursor, int maxResults, RasSortField primarySort, List<IRasSearchCriteria> critList) throws ResultArchiveStoreException {
@@ -363,11 +374,13 @@ public class RunQueryRoute extends RunsRoute {
 
 		critList.toArray(criteria);
         
+		List<RasRunResultPage> runsPages = directoryServiceQuery.queryAll(getFramework().getResultArchiveStore().getDirectoryServices(),
+			directoryService -> directoryService.getRunsPage(maxResults, primarySort, pageCursor, criteria));
+
 		// Collect all the runs from all the RAS stores into a single list
 		List<IRunResult> runs = new ArrayList<>();
         String nextCursor = null;
-		for (IResultArchiveStoreDirectoryService directoryService : getFramework().getResultArchiveStore().getDirectoryServices()) {
-            RasRunResultPage runsPage = directoryService.getRunsPage(maxResults, primarySort, pageCursor, criteria);
+		for (RasRunResultPage runsPage : runsPages) {
 			runs.addAll(runsPage.getRuns());
             
             String nextRunsToken = runsPage.getNextCursor();
@@ -382,8 +395,9 @@ public class RunQueryRoute extends RunsRoute {
 	private List<IRunResult> getRunsByRunName(String runName) throws ResultArchiveStoreException {
         
 		List<IRunResult> runs = new ArrayList<>();
-		for (IResultArchiveStoreDirectoryService directoryService : getFramework().getResultArchiveStore().getDirectoryServices()) {
-            List<IRunResult> matchingRuns = directoryService.getRunsByRunName(runName);
+		List<List<IRunResult>> runsPerStore = directoryServiceQuery.queryAll(getFramework().getResultArchiveStore().getDirectoryServices(),
+			directoryService -> directoryService.getRunsByRunName(runName));
+		for (List<IRunResult> matchingRuns : runsPerStore) {
 			runs.addAll(matchingRuns);
 		}
 		return runs;
@@ -479,22 +493,6 @@ public class RunQueryRoute extends RunsRoute {
 		}
 	}
 
-	private List<RasRunResult> sortResults(
-		List<RasRunResult> unsortedRuns,
-		RasQueryParameters queryParams,
-		RasSortField sortValue
-	) throws InternalServletException {
-
-		// shallow-clone the input list so we don't change it.
-		List<RasRunResult> runs = new ArrayList<RasRunResult>();
-		runs.addAll(unsortedRuns);
-
-        Comparator<RasRunResult> runsComparator = buildRunsComparator(queryParams, sortValue);
-
-        Collections.sort(runs, runsComparator);
-        return runs;
-	}
-
     private Comparator<RasRunResult> buildRunsComparator(RasQueryParameters queryParams, RasSortField sortField) throws InternalServletException {
         Comparator<RasRunResult> runsComparator = null;
 
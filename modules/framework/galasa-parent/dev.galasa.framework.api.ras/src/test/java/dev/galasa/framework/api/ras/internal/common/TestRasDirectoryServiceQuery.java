@@ -0,0 +1,136 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.api.ras.internal.common;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.mocks.MockResultArchiveStoreDirectoryService;
+import dev.galasa.framework.spi.IResultArchiveStoreDirectoryService;
+import dev.galasa.framework.spi.IRunResult;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.IRasSearchCriteria;
+
+public class TestRasDirectoryServiceQuery {
+
+    /**
+     * A directory service which waits on a latch before answering a query for runs
+     */
+    class WaitingDirectoryService extends MockResultArchiveStoreDirectoryService {
+        private final String name;
+        private final CountDownLatch latch;
+
+        WaitingDirectoryService(String name, CountDownLatch latch) {
+            super(new ArrayList<>());
+            this.name = name;
+            this.latch = latch;
+        }
+
+        @Override
+        public @NotNull List<IRunResult> getRuns(@NotNull IRasSearchCriteria... searchCriterias) throws ResultArchiveStoreException {
+            latch.countDown();
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new ResultArchiveStoreException("Timed out waiting for the other directory services");
+                }
+            } catch (InterruptedException e) {
+                throw new ResultArchiveStoreException("Interrupted", e);
+            }
+            return new ArrayList<>();
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return name;
+        }
+    }
+
+    @Test
+    public void testDirectoryServicesAreQueriedAtTheSameTime() throws Exception {
+        // Given...
+        // Each store only answers once every store has been asked, so the query can only
+        // finish if the stores are asked at the same time
+        CountDownLatch allQueried = new CountDownLatch(3);
+        List<IResultArchiveStoreDirectoryService> directoryServices = List.of(
+            new WaitingDirectoryService("first", allQueried),
+            new WaitingDirectoryService("second", allQueried),
+            new WaitingDirectoryService("third", allQueried)
+        );
+        RasDirectoryServiceQuery query = new RasDirectoryServiceQuery(30, TimeUnit.SECONDS);
+
+        // When...
+        List<String> answers = query.queryAll(directoryServices, directoryService -> {
+            directoryService.getRuns();
+            return directoryService.getName();
+        });
+
+        // Then...
+        assertThat(answers).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    public void testSlowDirectoryServiceFailsTheQueryOnceItsTimeIsUp() throws Exception {
+        // Given...
+        CountDownLatch neverReleased = new CountDownLatch(2);
+        List<IResultArchiveStoreDirectoryService> directoryServices = List.of(
+            new MockResultArchiveStoreDirectoryService(new ArrayList<>()),
+            new WaitingDirectoryService("slowStore", neverReleased)
+        );
+        RasDirectoryServiceQuery query = new RasDirectoryServiceQuery(200, TimeUnit.MILLISECONDS);
+
+        // When...
+        Throwable thrown = catchThrowable(() -> query.queryAll(directoryServices, directoryService -> directoryService.getRuns()));
+
+        // Then...
+        assertThat(thrown).isInstanceOf(ResultArchiveStoreException.class)
+            .hasMessageContaining("slowStore")
+            .hasMessageContaining("did not respond in time");
+    }
+
+    @Test
+    public void testOnlyDirectoryServiceFailsTheQueryOnceItsTimeIsUp() throws Exception {
+        // Given...
+        CountDownLatch neverReleased = new CountDownLatch(2);
+        List<IResultArchiveStoreDirectoryService> directoryServices = List.of(
+            new WaitingDirectoryService("onlyStore", neverReleased)
+        );
+        RasDirectoryServiceQuery query = new RasDirectoryServiceQuery(200, TimeUnit.MILLISECONDS);
+
+        // When...
+        Throwable thrown = catchThrowable(() -> query.queryAll(directoryServices, directoryService -> directoryService.getRuns()));
+
+        // Then...
+        assertThat(thrown).isInstanceOf(ResultArchiveStoreException.class)
+            .hasMessageContaining("onlyStore")
+            .hasMessageContaining("did not respond in time");
+    }
+
+    @Test
+    public void testFailingDirectoryServiceFailsTheQuery() throws Exception {
+        // Given...
+        List<IResultArchiveStoreDirectoryService> directoryServices = List.of(
+            new MockResultArchiveStoreDirectoryService(new ArrayList<>()),
+            new MockResultArchiveStoreDirectoryService(new ArrayList<>())
+        );
+        RasDirectoryServiceQuery query = new RasDirectoryServiceQuery(30, TimeUnit.SECONDS);
+
+        // When...
+        Throwable thrown = catchThrowable(() -> query.queryAll(directoryServices, directoryService -> {
+            throw new ResultArchiveStoreException("Store is down");
+        }));
+
+        // Then...
+        assertThat(thrown).isInstanceOf(ResultArchiveStoreException.class).hasMessage("Store is down");
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.api.ras.internal.common;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestSortedRunsMerger {
+
+    // Compares on the number only, so runs with the same number are equal
+    private Comparator<String> byNumber = Comparator.comparing(run -> Integer.parseInt(run.split("-")[0]));
+
+    @Test
+    public void testListsAreMergedInOrderWithEqualRunsKeepingTheirListOrder() throws Exception {
+        // Given...
+        List<List<String>> sortedLists = List.of(
+            List.of("1-a", "4-a", "6-a"),
+            List.of("2-b", "4-b", "9-b"),
+            List.of(),
+            List.of("3-c")
+        );
+        SortedRunsMerger<String> merger = new SortedRunsMerger<>(sortedLists, byNumber);
+
+        // When...
+        List<String> allRuns = merger.getRange(0, 100);
+
+        // Then...
+        assertThat(merger.getTotalSize()).isEqualTo(7);
+        assertThat(allRuns).containsExactly("1-a", "2-b", "3-c", "4-a", "4-b", "6-a", "9-b");
+    }
+
+    @Test
+    public void testRangeStopsOnceItIsFull() throws Exception {
+        // Given...
+        List<String> comparedRuns = new ArrayList<>();
+        Comparator<String> recordingComparator = (a, b) -> {
+            comparedRuns.add(a);
+            comparedRuns.add(b);
+            return byNumber.compare(a, b);
+        };
+
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            first.add((i * 2) + "-a");
+            second.add((i * 2 + 1) + "-b");
+        }
+        SortedRunsMerger<String> merger = new SortedRunsMerger<>(List.of(first, second), recordingComparator);
+
+        // When...
+        List<String> page = merger.getRange(4, 3);
+
+        // Then...
+        assertThat(page).containsExactly("4-a", "5-b", "6-a");
+        assertThat(comparedRuns).doesNotContain("100-a", "101-b");
+    }
+
+    @Test
+    public void testRangePastTheEndIsEmpty() throws Exception {
+        // Given...
+        SortedRunsMerger<String> merger = new SortedRunsMerger<>(List.of(List.of("1-a"), List.of("2-b")), byNumber);
+
+        // When...
+        List<String> page = merger.getRange(2, 10);
+
+        // Then...
+        assertThat(page).isEmpty();
+    }
+}
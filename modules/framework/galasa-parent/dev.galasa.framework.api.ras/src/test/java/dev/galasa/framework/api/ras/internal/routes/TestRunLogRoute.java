@@ -7,6 +7,8 @@ package dev.galasa.framework.api.ras.internal.routes;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -24,11 +26,14 @@ import org.junit.Test;
 import dev.galasa.framework.api.ras.internal.RasServlet;
 import dev.galasa.framework.api.ras.internal.RasServletTest;
 import dev.galasa.framework.api.ras.internal.mocks.MockRasServletEnvironment;
+import dev.galasa.framework.api.common.ResponseAbortedException;
 import dev.galasa.framework.api.common.ServletErrorMessage;
 import dev.galasa.framework.api.common.mocks.MockHttpServletRequest;
 import dev.galasa.framework.mocks.MockPath;
 import dev.galasa.framework.mocks.MockRunResult;
 import dev.galasa.framework.spi.IRunResult;
+import dev.galasa.framework.spi.ResultArchiveStoreException;
+import dev.galasa.framework.spi.ras.RunLogRange;
 import dev.galasa.framework.spi.teststructure.TestStructure;
 
 public class TestRunLogRoute extends RasServletTest {
@@ -51,6 +56,25 @@ public class TestRunLogRoute extends RasServletTest {
 		return mockInputRunResults;
 	}
 
+	public List<IRunResult> generateFailingTestData(String runId, String logBeforeFailure) {
+		List<IRunResult> mockInputRunResults = new ArrayList<IRunResult>();
+
+		TestStructure testStructure = new TestStructure();
+		testStructure.setRunName("testName");
+
+		Path artifactRoot = new MockPath("/testName/artifacts",null);
+		IRunResult result = new MockRunResult(runId, testStructure, artifactRoot, logBeforeFailure) {
+			@Override
+			public boolean writeLog(Writer writer, RunLogRange range) throws ResultArchiveStoreException, IOException {
+				writer.write(logBeforeFailure);
+				throw new ResultArchiveStoreException("Unable to retrieve the test log");
+			}
+		};
+		mockInputRunResults.add(result);
+
+		return mockInputRunResults;
+	}
+
 
 	/*
      * Regex Path
@@ -371,4 +395,162 @@ public class TestRunLogRoute extends RasServletTest {
 		checkErrorStructure(outStream.toString() , ServletErrorMessage.GAL5091_ERROR_RUN_NOT_FOUND_BY_ID.getTemplateNumber() , "GAL5091E", "badRunId" );
 		assertThat(resp.getContentType()).isEqualTo("application/json");
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testRunLogFromLineReturnsTheRestOfTheLogOK() throws Exception {
+		//Given..
+		String runId = "runA";
+		List<IRunResult> mockRunResults = generateTestData(runId, "testName", "line 1\nline 2\nline 3\nline 4");
+		Map<String, String[]> parameterMap = new HashMap<String,String[]>();
+		parameterMap.put("from", new String[] { "3" });
+
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(200);
+		assertThat(outStream.toString()).isEqualTo("line 3\nline 4");
+		assertThat(resp.getContentType()).isEqualTo("text/plain");
+	}
+
+	@Test
+	public void testRunLogTailReturnsTheLastLinesOK() throws Exception {
+		//Given..
+		String runId = "runA";
+		List<IRunResult> mockRunResults = generateTestData(runId, "testName", "line 1\nline 2\nline 3\nline 4");
+		Map<String, String[]> parameterMap = new HashMap<String,String[]>();
+		parameterMap.put("tail", new String[] { "1" });
+
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(200);
+		assertThat(outStream.toString()).isEqualTo("line 4");
+		assertThat(resp.getContentType()).isEqualTo("text/plain");
+	}
+
+	@Test
+	public void testRunLogFromAndTailTogetherGivesBadRequestError() throws Exception {
+		//Given..
+		String runId = "runA";
+		List<IRunResult> mockRunResults = generateTestData(runId, "testName", "line 1\nline 2");
+		Map<String, String[]> parameterMap = new HashMap<String,String[]>();
+		parameterMap.put("from", new String[] { "2" });
+		parameterMap.put("tail", new String[] { "1" });
+
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(400);
+		checkErrorStructure(outStream.toString() , 5433 , "GAL5433E", "'from' and 'tail' cannot be used together");
+		assertThat(resp.getContentType()).isEqualTo("application/json");
+	}
+
+	@Test
+	public void testRunLogTailOfZeroLinesGivesBadRequestError() throws Exception {
+		//Given..
+		String runId = "runA";
+		List<IRunResult> mockRunResults = generateTestData(runId, "testName", "line 1\nline 2");
+		Map<String, String[]> parameterMap = new HashMap<String,String[]>();
+		parameterMap.put("tail", new String[] { "0" });
+
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(parameterMap, "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(400);
+		checkErrorStructure(outStream.toString() , 5432 , "GAL5432E", "tail", "0");
+		assertThat(resp.getContentType()).isEqualTo("application/json");
+	}
+
+	@Test
+	public void testRunLogFailingBeforeAnyOfTheLogIsReadGivesServerError() throws Exception {
+		//Given..
+		String runId = "runA";
+		List<IRunResult> mockRunResults = generateFailingTestData(runId, "");
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(new HashMap<>(), "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		servlet.doGet(req,resp);
+
+		// Then...
+		assertThat(resp.getStatus()).isEqualTo(500);
+		checkErrorStructure(
+			outStream.toString(),
+			5000,
+			"GAL5000E: ",
+			"Error occurred when trying to access the endpoint. Report the problem to your Galasa Ecosystem owner."
+		);
+		assertThat(resp.getContentType()).isEqualTo("application/json");
+	}
+
+	@Test
+	public void testRunLogFailingAfterPartOfTheLogIsSentAbortsTheResponse() throws Exception {
+		//Given..
+		String runId = "runA";
+		List<IRunResult> mockRunResults = generateFailingTestData(runId, "line 1\n");
+		MockHttpServletRequest mockRequest = new MockHttpServletRequest(new HashMap<>(), "/runs/" + runId + "/runlog");
+		MockRasServletEnvironment mockServletEnvironment = new MockRasServletEnvironment(mockRunResults, mockRequest);
+
+		RasServlet servlet = mockServletEnvironment.getServlet();
+		HttpServletRequest req = mockServletEnvironment.getRequest();
+		HttpServletResponse resp = mockServletEnvironment.getResponse();
+		ServletOutputStream outStream = resp.getOutputStream();
+
+		//When...
+		servlet.init();
+		Throwable thrown = catchThrowable(() -> servlet.doGet(req,resp));
+
+		// Then...
+		// The status has been sent with the start of the log, so no error can be added to the end of it
+		assertThat(thrown).isInstanceOf(ResponseAbortedException.class);
+		assertThat(thrown.getCause()).isInstanceOf(ResultArchiveStoreException.class);
+		assertThat(resp.getStatus()).isEqualTo(200);
+		assertThat(outStream.toString()).doesNotContain("GAL5000E");
+	}
+}
@@ -20,6 +20,12 @@ public class CPSFacade {
     public static final String KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_PREFIX = "framework";
     public static final String KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_INFIX = "kube.launch.interval.milliseconds" ;
 
+    public static final boolean KUBE_LAUNCH_BATCH_ENABLED_DEFAULT_VALUE = false;
+    public static final String KUBE_LAUNCH_BATCH_ENABLED_CPS_PROPERTY_INFIX = "kube.launch.batch.enabled";
+
+    public static final int KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE = 10;
+    public static final String KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_CPS_PROPERTY_INFIX = "kube.launch.max.pods.in.flight";
+
     private IConfigurationPropertyStoreService cps;
     private final Log logger = LogFactory.getLog(getClass());
 
@@ -88,4 +94,93 @@ public class CPSFacade {
 
         return intervalMs ;
     }
-}
\ No newline at end of file
+
+    /**
+     * The CPS property `framework.kube.launch.batch.enabled` controls whether the test pod scheduler
+     * launches all the runs it has free engine slots for in one go, rather than one at a time with
+     * the launch interval between each.
+     * 
+     * The default is KUBE_LAUNCH_BATCH_ENABLED_DEFAULT_VALUE
+     * 
+     * Any failure in the CPS will be logged and ignored, resulting in the default value being returned.
+     * 
+     * This CPS property is dynamic, it is read every time the value is needed, and is not cached.
+     * 
+     * @return true if test pods should be launched in batches
+     */
+    public boolean isKubeLaunchBatchEnabled() {
+        boolean isBatchEnabled = KUBE_LAUNCH_BATCH_ENABLED_DEFAULT_VALUE;
+
+        String cpsRawValue = getFrameworkProperty(KUBE_LAUNCH_BATCH_ENABLED_CPS_PROPERTY_INFIX);
+        if (cpsRawValue != null) {
+            isBatchEnabled = Boolean.parseBoolean(cpsRawValue.trim());
+        }
+        return isBatchEnabled;
+    }
+
+    /**
+     * The CPS property `framework.kube.launch.max.pods.in.flight` controls how many test pods can be
+     * waiting to be created by Kubernetes at once when test pods are launched in batches.
+     * 
+     * The default is KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE. Values which are not positive numbers
+     * are ignored, resulting in the default value being returned.
+     * 
+     * Any failure in the CPS will be logged and ignored, resulting in the default value being returned.
+     * 
+     * This CPS property is dynamic, it is read every time the value is needed, and is not cached.
+     * 
+     * @return The maximum number of test pods which can be waiting to be created at once.
+     */
+    public int getKubeLaunchMaxPodsInFlight() {
+        int maxPodsInFlight = KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE;
+
+        String cpsRawValue = getFrameworkProperty(KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_CPS_PROPERTY_INFIX);
+        if (cpsRawValue != null) {
+            String trimmedValue = cpsRawValue.trim();
+            try {
+                int value = Integer.parseInt(trimmedValue);
+                if (value > 0) {
+                    maxPodsInFlight = value;
+                } else {
+                    logger.info(MessageFormat.format(
+                        "Info: CPS property {0}.{1} value ''{2}'' is not a positive number. Using default value of {3}.",
+                        KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_PREFIX,
+                        KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_CPS_PROPERTY_INFIX,
+                        trimmedValue,
+                        Integer.toString(maxPodsInFlight)
+                    ));
+                }
+            } catch (NumberFormatException ex) {
+                logger.info(MessageFormat.format(
+                    "Info: CPS property {0}.{1} value ''{2}'' is not a number. Using default value of {3}.",
+                    KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_PREFIX,
+                    KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_CPS_PROPERTY_INFIX,
+                    trimmedValue,
+                    Integer.toString(maxPodsInFlight)
+                ));
+            }
+        }
+        return maxPodsInFlight;
+    }
+
+    private String getFrameworkProperty(String infix) {
+        String cpsRawValue = null;
+
+        if (cps == null) {
+            logger.error("getFrameworkProperty: Null CPS. Internal server logic error.");
+        } else {
+            try {
+                cpsRawValue = cps.getProperty(KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_PREFIX, null, infix);
+            } catch (ConfigurationPropertyStoreException ex) {
+                String msg = MessageFormat.format(
+                    "Error: Could not get value from the CPS (Property {0}.{1}). Using the default value. CPS Failure {2}",
+                    KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_PREFIX,
+                    infix,
+                    ex
+                );
+                logger.error(msg);
+            }
+        }
+        return cpsRawValue;
+    }
+}
@@ -24,6 +24,7 @@ import dev.galasa.framework.k8s.controller.api.IKubernetesApiClient;
 import dev.galasa.framework.k8s.controller.api.KubernetesApiClient;
 import dev.galasa.framework.k8s.controller.api.KubernetesEngineFacade;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
@@ -31,6 +32,7 @@ import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IFrameworkRuns;
 import dev.galasa.framework.spi.IResultArchiveStore;
 import dev.galasa.framework.spi.IRunRasActionProcessor;
+import dev.galasa.framework.spi.SystemEnvironment;
 import io.kubernetes.client.ProtoClient;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.Configuration;
@@ -59,6 +61,7 @@ public class K8sController {
     private Health                   healthServer;
 
     private TestPodScheduler podScheduler;
+    private QueuedRunIndex queuedRunIndex;
     private ScheduledFuture<?> pollFuture;
 
     private RunPodCleanup runCleanup;
@@ -135,7 +138,7 @@ public class K8sController {
             KubernetesEngineFacade kubeEngineFacade = new KubernetesEngineFacade(apiClient, settings);
             IFrameworkRuns frameworkRuns = framework.getFrameworkRuns();
             IResultArchiveStore ras = framework.getResultArchiveStore();
-            startRunPollingThreads(frameworkRuns, cps, dss, ras, api, kubeEngineFacade);
+            startRunPollingThreads(frameworkRuns, cps, dss, ras, kubeEngineFacade);
             
             
             logger.info("Kubernetes controller has started");
@@ -150,9 +153,15 @@ public class K8sController {
                 }
             }
             
+            // *** Stop watching for queued runs
+            stopQueuedRunIndex();
+
             // *** shutdown the scheduler
             shutdownExecutorService();
 
+            // *** Stop launching engine pods
+            podScheduler.shutdown();
+
             // *** Stop the metics server
             stopMetricsServer(metricsPort);
 
@@ -174,14 +183,15 @@ public class K8sController {
         IConfigurationPropertyStoreService cps,
         IDynamicStatusStoreService dss,
         IResultArchiveStore ras,
-        CoreV1Api api,
         KubernetesEngineFacade kubeEngineFacade
     ) throws FrameworkException {
 
         runCleanup = new RunPodCleanup(settings, kubeEngineFacade, frameworkRuns);
         schedulePodCleanup();
 
-        podScheduler = new TestPodScheduler(dss, cps, settings, api, frameworkRuns);
+        queuedRunIndex = new QueuedRunIndex(dss, frameworkRuns);
+        podScheduler = new TestPodScheduler(new SystemEnvironment(), dss, cps, settings, kubeEngineFacade, queuedRunIndex);
+        startQueuedRunIndex();
         schedulePoll();
 
         Queue<RunInterruptEvent> interruptEventQueue = new LinkedBlockingQueue<RunInterruptEvent>();
@@ -193,6 +203,26 @@ public class K8sController {
         scheduledExecutorService.scheduleWithFixedDelay(interruptEventProcessor, 0, INTERRUPTED_RUN_WATCH_POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
+    private void startQueuedRunIndex() {
+        // Newly-queued runs are scheduled straight away, the poll is only a safety net
+        queuedRunIndex.setQueuedRunListener(() -> podScheduler.requestSchedulingPass(scheduledExecutorService));
+        try {
+            queuedRunIndex.startWatching();
+        } catch (DynamicStatusStoreException e) {
+            // The index will read all the runs from the DSS on each poll instead
+            logger.error("Unable to watch the DSS for queued runs, falling back to polling", e);
+        }
+    }
+
+    private void stopQueuedRunIndex() {
+        queuedRunIndex.setQueuedRunListener(null);
+        try {
+            queuedRunIndex.stopWatching();
+        } catch (DynamicStatusStoreException e) {
+            logger.error("Unable to stop watching the DSS for queued runs", e);
+        }
+    }
+
     private void shutdownExecutorService() {
         this.scheduledExecutorService.shutdown();
         try {
@@ -0,0 +1,383 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.k8s.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.TestRunLifecycleStatus;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
+import dev.galasa.framework.spi.IFrameworkRuns;
+import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.utils.ITimeService;
+import dev.galasa.framework.spi.utils.SystemTimeService;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Summary;
+
+/**
+ * A live, in-memory index of the non-local runs which are queued in the DSS, held in the
+ * order in which they should be scheduled.
+ *
+ * The index is built with a full read of the runs in the DSS, and from then on is kept
+ * up to date by a watch on the "run." prefix of the DSS, so finding the next runs to
+ * schedule does not need a scan of every run in the DSS.
+ *
+ * A full resync is done when the index is first used, whenever the DSS watch fails, and
+ * periodically as a safety net in case any events have been missed. If the watch could not
+ * be registered at all, every call to {@link #getQueuedRuns()} falls back to a full read.
+ *
+ * The watch callback does no DSS work itself, as it must hand control back to the DSS as
+ * quickly as possible. Events are queued and applied to the index by the scheduler thread
+ * the next time it asks for the queued runs.
+ */
+public class QueuedRunIndex implements IDynamicStatusStoreWatcher {
+
+    public static final Duration DEFAULT_RESYNC_INTERVAL = Duration.ofMinutes(5);
+
+    private static final String RUN_PREFIX = "run.";
+
+    // The key we get from the DSS is something like this:
+    // run.U4657.status
+    private final Pattern runStatusPattern = Pattern.compile("^run[.](\\w+)[.]status$");
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final IDynamicStatusStoreService dss;
+    private final IFrameworkRuns runs;
+    private final ITimeService timeService;
+    private final Duration resyncInterval;
+
+    // The queued runs in scheduling order, along with a lookup of the same entries by run name
+    private final TreeSet<IndexedRun> queuedRuns = new TreeSet<>(new QueuedComparator());
+    private final Map<String, IndexedRun> queuedRunsByName = new HashMap<>();
+
+    private final LinkedBlockingQueue<RunStatusEvent> pendingEvents = new LinkedBlockingQueue<>();
+
+    private UUID watchId;
+    private Instant lastResync;
+
+    // Note: These flags are set by the DSS watch thread and read by the scheduler thread
+    private volatile boolean isResyncRequired = true;
+    private volatile boolean isWatchFailed = false;
+
+    private volatile Runnable queuedRunListener;
+
+    // *** Metrics are registered once, however many indexes are created
+    private static final Gauge indexSize = Gauge.build().name("galasa_k8s_controller_queued_run_index_size")
+            .help("The number of queued runs held in the Kubernetes controller's run index").register();
+
+    private static final Summary eventLag = Summary.build().name("galasa_k8s_controller_queued_run_index_event_lag_seconds")
+            .help("The time between a DSS run status event being received and it being applied to the run index").register();
+
+    private static final Counter resyncs = Counter.build().name("galasa_k8s_controller_queued_run_index_resyncs")
+            .help("The number of full resyncs of the run index from the DSS").register();
+
+    public QueuedRunIndex(IDynamicStatusStoreService dss, IFrameworkRuns runs) {
+        this(dss, runs, new SystemTimeService(), DEFAULT_RESYNC_INTERVAL);
+    }
+
+    public QueuedRunIndex(IDynamicStatusStoreService dss, IFrameworkRuns runs, ITimeService timeService, Duration resyncInterval) {
+        this.dss = dss;
+        this.runs = runs;
+        this.timeService = timeService;
+        this.resyncInterval = resyncInterval;
+    }
+
+    /**
+     * Registers the DSS watch which keeps this index up to date
+     *
+     * @throws DynamicStatusStoreException if the watch could not be registered
+     */
+    public synchronized void startWatching() throws DynamicStatusStoreException {
+        this.isWatchFailed = false;
+        this.watchId = dss.watchPrefix(this, RUN_PREFIX);
+        this.isResyncRequired = true;
+        logger.info("Watching the DSS for queued runs");
+    }
+
+    public synchronized void stopWatching() throws DynamicStatusStoreException {
+        if (this.watchId != null) {
+            dss.unwatch(this.watchId);
+            this.watchId = null;
+        }
+    }
+
+    /**
+     * Sets something to be told when a run has been queued, so that it can be scheduled
+     * without waiting for the next poll. The listener is called on the DSS watch thread,
+     * so it must not block.
+     *
+     * @param queuedRunListener the listener to call, or null to stop listening
+     */
+    public void setQueuedRunListener(Runnable queuedRunListener) {
+        this.queuedRunListener = queuedRunListener;
+    }
+
+    /**
+     * Gets the queued, non-local runs in the order they should be scheduled, bringing the
+     * index up to date with the DSS first.
+     *
+     * @return a new list of the queued runs, which the caller is free to modify
+     * @throws FrameworkException if the DSS could not be read
+     */
+    public synchronized List<IRun> getQueuedRuns() throws FrameworkException {
+        refresh();
+
+        List<IRun> orderedRuns = new ArrayList<>(queuedRuns.size());
+        for (IndexedRun indexedRun : queuedRuns) {
+            orderedRuns.add(indexedRun.getRun());
+        }
+        return orderedRuns;
+    }
+
+    /**
+     * Removes a run from the index, for example once it has been allocated to this controller.
+     * The DSS watch will also remove it in time, this just stops it being offered again before then.
+     *
+     * @param runName the name of the run to remove
+     */
+    public synchronized void remove(String runName) {
+        removeFromIndex(runName);
+        indexSize.set(queuedRuns.size());
+    }
+
+    public synchronized int size() {
+        return queuedRuns.size();
+    }
+
+    /**
+     * The DSS is telling us that something has changed we were watching.
+     *
+     * Only run status changes are of interest. They are queued to be applied by the
+     * scheduler thread, so that this thread can return to the DSS straight away.
+     */
+    @Override
+    public void propertyModified(String key, Event event, String oldValue, String newValue) {
+        if (event != null && key != null) {
+            Matcher matcher = runStatusPattern.matcher(key);
+            if (matcher.find()) {
+                String runName = matcher.group(1);
+                pendingEvents.add(new RunStatusEvent(runName, event, newValue, timeService.now()));
+
+                Runnable listener = this.queuedRunListener;
+                if (listener != null && isQueued(newValue)) {
+                    listener.run();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void watchFailed(Throwable cause) {
+        logger.warn("The DSS watch for queued runs has failed, the run index will be resynchronised", cause);
+        this.isWatchFailed = true;
+        this.isResyncRequired = true;
+
+        Runnable listener = this.queuedRunListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    private void refresh() throws FrameworkException {
+        if (isWatchFailed) {
+            restartWatch();
+        }
+
+        if (watchId == null || isResyncRequired || isResyncDue()) {
+            resync();
+        } else {
+            applyPendingEvents();
+        }
+        indexSize.set(queuedRuns.size());
+    }
+
+    private void restartWatch() {
+        try {
+            stopWatching();
+        } catch (DynamicStatusStoreException e) {
+            logger.warn("Unable to remove the failed DSS watch for queued runs", e);
+        }
+
+        try {
+            startWatching();
+        } catch (DynamicStatusStoreException e) {
+            // Carry on without the watch, every refresh will do a full resync until the watch can be restarted
+            logger.error("Unable to restart the DSS watch for queued runs", e);
+        }
+    }
+
+    private boolean isResyncDue() {
+        return lastResync == null || timeService.now().isAfter(lastResync.plus(resyncInterval));
+    }
+
+    private void resync() throws FrameworkException {
+        // Events received up to now will be covered by the full read. Any received
+        // while the read is in progress are kept, and applied on the next refresh.
+        pendingEvents.clear();
+        isResyncRequired = false;
+
+        List<IRun> allQueuedRuns;
+        try {
+            allQueuedRuns = runs.getQueuedRuns();
+        } catch (FrameworkException e) {
+            isResyncRequired = true;
+            throw e;
+        }
+
+        queuedRuns.clear();
+        queuedRunsByName.clear();
+        for (IRun run : allQueuedRuns) {
+            addToIndex(run);
+        }
+
+        lastResync = timeService.now();
+        resyncs.inc();
+        logger.debug("Run index resynchronised with the DSS, " + queuedRuns.size() + " queued runs");
+    }
+
+    private void applyPendingEvents() throws FrameworkException {
+        List<RunStatusEvent> events = new ArrayList<>();
+        pendingEvents.drainTo(events);
+
+        // The status events alone do not tell us enough to schedule the runs, so read
+        // every run that may have been queued in one go
+        Set<String> queuedRunNames = new HashSet<>();
+        for (RunStatusEvent event : events) {
+            if (event.getEvent() != Event.DELETE && isQueued(event.getNewStatus())) {
+                queuedRunNames.add(event.getRunName());
+            }
+        }
+        Map<String, IRun> eventRuns = runs.getRuns(queuedRunNames);
+
+        for (RunStatusEvent event : events) {
+            String runName = event.getRunName();
+            if (event.getEvent() != Event.DELETE && isQueued(event.getNewStatus())) {
+                IRun run = eventRuns.get(runName);
+                if (run != null && isQueued(run.getStatus())) {
+                    addToIndex(run);
+                } else {
+                    removeFromIndex(runName);
+                }
+            } else {
+                removeFromIndex(runName);
+            }
+
+            double lagSeconds = Duration.between(event.getReceived(), timeService.now()).toMillis() / 1000.0;
+            eventLag.observe(lagSeconds);
+        }
+    }
+
+    private void addToIndex(IRun run) {
+        removeFromIndex(run.getName());
+
+        if (!run.isLocal()) {
+            Instant queued = run.getQueued();
+            if (queued == null) {
+                queued = timeService.now();
+            }
+
+            IndexedRun indexedRun = new IndexedRun(run, queued);
+            queuedRuns.add(indexedRun);
+            queuedRunsByName.put(run.getName(), indexedRun);
+        }
+    }
+
+    private void removeFromIndex(String runName) {
+        IndexedRun indexedRun = queuedRunsByName.remove(runName);
+        if (indexedRun != null) {
+            queuedRuns.remove(indexedRun);
+        }
+    }
+
+    private boolean isQueued(String status) {
+        return TestRunLifecycleStatus.QUEUED.toString().equals(status);
+    }
+
+    /**
+     * A run in the index. The queued time is captured when the run is added, so that
+     * the ordering of the index can not change underneath it.
+     */
+    private static class IndexedRun {
+        private final IRun run;
+        private final Instant queued;
+
+        IndexedRun(IRun run, Instant queued) {
+            this.run = run;
+            this.queued = queued;
+        }
+
+        IRun getRun() {
+            return run;
+        }
+
+        Instant getQueued() {
+            return queued;
+        }
+    }
+
+    private static class QueuedComparator implements Comparator<IndexedRun> {
+
+        @Override
+        public int compare(IndexedRun o1, IndexedRun o2) {
+            int result = o1.getQueued().compareTo(o2.getQueued());
+            if (result == 0) {
+                result = o1.getRun().getName().compareTo(o2.getRun().getName());
+            }
+            return result;
+        }
+
+    }
+
+    private static class RunStatusEvent {
+        private final String runName;
+        private final Event event;
+        private final String newStatus;
+        private final Instant received;
+
+        RunStatusEvent(String runName, Event event, String newStatus, Instant received) {
+            this.runName = runName;
+            this.event = event;
+            this.newStatus = newStatus;
+            this.received = received;
+        }
+
+        String getRunName() {
+            return runName;
+        }
+
+        Event getEvent() {
+            return event;
+        }
+
+        String getNewStatus() {
+            return newStatus;
+        }
+
+        Instant getReceived() {
+            return received;
+        }
+    }
+}
@@ -5,8 +5,10 @@
  */
 package dev.galasa.framework.k8s.controller;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -47,12 +49,22 @@ public class RunPodCleanup implements Runnable {
     }
 
     void deletePodsForCompletedRuns(List<V1Pod> terminatedPods) throws DynamicStatusStoreException {
+        // Read the runs of all the pods together, rather than going to the DSS once per pod
+        Set<String> runNames = new HashSet<>();
+        for (V1Pod pod : terminatedPods) {
+            String runName = pod.getMetadata().getLabels().get(TestPodScheduler.GALASA_RUN_POD_LABEL);
+            if (runName != null) {
+                runNames.add(runName);
+            }
+        }
+        Map<String, IRun> podRuns = runs.getRuns(runNames);
+
         for (V1Pod pod : terminatedPods) {
             Map<String, String> labels = pod.getMetadata().getLabels();
             String runName = labels.get(TestPodScheduler.GALASA_RUN_POD_LABEL);
 
             if (runName != null) {
-                IRun run = runs.getRun(runName);
+                IRun run = podRuns.get(runName);
                 if (run != null) {
 
                     // There is a completed pod for a run in the DSS, delete the pod if the run has finished
@@ -10,18 +10,26 @@ import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.framework.k8s.controller.api.KubernetesEngineFacade;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.Environment;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
@@ -35,6 +43,7 @@ import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.models.V1Affinity;
 import io.kubernetes.client.openapi.models.V1Container;
 import io.kubernetes.client.openapi.models.V1EnvVar;
+import io.kubernetes.client.openapi.models.V1LabelSelector;
 import io.kubernetes.client.openapi.models.V1NodeAffinity;
 import io.kubernetes.client.openapi.models.V1NodeSelectorRequirement;
 import io.kubernetes.client.openapi.models.V1NodeSelectorTerm;
@@ -47,12 +56,18 @@ import io.kubernetes.client.openapi.models.V1PreferredSchedulingTerm;
 import io.kubernetes.client.openapi.models.V1ResourceRequirements;
 import io.kubernetes.client.openapi.models.V1SecretVolumeSource;
 import io.kubernetes.client.openapi.models.V1Toleration;
+import io.kubernetes.client.openapi.models.V1TopologySpreadConstraint;
 import io.kubernetes.client.openapi.models.V1Volume;
 import io.kubernetes.client.openapi.models.V1VolumeMount;
 import io.prometheus.client.Counter;
 
 public class TestPodScheduler implements Runnable {
     public static final String GALASA_RUN_POD_LABEL = "galasa-run";
+    public static final String ENGINE_CONTROLLER_POD_LABEL = "galasa-engine-controller";
+
+    // Engine pods are spread over the nodes by this topology key, so that a burst of
+    // launches does not all land on one node
+    public static final String NODE_TOPOLOGY_KEY = "kubernetes.io/hostname";
 
     private static final String RAS_TOKEN_ENV = "GALASA_RAS_TOKEN";
     private static final String EVENT_TOKEN_ENV = "GALASA_EVENT_STREAMS_TOKEN";
@@ -64,28 +79,42 @@ public class TestPodScheduler implements Runnable {
     private static final String DSS_ENV_VAR   = "GALASA_DYNAMICSTATUS_STORE";
     private static final String CREDS_ENV_VAR = "GALASA_CREDENTIALS_STORE";
 
+    private static final long POD_LAUNCHER_IDLE_SECONDS = 60;
+
     private final Log                        logger           = LogFactory.getLog(getClass());
 
     private final Settings                   settings;
-    private final CoreV1Api                  api;
+    private final KubernetesEngineFacade     kubeEngineFacade;
     private final IDynamicStatusStoreService dss;
-    private final IFrameworkRuns             runs;
-    private final QueuedComparator           queuedComparator = new QueuedComparator();
+    private final QueuedRunIndex             queuedRunIndex;
+    private final AtomicBoolean              isPassRequested  = new AtomicBoolean(false);
+
+    // Runs which have been allocated to this controller but whose pods are not created yet.
+    // They hold an engine slot, as their pods are not yet counted by Kubernetes
+    private final AtomicInteger              podsBeingLaunched = new AtomicInteger(0);
+
+    // Creates the engine pods of batch launches. The pool is sized to the maximum number of
+    // pod creations in flight each time a batch is launched, and its threads end when idle
+    private final ThreadPoolExecutor         podLauncher;
 
     private Counter                          submittedRuns;
     private Environment                      env              = new SystemEnvironment();
     private CPSFacade cpsFacade ;
 
 
-    public TestPodScheduler(IDynamicStatusStoreService dss, IConfigurationPropertyStoreService cps, Settings settings, CoreV1Api api, IFrameworkRuns runs) {
-        this(new SystemEnvironment(), dss, cps, settings, api, runs);
+    public TestPodScheduler(IDynamicStatusStoreService dss, IConfigurationPropertyStoreService cps, Settings settings, KubernetesEngineFacade kubeEngineFacade, IFrameworkRuns runs) {
+        this(new SystemEnvironment(), dss, cps, settings, kubeEngineFacade, runs);
+    }
+
+    public TestPodScheduler(Environment env, IDynamicStatusStoreService dss, IConfigurationPropertyStoreService cps, Settings settings, KubernetesEngineFacade kubeEngineFacade, IFrameworkRuns runs) {
+        this(env, dss, cps, settings, kubeEngineFacade, new QueuedRunIndex(dss, runs));
     }
 
-    public TestPodScheduler(Environment env, IDynamicStatusStoreService dss, IConfigurationPropertyStoreService cps, Settings settings, CoreV1Api api, IFrameworkRuns runs) {
+    public TestPodScheduler(Environment env, IDynamicStatusStoreService dss, IConfigurationPropertyStoreService cps, Settings settings, KubernetesEngineFacade kubeEngineFacade, QueuedRunIndex queuedRunIndex) {
         this.env = env;
         this.settings = settings;
-        this.api = api;
-        this.runs = runs;
+        this.kubeEngineFacade = kubeEngineFacade;
+        this.queuedRunIndex = queuedRunIndex;
         this.dss = dss;
 
         // *** Create metrics
@@ -94,42 +123,76 @@ public class TestPodScheduler implements Runnable {
                 .help("The number of runs submitted by the Kubernetes controller").register();
 
         this.cpsFacade = new CPSFacade(cps);
+
+        int maxPodsInFlight = CPSFacade.KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE;
+        this.podLauncher = new ThreadPoolExecutor(maxPodsInFlight, maxPodsInFlight,
+                POD_LAUNCHER_IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "engine-pod-launcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.podLauncher.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stops creating engine pods. Pods which are still to be created are abandoned, and their
+     * runs are left allocated to this controller until the allocation times out.
+     */
+    public void shutdown() {
+        podLauncher.shutdownNow();
+    }
+
+    /**
+     * Asks for a scheduling pass to be run as soon as possible, rather than waiting for the
+     * next poll. Requests made while a pass is already waiting to run are merged into it.
+     *
+     * @param executor the executor to run the scheduling pass on
+     */
+    public void requestSchedulingPass(Executor executor) {
+        if (isPassRequested.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
     }
 
+    /**
+     * Runs a scheduling pass. Passes can overlap, only the counting of free engine slots and
+     * the allocation of runs is done under the scheduler's lock, so that two passes cannot
+     * hand out the same slots. Pods are created, and any waiting is done, outside the lock.
+     */
     @Override
     public void run() {
+        isPassRequested.set(false);
         logger.info("Looking for new runs");
 
         try {
-            // *** No we are not, get all the queued runs
-            List<IRun> queuedRuns = this.runs.getQueuedRuns();
+            // *** Get the queued non-local runs, in the order they should be scheduled
+            List<IRun> queuedRuns = this.queuedRunIndex.getQueuedRuns();
             // TODO filter by capability
 
-            // *** Remove all the local runs
-            Iterator<IRun> queuedRunsIterator = queuedRuns.iterator();
-            while (queuedRunsIterator.hasNext()) {
-                IRun run = queuedRunsIterator.next();
-                if (run.isLocal()) {
-                    queuedRunsIterator.remove();
-                }
-            }
-
             if (queuedRuns.isEmpty()) {
                 logger.info("There are no queued runs");
                 return;
             }
 
-            while (true) {
-                // *** Check we are not at max engines
-                List<V1Pod> pods = getPods(this.api, this.settings);
-                filterActiveRuns(pods);
+            if (cpsFacade.isKubeLaunchBatchEnabled()) {
+                launchBatch(queuedRuns);
+            } else {
+                launchOneAtATime(queuedRuns);
+            }
+        } catch (Exception e) {
+            logger.error("Unable to poll for new runs", e);
+        }
 
-                logger.info("Active runs=" + pods.size() + ",max=" + settings.getMaxEngines());
+        return;
+    }
 
-                int currentActive = pods.size();
-                if (currentActive >= settings.getMaxEngines()) {
-                    logger.info(
-                            "Not looking for runs, currently at maximim engines (" + settings.getMaxEngines() + ")");
+    private void launchOneAtATime(List<IRun> queuedRuns) throws K8sControllerException, InterruptedException {
+        while (true) {
+            IRun selectedRun;
+            synchronized (this) {
+                // *** Check we are not at max engines
+                int freeEngineSlots = getFreeEngineSlots();
+                if (freeEngineSlots <= 0) {
                     return;
                 }
 
@@ -141,60 +204,170 @@ public class TestPodScheduler implements Runnable {
                 // HashMap<String, Pool> queuePools = getPools(queuedRuns);
                 // HashMap<String, Pool> activePools = getPools(activeRuns);
 
-                // *** cheat for the moment
-                Collections.sort(queuedRuns, queuedComparator);
-
-                IRun selectedRun = queuedRuns.remove(0);
-
-                startPod(selectedRun);
-
-                if (!queuedRuns.isEmpty()) {
-                    // Slight delay to allow Kubernetes to catch up....
-                    //
-                    // Why do this ? 
-                    //
-                    // If we don't do this, then all the tests get scheduled on the same node, and the 
-                    // node will run out of memory.
-                    //
-                    // We assume that's because the usage statistics on a pod are not synchronized totally at
-                    // real-time, but have a lag in which they catch up. Hopefully this delay is greater
-                    // than the lag and when we actually schedule the next pod it gets evenly distributed over
-                    // the nodes which are available.
-                    //
-                    // This may or may not be necessary if the scheduling policies in the cluster are changed. Not sure.
-                    long launchIntervalMilliseconds = cpsFacade.getKubeLaunchIntervalMilliseconds();
-                    Thread.sleep(launchIntervalMilliseconds); 
+                // *** cheat for the moment, the index is already in queued order
+                selectedRun = queuedRuns.remove(0);
+
+                if (claimRun(selectedRun)) {
+                    podsBeingLaunched.incrementAndGet();
                 } else {
-                    return;
+                    selectedRun = null;
                 }
             }
-        } catch (Exception e) {
-            logger.error("Unable to poll for new runs", e);
+
+            if (selectedRun != null) {
+                launchPod(selectedRun);
+            }
+
+            if (!queuedRuns.isEmpty()) {
+                // Slight delay to allow Kubernetes to catch up....
+                //
+                // Why do this ? 
+                //
+                // If we don't do this, then all the tests get scheduled on the same node, and the 
+                // node will run out of memory.
+                //
+                // We assume that's because the usage statistics on a pod are not synchronized totally at
+                // real-time, but have a lag in which they catch up. Hopefully this delay is greater
+                // than the lag and when we actually schedule the next pod it gets evenly distributed over
+                // the nodes which are available.
+                //
+                // This may or may not be necessary if the scheduling policies in the cluster are changed. Not sure.
+                long launchIntervalMilliseconds = cpsFacade.getKubeLaunchIntervalMilliseconds();
+                Thread.sleep(launchIntervalMilliseconds); 
+            } else {
+                return;
+            }
         }
+    }
 
-        return;
+    /**
+     * Launches as many of the queued runs as there are free engine slots in one go.
+     *
+     * The free slots are counted once, the runs are all allocated to this controller up-front,
+     * and then their pods are created concurrently on the pod launcher, which limits how many
+     * creations can be in flight at once. There is no delay between launches, the pods are spread
+     * over the nodes by the topology spread constraint on each pod instead.
+     */
+    private void launchBatch(List<IRun> queuedRuns) throws K8sControllerException, InterruptedException {
+        List<IRun> claimedRuns = new ArrayList<>();
+        synchronized (this) {
+            int freeEngineSlots = getFreeEngineSlots();
+            if (freeEngineSlots <= 0) {
+                return;
+            }
+
+            // *** Allocate runs to this controller until the free slots are used up
+            Iterator<IRun> queuedRunsIterator = queuedRuns.iterator();
+            while (claimedRuns.size() < freeEngineSlots && queuedRunsIterator.hasNext()) {
+                IRun run = queuedRunsIterator.next();
+                if (claimRun(run)) {
+                    podsBeingLaunched.incrementAndGet();
+                    claimedRuns.add(run);
+                }
+            }
+        }
+
+        if (claimedRuns.isEmpty()) {
+            return;
+        }
+
+        // *** Create the pods for the allocated runs
+        int maxPodsInFlight = cpsFacade.getKubeLaunchMaxPodsInFlight();
+        logger.info("Launching " + claimedRuns.size() + " engine pods, " + maxPodsInFlight + " at a time");
+
+        List<Future<?>> launches = new ArrayList<>();
+        synchronized (podLauncher) {
+            setPodLauncherSize(maxPodsInFlight);
+            for (IRun run : claimedRuns) {
+                launches.add(podLauncher.submit(() -> launchPod(run)));
+            }
+        }
+
+        // The pods are all created before this pass ends, so the next pass counts them
+        for (Future<?> launch : launches) {
+            try {
+                launch.get();
+            } catch (ExecutionException e) {
+                logger.error("Failed to launch engine pod", e.getCause());
+            }
+        }
     }
 
-    private void startPod(IRun run) {
+    private void setPodLauncherSize(int size) {
+        // The core size can never be more than the maximum size, so change them in the order that keeps it so
+        if (size > podLauncher.getMaximumPoolSize()) {
+            podLauncher.setMaximumPoolSize(size);
+            podLauncher.setCorePoolSize(size);
+        } else {
+            podLauncher.setCorePoolSize(size);
+            podLauncher.setMaximumPoolSize(size);
+        }
+    }
+
+    private int getFreeEngineSlots() throws K8sControllerException {
+        List<V1Pod> pods = kubeEngineFacade.getPods();
+        filterActiveRuns(pods);
+
+        int launchingRuns = podsBeingLaunched.get();
+        logger.info("Active runs=" + pods.size() + ",launching=" + launchingRuns + ",max=" + settings.getMaxEngines());
+
+        int freeEngineSlots = settings.getMaxEngines() - pods.size() - launchingRuns;
+        if (freeEngineSlots <= 0) {
+            logger.info(
+                    "Not looking for runs, currently at maximim engines (" + settings.getMaxEngines() + ")");
+        }
+        return freeEngineSlots;
+    }
+
+    /**
+     * Attempts to allocate a queued run to this controller.
+     *
+     * @return true if the run has been allocated to this controller, false if another controller got it first
+     */
+    private boolean claimRun(IRun run) {
         String runName = run.getName();
-        String engineName = this.settings.getEngineLabel() + "-" + runName.toLowerCase();
-        String namespace = this.settings.getNamespace();
+        boolean isClaimed = false;
 
         logger.info("Received run " + runName);
 
         try {
-            // *** First attempt to allocate the run to this controller
             Instant now = Instant.now();
             Instant expire = now.plus(15, ChronoUnit.MINUTES);
             HashMap<String, String> props = new HashMap<>();
             props.put("run." + runName + ".controller", settings.getPodName());
             props.put("run." + runName + ".allocated", now.toString());
             props.put("run." + runName + ".allocate.timeout", expire.toString());
-            if (!this.dss.putSwap("run." + runName + ".status", "queued", "allocated", props)) {
+            if (this.dss.putSwap("run." + runName + ".status", "queued", "allocated", props)) {
+                isClaimed = true;
+            } else {
                 logger.info("run allocated by another controller");
-                return;
             }
+        } catch (DynamicStatusStoreException e) {
+            logger.error("Failed to allocate run " + runName, e);
+        }
 
+        // Either way, the run is no longer ours to schedule
+        this.queuedRunIndex.remove(runName);
+        return isClaimed;
+    }
+
+    /**
+     * Creates the pod of a run which has been allocated to this controller, and then gives
+     * back the engine slot it held while its pod was being created.
+     */
+    private void launchPod(IRun run) {
+        try {
+            startPod(run);
+        } finally {
+            podsBeingLaunched.decrementAndGet();
+        }
+    }
+
+    private void startPod(IRun run) {
+        String runName = run.getName();
+        String engineName = this.settings.getEngineLabel() + "-" + runName.toLowerCase();
+
+        try {
             V1Pod newPod = createTestPod(runName, engineName, run.isTrace());
 
             boolean successful = false;
@@ -202,7 +375,7 @@ public class TestPodScheduler implements Runnable {
             while (!successful) {
                 try {
                     // System.out.println(newPod.toString());
-                    api.createNamespacedPod(namespace, newPod).pretty("true").execute();
+                    kubeEngineFacade.createPod(newPod);
 
                     logger.info("Engine Pod " + newPod.getMetadata().getName() + " started");
                     successful = true;
@@ -242,7 +415,7 @@ public class TestPodScheduler implements Runnable {
         V1ObjectMeta metadata = new V1ObjectMeta();
         newPod.setMetadata(metadata);
         metadata.setName(engineName);
-        metadata.putLabelsItem("galasa-engine-controller", this.settings.getEngineLabel());
+        metadata.putLabelsItem(ENGINE_CONTROLLER_POD_LABEL, this.settings.getEngineLabel());
         metadata.putLabelsItem(GALASA_RUN_POD_LABEL, runName);
 
         V1PodSpec podSpec = new V1PodSpec();
@@ -292,12 +465,30 @@ public class TestPodScheduler implements Runnable {
             }
         }
 
+        podSpec.addTopologySpreadConstraintsItem(createNodeSpreadConstraint());
+
         podSpec.setVolumes(createTestPodVolumes());
         podSpec.addContainersItem(createTestContainer(runName, engineName, isTraceEnabled));
         return newPod;
     }
 
 
+    /*
+    * Prefer to put each engine pod on the node with the fewest engine pods from this
+    * controller, but still schedule the pod if the spread can't be kept even.
+    */
+    private V1TopologySpreadConstraint createNodeSpreadConstraint() {
+        V1LabelSelector engineSelector = new V1LabelSelector();
+        engineSelector.putMatchLabelsItem(ENGINE_CONTROLLER_POD_LABEL, this.settings.getEngineLabel());
+
+        V1TopologySpreadConstraint spreadConstraint = new V1TopologySpreadConstraint();
+        spreadConstraint.setMaxSkew(1);
+        spreadConstraint.setTopologyKey(NODE_TOPOLOGY_KEY);
+        spreadConstraint.setWhenUnsatisfiable("ScheduleAnyway");
+        spreadConstraint.setLabelSelector(engineSelector);
+        return spreadConstraint;
+    }
+
     /*
     * Tolerations are supplied as a string in the form:
     * "node-label1=Operator1:Condition1,node-label2=Operator2:Condition2"
@@ -534,15 +725,6 @@ public class TestPodScheduler implements Runnable {
         }
     }
 
-    private static class QueuedComparator implements Comparator<IRun> {
-
-        @Override
-        public int compare(IRun o1, IRun o2) {
-            return o1.getQueued().compareTo(o2.getQueued());
-        }
-
-    }
-
     private V1EnvVar createValueEnv(String name, String value) {
         V1EnvVar env = new V1EnvVar();
         env.setName(name);
@@ -14,5 +14,7 @@ import io.kubernetes.client.openapi.models.V1Pod;
 public interface IKubernetesApiClient {
     List<V1Pod> getPods(String namespace, String labelSelector) throws ApiException;
 
+    void createPod(String namespace, V1Pod pod) throws ApiException;
+
     void deletePod(String namespace, String podName) throws ApiException, IOException;
 }
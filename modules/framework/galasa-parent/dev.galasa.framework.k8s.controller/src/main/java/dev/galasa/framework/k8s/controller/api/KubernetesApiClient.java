@@ -34,6 +34,11 @@ public class KubernetesApiClient implements IKubernetesApiClient {
         return podList.getItems();
     }
 
+    @Override
+    public void createPod(String namespace, V1Pod pod) throws ApiException {
+        api.createNamespacedPod(namespace, pod).pretty("true").execute();
+    }
+
     @Override
     public void deletePod(String namespace, String podName) throws ApiException, IOException {
         protoClient.delete(Namespace.newBuilder(), "/api/v1/namespaces/" + namespace + "/pods/" + podName);
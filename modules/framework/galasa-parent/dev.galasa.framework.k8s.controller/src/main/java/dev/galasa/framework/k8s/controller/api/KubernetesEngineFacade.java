@@ -49,6 +49,10 @@ public class KubernetesEngineFacade {
         return pods;
     }
 
+    public void createPod(V1Pod pod) throws ApiException {
+        apiClient.createPod(settings.getNamespace(), pod);
+    }
+
     public void deletePod(V1Pod pod) {
         try {
             String podName = pod.getMetadata().getName();
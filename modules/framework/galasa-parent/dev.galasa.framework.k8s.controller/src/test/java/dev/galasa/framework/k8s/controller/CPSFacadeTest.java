@@ -68,4 +68,57 @@ public class CPSFacadeTest {
         long intervalMs = cpsFacade.getKubeLaunchIntervalMilliseconds();
         assertThat(intervalMs).isEqualTo(CPSFacade.KUBE_LAUNCH_INTERVAL_MILLISECOND_DEFAULT_VALUE);
     }
-}
\ No newline at end of file
+
+    @Test 
+    public void testCPSFacadeBatchLaunchIsDisabledByDefault() {
+        MockIConfigurationPropertyStoreService mockCPS = new MockIConfigurationPropertyStoreService();
+        CPSFacade cpsFacade = new CPSFacade(mockCPS);
+        assertThat(cpsFacade.isKubeLaunchBatchEnabled()).isFalse();
+    }
+
+    @Test 
+    public void testCPSFacadeCanEnableBatchLaunch() {
+        MockIConfigurationPropertyStoreService mockCPS = new MockIConfigurationPropertyStoreService() {
+            public @Null String getProperty(@NotNull String prefix, @NotNull String suffix, String... infixes) {
+                assertThat(prefix).isEqualTo( CPSFacade.KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_PREFIX);
+                assertThat(infixes[0]).isEqualTo( CPSFacade.KUBE_LAUNCH_BATCH_ENABLED_CPS_PROPERTY_INFIX);
+                return " true ";
+            }
+        };
+
+        CPSFacade cpsFacade = new CPSFacade(mockCPS);
+        assertThat(cpsFacade.isKubeLaunchBatchEnabled()).isTrue();
+    }
+
+    @Test 
+    public void testCPSFacadeCanCopeWithANullCPSForMaxPodsInFlight() {
+        CPSFacade cpsFacade = new CPSFacade(null);
+        assertThat(cpsFacade.getKubeLaunchMaxPodsInFlight()).isEqualTo(CPSFacade.KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE);
+    }
+
+    @Test 
+    public void testCPSFacadeCanOverrideDefaultMaxPodsInFlight() {
+        MockIConfigurationPropertyStoreService mockCPS = new MockIConfigurationPropertyStoreService() {
+            public @Null String getProperty(@NotNull String prefix, @NotNull String suffix, String... infixes) {
+                assertThat(prefix).isEqualTo( CPSFacade.KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_PREFIX);
+                assertThat(infixes[0]).isEqualTo( CPSFacade.KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_CPS_PROPERTY_INFIX);
+                return "25";
+            }
+        };
+
+        CPSFacade cpsFacade = new CPSFacade(mockCPS);
+        assertThat(cpsFacade.getKubeLaunchMaxPodsInFlight()).isEqualTo(25);
+    }
+
+    @Test 
+    public void testCPSFacadeMaxPodsInFlightNotAPositiveNumberReturnsDefault() {
+        MockIConfigurationPropertyStoreService mockCPS = new MockIConfigurationPropertyStoreService() {
+            public @Null String getProperty(@NotNull String prefix, @NotNull String suffix, String... infixes) {
+                return "0";
+            }
+        };
+
+        CPSFacade cpsFacade = new CPSFacade(mockCPS);
+        assertThat(cpsFacade.getKubeLaunchMaxPodsInFlight()).isEqualTo(CPSFacade.KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.k8s.controller;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.k8s.controller.mocks.MockWatchableDss;
+import dev.galasa.framework.mocks.MockFrameworkRuns;
+import dev.galasa.framework.mocks.MockRun;
+import dev.galasa.framework.mocks.MockTimeService;
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IRun;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher.Event;
+
+public class QueuedRunIndexTest {
+
+    class CountingMockFrameworkRuns extends MockFrameworkRuns {
+        int fullReadCount = 0;
+
+        CountingMockFrameworkRuns(List<IRun> runs) {
+            super(runs);
+        }
+
+        @Override
+        public @NotNull List<IRun> getQueuedRuns() throws FrameworkException {
+            fullReadCount++;
+            return super.getQueuedRuns();
+        }
+    }
+
+    private static final Instant START_TIME = Instant.parse("2025-01-01T10:00:00Z");
+
+    private MockRun createRun(String runName, String status, Instant queued, boolean isLocal) {
+        MockRun run = new MockRun("mybundle", "mytest", runName, "mystream", "myobr", "myrepo", "me", isLocal);
+        run.setStatus(status);
+        run.setQueued(queued);
+        return run;
+    }
+
+    private List<String> getRunNames(List<IRun> runs) {
+        List<String> runNames = new ArrayList<>();
+        for (IRun run : runs) {
+            runNames.add(run.getName());
+        }
+        return runNames;
+    }
+
+    @Test
+    public void testMoreThanOneIndexCanBeCreated() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        runs.add(createRun("U1", "queued", START_TIME, false));
+        MockFrameworkRuns mockRuns = new MockFrameworkRuns(runs);
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex firstIndex = new QueuedRunIndex(new MockWatchableDss(), mockRuns, mockTimeService, Duration.ofMinutes(5));
+
+        // When...
+        QueuedRunIndex secondIndex = new QueuedRunIndex(new MockWatchableDss(), mockRuns, mockTimeService, Duration.ofMinutes(5));
+        secondIndex.startWatching();
+
+        // Then...
+        assertThat(getRunNames(secondIndex.getQueuedRuns())).containsExactly("U1");
+        assertThat(firstIndex.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testIndexResyncsAtStartupAndReturnsNonLocalQueuedRunsInQueuedOrder() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        runs.add(createRun("U3", "queued", START_TIME.plusSeconds(30), false));
+        runs.add(createRun("U1", "queued", START_TIME.plusSeconds(10), false));
+        runs.add(createRun("U2", "queued", START_TIME.plusSeconds(20), false));
+        runs.add(createRun("L1", "queued", START_TIME, true));
+        runs.add(createRun("U4", "running", START_TIME, false));
+
+        CountingMockFrameworkRuns mockRuns = new CountingMockFrameworkRuns(runs);
+        MockWatchableDss mockDss = new MockWatchableDss();
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex index = new QueuedRunIndex(mockDss, mockRuns, mockTimeService, Duration.ofMinutes(5));
+        index.startWatching();
+
+        // When...
+        List<IRun> queuedRuns = index.getQueuedRuns();
+
+        // Then...
+        assertThat(getRunNames(queuedRuns)).containsExactly("U1", "U2", "U3");
+        assertThat(mockRuns.fullReadCount).isEqualTo(1);
+        assertThat(mockDss.getWatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testNewlyQueuedRunIsAddedFromWatchEventWithoutFullRead() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        runs.add(createRun("U2", "queued", START_TIME.plusSeconds(20), false));
+
+        CountingMockFrameworkRuns mockRuns = new CountingMockFrameworkRuns(runs);
+        MockWatchableDss mockDss = new MockWatchableDss();
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex index = new QueuedRunIndex(mockDss, mockRuns, mockTimeService, Duration.ofMinutes(5));
+        List<String> notifications = new ArrayList<>();
+        index.setQueuedRunListener(() -> notifications.add("queued"));
+        index.startWatching();
+        index.getQueuedRuns();
+
+        // When...
+        runs.add(createRun("U1", "queued", START_TIME.plusSeconds(10), false));
+        mockDss.fireEvent("run.U1.status", Event.NEW, null, "queued");
+        mockDss.fireEvent("run.U1.heartbeat", Event.NEW, null, START_TIME.toString());
+
+        List<IRun> queuedRuns = index.getQueuedRuns();
+
+        // Then...
+        assertThat(getRunNames(queuedRuns)).containsExactly("U1", "U2");
+        assertThat(mockRuns.fullReadCount).isEqualTo(1);
+        assertThat(notifications).hasSize(1);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRunIsRemovedWhenItsStatusMovesOnFromQueued() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        MockRun run1 = createRun("U1", "queued", START_TIME.plusSeconds(10), false);
+        runs.add(run1);
+        runs.add(createRun("U2", "queued", START_TIME.plusSeconds(20), false));
+        runs.add(createRun("U3", "queued", START_TIME.plusSeconds(30), false));
+
+        CountingMockFrameworkRuns mockRuns = new CountingMockFrameworkRuns(runs);
+        MockWatchableDss mockDss = new MockWatchableDss();
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex index = new QueuedRunIndex(mockDss, mockRuns, mockTimeService, Duration.ofMinutes(5));
+        index.startWatching();
+        index.getQueuedRuns();
+
+        // When...
+        run1.setStatus("allocated");
+        mockDss.fireEvent("run.U1.status", Event.MODIFIED, "queued", "allocated");
+        mockDss.fireEvent("run.U3.status", Event.DELETE, null, null);
+
+        List<IRun> queuedRuns = index.getQueuedRuns();
+
+        // Then...
+        assertThat(getRunNames(queuedRuns)).containsExactly("U2");
+        assertThat(mockRuns.fullReadCount).isEqualTo(1);
+    }
+
+    @Test
+    public void testRemovedRunIsNotOfferedAgainBeforeTheWatchCatchesUp() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        runs.add(createRun("U1", "queued", START_TIME.plusSeconds(10), false));
+        runs.add(createRun("U2", "queued", START_TIME.plusSeconds(20), false));
+
+        CountingMockFrameworkRuns mockRuns = new CountingMockFrameworkRuns(runs);
+        MockWatchableDss mockDss = new MockWatchableDss();
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex index = new QueuedRunIndex(mockDss, mockRuns, mockTimeService, Duration.ofMinutes(5));
+        index.startWatching();
+        index.getQueuedRuns();
+
+        // When...
+        index.remove("U1");
+        List<IRun> queuedRuns = index.getQueuedRuns();
+
+        // Then...
+        assertThat(getRunNames(queuedRuns)).containsExactly("U2");
+    }
+
+    @Test
+    public void testFailedWatchIsRestartedAndIndexResynced() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        runs.add(createRun("U1", "queued", START_TIME.plusSeconds(10), false));
+
+        CountingMockFrameworkRuns mockRuns = new CountingMockFrameworkRuns(runs);
+        MockWatchableDss mockDss = new MockWatchableDss();
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex index = new QueuedRunIndex(mockDss, mockRuns, mockTimeService, Duration.ofMinutes(5));
+        index.startWatching();
+        index.getQueuedRuns();
+
+        // When...
+        // A run is queued while the watch is down, so no event is seen for it
+        mockDss.failWatches(new RuntimeException("connection lost"));
+        runs.add(createRun("U2", "queued", START_TIME.plusSeconds(20), false));
+
+        List<IRun> queuedRuns = index.getQueuedRuns();
+
+        // Then...
+        assertThat(getRunNames(queuedRuns)).containsExactly("U1", "U2");
+        assertThat(mockRuns.fullReadCount).isEqualTo(2);
+        assertThat(mockDss.getWatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testIndexResyncsWhenResyncIntervalHasPassed() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        runs.add(createRun("U1", "queued", START_TIME.plusSeconds(10), false));
+
+        CountingMockFrameworkRuns mockRuns = new CountingMockFrameworkRuns(runs);
+        MockWatchableDss mockDss = new MockWatchableDss();
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex index = new QueuedRunIndex(mockDss, mockRuns, mockTimeService, Duration.ofMinutes(5));
+        index.startWatching();
+        index.getQueuedRuns();
+
+        // When...
+        mockTimeService.setCurrentTime(START_TIME.plus(Duration.ofMinutes(1)));
+        index.getQueuedRuns();
+        int fullReadsBeforeInterval = mockRuns.fullReadCount;
+
+        mockTimeService.setCurrentTime(START_TIME.plus(Duration.ofMinutes(6)));
+        index.getQueuedRuns();
+
+        // Then...
+        assertThat(fullReadsBeforeInterval).isEqualTo(1);
+        assertThat(mockRuns.fullReadCount).isEqualTo(2);
+    }
+
+    @Test
+    public void testIndexWithoutWatchReadsAllRunsEveryTime() throws Exception {
+        // Given...
+        List<IRun> runs = new ArrayList<>();
+        runs.add(createRun("U1", "queued", START_TIME.plusSeconds(10), false));
+
+        CountingMockFrameworkRuns mockRuns = new CountingMockFrameworkRuns(runs);
+        MockWatchableDss mockDss = new MockWatchableDss();
+        MockTimeService mockTimeService = new MockTimeService(START_TIME);
+
+        QueuedRunIndex index = new QueuedRunIndex(mockDss, mockRuns, mockTimeService, Duration.ofMinutes(5));
+
+        // When...
+        index.getQueuedRuns();
+        runs.add(createRun("U2", "queued", START_TIME.plusSeconds(20), false));
+        List<IRun> queuedRuns = index.getQueuedRuns();
+
+        // Then...
+        assertThat(getRunNames(queuedRuns)).containsExactly("U1", "U2");
+        assertThat(mockRuns.fullReadCount).isEqualTo(2);
+    }
+}
@@ -8,19 +8,34 @@ package dev.galasa.framework.k8s.controller;
 import static org.assertj.core.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
 
 import org.junit.Test;
 import org.junit.After;
 
+import dev.galasa.framework.k8s.controller.api.KubernetesEngineFacade;
+import dev.galasa.framework.k8s.controller.mocks.MockKubernetesApiClient;
 import dev.galasa.framework.k8s.controller.mocks.MockSettings;
 import dev.galasa.framework.mocks.MockCPSStore;
 import dev.galasa.framework.mocks.MockEnvironment;
+import dev.galasa.framework.mocks.MockIConfigurationPropertyStoreService;
 import dev.galasa.framework.mocks.MockIDynamicStatusStoreService;
 import dev.galasa.framework.mocks.MockFrameworkRuns;
+import dev.galasa.framework.mocks.MockRun;
+import dev.galasa.framework.spi.IRun;
 import dev.galasa.framework.spi.creds.FrameworkEncryptionService;
+import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.models.V1ConfigMap;
 import io.kubernetes.client.openapi.models.V1Container;
 import io.kubernetes.client.openapi.models.V1EnvVar;
@@ -29,8 +44,10 @@ import io.kubernetes.client.openapi.models.V1NodeSelectorTerm;
 import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodStatus;
 import io.kubernetes.client.openapi.models.V1PreferredSchedulingTerm;
 import io.kubernetes.client.openapi.models.V1Toleration;
+import io.kubernetes.client.openapi.models.V1TopologySpreadConstraint;
 import io.kubernetes.client.openapi.models.V1Volume;
 import io.kubernetes.client.openapi.models.V1VolumeMount;
 import io.prometheus.client.CollectorRegistry;
@@ -44,6 +61,116 @@ public class TestPodSchedulerTest {
         }
     }
 
+    /**
+     * A DSS in which allocating a run moves the mock run's status on, as the real DSS would
+     */
+    class MockRunAllocatingDss extends MockIDynamicStatusStoreService {
+        private Map<String, MockRun> runsByName = new HashMap<>();
+
+        MockRunAllocatingDss(List<MockRun> runs) {
+            for (MockRun run : runs) {
+                runsByName.put(run.getName(), run);
+            }
+        }
+
+        @Override
+        public synchronized boolean putSwap(@NotNull String key, String oldValue, @NotNull String newValue,
+                @NotNull Map<String, String> others) {
+            String runName = key.split("[.]")[1];
+            MockRun run = runsByName.get(runName);
+
+            boolean isSwapped = false;
+            if (run != null && run.getStatus().equals(oldValue)) {
+                run.setStatus(newValue);
+                isSwapped = true;
+            }
+            return isSwapped;
+        }
+    }
+
+    /**
+     * A Kubernetes API client which records how its pods were created. Each creation waits
+     * until the expected number of creations are in flight together, or until the wait times out
+     */
+    class LaunchRecordingMockKubernetesApiClient extends MockKubernetesApiClient {
+        private CountDownLatch concurrentCreates;
+        private AtomicInteger createsInFlight = new AtomicInteger(0);
+        private AtomicInteger maxCreatesInFlight = new AtomicInteger(0);
+        private Set<Thread> creatingThreads = Collections.synchronizedSet(new HashSet<>());
+
+        LaunchRecordingMockKubernetesApiClient(int expectedConcurrentCreates) {
+            super(new ArrayList<>());
+            this.concurrentCreates = new CountDownLatch(expectedConcurrentCreates);
+        }
+
+        @Override
+        public void createPod(String namespace, V1Pod pod) throws ApiException {
+            creatingThreads.add(Thread.currentThread());
+            maxCreatesInFlight.accumulateAndGet(createsInFlight.incrementAndGet(), Math::max);
+            try {
+                concurrentCreates.countDown();
+                concurrentCreates.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                createsInFlight.decrementAndGet();
+            }
+            pod.setStatus(new V1PodStatus().phase("Running"));
+            super.createPod(namespace, pod);
+        }
+
+        synchronized void finishAllPods() {
+            for (V1Pod pod : getMockPods()) {
+                pod.getStatus().setPhase("Succeeded");
+            }
+        }
+    }
+
+    /**
+     * A Kubernetes API client which holds on to each pod creation until it is released
+     */
+    class BlockingMockKubernetesApiClient extends MockKubernetesApiClient {
+        private CountDownLatch createStarted = new CountDownLatch(1);
+        private CountDownLatch createReleased = new CountDownLatch(1);
+
+        BlockingMockKubernetesApiClient() {
+            super(new ArrayList<>());
+        }
+
+        @Override
+        public void createPod(String namespace, V1Pod pod) throws ApiException {
+            createStarted.countDown();
+            try {
+                createReleased.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pod.setStatus(new V1PodStatus().phase("Running"));
+            super.createPod(namespace, pod);
+        }
+    }
+
+    private MockIConfigurationPropertyStoreService createLaunchCps(boolean isBatchEnabled) {
+        return createLaunchCps(isBatchEnabled, CPSFacade.KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE);
+    }
+
+    private MockIConfigurationPropertyStoreService createLaunchCps(boolean isBatchEnabled, int maxPodsInFlight) {
+        return new MockIConfigurationPropertyStoreService() {
+            @Override
+            public @Null String getProperty(@NotNull String prefix, @NotNull String suffix, String... infixes) {
+                String value = null;
+                if (CPSFacade.KUBE_LAUNCH_BATCH_ENABLED_CPS_PROPERTY_INFIX.equals(infixes[0])) {
+                    value = Boolean.toString(isBatchEnabled);
+                } else if (CPSFacade.KUBE_LAUNCH_INTERVAL_CPS_PROPERTY_INFIX.equals(infixes[0])) {
+                    value = "0";
+                } else if (CPSFacade.KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_CPS_PROPERTY_INFIX.equals(infixes[0])) {
+                    value = Integer.toString(maxPodsInFlight);
+                }
+                return value;
+            }
+        };
+    }
+
     private V1ConfigMap createMockConfigMap() {
         V1ConfigMap configMap = new V1ConfigMap();
 
@@ -139,6 +266,17 @@ public class TestPodSchedulerTest {
 
             assertThat(podSpec.getTolerations()).contains(testToleration);
         }
+
+        // Check the pod is spread over the nodes with the other engine pods
+        List<V1TopologySpreadConstraint> spreadConstraints = podSpec.getTopologySpreadConstraints();
+        assertThat(spreadConstraints).hasSize(1);
+
+        V1TopologySpreadConstraint spreadConstraint = spreadConstraints.get(0);
+        assertThat(spreadConstraint.getMaxSkew()).isEqualTo(1);
+        assertThat(spreadConstraint.getTopologyKey()).isEqualTo(TestPodScheduler.NODE_TOPOLOGY_KEY);
+        assertThat(spreadConstraint.getWhenUnsatisfiable()).isEqualTo("ScheduleAnyway");
+        assertThat(spreadConstraint.getLabelSelector().getMatchLabels())
+            .containsExactly(Map.entry("galasa-engine-controller", settings.getEngineLabel()));
     }
 
     private void checkPodContainer(V1Pod pod, String expectedEncryptionKeysMountPath, Settings settings) {
@@ -355,4 +493,136 @@ public class TestPodSchedulerTest {
         );
 
     }
+
+    private void drainBacklog(int backlogSize, int maxPodsInFlight, LaunchRecordingMockKubernetesApiClient mockApiClient) throws Exception {
+        MockEnvironment mockEnvironment = new MockEnvironment();
+        mockEnvironment.setenv(FrameworkEncryptionService.ENCRYPTION_KEYS_PATH_ENV, "/encryption/encryption-keys.yaml");
+
+        List<MockRun> mockRuns = new ArrayList<>();
+        List<IRun> runs = new ArrayList<>();
+        for (int i = 0; i < backlogSize; i++) {
+            MockRun run = new MockRun("mybundle", "mytest", "U" + i, "mystream", "myobr", "myrepo", "me", false);
+            run.setStatus("queued");
+            mockRuns.add(run);
+            runs.add(run);
+        }
+        MockFrameworkRuns mockFrameworkRuns = new MockFrameworkRuns(runs);
+        MockRunAllocatingDss mockDss = new MockRunAllocatingDss(mockRuns);
+
+        V1ConfigMap mockConfigMap = createMockConfigMap();
+        mockConfigMap.getData().put("max_engines", "100");
+        MockSettings settings = new MockSettings(mockConfigMap, new MockK8sController(), null);
+        settings.init();
+
+        KubernetesEngineFacade kubeEngineFacade = new KubernetesEngineFacade(mockApiClient, settings);
+        TestPodScheduler podScheduler = new TestPodScheduler(mockEnvironment, mockDss, createLaunchCps(true, maxPodsInFlight), settings, kubeEngineFacade, mockFrameworkRuns);
+
+        // Each pass should launch at least one run, so give up if it looks like the backlog will never drain
+        for (int pass = 0; pass < backlogSize && mockApiClient.getMockPods().size() < backlogSize; pass++) {
+            podScheduler.run();
+
+            // Every test finishes before the next scheduling pass, freeing up all the engine slots
+            mockApiClient.finishAllPods();
+        }
+    }
+
+    @Test
+    public void testPassIsNotHeldUpByAnotherPassCreatingAPod() throws Exception {
+        // Given...
+        MockEnvironment mockEnvironment = new MockEnvironment();
+        mockEnvironment.setenv(FrameworkEncryptionService.ENCRYPTION_KEYS_PATH_ENV, "/encryption/encryption-keys.yaml");
+
+        List<MockRun> mockRuns = new ArrayList<>();
+        List<IRun> runs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            MockRun run = new MockRun("mybundle", "mytest", "U" + i, "mystream", "myobr", "myrepo", "me", false);
+            run.setStatus("queued");
+            mockRuns.add(run);
+            runs.add(run);
+        }
+        MockFrameworkRuns mockFrameworkRuns = new MockFrameworkRuns(runs);
+        MockRunAllocatingDss mockDss = new MockRunAllocatingDss(mockRuns);
+
+        V1ConfigMap mockConfigMap = createMockConfigMap();
+        mockConfigMap.getData().put("max_engines", "1");
+        MockSettings settings = new MockSettings(mockConfigMap, new MockK8sController(), null);
+        settings.init();
+
+        BlockingMockKubernetesApiClient mockApiClient = new BlockingMockKubernetesApiClient();
+        KubernetesEngineFacade kubeEngineFacade = new KubernetesEngineFacade(mockApiClient, settings);
+        TestPodScheduler podScheduler = new TestPodScheduler(mockEnvironment, mockDss, createLaunchCps(false), settings, kubeEngineFacade, mockFrameworkRuns);
+
+        Thread firstPass = new Thread(podScheduler);
+        firstPass.start();
+        assertThat(mockApiClient.createStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When...
+        Thread secondPass = new Thread(podScheduler);
+        secondPass.start();
+        secondPass.join(10_000);
+        boolean isSecondPassFinished = !secondPass.isAlive();
+
+        mockApiClient.createReleased.countDown();
+        firstPass.join(10_000);
+
+        // Then...
+        // The second pass must not wait for the first pass's pod, and must not give away the slot that pod holds
+        assertThat(isSecondPassFinished).isTrue();
+        assertThat(firstPass.isAlive()).isFalse();
+        assertThat(mockApiClient.getMockPods()).hasSize(1);
+        assertThat(mockRuns.get(0).getStatus()).isEqualTo("allocated");
+        assertThat(mockRuns.get(1).getStatus()).isEqualTo("queued");
+    }
+
+    @Test
+    public void testBatchLaunchDrainsQueuedBacklogWithoutExceedingMaxEngines() throws Exception {
+        // Given...
+        LaunchRecordingMockKubernetesApiClient mockApiClient = new LaunchRecordingMockKubernetesApiClient(1) {
+            private int podsInPass = 0;
+
+            @Override
+            public synchronized void finishAllPods() {
+                // Check each pass only launched as many pods as there were free engine slots
+                int activePods = getMockPods().size() - podsInPass;
+                assertThat(activePods).isLessThanOrEqualTo(100);
+                podsInPass = getMockPods().size();
+                super.finishAllPods();
+            }
+        };
+
+        // When...
+        drainBacklog(250, CPSFacade.KUBE_LAUNCH_MAX_PODS_IN_FLIGHT_DEFAULT_VALUE, mockApiClient);
+
+        // Then...
+        assertThat(mockApiClient.getMockPods()).hasSize(250);
+    }
+
+    @Test
+    public void testBatchLaunchCreatesPodsConcurrentlyUpToMaxPodsInFlight() throws Exception {
+        // Given...
+        int maxPodsInFlight = 3;
+        LaunchRecordingMockKubernetesApiClient mockApiClient = new LaunchRecordingMockKubernetesApiClient(maxPodsInFlight);
+
+        // When...
+        drainBacklog(30, maxPodsInFlight, mockApiClient);
+
+        // Then...
+        assertThat(mockApiClient.getMockPods()).hasSize(30);
+        assertThat(mockApiClient.maxCreatesInFlight.get()).isEqualTo(maxPodsInFlight);
+    }
+
+    @Test
+    public void testBatchLaunchesShareThePodLauncherThreads() throws Exception {
+        // Given...
+        int maxPodsInFlight = 3;
+        LaunchRecordingMockKubernetesApiClient mockApiClient = new LaunchRecordingMockKubernetesApiClient(maxPodsInFlight);
+
+        // When...
+        // With at most 100 engines, the backlog is launched over three passes
+        drainBacklog(250, maxPodsInFlight, mockApiClient);
+
+        // Then...
+        assertThat(mockApiClient.getMockPods()).hasSize(250);
+        assertThat(mockApiClient.creatingThreads).hasSize(maxPodsInFlight);
+    }
 }
@@ -22,7 +22,12 @@ public class MockKubernetesApiClient implements IKubernetesApiClient {
     }
 
     @Override
-    public void deletePod(String namespace, String podName) throws ApiException, IOException {
+    public synchronized void createPod(String namespace, V1Pod pod) throws ApiException {
+        mockPods.add(pod);
+    }
+
+    @Override
+    public synchronized void deletePod(String namespace, String podName) throws ApiException, IOException {
         V1Pod podToDelete = null;
         for (V1Pod pod : mockPods) {
             String currentPodName = pod.getMetadata().getName();
@@ -39,8 +44,8 @@ public class MockKubernetesApiClient implements IKubernetesApiClient {
     }
 
     @Override
-    public List<V1Pod> getPods(String namespace, String labelSelector) throws ApiException {
-        return this.mockPods;
+    public synchronized List<V1Pod> getPods(String namespace, String labelSelector) throws ApiException {
+        return new ArrayList<>(this.mockPods);
     }
     
 }
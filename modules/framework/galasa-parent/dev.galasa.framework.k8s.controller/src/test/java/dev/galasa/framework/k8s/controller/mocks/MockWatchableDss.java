@@ -0,0 +1,53 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.k8s.controller.mocks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import dev.galasa.framework.mocks.MockIDynamicStatusStoreService;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
+import dev.galasa.framework.spi.IDynamicStatusStoreWatcher.Event;
+
+public class MockWatchableDss extends MockIDynamicStatusStoreService {
+
+    private Map<UUID, IDynamicStatusStoreWatcher> watchers = new HashMap<>();
+    private Map<UUID, String> watchedPrefixes = new HashMap<>();
+
+    @Override
+    public UUID watchPrefix(IDynamicStatusStoreWatcher watcher, String keyPrefix) throws DynamicStatusStoreException {
+        UUID watchId = UUID.randomUUID();
+        watchers.put(watchId, watcher);
+        watchedPrefixes.put(watchId, keyPrefix);
+        return watchId;
+    }
+
+    @Override
+    public void unwatch(UUID watchId) throws DynamicStatusStoreException {
+        watchers.remove(watchId);
+        watchedPrefixes.remove(watchId);
+    }
+
+    public int getWatchCount() {
+        return watchers.size();
+    }
+
+    public void fireEvent(String key, Event event, String oldValue, String newValue) {
+        for (Map.Entry<UUID, IDynamicStatusStoreWatcher> entry : new HashMap<>(watchers).entrySet()) {
+            if (key.startsWith(watchedPrefixes.get(entry.getKey()))) {
+                entry.getValue().propertyModified(key, event, oldValue, newValue);
+            }
+        }
+    }
+
+    public void failWatches(Throwable cause) {
+        for (IDynamicStatusStoreWatcher watcher : new HashMap<>(watchers).values()) {
+            watcher.watchFailed(cause);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.ServiceScope;
 
 import dev.galasa.framework.internal.auth.FrameworkAuthStoreService;
+import dev.galasa.framework.internal.cps.FrameworkConfigurationPropertyCache;
 import dev.galasa.framework.internal.cps.FrameworkConfigurationPropertyService;
 import dev.galasa.framework.internal.creds.FrameworkCredentialsService;
 import dev.galasa.framework.internal.dss.FrameworkDynamicStatusStoreService;
@@ -61,6 +62,7 @@ public class Framework implements IFramework, IShuttableFramework {
     private final Properties                   recordProperties = new Properties();
 
     private IConfigurationPropertyStore        cpsStore;
+    private FrameworkConfigurationPropertyCache cpsCache;
     private IDynamicStatusStore                dssStore;
     private IResultArchiveStoreService         rasService;
     private IConfidentialTextService           ctsService;
@@ -149,7 +151,7 @@ public class Framework implements IFramework, IShuttableFramework {
             throw new ConfigurationPropertyStoreException("Unable to provide Configuration Property Store", e);
         }
 
-        return new FrameworkConfigurationPropertyService(this, this.cpsStore, this.overrideProperties,
+        return new FrameworkConfigurationPropertyService(this, this.cpsStore, this.cpsCache, this.overrideProperties,
                 this.recordProperties, namespace);
     }
 
@@ -256,6 +258,11 @@ public class Framework implements IFramework, IShuttableFramework {
         }
 
         this.cpsStore = cpsStore;
+
+        // A store which can tell us about changes can be read once per namespace and then kept up to date
+        if (cpsStore.isWatchSupported()) {
+            this.cpsCache = new FrameworkConfigurationPropertyCache(cpsStore);
+        }
         this.cpsFramework = getConfigurationPropertyService("framework");
     }
 
@@ -494,6 +501,11 @@ public class Framework implements IFramework, IShuttableFramework {
         if (this.cpsStore != null) {
             try {
                 shutdownLogger.trace("Shutting down the Configuration Properties Store");
+                if (this.cpsCache != null) {
+                    shutdownLogger.info("CPS cache hits=" + this.cpsCache.getHitCount() + " misses=" + this.cpsCache.getMissCount());
+                    this.cpsCache.shutdown();
+                    this.cpsCache = null;
+                }
                 this.cpsStore.shutdown();
                 this.cpsStore = null;
             } catch (Throwable t) {
@@ -116,25 +116,44 @@ public class FrameworkRuns implements IFrameworkRuns {
 
     @Override
     public List<IRun> getAllRuns() throws FrameworkException {
-        HashMap<String, IRun> runs = new HashMap<>();
-
         logger.trace("Fetching all runs from DSS");
         Map<String, String> runProperties = dss.getPrefix(RUN_PREFIX);
         logger.trace("Fetched all runs from DSS");
-        for (String key : runProperties.keySet()) {
-            Matcher matcher = runPattern.matcher(key);
+
+        // Build every run from the single prefix scan above, rather than going back
+        // to the DSS once per run
+        Map<String, Map<String, String>> propertiesByRunName = groupPropertiesByRunName(runProperties);
+
+        LinkedList<IRun> returnRuns = new LinkedList<>();
+        for (Map.Entry<String, Map<String, String>> entry : propertiesByRunName.entrySet()) {
+            returnRuns.add(new RunImpl(entry.getKey(), entry.getValue()));
+        }
+
+        return returnRuns;
+    }
+
+    /**
+     * Splits a set of "run." DSS properties into the properties belonging to each run
+     *
+     * @param runProperties the properties returned by a "run." prefix scan of the DSS
+     * @return a map of run name to the properties of that run
+     */
+    private Map<String, Map<String, String>> groupPropertiesByRunName(Map<String, String> runProperties) {
+        Map<String, Map<String, String>> propertiesByRunName = new HashMap<>();
+        for (Map.Entry<String, String> property : runProperties.entrySet()) {
+            Matcher matcher = runPattern.matcher(property.getKey());
             if (matcher.find()) {
                 String runName = matcher.group(1);
 
-                if (!runs.containsKey(runName)) {
-                    runs.put(runName, new RunImpl(runName, this.dss));
+                Map<String, String> properties = propertiesByRunName.get(runName);
+                if (properties == null) {
+                    properties = new HashMap<>();
+                    propertiesByRunName.put(runName, properties);
                 }
+                properties.put(property.getKey(), property.getValue());
             }
         }
-
-        LinkedList<IRun> returnRuns = new LinkedList<>(runs.values());
-
-        return returnRuns;
+        return propertiesByRunName;
     }
 
     @Override
@@ -393,13 +412,35 @@ public class FrameworkRuns implements IFrameworkRuns {
     public IRun getRun(String runname) throws DynamicStatusStoreException {
         IRun run = null;
 
-        if (isRunInDss(runname)) {
-            run = new RunImpl(runname, this.dss);
+        // Build the run from the same read that tells us it exists
+        Map<String, String> properties = this.dss.getPrefix(getRunDssPrefix(runname));
+        if (!properties.isEmpty()) {
+            run = new RunImpl(runname, properties);
         }
 
         return run;
     }
 
+    @Override
+    public @NotNull Map<String, IRun> getRuns(@NotNull Set<String> runNames) throws DynamicStatusStoreException {
+        Map<String, IRun> runs = new HashMap<>();
+        if (runNames.isEmpty()) {
+            return runs;
+        }
+
+        Set<String> prefixes = new HashSet<>();
+        for (String runName : runNames) {
+            prefixes.add(getRunDssPrefix(runName));
+        }
+
+        // Every run is read at the same point in time, in one request where the DSS allows it
+        Map<String, String> runProperties = this.dss.getPrefixes(prefixes);
+        for (Map.Entry<String, Map<String, String>> entry : groupPropertiesByRunName(runProperties).entrySet()) {
+            runs.put(entry.getKey(), new RunImpl(entry.getKey(), entry.getValue()));
+        }
+        return runs;
+    }
+
     /**
      * Get the prefix of a given run type
      */
@@ -60,12 +60,23 @@ public class RunImpl implements IRun {
     private static final GalasaGson gson = new GalasaGson();
 
     public RunImpl(String name, IDynamicStatusStoreService dss) throws DynamicStatusStoreException {
+        this(name, dss.getPrefix("run." + name));
+    }
+
+    /**
+     * Creates a run from DSS properties that have already been fetched, so that
+     * callers holding a snapshot of many runs do not need another DSS round trip
+     * for each one.
+     *
+     * @param name          the name of the run
+     * @param runProperties the DSS properties of the run, keyed by their full "run.&lt;name&gt;." key.
+     *                      Properties belonging to other runs are ignored.
+     */
+    public RunImpl(String name, Map<String, String> runProperties) {
         this.name = name;
 
         String prefix = "run." + name + ".";
 
-        Map<String, String> runProperties = dss.getPrefix("run." + this.name);
-
         String sHeartbeat = runProperties.get(prefix + "heartbeat");
         if (sHeartbeat != null) {
             this.heartbeat = Instant.parse(sHeartbeat);
@@ -135,7 +146,9 @@ public class RunImpl implements IRun {
             this.testName = null;
         }
 
-        logger.info("RunImpl created: "+this.toString());
+        if (logger.isDebugEnabled()) {
+            logger.debug("RunImpl created: "+this.toString());
+        }
     }
 
     private Set<String> getTagsFromDss(Map<String, String> runProperties, String prefix) {
@@ -157,7 +170,7 @@ public class RunImpl implements IRun {
             // We don't want to fail the entire run because of this, so 
             // we will forget any tags which may have been in the dss test structure.
         }
-        logger.info("test tags retrieved from dss: "+tags.toString());
+        logger.debug("test tags retrieved from dss: "+tags.toString());
         return tags;
     }
 
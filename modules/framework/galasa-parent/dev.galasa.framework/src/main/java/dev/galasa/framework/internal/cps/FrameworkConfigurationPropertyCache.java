@@ -0,0 +1,282 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.cps;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStore;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreWatcher;
+import dev.galasa.framework.spi.utils.ITimeService;
+import dev.galasa.framework.spi.utils.SystemTimeService;
+
+/**
+ * A local copy of the properties in a Configuration Property Store, one namespace at a time.
+ *
+ * The first time a property in a namespace is asked for, every property in the namespace is read
+ * with a single prefix read, and a watch is set up on the namespace to keep the copy up to date.
+ * After that, every property in the namespace, and every key in an infix chain, is resolved in memory.
+ * If the namespace cannot be read or watched, or the watch fails, the copy of the namespace is thrown
+ * away and the namespace is read from the store for a while before it is copied again. The wait doubles
+ * each time copying the namespace fails, so a store which keeps failing is not asked for it on every read.
+ */
+public class FrameworkConfigurationPropertyCache {
+
+    public static final Duration                      INITIAL_RETRY_DELAY = Duration.ofSeconds(5);
+    public static final Duration                      MAX_RETRY_DELAY     = Duration.ofMinutes(5);
+
+    private final Log                                 logger     = LogFactory.getLog(getClass());
+
+    private final IConfigurationPropertyStore         cpsStore;
+    private final ITimeService                        timeService;
+    private final Map<String, NamespaceProperties>    namespaces = new ConcurrentHashMap<>();
+    private final Map<String, UncachedNamespace>      uncachedNamespaces = new ConcurrentHashMap<>();
+
+    private final AtomicLong                          hits       = new AtomicLong();
+    private final AtomicLong                          misses     = new AtomicLong();
+
+    public FrameworkConfigurationPropertyCache(@NotNull IConfigurationPropertyStore cpsStore) {
+        this(cpsStore, new SystemTimeService());
+    }
+
+    public FrameworkConfigurationPropertyCache(@NotNull IConfigurationPropertyStore cpsStore, @NotNull ITimeService timeService) {
+        this.cpsStore = cpsStore;
+        this.timeService = timeService;
+    }
+
+    /**
+     * @param key the full key of the property, including the namespace
+     * @return the value of the property, or null if it does not exist
+     */
+    public @Null String getProperty(@NotNull String key) throws ConfigurationPropertyStoreException {
+        NamespaceProperties namespaceProperties = getLoadedNamespace(getNamespace(key));
+        if (namespaceProperties == null) {
+            misses.incrementAndGet();
+            return cpsStore.getProperty(key);
+        }
+
+        hits.incrementAndGet();
+        return namespaceProperties.get(key);
+    }
+
+    /**
+     * Records a property that has just been set through this framework, so that it can be read
+     * back straight away rather than when the watch catches up.
+     */
+    public void propertySet(@NotNull String key, @NotNull String value) {
+        NamespaceProperties namespaceProperties = namespaces.get(getNamespace(key));
+        if (namespaceProperties != null) {
+            namespaceProperties.propertyModified(key, value);
+        }
+    }
+
+    /**
+     * Records a property that has just been deleted through this framework.
+     */
+    public void propertyDeleted(@NotNull String key) {
+        NamespaceProperties namespaceProperties = namespaces.get(getNamespace(key));
+        if (namespaceProperties != null) {
+            namespaceProperties.propertyModified(key, null);
+        }
+    }
+
+    /**
+     * Records that every property starting with the prefix has just been deleted through this framework.
+     */
+    public void prefixDeleted(@NotNull String keyPrefix) {
+        for (NamespaceProperties namespaceProperties : namespaces.values()) {
+            namespaceProperties.prefixDeleted(keyPrefix);
+        }
+    }
+
+    /**
+     * @return how many property reads were answered from the local copy
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return how many property reads had to go to the store, because the namespace could not be copied
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public void shutdown() {
+        for (NamespaceProperties namespaceProperties : namespaces.values()) {
+            namespaceProperties.discard();
+        }
+    }
+
+    private String getNamespace(String key) {
+        int firstDotIndex = key.indexOf('.');
+        if (firstDotIndex < 0) {
+            return key;
+        }
+        return key.substring(0, firstDotIndex);
+    }
+
+    private NamespaceProperties getLoadedNamespace(String namespace) {
+        UncachedNamespace uncachedNamespace = uncachedNamespaces.get(namespace);
+        if (uncachedNamespace != null && timeService.now().isBefore(uncachedNamespace.retryTime)) {
+            return null;
+        }
+
+        NamespaceProperties namespaceProperties = namespaces.computeIfAbsent(namespace, NamespaceProperties::new);
+        if (namespaceProperties.waitUntilLoaded()) {
+            return namespaceProperties;
+        }
+        return null;
+    }
+
+    // Reads the namespace from the store until the returned retry time, waiting twice as long as last time
+    private UncachedNamespace namespaceFailed(String namespace) {
+        Instant now = timeService.now();
+        return uncachedNamespaces.compute(namespace, (key, previous) -> {
+            int failures = (previous == null) ? 1 : previous.failures + 1;
+            return new UncachedNamespace(failures, now);
+        });
+    }
+
+    private static class UncachedNamespace {
+
+        private final int     failures;
+        private final Instant retryTime;
+
+        UncachedNamespace(int failures, Instant now) {
+            this.failures = failures;
+            long delayMillis = INITIAL_RETRY_DELAY.toMillis() << Math.min(failures - 1, 16);
+            this.retryTime = now.plusMillis(Math.min(delayMillis, MAX_RETRY_DELAY.toMillis()));
+        }
+    }
+
+    private class NamespaceProperties implements IConfigurationPropertyStoreWatcher {
+
+        private final String              namespace;
+        private final Map<String, String> properties      = new ConcurrentHashMap<>();
+
+        // Guarded by this. Keys changed by the watch while the namespace was being read,
+        // which are newer than anything the read returned for them
+        private Set<String>               keysChangedDuringLoad = new HashSet<>();
+
+        private final Object              loadLock        = new Object();
+        private boolean                   isLoadAttempted = false; // Guarded by loadLock
+        private volatile boolean          isLoaded        = false;
+        private volatile UUID             watchId;
+
+        NamespaceProperties(String namespace) {
+            this.namespace = namespace;
+        }
+
+        String get(String key) {
+            return properties.get(key);
+        }
+
+        boolean waitUntilLoaded() {
+            if (isLoaded) {
+                return true;
+            }
+
+            synchronized (loadLock) {
+                if (!isLoadAttempted) {
+                    isLoadAttempted = true;
+                    load();
+                }
+                return isLoaded;
+            }
+        }
+
+        private void load() {
+            String keyPrefix = namespace + ".";
+            try {
+                // Watch first, so nothing changed while the namespace is being read is missed
+                watchId = cpsStore.watchPrefix(this, keyPrefix);
+
+                Map<String, String> loadedProperties = cpsStore.getPrefixedProperties(keyPrefix);
+                synchronized (this) {
+                    for (Entry<String, String> entry : loadedProperties.entrySet()) {
+                        if (!keysChangedDuringLoad.contains(entry.getKey())) {
+                            properties.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    keysChangedDuringLoad = null;
+                }
+                isLoaded = true;
+                uncachedNamespaces.remove(namespace);
+                logger.debug("Cached " + properties.size() + " CPS properties in namespace " + namespace);
+            } catch (ConfigurationPropertyStoreException e) {
+                discard();
+                UncachedNamespace uncachedNamespace = namespaceFailed(namespace);
+                logger.warn("Unable to cache the CPS properties in namespace " + namespace + ", they will be read from the store until " + uncachedNamespace.retryTime, e);
+            }
+        }
+
+        @Override
+        public synchronized void propertyModified(String key, String newValue) {
+            if (keysChangedDuringLoad != null) {
+                keysChangedDuringLoad.add(key);
+            }
+
+            if (newValue == null) {
+                properties.remove(key);
+            } else {
+                properties.put(key, newValue);
+            }
+        }
+
+        synchronized void prefixDeleted(String keyPrefix) {
+            List<String> keysToRemove = new ArrayList<>();
+            for (String key : properties.keySet()) {
+                if (key.startsWith(keyPrefix)) {
+                    keysToRemove.add(key);
+                }
+            }
+            for (String key : keysToRemove) {
+                propertyModified(key, null);
+            }
+        }
+
+        @Override
+        public void watchFailed(Throwable cause) {
+            discard();
+            UncachedNamespace uncachedNamespace = namespaceFailed(namespace);
+            logger.warn("The watch on CPS namespace " + namespace + " failed, the namespace will be read from the store until " + uncachedNamespace.retryTime, cause);
+        }
+
+        // Stops using this copy of the namespace, the next read of the namespace starts a new copy
+        void discard() {
+            namespaces.remove(namespace, this);
+            isLoaded = false;
+
+            UUID watchToStop = watchId;
+            watchId = null;
+            if (watchToStop != null) {
+                try {
+                    cpsStore.unwatch(watchToStop);
+                } catch (ConfigurationPropertyStoreException e) {
+                    logger.warn("Unable to stop the watch on CPS namespace " + namespace, e);
+                }
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
     private Properties                  record;
     private Properties                  overrides;
     private IConfigurationPropertyStore cpsStore;
+    private FrameworkConfigurationPropertyCache cpsCache;
 
     /**
      * <p>
@@ -48,10 +49,20 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
      */
     public FrameworkConfigurationPropertyService(IFramework framework, IConfigurationPropertyStore cpsStore,
             Properties overrides, Properties record, String namespace) {
+        this(framework, cpsStore, null, overrides, record, namespace);
+    }
+
+    /**
+     * @param cpsCache - a local copy of the CPS to read properties from, or null to
+     *                 read every property from the CPS itself
+     */
+    public FrameworkConfigurationPropertyService(IFramework framework, IConfigurationPropertyStore cpsStore,
+            FrameworkConfigurationPropertyCache cpsCache, Properties overrides, Properties record, String namespace) {
         this.namespace = namespace;
         this.record = record;
         this.overrides = overrides;
         this.cpsStore = cpsStore;
+        this.cpsCache = cpsCache;
     }
 
     /**
@@ -113,6 +124,9 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
     public void setProperty(@NotNull String name, @NotNull String value)
             throws ConfigurationPropertyStoreException {
     	cpsStore.setProperty(namespace + "." + name, value);
+        if (cpsCache != null) {
+            cpsCache.propertySet(namespace + "." + name, value);
+        }
     }
     
     /**
@@ -125,12 +139,18 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
     public void deleteProperty(@NotNull String name) 
             throws ConfigurationPropertyStoreException {
         cpsStore.deleteProperty(namespace + "." + name);
-        
+        if (cpsCache != null) {
+            cpsCache.propertyDeleted(namespace + "." + name);
+        }
+
     }
 
     @Override
     public void deletePrefixedProperties(@NotNull String prefix) throws ConfigurationPropertyStoreException {
         cpsStore.deletePrefixedProperties(prefix);
+        if (cpsCache != null) {
+            cpsCache.prefixDeleted(prefix);
+        }
     }
 
     /**
@@ -206,7 +226,11 @@ public class FrameworkConfigurationPropertyService implements IConfigurationProp
             return value;
         }
 
-        value = cpsStore.getProperty(key);
+        if (cpsCache != null) {
+            value = cpsCache.getProperty(key);
+        } else {
+            value = cpsStore.getProperty(key);
+        }
         if (value != null) {
             recordPropertyAccessed(key,value,"cps");
             return value;
@@ -0,0 +1,198 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.cts;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An Aho-Corasick automaton of all the registered confidential texts, so that a
+ * text can be searched for all of them in one pass. The texts are matched
+ * literally.
+ *
+ * The automaton never changes once built, so it can be shared by any number of
+ * threads, and a new one is built whenever a text is registered.
+ */
+class ConfidentialTextMatcher {
+
+    private final String[] tags;
+
+    // The automaton, each state has its transitions as sorted characters with their target states
+    private final char[][] transitionChars;
+    private final int[][]  transitionStates;
+    private final int[]    failStates;
+    private final int[]    depths;
+
+    // The longest text that ends at each state, including those of its fail states
+    private final int[]    matchTexts;
+    private final int[]    matchLengths;
+
+    /**
+     * @param texts - the confidential texts, in the order they were registered
+     * @param tags - what replaces each of the texts
+     */
+    ConfidentialTextMatcher(List<String> texts, List<String> tags) {
+        this.tags = tags.toArray(new String[0]);
+
+        // *** Build the trie of the texts, the first registration of a text wins
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> trieTexts = new ArrayList<>();
+        List<Integer> trieDepths = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieTexts.add(-1);
+        trieDepths.add(0);
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int j = 0; j < text.length(); j++) {
+                Integer nextState = trie.get(state).get(text.charAt(j));
+                if (nextState == null) {
+                    nextState = trie.size();
+                    trie.get(state).put(text.charAt(j), nextState);
+                    trie.add(new TreeMap<>());
+                    trieTexts.add(-1);
+                    trieDepths.add(j + 1);
+                }
+                state = nextState;
+            }
+            if (trieTexts.get(state) < 0) {
+                trieTexts.set(state, i);
+            }
+        }
+
+        int stateCount = trie.size();
+        this.transitionChars  = new char[stateCount][];
+        this.transitionStates = new int[stateCount][];
+        this.failStates       = new int[stateCount];
+        this.depths           = new int[stateCount];
+        this.matchTexts       = new int[stateCount];
+        this.matchLengths     = new int[stateCount];
+
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> transitions = trie.get(state);
+            char[] chars = new char[transitions.size()];
+            int[] states = new int[transitions.size()];
+            int t = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                chars[t] = transition.getKey();
+                states[t] = transition.getValue();
+                t++;
+            }
+            this.transitionChars[state] = chars;
+            this.transitionStates[state] = states;
+            this.depths[state] = trieDepths.get(state);
+            this.matchTexts[state] = trieTexts.get(state);
+            this.matchLengths[state] = (this.matchTexts[state] < 0) ? 0 : this.depths[state];
+        }
+
+        // *** Work out the fail states breadth first, so a state's fail state is always
+        // complete before it is needed, and pass on the longest match of the fail state
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : this.transitionStates[0]) {
+            this.failStates[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int t = 0; t < this.transitionChars[state].length; t++) {
+                char c = this.transitionChars[state][t];
+                int child = this.transitionStates[state][t];
+
+                int fail = this.failStates[state];
+                int failChild = findTransition(fail, c);
+                while (failChild < 0 && fail != 0) {
+                    fail = this.failStates[fail];
+                    failChild = findTransition(fail, c);
+                }
+                this.failStates[child] = (failChild < 0) ? 0 : failChild;
+
+                // A text ending at this state is always longer than one ending at the fail state
+                if (this.matchTexts[child] < 0) {
+                    this.matchTexts[child] = this.matchTexts[this.failStates[child]];
+                    this.matchLengths[child] = this.matchLengths[this.failStates[child]];
+                }
+
+                queue.add(child);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return this.transitionChars[0].length == 0;
+    }
+
+    /**
+     * @return true if any of the texts appear in the text
+     */
+    boolean containsMatch(String text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = nextState(state, text.charAt(i));
+            if (this.matchLengths[state] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int nextState(int state, char c) {
+        while (true) {
+            int next = findTransition(state, c);
+            if (next >= 0) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = this.failStates[state];
+        }
+    }
+
+    /**
+     * @return how many characters have been matched to reach the state, so how far
+     * back a match still in progress started
+     */
+    int getDepth(int state) {
+        return this.depths[state];
+    }
+
+    /**
+     * @return the length of the longest text that ends at the state, 0 if none do
+     */
+    int getMatchLength(int state) {
+        return this.matchLengths[state];
+    }
+
+    /**
+     * @return the replacement for the longest text that ends at the state
+     */
+    String getMatchTag(int state) {
+        return this.tags[this.matchTexts[state]];
+    }
+
+    private int findTransition(int state, char c) {
+        char[] chars = this.transitionChars[state];
+        int low = 0;
+        int high = chars.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (chars[mid] < c) {
+                low = mid + 1;
+            } else if (chars[mid] > c) {
+                high = mid - 1;
+            } else {
+                return this.transitionStates[state][mid];
+            }
+        }
+        return -1;
+    }
+}
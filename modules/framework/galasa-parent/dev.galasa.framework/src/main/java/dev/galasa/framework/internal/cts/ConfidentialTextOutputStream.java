@@ -0,0 +1,105 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.cts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * An output stream that decodes the bytes written through it, removes the
+ * confidential texts and encodes them again in the same character set.
+ *
+ * Bytes that do not decode are replaced, as they are when a whole file is read as
+ * a string.
+ */
+class ConfidentialTextOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CharsetDecoder decoder;
+    private final Writer         writer;
+    private final ByteBuffer     bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer     chars = CharBuffer.allocate(BUFFER_SIZE);
+    private boolean              closed = false;
+
+    ConfidentialTextOutputStream(OutputStream target, Charset charset, ConfidentialTextMatcher matcher) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.writer = new ConfidentialTextWriter(new OutputStreamWriter(target, charset), matcher);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int length = Math.min(bytes.remaining(), len);
+            bytes.put(b, off, length);
+            off += length;
+            len -= length;
+            decode(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            decode(true);
+            decoder.flush(chars);
+            writeChars();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void decode(boolean endOfInput) throws IOException {
+        bytes.flip();
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            writeChars();
+            if (!result.isOverflow()) {
+                break;
+            }
+        }
+        // *** Keep any partial character until the rest of its bytes arrive
+        bytes.compact();
+    }
+
+    private void writeChars() throws IOException {
+        chars.flip();
+        writer.write(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+        chars.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Confidential text output stream is closed");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.cts;
+
+import java.io.IOException;
+
+/**
+ * Replaces the confidential texts in a stream of characters as they are written,
+ * holding back only the characters that could still be part of a confidential text.
+ *
+ * Where confidential texts overlap, the one that starts first is replaced, and of
+ * those starting at the same place the longest is replaced, so no part of a longer
+ * text is left behind when a shorter one is also registered.
+ *
+ * A scrubber is for one stream, so is not thread safe.
+ */
+class ConfidentialTextScrubber {
+
+    private final ConfidentialTextMatcher matcher;
+
+    // The characters still to be matched. The characters already matched but not yet
+    // written out are always the ones just before the queue position, so they can be
+    // matched again after a replacement by moving the position back.
+    private final StringBuilder queue   = new StringBuilder();
+    private int                 queuePosition;
+
+    private final StringBuilder pending = new StringBuilder();
+    private int                 state;
+
+    // The best match found so far, as positions in the pending characters
+    private int                 matchStart = -1;
+    private int                 matchEnd;
+    private String              matchTag;
+
+    ConfidentialTextScrubber(ConfidentialTextMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    /**
+     * Scrub some characters, writing out those that can no longer be part of a confidential text
+     */
+    void write(CharSequence chars, int start, int end, Appendable out) throws IOException {
+        queue.append(chars, start, end);
+        drain(out);
+    }
+
+    /**
+     * Write out everything held back, as there are no more characters to come
+     */
+    void finish(Appendable out) throws IOException {
+        while (matchStart >= 0) {
+            replaceMatch(out);
+            drain(out);
+        }
+        out.append(pending);
+        pending.setLength(0);
+        state = 0;
+        queue.setLength(0);
+        queuePosition = 0;
+    }
+
+    private void drain(Appendable out) throws IOException {
+        while (queuePosition < queue.length()) {
+            step(queue.charAt(queuePosition++), out);
+        }
+
+        // *** Only keep the characters that might have to be matched again
+        queue.delete(0, queuePosition - pending.length());
+        queuePosition = pending.length();
+    }
+
+    private void step(char c, Appendable out) throws IOException {
+        pending.append(c);
+        int end = pending.length();
+
+        state = matcher.nextState(state, c);
+        int matchLength = matcher.getMatchLength(state);
+        if (matchLength > 0) {
+            int start = end - matchLength;
+            if (matchStart < 0 || start < matchStart || (start == matchStart && end > matchEnd)) {
+                matchStart = start;
+                matchEnd = end;
+                matchTag = matcher.getMatchTag(state);
+            }
+        }
+
+        // *** Nothing before the start of the match in progress can be part of a future match
+        int activeStart = end - matcher.getDepth(state);
+        if (matchStart < 0) {
+            writePending(activeStart, out);
+        } else if (activeStart > matchStart) {
+            replaceMatch(out);
+        } else {
+            writePending(activeStart, out);
+        }
+    }
+
+    private void writePending(int length, Appendable out) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        out.append(pending, 0, length);
+        pending.delete(0, length);
+        if (matchStart >= 0) {
+            matchStart -= length;
+            matchEnd -= length;
+        }
+    }
+
+    private void replaceMatch(Appendable out) throws IOException {
+        out.append(pending, 0, matchStart);
+        out.append(matchTag);
+
+        // *** Match the characters after the replaced text again, from the start of the automaton
+        queuePosition -= pending.length() - matchEnd;
+        pending.setLength(0);
+        state = 0;
+        matchStart = -1;
+        matchTag = null;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.cts;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * A writer that removes the confidential texts from everything written through it
+ * before passing it on, without holding the whole output in memory.
+ *
+ * Characters that might be the start of a confidential text are held back until
+ * it is known whether they are, so a flush does not write them, only a close does.
+ */
+class ConfidentialTextWriter extends Writer {
+
+    private final Writer                   target;
+    private final ConfidentialTextScrubber scrubber;
+    private boolean                        closed = false;
+
+    ConfidentialTextWriter(Writer target, ConfidentialTextMatcher matcher) {
+        this.target = target;
+        this.scrubber = new ConfidentialTextScrubber(matcher);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        scrubber.write(CharBuffer.wrap(cbuf), off, off + len, target);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        scrubber.write(str, off, off + len, target);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            scrubber.finish(target);
+        } finally {
+            target.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Confidential text writer is closed");
+        }
+    }
+}
@@ -5,9 +5,13 @@
  */
 package dev.galasa.framework.internal.cts;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -25,6 +29,9 @@ public class FrameworkConfidentialTextService implements IConfidentialTextServic
     private List<ConfidentialText> confidentialTexts = new ArrayList<>();
     private Log                    logger            = LogFactory.getLog(FrameworkConfidentialTextService.class);
 
+    // *** Rebuilt whenever a text is registered, so removing texts never has to lock
+    private volatile ConfidentialTextMatcher matcher = new ConfidentialTextMatcher(new ArrayList<>(), new ArrayList<>());
+
     /**
      * This method is for registering a text with the service. It creates the
      * replacement tag (******1******) which represents any registered password,
@@ -34,7 +41,7 @@ public class FrameworkConfidentialTextService implements IConfidentialTextServic
      * @param text    - the word or phrase the manager wants obscuring.
      * @param comment - a comment explaining the conidential text.
      */
-    public void registerText(String text, String comment) {
+    public synchronized void registerText(String text, String comment) {
         String number = Integer.toString(confidentialTexts.size() + 1);
         StringBuilder builder = new StringBuilder();
         final String star = "*";
@@ -52,23 +59,50 @@ public class FrameworkConfidentialTextService implements IConfidentialTextServic
         ConfidentialText ct = new ConfidentialText(text, builder.toString(), comment);
         confidentialTexts.add(ct);
 
+        List<String> texts = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
+        for (ConfidentialText confidential : confidentialTexts) {
+            texts.add(confidential.getText());
+            tags.add(confidential.getTag());
+        }
+        matcher = new ConfidentialTextMatcher(texts, tags);
+
         logger.info("Confidential text registered as '" + ct.replacementTag + "', with comment " + ct.getComment());
     }
 
     /**
      * This method removes any registered strings with the service from any passed
-     * text.
+     * text. All the registered texts are searched for in one pass of the text, and
+     * where they overlap the one that starts first, then the longest, is removed.
      * 
      * @param text - the log or text that needs checking for confidential text.
      */
     public String removeConfidentialText(String text) {
+        ConfidentialTextMatcher currentMatcher = this.matcher;
+        if (text == null || currentMatcher.isEmpty() || !currentMatcher.containsMatch(text)) {
+            return text;
+        }
 
-        for (ConfidentialText confidentials : confidentialTexts) {
-            text = text.replaceAll(Matcher.quoteReplacement(confidentials.getText()), confidentials.getTag());
+        StringBuilder scrubbed = new StringBuilder(text.length());
+        ConfidentialTextScrubber scrubber = new ConfidentialTextScrubber(currentMatcher);
+        try {
+            scrubber.write(text, 0, text.length(), scrubbed);
+            scrubber.finish(scrubbed);
+        } catch (IOException e) {
+            // *** Not possible appending to a StringBuilder
+            throw new UncheckedIOException(e);
         }
+        return scrubbed.toString();
+    }
 
-        return text;
+    @Override
+    public Writer newConfidentialTextWriter(Writer target) {
+        return new ConfidentialTextWriter(target, this.matcher);
+    }
 
+    @Override
+    public OutputStream newConfidentialTextOutputStream(OutputStream target, Charset charset) {
+        return new ConfidentialTextOutputStream(target, charset, this.matcher);
     }
 
     /**
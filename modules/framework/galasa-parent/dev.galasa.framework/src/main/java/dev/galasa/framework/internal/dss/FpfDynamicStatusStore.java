@@ -5,7 +5,6 @@
  */
 package dev.galasa.framework.internal.dss;
 
-import java.io.IOException;
 import java.net.URI;
 import java.util.Map;
 import java.util.Set;
@@ -16,8 +15,8 @@ import javax.validation.constraints.Null;
 
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
-import dev.galasa.framework.spi.FrameworkPropertyFile;
 import dev.galasa.framework.spi.FrameworkPropertyFileException;
+import dev.galasa.framework.spi.FrameworkPropertyJournal;
 import dev.galasa.framework.spi.IDssAction;
 import dev.galasa.framework.spi.IDynamicStatusStore;
 import dev.galasa.framework.spi.IDynamicStatusStoreWatcher;
@@ -26,17 +25,18 @@ import dev.galasa.framework.spi.IFrameworkPropertyFileWatcher;
 /**
  * <p>
  * This class is used when the FPF class is being operated as the Key-Value
- * store for the Dynamic Status Store.
+ * store for the Dynamic Status Store. The properties file is kept with a journal
+ * of the changes to it, see {@link FrameworkPropertyJournal}.
  * </p>
  * 
  *  
  */
 public class FpfDynamicStatusStore implements IDynamicStatusStore {
-    private FrameworkPropertyFile fpf;
+    private FrameworkPropertyJournal fpf;
 
     public FpfDynamicStatusStore(URI file) throws DynamicStatusStoreException {
         try {
-            fpf = new FrameworkPropertyFile(file);
+            fpf = new FrameworkPropertyJournal(file);
         } catch (FrameworkPropertyFileException e) {
             throw new DynamicStatusStoreException("Failed to create Framework property file", e);
         }
@@ -73,7 +73,7 @@ public class FpfDynamicStatusStore implements IDynamicStatusStore {
     public void put(@NotNull Map<String, String> keyValues) throws DynamicStatusStoreException {
         try {
             fpf.set(keyValues);
-        } catch (FrameworkPropertyFileException | IOException e) {
+        } catch (FrameworkPropertyFileException e) {
             throw new DynamicStatusStoreException("Unable to put map of key/value pairs", e);
         }
 
@@ -138,7 +138,11 @@ public class FpfDynamicStatusStore implements IDynamicStatusStore {
      */
     @Override
     public @Null String get(@NotNull String key) throws DynamicStatusStoreException {
-        return fpf.get(key);
+        try {
+            return fpf.get(key);
+        } catch (FrameworkPropertyFileException e) {
+            throw new DynamicStatusStoreException("Unable to get value with given key", e);
+        }
     }
 
     /**
@@ -158,6 +162,42 @@ public class FpfDynamicStatusStore implements IDynamicStatusStore {
         }
     }
 
+    /**
+     * <p>
+     * This method gets the values of a set of keys from the DSS, all from the
+     * same version of the file.
+     * </p>
+     *
+     * @param keys
+     * @throws DynamicStatusStoreException
+     */
+    @Override
+    public @NotNull Map<String, String> getMultiple(@NotNull Set<String> keys) throws DynamicStatusStoreException {
+        try {
+            return fpf.getMultiple(keys);
+        } catch (Exception e) {
+            throw new DynamicStatusStoreException("Unable to get map of key/value pairs with given keys", e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method gets all key/value pairs with any of a set of key prefixes from
+     * the DSS, all from the same version of the file.
+     * </p>
+     *
+     * @param keyPrefixes
+     * @throws DynamicStatusStoreException
+     */
+    @Override
+    public @NotNull Map<String, String> getPrefixes(@NotNull Set<String> keyPrefixes) throws DynamicStatusStoreException {
+        try {
+            return fpf.getPrefixes(keyPrefixes);
+        } catch (Exception e) {
+            throw new DynamicStatusStoreException("Unable to get map of key/value pairs with given key prefixes", e);
+        }
+    }
+
     /**
      * <p>
      * This method deleted a key/value pair with a given key from the DSS.
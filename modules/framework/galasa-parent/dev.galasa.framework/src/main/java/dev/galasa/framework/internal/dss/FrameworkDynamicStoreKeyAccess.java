@@ -151,7 +151,44 @@ public class FrameworkDynamicStoreKeyAccess implements IDynamicStatusStoreKeyAcc
      */
     @Override
     public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
-        final Map<String, String> gotSet = this.dssStore.getPrefix(prefixKey(keyPrefix));
+        return unprefixKeys(this.dssStore.getPrefix(prefixKey(keyPrefix)));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * dev.galasa.framework.spi.IDynamicStatusStoreKeyAccess#getMultiple(java.util.
+     * Set)
+     */
+    @Override
+    public @NotNull Map<String, String> getMultiple(@NotNull Set<String> keys) throws DynamicStatusStoreException {
+        return unprefixKeys(this.dssStore.getMultiple(prefixKeys(keys)));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * dev.galasa.framework.spi.IDynamicStatusStoreKeyAccess#getPrefixes(java.util.
+     * Set)
+     */
+    @Override
+    public @NotNull Map<String, String> getPrefixes(@NotNull Set<String> keyPrefixes) throws DynamicStatusStoreException {
+        return unprefixKeys(this.dssStore.getPrefixes(prefixKeys(keyPrefixes)));
+    }
+
+    private Set<String> prefixKeys(Set<String> keys) {
+        Objects.requireNonNull(keys);
+
+        final HashSet<String> newKeys = new HashSet<>();
+        for (final String key : keys) {
+            newKeys.add(prefixKey(key));
+        }
+        return newKeys;
+    }
+
+    private Map<String, String> unprefixKeys(Map<String, String> gotSet) throws DynamicStatusStoreException {
         final HashMap<String, String> returnSet = new HashMap<>();
 
         for (Entry<String, String> entry : gotSet.entrySet()) {
@@ -255,6 +292,11 @@ public class FrameworkDynamicStoreKeyAccess implements IDynamicStatusStoreKeyAcc
             key = key.substring(this.offset);
             watcher.propertyModified(key, event, oldValue, newValue);
         }
+
+        @Override
+        public void watchFailed(Throwable cause) {
+            watcher.watchFailed(cause);
+        }
     }
 
     @Override
@@ -96,6 +96,28 @@ public class CharacterVariable implements ICharacter {
         return chars.get(0);
     }
 
+    /**
+     * This method returns the character at a position in the order defined.
+     * 
+     * @param index - the position of the character, from 0.
+     * @return - char, the character at that position.
+     */
+    public char charAt(int index) {
+        return chars.get(index);
+    }
+
+    /**
+     * This method returns the position of a character in the order defined.
+     * 
+     * @param c - the character to find.
+     * @return - int, the position of the character, or -1 if it is not one this
+     *         variable can be.
+     */
+    public int indexOf(char c) {
+        int index = Collections.binarySearch(chars, c);
+        return (index < 0) ? -1 : index;
+    }
+
     /**
      * This method returns the number of possible responses that can be achieved
      * from the getRadomChar().
@@ -0,0 +1,129 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.internal.rps;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class holds which of the resources of a resource string definition
+ * cannot be used, one bit per resource in the order getNextResource steps
+ * through them, so that runs of free resources can be found in memory.
+ */
+public class ResourceBitmap {
+    /**
+     * The largest definition held as a bitmap, which takes 512KB
+     */
+    public static final int      MAX_RESOURCES = 1 << 22;
+
+    private final ResourceString definition;
+    private final int            size;
+    private final BitSet         unavailable;
+
+    /**
+     * @param definition - the resource string definition, which must provide no
+     *                   more than MAX_RESOURCES resources.
+     */
+    public ResourceBitmap(ResourceString definition) {
+        this(definition, (int) definition.getNumberOfResources(), new BitSet());
+    }
+
+    private ResourceBitmap(ResourceString definition, int size, BitSet unavailable) {
+        this.definition = definition;
+        this.size = size;
+        this.unavailable = unavailable;
+    }
+
+    /**
+     * @param definition - the resource string definition.
+     * @return - true if the resources of the definition can be held as a bitmap.
+     */
+    public static boolean canHold(ResourceString definition) {
+        return definition.getNumberOfResources() <= MAX_RESOURCES;
+    }
+
+    /**
+     * @return - a copy of this bitmap, which can be changed without changing this
+     *         one.
+     */
+    public ResourceBitmap copy() {
+        return new ResourceBitmap(definition, size, (BitSet) unavailable.clone());
+    }
+
+    /**
+     * @return - the number of resources the definition provides.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method marks a resource as not available. Resources that are not
+     * provided by the definition are ignored.
+     *
+     * @param resource - the resource name.
+     */
+    public void markUnavailable(String resource) {
+        long index = definition.getIndex(resource);
+        if (index >= 0) {
+            unavailable.set((int) index);
+        }
+    }
+
+    /**
+     * This method marks a run of consecutive resources as not available.
+     *
+     * @param start  - the position of the first resource.
+     * @param length - the number of resources.
+     */
+    public void markUnavailable(int start, int length) {
+        unavailable.set(start, start + length);
+    }
+
+    /**
+     * This method finds the first run of free consecutive resources which starts at
+     * or after a position, going back to the first resource of the definition if
+     * there is none. A run does not go past the last resource of the definition.
+     *
+     * @param from   - the position to start looking from.
+     * @param length - the number of consecutive resources needed.
+     * @return - the position of the first resource of the run, or -1 if there is no
+     *         run that long.
+     */
+    public int findFreeRun(int from, int length) {
+        int start = findFreeRun(from, size, length);
+        if (start < 0 && from > 0) {
+            start = findFreeRun(0, Math.min(size, from + length - 1), length);
+        }
+        return start;
+    }
+
+    private int findFreeRun(int from, int to, int length) {
+        int start = unavailable.nextClearBit(from);
+        while (start + length <= to) {
+            int used = unavailable.nextSetBit(start);
+            if (used < 0 || used >= start + length) {
+                return start;
+            }
+            start = unavailable.nextClearBit(used);
+        }
+        return -1;
+    }
+
+    /**
+     * @param start  - the position of the first resource.
+     * @param length - the number of resources.
+     * @return - the names of a run of consecutive resources.
+     */
+    public List<String> getResources(int start, int length) {
+        List<String> resources = new ArrayList<>(length);
+        for (int i = start; i < start + length; i++) {
+            resources.add(definition.getResource(i));
+        }
+        return resources;
+    }
+}
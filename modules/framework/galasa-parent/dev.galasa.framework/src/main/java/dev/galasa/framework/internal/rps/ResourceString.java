@@ -140,4 +140,77 @@ public class ResourceString {
         }
         return combintations;
     }
+
+    /**
+     * This method returns the number of resources the definition provides, as a
+     * long so that large definitions do not overflow.
+     * 
+     * @return - long, number of resources, or Long.MAX_VALUE if there are more.
+     */
+    public long getNumberOfResources() {
+        long resources = 1;
+        try {
+            for (ICharacter c : string) {
+                resources = Math.multiplyExact(resources, c.numberOfCombinations());
+            }
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+        return resources;
+    }
+
+    /**
+     * This method returns the resource at a position in the order the
+     * getNextResource method steps through the resources, without changing the
+     * stored characters.
+     * 
+     * @param index - the position of the resource, from 0.
+     * @return string, for the definition: APPLID{9}{z} resource 27 would be
+     *         APPLID1b.
+     */
+    public String getResource(long index) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = string.size() - 1; i >= 0; i--) {
+            ICharacter character = string.get(i);
+            if (character instanceof CharacterVariable) {
+                CharacterVariable variable = (CharacterVariable) character;
+                int combinations = variable.numberOfCombinations();
+                builder.append(variable.charAt((int) (index % combinations)));
+                index /= combinations;
+            } else {
+                builder.append(character.getChar());
+            }
+        }
+        return builder.reverse().toString();
+    }
+
+    /**
+     * This method returns the position of a resource in the order the
+     * getNextResource method steps through the resources.
+     * 
+     * @param resource - the resource name.
+     * @return - long, the position of the resource, or -1 if the resource is not
+     *         one this definition provides.
+     */
+    public long getIndex(String resource) {
+        if (resource == null || resource.length() != string.size()) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = 0; i < string.size(); i++) {
+            ICharacter character = string.get(i);
+            char c = resource.charAt(i);
+            if (character instanceof CharacterVariable) {
+                CharacterVariable variable = (CharacterVariable) character;
+                int position = variable.indexOf(c);
+                if (position < 0) {
+                    return -1;
+                }
+                index = (index * variable.numberOfCombinations()) + position;
+            } else if (character.getChar() != c) {
+                return -1;
+            }
+        }
+        return index;
+    }
 }
\ No newline at end of file
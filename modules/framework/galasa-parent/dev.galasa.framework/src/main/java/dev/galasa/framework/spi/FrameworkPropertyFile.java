@@ -125,6 +125,51 @@ public class FrameworkPropertyFile implements FileAlterationListener {
         return values;
     }
 
+    /**
+     * <p>
+     * This method retrieves the values of a set of keys, all from the same
+     * version of the properties file.
+     * </p>
+     *
+     * @param keys - the keys to retrieve
+     * @return A map of the keys that exist to their values. Keys that do not exist are left out.
+     */
+    public synchronized Map<String, String> getMultiple(Set<String> keys) {
+        Map<String, String> values = new HashMap<>();
+        observer.checkAndNotify();
+        for (String key : keys) {
+            String value = currentProperties.getProperty(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * <p>
+     * This method retrieves the values of every key starting with any of a set of
+     * prefixes, all from the same version of the properties file.
+     * </p>
+     *
+     * @param keyPrefixes - the common key prefixes
+     * @return A map of every matching key to its value.
+     */
+    public synchronized Map<String, String> getPrefixes(Set<String> keyPrefixes) {
+        Map<String, String> values = new HashMap<>();
+        observer.checkAndNotify();
+        for (Object k : currentProperties.keySet()) {
+            String key = (String) k;
+            for (String keyPrefix : keyPrefixes) {
+                if (key.startsWith(keyPrefix)) {
+                    values.put(key, currentProperties.getProperty(key));
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
     /**
      * <p>
      * This method retrieves a List of namespaces which have properties set
@@ -0,0 +1,1025 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.monitor.FileAlterationListener;
+import org.apache.commons.io.monitor.FileAlterationMonitor;
+import org.apache.commons.io.monitor.FileAlterationObserver;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import dev.galasa.framework.spi.IFrameworkPropertyFileWatcher.Event;
+import dev.galasa.framework.spi.utils.GalasaGsonBuilder;
+
+/**
+ * <p>
+ * Used by Galasa as the out of the box Dynamic Status Store. The values are kept
+ * in a java properties file and a journal beside it. Each change is appended to
+ * the journal as one record, rather than the whole properties file being written
+ * again, and the journal is compacted back into the properties file when it grows
+ * or the store is shut down.
+ * </p>
+ *
+ * <p>
+ * Changes are made under an exclusive lock of the journal, after reading the
+ * records other processes have appended, so atomic sets and DSS actions are
+ * checked against the latest values of every process sharing the files.
+ * </p>
+ *
+ * <p>
+ * A record that was not completely written, because a process ended while writing
+ * it, is ignored and overwritten by the next change. The journal holds the size
+ * and time of the properties file it follows, so if the properties file is changed
+ * by anything else the journal is discarded and the properties file is used as it
+ * is. An existing properties file with no journal is read in the same way, and
+ * is migrated by starting a journal beside it, so a DSS written by an older level
+ * of Galasa needs no other conversion.
+ * </p>
+ */
+public class FrameworkPropertyJournal implements FileAlterationListener {
+    private static final String    JOURNAL_SUFFIX    = ".journal";
+    private static final String    HEADER_PREFIX     = "#galasa-journal 1 ";
+    private static final int       MAX_HEADER_LENGTH = 256;
+    private static final long      COMPACT_SIZE      = 256 * 1024;
+
+    private static Log             fpfLog            = LogFactory.getLog(FrameworkPropertyJournal.class);
+
+    private final Gson             gson              = new GalasaGsonBuilder(false).getGson();
+    private final Path             propertyPath;
+    private final Path             journalPath;
+    private HashMap<UUID, Watch>   watches           = new HashMap<>();
+    private FileAlterationObserver observer;
+    private FileAlterationMonitor  monitor;
+    private FileChannel            journalChannel;
+
+    private Map<String, String>    currentProperties = new HashMap<>();
+    private JournalHeader          loadedHeader;
+    private FileStamp              loadedPropertyStamp;
+    private long                   journalOffset;
+
+    /**
+     * <p>
+     * This constructor loads the properties file and any journal of changes to it
+     * into memory, starting a journal if there is not one.
+     * </p>
+     *
+     * @param file - URI of the java properties file
+     * @throws FrameworkPropertyFileException
+     */
+    public FrameworkPropertyJournal(URI file) throws FrameworkPropertyFileException {
+        this.propertyPath = Paths.get(file);
+        this.journalPath = Paths.get(propertyPath.toString() + JOURNAL_SUFFIX);
+
+        if (Files.exists(propertyPath) && !Files.exists(journalPath)) {
+            fpfLog.info("Migrating the properties file " + propertyPath + " to the journal " + journalPath);
+        }
+
+        try {
+            update(transaction -> true);
+        } catch (IOException e) {
+            throw new FrameworkPropertyFileException("Unable to load the journal: " + journalPath, e);
+        }
+
+        File propertyFile = propertyPath.toFile();
+        IOFileFilter filter = FileFilterUtils.or(FileFilterUtils.nameFileFilter(propertyFile.getName()),
+                FileFilterUtils.nameFileFilter(journalPath.getFileName().toString()));
+        try {
+            observer = new FileAlterationObserver(FileUtils.getFile(propertyFile.getParent()), filter);
+            observer.addListener(this);
+            observer.initialize();
+        } catch (Exception e) {
+            throw new FrameworkPropertyFileException("Problem starting observer", e);
+        }
+    }
+
+    /**
+     * @param key
+     * @return - corresponding value from the key, null if non-exsisting
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized String get(String key) throws FrameworkPropertyFileException {
+        refresh();
+        return currentProperties.get(key);
+    }
+
+    /**
+     * @param keyPrefix - a common key prefix to a number of keys in the store.
+     * @return A map of every key which starts with the prefix to its value.
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized Map<String, String> getPrefix(String keyPrefix) throws FrameworkPropertyFileException {
+        refresh();
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<String, String> entry : currentProperties.entrySet()) {
+            if (entry.getKey().startsWith(keyPrefix)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param keys - the keys to retrieve
+     * @return A map of the keys that exist to their values.
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized Map<String, String> getMultiple(Set<String> keys) throws FrameworkPropertyFileException {
+        refresh();
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            String value = currentProperties.get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param keyPrefixes - the common key prefixes
+     * @return A map of every key starting with any of the prefixes to its value.
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized Map<String, String> getPrefixes(Set<String> keyPrefixes) throws FrameworkPropertyFileException {
+        refresh();
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<String, String> entry : currentProperties.entrySet()) {
+            for (String keyPrefix : keyPrefixes) {
+                if (entry.getKey().startsWith(keyPrefix)) {
+                    values.put(entry.getKey(), entry.getValue());
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param key   - String key
+     * @param value - String value
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void set(String key, String value) throws FrameworkPropertyFileException {
+        try {
+            update(transaction -> {
+                transaction.put(key, value);
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Unable to set key value pair: " + key + ":" + value, e);
+            throw new FrameworkPropertyFileException("Failed Setting value: " + key + "=" + value, e);
+        }
+    }
+
+    /**
+     * @param values - a String String map of k-v pairs.
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void set(Map<String, String> values) throws FrameworkPropertyFileException {
+        try {
+            update(transaction -> {
+                for (Map.Entry<String, String> entry : values.entrySet()) {
+                    transaction.put(entry.getKey(), entry.getValue());
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Unable to set values", e);
+            throw new FrameworkPropertyFileException("Unable to set values", e);
+        }
+    }
+
+    /**
+     * @param key - the string key to be removed
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void delete(String key) throws FrameworkPropertyFileException {
+        try {
+            update(transaction -> {
+                transaction.delete(key);
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Unable to delete the key: " + key, e);
+            throw new FrameworkPropertyFileException("Unable to delete key: " + key, e);
+        }
+    }
+
+    /**
+     * @param keys - a set of string keys to remove
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void delete(Set<String> keys) throws FrameworkPropertyFileException {
+        try {
+            update(transaction -> {
+                for (String key : keys) {
+                    transaction.delete(key);
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Unable to delete keys", e);
+            throw new FrameworkPropertyFileException("Unable to delete keys.", e);
+        }
+    }
+
+    /**
+     * @param prefix - a prefix of keys to remove
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void deletePrefix(String prefix) throws FrameworkPropertyFileException {
+        try {
+            update(transaction -> {
+                transaction.deletePrefix(prefix);
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Unable to delete key prefix: " + prefix, e);
+            throw new FrameworkPropertyFileException("Unable to delete key prefix: " + prefix, e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method sets a key if it currently has the old value, or does not exist
+     * if the old value is null.
+     * </p>
+     *
+     * @param key      the key that is to be changed.
+     * @param oldValue the expected current value.
+     * @param newValue the value to change to if the expected value is true.
+     * @return returns a boolean which informs if the set took place.
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized boolean setAtomic(String key, String oldValue, String newValue)
+            throws FrameworkPropertyFileException {
+        return setAtomic(key, oldValue, newValue, new HashMap<>());
+    }
+
+    /**
+     * <p>
+     * This method sets a key and a map of other k-v pairs if the key currently has
+     * the old value, or does not exist if the old value is null.
+     * </p>
+     *
+     * @param key         - String key
+     * @param oldValue    - String expected value
+     * @param newValue    - String value to change to if key has oldvalue
+     * @param otherValues - Map of k-v pairs to set if key has oldvalue
+     * @return - boolean for if the atomic set was done
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized boolean setAtomic(String key, String oldValue, String newValue, Map<String, String> otherValues)
+            throws FrameworkPropertyFileException {
+        try {
+            return update(transaction -> {
+                if (!Objects.equals(oldValue, transaction.get(key))) {
+                    return false;
+                }
+                transaction.put(key, newValue);
+                for (Map.Entry<String, String> entry : otherValues.entrySet()) {
+                    transaction.put(entry.getKey(), entry.getValue());
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Failed to set Atomically", e);
+            throw new FrameworkPropertyFileException("Failed to set atomically", e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method performs all the DSS actions, or none of them if any of their
+     * conditions are not met.
+     * </p>
+     *
+     * @param actions - the DSS actions
+     * @throws DynamicStatusStoreException
+     * @throws DynamicStatusStoreMatchException - if the condition of an action is
+     *                                          not met
+     */
+    public synchronized void performActions(IDssAction... actions) throws DynamicStatusStoreException, DynamicStatusStoreMatchException {
+        try {
+            update(transaction -> {
+                for (IDssAction action : actions) {
+                    transaction.perform(action);
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            fpfLog.error("Failed to update file with DSS actions", e);
+            throw new DynamicStatusStoreException("Failed to update file with DSS actions", e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method writes the current values to the properties file and starts a
+     * new journal.
+     * </p>
+     *
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void compact() throws FrameworkPropertyFileException {
+        synchronized (FrameworkPropertyJournal.class) {
+            try (FileLock lock = getJournalChannel().lock(0, Long.MAX_VALUE, false)) {
+                catchUp(true);
+                compactLocked();
+            } catch (IOException e) {
+                fpfLog.error("Failed to compact the journal", e);
+                throw new FrameworkPropertyFileException("Failed to compact the journal: " + journalPath, e);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * This method watches a key, the watcher is told about changes made through
+     * this store, and changes made by other processes when they are noticed by a
+     * monitor which checks the files every 50ms.
+     * </p>
+     *
+     * @param watcher - an interface for the watchers inplementation.
+     * @param key     - the string key to watch
+     * @return - returns a UUID which is used to identify a watcher service.
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized UUID watch(IFrameworkPropertyFileWatcher watcher, String key)
+            throws FrameworkPropertyFileException {
+        return addWatch(new Watch(watcher, key, false));
+    }
+
+    /**
+     * @param watcher   an interface for the watchers inplementation.
+     * @param keyPrefix the string prefix to a key set to watch
+     * @return returns a UUID which is used to identify a watcher service.
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized UUID watchPrefix(IFrameworkPropertyFileWatcher watcher, String keyPrefix)
+            throws FrameworkPropertyFileException {
+        return addWatch(new Watch(watcher, keyPrefix, true));
+    }
+
+    private UUID addWatch(Watch watch) throws FrameworkPropertyFileException {
+        if (monitor == null) {
+            monitor = new FileAlterationMonitor(50, observer);
+            try {
+                monitor.start();
+            } catch (Exception e) {
+                throw new FrameworkPropertyFileException("Unable to start file monitor", e);
+            }
+        }
+
+        UUID watchID = UUID.randomUUID();
+        this.watches.put(watchID, watch);
+        return watchID;
+    }
+
+    /**
+     * @param watchId - the identifying UUID
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void unwatch(UUID watchId) throws FrameworkPropertyFileException {
+        this.watches.remove(watchId);
+
+        if (this.watches.isEmpty() && this.monitor != null) {
+            stopMonitor();
+        }
+    }
+
+    /**
+     * <p>
+     * This method stops the watches and compacts the journal, so that the
+     * properties file holds every value.
+     * </p>
+     *
+     * @throws FrameworkPropertyFileException
+     */
+    public synchronized void shutdown() throws FrameworkPropertyFileException {
+        if (this.monitor != null) {
+            stopMonitor();
+        }
+        this.watches.clear();
+
+        synchronized (FrameworkPropertyJournal.class) {
+            try {
+                if (loadedHeader == null || journalOffset > loadedHeader.length) {
+                    compact();
+                }
+            } finally {
+                try {
+                    if (journalChannel != null) {
+                        journalChannel.close();
+                    }
+                } catch (IOException e) {
+                    fpfLog.error("Unable to close the journal", e);
+                }
+                journalChannel = null;
+            }
+        }
+    }
+
+    private void stopMonitor() throws FrameworkPropertyFileException {
+        try {
+            this.monitor.removeObserver(this.observer);
+            this.monitor.stop();
+            this.monitor = null;
+        } catch (Exception e) {
+            throw new FrameworkPropertyFileException("Problem stopping the file monitor", e);
+        }
+    }
+
+    /**
+     * Reads any changes made by other processes
+     */
+    private void refresh() throws FrameworkPropertyFileException {
+        synchronized (FrameworkPropertyJournal.class) {
+            try (FileLock lock = getJournalChannel().lock(0, Long.MAX_VALUE, true)) {
+                catchUp(false);
+            } catch (IOException e) {
+                fpfLog.error("Unable to read the journal", e);
+                throw new FrameworkPropertyFileException("Unable to read the journal: " + journalPath, e);
+            }
+        }
+    }
+
+    /**
+     * Makes a change under an exclusive lock of the journal, once the changes of
+     * other processes have been read, and appends it to the journal as one record
+     *
+     * @return false if the update decided not to make the change
+     */
+    private <E extends Exception> boolean update(Update<E> update) throws IOException, E {
+        synchronized (FrameworkPropertyJournal.class) {
+            FileChannel channel = getJournalChannel();
+            try (FileLock lock = channel.lock(0, Long.MAX_VALUE, false)) {
+                catchUp(true);
+
+                Transaction transaction = new Transaction();
+                if (!update.apply(transaction)) {
+                    return false;
+                }
+
+                JournalRecord record = transaction.toRecord();
+                if (record != null) {
+                    journalOffset += append(record);
+                    applyRecord(record);
+                    if (channel.size() > COMPACT_SIZE) {
+                        compactLocked();
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Brings the values in memory up to date with the files. Only called with the
+     * journal locked, and if the lock is exclusive the journal is made ready to be
+     * appended to.
+     */
+    private void catchUp(boolean exclusive) throws IOException {
+        FileStamp propertyStamp = FileStamp.of(propertyPath);
+        JournalHeader header = readHeader();
+        if (header != null && !header.propertyStamp.equals(propertyStamp)) {
+            // *** The properties file has been changed by something other than this store,
+            // *** which replaces the values in the journal
+            header = null;
+        }
+        if (header == null && exclusive) {
+            header = new JournalHeader(UUID.randomUUID().toString(), propertyStamp);
+            writeHeader(header);
+        }
+
+        if (!Objects.equals(header, loadedHeader) || !propertyStamp.equals(loadedPropertyStamp)) {
+            replaceProperties(readPropertyFile());
+            loadedHeader = header;
+            loadedPropertyStamp = propertyStamp;
+            journalOffset = (header == null) ? 0 : header.length;
+        }
+
+        if (header != null) {
+            readRecords(exclusive);
+        }
+    }
+
+    private void readRecords(boolean exclusive) throws IOException {
+        long size = journalChannel.size();
+        if (size <= journalOffset) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (size - journalOffset));
+        while (buffer.hasRemaining()) {
+            if (journalChannel.read(buffer, journalOffset + buffer.position()) < 0) {
+                break;
+            }
+        }
+        byte[] bytes = buffer.array();
+
+        int lineStart = 0;
+        for (int i = 0; i < buffer.position(); i++) {
+            if (bytes[i] == '\n') {
+                JournalRecord record = parseRecord(bytes, lineStart, i);
+                if (record == null) {
+                    break;
+                }
+                applyRecord(record);
+                journalOffset += (i + 1) - lineStart;
+                lineStart = i + 1;
+            }
+        }
+
+        if (exclusive && journalOffset < size) {
+            fpfLog.warn("Discarding an incomplete record at the end of the journal " + journalPath);
+            journalChannel.truncate(journalOffset);
+        }
+    }
+
+    private JournalRecord parseRecord(byte[] bytes, int start, int end) {
+        int jsonStart = start + 9;
+        if (jsonStart > end || bytes[start + 8] != ' ') {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, jsonStart, end - jsonStart);
+        try {
+            long expectedCrc = Long.parseLong(new String(bytes, start, 8, StandardCharsets.US_ASCII), 16);
+            if (expectedCrc != crc.getValue()) {
+                return null;
+            }
+            return gson.fromJson(new String(bytes, jsonStart, end - jsonStart, StandardCharsets.UTF_8), JournalRecord.class);
+        } catch (NumberFormatException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of bytes appended
+     */
+    private int append(JournalRecord record) throws IOException {
+        byte[] json = gson.toJson(record).getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(json);
+
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 10);
+        buffer.put(String.format("%08x ", crc.getValue()).getBytes(StandardCharsets.US_ASCII));
+        buffer.put(json);
+        buffer.put((byte) '\n');
+        buffer.flip();
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            journalChannel.write(buffer, journalOffset + buffer.position());
+        }
+        return length;
+    }
+
+    private void applyRecord(JournalRecord record) {
+        if (record.delete != null) {
+            for (String key : record.delete) {
+                notifyWatches(key, currentProperties.remove(key), null);
+            }
+        }
+        if (record.put != null) {
+            for (Map.Entry<String, String> entry : record.put.entrySet()) {
+                notifyWatches(entry.getKey(), currentProperties.put(entry.getKey(), entry.getValue()), entry.getValue());
+            }
+        }
+    }
+
+    private void replaceProperties(Map<String, String> newProperties) {
+        Map<String, String> oldProperties = this.currentProperties;
+        this.currentProperties = newProperties;
+        if (watches.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : newProperties.entrySet()) {
+            notifyWatches(entry.getKey(), oldProperties.get(entry.getKey()), entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : oldProperties.entrySet()) {
+            if (!newProperties.containsKey(entry.getKey())) {
+                notifyWatches(entry.getKey(), entry.getValue(), null);
+            }
+        }
+    }
+
+    private void notifyWatches(String key, String oldValue, String newValue) {
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        Event event = (oldValue == null) ? Event.NEW : ((newValue == null) ? Event.DELETE : Event.MODIFIED);
+        for (Watch watch : this.watches.values()) {
+            if (watch.matchKey(key)) {
+                watch.watcher.propertyModified(key, event, oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * Writes the values to the properties file, which is replaced in one move so
+     * that it is never seen half written, then starts a new journal. Only called
+     * with the journal exclusively locked.
+     */
+    private void compactLocked() throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(currentProperties);
+
+        Path newPropertyPath = Paths.get(propertyPath.toString() + ".new");
+        try (FileChannel channel = FileChannel.open(newPropertyPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            properties.store(out, null);
+            channel.force(true);
+        }
+        Files.move(newPropertyPath, propertyPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        FileStamp propertyStamp = FileStamp.of(propertyPath);
+        JournalHeader header = new JournalHeader(UUID.randomUUID().toString(), propertyStamp);
+        writeHeader(header);
+        loadedHeader = header;
+        loadedPropertyStamp = propertyStamp;
+        journalOffset = header.length;
+    }
+
+    private JournalHeader readHeader() throws IOException {
+        long size = journalChannel.size();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, MAX_HEADER_LENGTH));
+        while (buffer.hasRemaining()) {
+            if (journalChannel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        int end = text.indexOf('\n');
+        if (end < 0 || !text.startsWith(HEADER_PREFIX)) {
+            return null;
+        }
+
+        String[] fields = text.substring(HEADER_PREFIX.length(), end).split(" ");
+        if (fields.length != 3) {
+            return null;
+        }
+        try {
+            return new JournalHeader(fields[0], new FileStamp(Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void writeHeader(JournalHeader header) throws IOException {
+        journalChannel.truncate(0);
+        ByteBuffer buffer = ByteBuffer.wrap(header.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            journalChannel.write(buffer, buffer.position());
+        }
+    }
+
+    private Map<String, String> readPropertyFile() throws IOException {
+        Map<String, String> values = new HashMap<>();
+        if (!Files.exists(propertyPath)) {
+            return values;
+        }
+
+        Properties properties = new Properties();
+        try (FileChannel channel = FileChannel.open(propertyPath, StandardOpenOption.READ)) {
+            // *** Older levels of Galasa write the properties file in place, under a lock of it
+            channel.lock(0, Long.MAX_VALUE, true);
+            InputStream in = Channels.newInputStream(channel);
+            properties.load(in);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+        return values;
+    }
+
+    private FileChannel getJournalChannel() throws IOException {
+        if (journalChannel == null) {
+            journalChannel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+        return journalChannel;
+    }
+
+    /**
+     * <p>
+     * This method invoked when the montior thread detects a change to the files
+     * being observed
+     * </p>
+     */
+    public synchronized void onFileChange(File file) {
+        try {
+            refresh();
+        } catch (FrameworkPropertyFileException e) {
+            fpfLog.error("Error encounted loading file changes", e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method invoked when the montior thread detects a file being created
+     * </p>
+     */
+    public void onFileCreate(File file) {
+        onFileChange(file);
+    }
+
+    /**
+     * <p>
+     * This method is not used
+     * </p>
+     */
+    public void onStart(FileAlterationObserver observer) {
+        // Method not used for fpf
+    }
+
+    /**
+     * <p>
+     * This method is not used
+     * </p>
+     */
+    public void onStop(FileAlterationObserver observer) {
+        // Method not used for fpf
+    }
+
+    /**
+     * <p>
+     * This method is not used
+     * </p>
+     */
+    public void onFileDelete(File file) {
+        // Method not used for fpf
+    }
+
+    /**
+     * <p>
+     * This method is not used
+     * </p>
+     */
+    public void onDirectoryCreate(File file) {
+        // Method not used for fpf
+    }
+
+    /**
+     * <p>
+     * This method is not used
+     * </p>
+     */
+    public void onDirectoryChange(File file) {
+        // Method not used for fpf
+    }
+
+    /**
+     * <p>
+     * This method is not used
+     * </p>
+     */
+    public void onDirectoryDelete(File file) {
+        // Method not used for fpf
+    }
+
+    /**
+     * A change to the values, which is either made in full or not at all
+     */
+    private interface Update<E extends Exception> {
+        /**
+         * @return false to not make the change
+         */
+        boolean apply(Transaction transaction) throws E;
+    }
+
+    /**
+     * The changes being made by an update, on top of the current values
+     */
+    private class Transaction {
+        private final Map<String, String> changes = new HashMap<>();
+
+        private String get(String key) {
+            return changes.containsKey(key) ? changes.get(key) : currentProperties.get(key);
+        }
+
+        private void put(String key, String value) {
+            changes.put(key, value);
+        }
+
+        private void delete(String key) {
+            changes.put(key, null);
+        }
+
+        private void deletePrefix(String prefix) {
+            List<String> keys = new ArrayList<>();
+            for (String key : currentProperties.keySet()) {
+                if (key.startsWith(prefix)) {
+                    keys.add(key);
+                }
+            }
+            for (String key : changes.keySet()) {
+                if (key.startsWith(prefix)) {
+                    keys.add(key);
+                }
+            }
+            for (String key : keys) {
+                delete(key);
+            }
+        }
+
+        private void perform(IDssAction action) throws DynamicStatusStoreException {
+            if (action instanceof DssAdd) {
+                DssAdd dssAdd = (DssAdd) action;
+                if (get(dssAdd.getKey()) != null) {
+                    throw new DynamicStatusStoreMatchException("Attempt to add new property '" + dssAdd.getKey() + "' but it already exists");
+                }
+                put(dssAdd.getKey(), dssAdd.getValue());
+            } else if (action instanceof DssDelete) {
+                DssDelete dssDelete = (DssDelete) action;
+                String currentValue = get(dssDelete.getKey());
+                if (dssDelete.getOldValue() != null && !dssDelete.getOldValue().equals(currentValue)) {
+                    throw new DynamicStatusStoreMatchException("Attempt to delete property '" + dssDelete.getKey() + "', but current value '" + currentValue + "' does not match required value '" + dssDelete.getOldValue() + "'");
+                }
+                delete(dssDelete.getKey());
+            } else if (action instanceof DssDeletePrefix) {
+                deletePrefix(((DssDeletePrefix) action).getPrefix());
+            } else if (action instanceof DssUpdate) {
+                DssUpdate dssUpdate = (DssUpdate) action;
+                put(dssUpdate.getKey(), dssUpdate.getValue());
+            } else if (action instanceof DssSwap) {
+                DssSwap dssSwap = (DssSwap) action;
+                String currentValue = get(dssSwap.getKey());
+                if (!Objects.equals(dssSwap.getOldValue(), currentValue)) {
+                    throw new DynamicStatusStoreMatchException("Attempt to swap property '" + dssSwap.getKey() + "', but current value '" + currentValue + "' does not match required value '" + dssSwap.getOldValue() + "'");
+                }
+                put(dssSwap.getKey(), dssSwap.getNewValue());
+            } else {
+                throw new DynamicStatusStoreException("Unrecognised DSS Action - " + action.getClass().getName());
+            }
+        }
+
+        /**
+         * @return the record of the changes, or null if nothing changes
+         */
+        private JournalRecord toRecord() {
+            JournalRecord record = new JournalRecord();
+            for (Map.Entry<String, String> change : changes.entrySet()) {
+                String key = change.getKey();
+                String value = change.getValue();
+                if (Objects.equals(value, currentProperties.get(key))) {
+                    continue;
+                }
+                if (value == null) {
+                    if (record.delete == null) {
+                        record.delete = new ArrayList<>();
+                    }
+                    record.delete.add(key);
+                } else {
+                    if (record.put == null) {
+                        record.put = new HashMap<>();
+                    }
+                    record.put.put(key, value);
+                }
+            }
+            return (record.put == null && record.delete == null) ? null : record;
+        }
+    }
+
+    /**
+     * A record in the journal, the keys which were set and deleted by one change
+     */
+    private static class JournalRecord {
+        private Map<String, String> put;
+        private List<String>        delete;
+    }
+
+    /**
+     * The first line of the journal, naming the version of the properties file the
+     * journal follows on from. A new journal has a new generation.
+     */
+    private static class JournalHeader {
+        private final String    generation;
+        private final FileStamp propertyStamp;
+        private final int       length;
+
+        private JournalHeader(String generation, FileStamp propertyStamp) {
+            this.generation = generation;
+            this.propertyStamp = propertyStamp;
+            this.length = toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public String toString() {
+            return HEADER_PREFIX + generation + " " + propertyStamp.size + " " + propertyStamp.modified + "\n";
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof JournalHeader)) {
+                return false;
+            }
+            return generation.equals(((JournalHeader) other).generation)
+                    && propertyStamp.equals(((JournalHeader) other).propertyStamp);
+        }
+
+        @Override
+        public int hashCode() {
+            return generation.hashCode();
+        }
+    }
+
+    /**
+     * The size and modification time of a file, -1 if it does not exist
+     */
+    private static class FileStamp {
+        private final long size;
+        private final long modified;
+
+        private FileStamp(long size, long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+
+        private static FileStamp of(Path path) throws IOException {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (NoSuchFileException e) {
+                return new FileStamp(-1, -1);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FileStamp)) {
+                return false;
+            }
+            return size == ((FileStamp) other).size && modified == ((FileStamp) other).modified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) ^ Long.hashCode(modified);
+        }
+    }
+
+    /**
+     * <p>
+     * This class defines a watch, and the variables required to detect changes to
+     * the correct k-v pair.
+     * </p>
+     */
+    private class Watch {
+
+        private final IFrameworkPropertyFileWatcher watcher;
+        private final String                        key;
+        private final boolean                       prefix;
+
+        private Watch(IFrameworkPropertyFileWatcher watcher, String key, boolean prefix) {
+            this.watcher = watcher;
+            this.key = key;
+            this.prefix = prefix;
+        }
+
+        public boolean matchKey(String newKey) {
+            if (prefix) {
+                return newKey.startsWith(key);
+            }
+            return newKey.equals(key);
+        }
+    }
+}
@@ -5,16 +5,21 @@
  */
 package dev.galasa.framework.spi;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 import javax.validation.constraints.NotNull;
 
+import dev.galasa.framework.internal.rps.ResourceBitmap;
 import dev.galasa.framework.internal.rps.ResourceString;
 
 /**
@@ -27,6 +32,7 @@ import dev.galasa.framework.internal.rps.ResourceString;
 public class FrameworkResourcePoolingService implements IResourcePoolingService {
     private static final int           DEFAULTNUMBEROFRESOURCES    = 10;
     private static final int           DEFAULTCONSECUTIVERESOURCES = 1;
+    private static final int           MAXCLAIMATTEMPTS            = 10;
     private IDynamicStatusStoreService defaultDss                  = new StubbedDss();
     private String                     defaultKeyPrefix            = "";
     private Random                     random                      = new Random();
@@ -227,6 +233,62 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
         }
     }
 
+    /**
+     * This method obtains resources in the same way as obtainResources, and then
+     * claims them all in one DSS transaction. If another run claims any of them
+     * first, the transaction fails, the resources in use are read again and other
+     * resources are obtained.
+     * 
+     * @param resourceStrings   - this is a string list of all the definitions for
+     *                          resources to select from.
+     * @param rejectedResources - this is a list of resource names NOT to be
+     *                          included in the returned list.
+     * @param returnMinimum     - the number of resources to return.
+     * @param returnConsecutive - the size of the "chunks" to find consectutive
+     *                          reosources in.
+     * @param dss               - the dynamic status store to check for the
+     *                          resources and claim them in.
+     * @param keyPrefix         - the keyprefix for the resource for it to be found
+     *                          in the DSS.
+     * @param claimActions      - returns the DSS actions that claim a resource,
+     *                          which must fail if it has already been claimed.
+     * @return - a list of the resources claimed.
+     */
+    public List<String> obtainAndClaimResources(@NotNull List<String> resourceStrings, List<String> rejectedResources,
+            int returnMinimum, int returnConsecutive, @NotNull IDynamicStatusStoreService dss,
+            @NotNull String keyPrefix, @NotNull Function<String, List<IDssAction>> claimActions)
+            throws InsufficientResourcesAvailableException {
+        List<ResourceString> resourceDefinitions;
+        if ((returnMinimum % returnConsecutive) != 0) {
+            throw new InsufficientResourcesAvailableException(
+                    "The number of consecutive resources required needs to be a multiple of the total number of resources required.");
+        }
+        try {
+            resourceDefinitions = createResourceDefintions(resourceStrings);
+            for (int attempt = 1;; attempt++) {
+                List<String> resources = generateResources(resourceDefinitions, rejectedResources, returnMinimum, dss,
+                        keyPrefix, returnConsecutive);
+                List<IDssAction> actions = new ArrayList<>();
+                for (String resource : resources) {
+                    actions.addAll(claimActions.apply(resource));
+                }
+                try {
+                    dss.performActions(actions.toArray(new IDssAction[actions.size()]));
+                    return resources;
+                } catch (DynamicStatusStoreMatchException e) {
+                    // *** Another run claimed some of the resources first
+                    if (attempt >= MAXCLAIMATTEMPTS) {
+                        throw new InsufficientResourcesAvailableException(
+                                "Could not claim the resources, other runs claimed them first", e);
+                    }
+                }
+            }
+        } catch (ResourcePoolingServiceException | DynamicStatusStoreException e) {
+            throw new InsufficientResourcesAvailableException(
+                    "Could not generate resource Strings from the definitions provided. ", e);
+        }
+    }
+
     /**
      * This method creates all the resource string defintions from the basic strings
      * passed which explain them.
@@ -253,6 +315,11 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
      * resources is then attempted. The InsufficentResourceException is thrown if
      * this too cannot generate the defined resources.
      * 
+     * When the definitions are small enough to be held as bitmaps, the resources
+     * in use are read from the DSS once and the free resources are found in
+     * memory. Otherwise the resources are checked in the DSS as they are looked
+     * at.
+     * 
      * @param resourceDefinitions - the resource strings passed that define the
      *                            availabble resources to generate.
      * @param rejectedResources   - the resource strings which are to be rejected if
@@ -273,12 +340,17 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
             int numberOfResources, IDynamicStatusStoreService dss, String keyPrefix, int returnConsecutive)
             throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
         List<String> generatedResources = new ArrayList<>();
-        List<String> bannedResources = new ArrayList<>();
+        Set<String> bannedResources = new HashSet<>();
 
         if (rejectedResources == null) {
             rejectedResources = new ArrayList<>();
         }
 
+        if (canUseBitmaps(resourceDefinitions, dss, keyPrefix)) {
+            return generateResourcesFromBitmaps(resourceDefinitions, rejectedResources, numberOfResources, dss,
+                    keyPrefix, returnConsecutive);
+        }
+
         bannedResources.addAll(rejectedResources);
 
         try {
@@ -322,6 +394,109 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
         }
     }
 
+    /**
+     * The bitmaps are used when every definition fits in one, and the resources in
+     * use can be read with one getPrefix, which is not the case when there is no
+     * key prefix as the whole DSS would be read.
+     */
+    private boolean canUseBitmaps(List<ResourceString> resourceDefinitions, IDynamicStatusStoreService dss,
+            String keyPrefix) {
+        if (dss != defaultDss && (keyPrefix == null || keyPrefix.isEmpty())) {
+            return false;
+        }
+        for (ResourceString definition : resourceDefinitions) {
+            if (!ResourceBitmap.canHold(definition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method generates the resources in the same way as generateResources,
+     * but from bitmaps of the resources that are in use or rejected. The chunks are
+     * first placed at random in a random definition, and if that fails they are
+     * placed in the first free runs of the definitions in order.
+     * 
+     * @return - a list of generated resource within the constraits passed on this
+     *         method.
+     * @throws DynamicStatusStoreException
+     * @throws InsufficientResourcesAvailableException
+     */
+    private List<String> generateResourcesFromBitmaps(List<ResourceString> resourceDefinitions,
+            List<String> rejectedResources, int numberOfResources, IDynamicStatusStoreService dss, String keyPrefix,
+            int returnConsecutive) throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
+        List<ResourceBitmap> bitmaps = new ArrayList<>();
+        for (ResourceString definition : resourceDefinitions) {
+            bitmaps.add(new ResourceBitmap(definition));
+        }
+
+        List<String> unavailableResources = new ArrayList<>(rejectedResources);
+        for (String key : dss.getPrefix(keyPrefix).keySet()) {
+            unavailableResources.add(key.substring(keyPrefix.length()));
+        }
+        for (String resource : unavailableResources) {
+            for (ResourceBitmap bitmap : bitmaps) {
+                bitmap.markUnavailable(resource);
+            }
+        }
+
+        List<ResourceBitmap> randomBitmaps = new ArrayList<>();
+        for (ResourceBitmap bitmap : bitmaps) {
+            randomBitmaps.add(bitmap.copy());
+        }
+        List<String> generatedResources = new ArrayList<>();
+        for (int i = 0; i < numberOfResources; i += returnConsecutive) {
+            int definition = random.nextInt(randomBitmaps.size());
+            ResourceBitmap bitmap = randomBitmaps.get(definition);
+            int start = bitmap.findFreeRun(random.nextInt(bitmap.size()), returnConsecutive);
+            if (start < 0) {
+                generatedResources.clear();
+                break;
+            }
+            generatedResources.addAll(allocateRun(randomBitmaps, definition, start, returnConsecutive));
+        }
+        if (generatedResources.size() == numberOfResources) {
+            return generatedResources;
+        }
+
+        for (int definition = 0; definition < bitmaps.size(); definition++) {
+            ResourceBitmap bitmap = bitmaps.get(definition);
+            int start = 0;
+            while (generatedResources.size() < numberOfResources) {
+                start = bitmap.findFreeRun(start, returnConsecutive);
+                if (start < 0) {
+                    break;
+                }
+                generatedResources.addAll(allocateRun(bitmaps, definition, start, returnConsecutive));
+                start = (start + returnConsecutive) % bitmap.size();
+            }
+        }
+        if (generatedResources.size() != numberOfResources) {
+            throw new InsufficientResourcesAvailableException("There is not enough resource available");
+        }
+        return generatedResources;
+    }
+
+    /**
+     * This method marks a run of resources as allocated, in the other definitions
+     * as well in case they provide the same resources.
+     * 
+     * @return - the resources allocated.
+     */
+    private List<String> allocateRun(List<ResourceBitmap> bitmaps, int definition, int start, int length) {
+        List<String> resources = bitmaps.get(definition).getResources(start, length);
+        bitmaps.get(definition).markUnavailable(start, length);
+        for (int other = 0; other < bitmaps.size(); other++) {
+            if (other != definition) {
+                for (String resource : resources) {
+                    bitmaps.get(other).markUnavailable(resource);
+                }
+            }
+        }
+        return resources;
+    }
+
     /**
      * This method is used for the random generation of the resources.
      * 
@@ -338,15 +513,17 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
      * @throws DynamicStatusStoreException
      * @throws InsufficientResourcesAvailableException
      */
-    private List<String> generateRandomResources(ResourceString definition, List<String> bannedReosurceStrings,
+    private List<String> generateRandomResources(ResourceString definition, Set<String> bannedReosurceStrings,
             IDynamicStatusStoreService dss, String keyPrefix, int returnConsecutive)
             throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
-        String randomResource = definition.getRandomResource();
+        ResourceCandidates candidates = new ResourceCandidates(definition, definition.getRandomResource(), dss,
+                keyPrefix, returnConsecutive);
+        String randomResource = candidates.current();
         List<String> resources = new ArrayList<>();
         int attempts = 0;
 
         while (resources.size() < returnConsecutive) {
-            if (!(bannedReosurceStrings.contains(randomResource)) && ((dss.get(keyPrefix + randomResource)) == null)) {
+            if (!(bannedReosurceStrings.contains(randomResource)) && !candidates.isCurrentInUse()) {
                 resources.add(randomResource);
             } else {
                 resources.clear();
@@ -358,10 +535,10 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
             }
             if (resources.size() < returnConsecutive) {
                 try {
-                    randomResource = definition.getNextResource();
+                    randomResource = candidates.next();
                 } catch (InsufficientResourcesAvailableException e) {
                     resources.clear();
-                    randomResource = definition.getNextResource();
+                    randomResource = candidates.next();
                 }
             }
 
@@ -387,15 +564,17 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
      *         distributed.
      * @throws DynamicStatusStoreException
      */
-    private List<String> generateSequentialResources(ResourceString definition, List<String> bannedReosurceStrings,
+    private List<String> generateSequentialResources(ResourceString definition, Set<String> bannedReosurceStrings,
             IDynamicStatusStoreService dss, String keyPrefix, int returnConsecutive)
             throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
-        String resource = definition.getFirstResource();
+        ResourceCandidates candidates = new ResourceCandidates(definition, definition.getFirstResource(), dss,
+                keyPrefix, returnConsecutive);
+        String resource = candidates.current();
         List<String> resources = new ArrayList<>();
         int attempt = 0;
 
         while (resources.size() < returnConsecutive) {
-            if (!(bannedReosurceStrings.contains(resource)) && ((dss.get(keyPrefix + resource)) == null)) {
+            if (!(bannedReosurceStrings.contains(resource)) && !candidates.isCurrentInUse()) {
                 resources.add(resource);
             } else {
                 resources.clear();
@@ -406,10 +585,10 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
             }
             if (resources.size() < returnConsecutive) {
                 try {
-                    resource = definition.getNextResource();
+                    resource = candidates.next();
                 } catch (InsufficientResourcesAvailableException e) {
                     resources.clear();
-                    resource = definition.getNextResource();
+                    resource = candidates.next();
                     attempt++;
                 }
             }
@@ -417,6 +596,101 @@ public class FrameworkResourcePoolingService implements IResourcePoolingService
         return resources;
     }
 
+    /**
+     * Steps through the resources of a definition in the same order as
+     * {@link ResourceString#getNextResource()}, but checks whether they are in use
+     * in the DSS a batch at a time with a single
+     * {@link IDynamicStatusStoreKeyAccess#getMultiple(Set)}, rather than with a DSS
+     * request for every resource looked at. The first batch is only as big as one
+     * chunk of consecutive resources, as it is usually all free.
+     */
+    private static class ResourceCandidates {
+        private static final int                 MAX_BATCH_SIZE = 20;
+
+        private final ResourceString             definition;
+        private final IDynamicStatusStoreService dss;
+        private final String                     keyPrefix;
+        private final int                        batchSize;
+        private final Deque<Candidate>           upcoming       = new ArrayDeque<>();
+        private Candidate                        current;
+
+        ResourceCandidates(ResourceString definition, String firstResource, IDynamicStatusStoreService dss,
+                String keyPrefix, int returnConsecutive) throws DynamicStatusStoreException {
+            this.definition = definition;
+            this.dss = dss;
+            this.keyPrefix = keyPrefix;
+            this.batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, definition.getNumberOfCombinations()));
+
+            fetchBatch(firstResource, Math.max(1, Math.min(returnConsecutive, this.batchSize)));
+            this.current = upcoming.removeFirst();
+        }
+
+        String current() {
+            return current.resource;
+        }
+
+        boolean isCurrentInUse() {
+            return current.isInUse;
+        }
+
+        /**
+         * @return the next resource, as {@link ResourceString#getNextResource()} would return it
+         * @throws InsufficientResourcesAvailableException at the same points
+         *                                                 {@link ResourceString#getNextResource()} would
+         */
+        String next() throws DynamicStatusStoreException, InsufficientResourcesAvailableException {
+            if (upcoming.isEmpty()) {
+                fetchBatch(null, batchSize);
+            }
+            current = upcoming.removeFirst();
+            if (current.isWrapped) {
+                throw new InsufficientResourcesAvailableException("Reached the end of the resources in the definition");
+            }
+            return current.resource;
+        }
+
+        private void fetchBatch(String firstResource, int size) throws DynamicStatusStoreException {
+            List<Candidate> batch = new ArrayList<>();
+            if (firstResource != null) {
+                batch.add(new Candidate(firstResource, false));
+            }
+            while (batch.size() < size) {
+                try {
+                    batch.add(new Candidate(definition.getNextResource(), false));
+                } catch (InsufficientResourcesAvailableException e) {
+                    // The definition has gone back to its first resource, which the caller
+                    // has to be told about when it reaches this point
+                    batch.add(new Candidate(null, true));
+                }
+            }
+
+            Set<String> keys = new HashSet<>();
+            for (Candidate candidate : batch) {
+                if (!candidate.isWrapped) {
+                    keys.add(keyPrefix + candidate.resource);
+                }
+            }
+            Map<String, String> inUse = dss.getMultiple(keys);
+            for (Candidate candidate : batch) {
+                if (!candidate.isWrapped) {
+                    candidate.isInUse = inUse.containsKey(keyPrefix + candidate.resource);
+                }
+            }
+            upcoming.addAll(batch);
+        }
+
+        private static class Candidate {
+            private final String  resource;
+            private final boolean isWrapped;
+            private boolean       isInUse;
+
+            Candidate(String resource, boolean isWrapped) {
+                this.resource = resource;
+                this.isWrapped = isWrapped;
+            }
+        }
+    }
+
     /**
      * This class is used when a dss is not provided. When checking resources this
      * stubbed class returns null for the DSS checks.
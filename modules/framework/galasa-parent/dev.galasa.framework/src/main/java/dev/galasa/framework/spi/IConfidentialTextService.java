@@ -5,6 +5,13 @@
  */
 package dev.galasa.framework.spi;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
 /**
  * The confidential text services provides a manager with the ability to
  * registered passwords, usernames, keys and other confidnetial texts so that
@@ -31,6 +38,51 @@ public interface IConfidentialTextService {
      */
     String removeConfidentialText(String text);
 
+    /**
+     * Wraps a writer so that the registered texts are removed from everything
+     * written to it, for outputs too large to pass through as one string. Only the
+     * texts registered when the writer is created are removed. The last of the
+     * output is written when the writer is closed.
+     * 
+     * The default holds all the output until the writer is closed.
+     * 
+     * @param target - where the obscured output is written.
+     * @return the writer to write the original output to.
+     */
+    default Writer newConfidentialTextWriter(Writer target) {
+        return new StringWriter() {
+            @Override
+            public void close() throws IOException {
+                try {
+                    target.write(removeConfidentialText(toString()));
+                } finally {
+                    target.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps an output stream so that the registered texts are removed from
+     * everything written to it, see {@link #newConfidentialTextWriter(Writer)}.
+     * 
+     * @param target  - where the obscured output is written.
+     * @param charset - the character set of the output.
+     * @return the output stream to write the original output to.
+     */
+    default OutputStream newConfidentialTextOutputStream(OutputStream target, Charset charset) {
+        return new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                try {
+                    target.write(removeConfidentialText(new String(toByteArray(), charset)).getBytes(charset));
+                } finally {
+                    target.close();
+                }
+            }
+        };
+    }
+
     /**
      * Shutdown the confidential text service
      */
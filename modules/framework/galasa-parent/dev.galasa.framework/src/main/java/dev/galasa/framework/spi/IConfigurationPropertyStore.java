@@ -7,6 +7,7 @@ package dev.galasa.framework.spi;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Null;
@@ -99,6 +100,38 @@ public interface IConfigurationPropertyStore {
      */
     List<String> getNamespaces() throws ConfigurationPropertyStoreException;
 
+    /**
+     * Whether this store can tell watchers about changes to its properties. The framework
+     * only keeps a local copy of the properties of a store which can.
+     *
+     * @return true if {@link #watchPrefix(IConfigurationPropertyStoreWatcher, String)} is supported
+     */
+    default boolean isWatchSupported() {
+        return false;
+    }
+
+    /**
+     * Watch for changes to every property whose key starts with the prefix. Only the changes made
+     * after this method returns are guaranteed to be passed to the watcher.
+     *
+     * @param watcher - told about each change
+     * @param keyPrefix - the prefix of the keys to watch, including the namespace
+     * @return an ID to pass to {@link #unwatch(UUID)}
+     * @throws ConfigurationPropertyStoreException - if the watch could not be set up
+     */
+    default UUID watchPrefix(@NotNull IConfigurationPropertyStoreWatcher watcher, @NotNull String keyPrefix) throws ConfigurationPropertyStoreException {
+        throw new ConfigurationPropertyStoreException("This Configuration Property Store does not support watches");
+    }
+
+    /**
+     * Stop a watch set up with {@link #watchPrefix(IConfigurationPropertyStoreWatcher, String)}
+     *
+     * @param watchId - the ID of the watch
+     * @throws ConfigurationPropertyStoreException - An error occurred.
+     */
+    default void unwatch(@NotNull UUID watchId) throws ConfigurationPropertyStoreException {
+    }
+
     /**
      * Called by the framework when shutting down.
      * 
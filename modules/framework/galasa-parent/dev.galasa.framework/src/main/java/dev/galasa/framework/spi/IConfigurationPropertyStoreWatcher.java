@@ -0,0 +1,36 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+
+/**
+ * Told about changes to the properties in a Configuration Property Store, see
+ * {@link IConfigurationPropertyStore#watchPrefix(IConfigurationPropertyStoreWatcher, String)}
+ */
+public interface IConfigurationPropertyStoreWatcher {
+
+    /**
+     * Called when a property has been set or deleted.
+     *
+     * @param key the full key of the property, including the namespace
+     * @param newValue the new value of the property, or null if the property has been deleted
+     */
+    void propertyModified(@NotNull String key, @Null String newValue);
+
+    /**
+     * Called when the store is no longer able to deliver events to this watcher,
+     * for example because the connection to the store has been lost. Events may have
+     * been missed, so a watcher that holds a copy of the store's properties should
+     * stop using it.
+     *
+     * @param cause the reason the watch failed, may be null
+     */
+    default void watchFailed(Throwable cause) {
+        // By default, watchers are not interested in watch failures
+    }
+}
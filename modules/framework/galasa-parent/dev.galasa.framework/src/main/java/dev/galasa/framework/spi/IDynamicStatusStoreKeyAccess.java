@@ -5,6 +5,7 @@
  */
 package dev.galasa.framework.spi;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -112,6 +113,43 @@ public interface IDynamicStatusStoreKeyAccess {
     @NotNull
     Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException;
 
+    /**
+     * Retrieve the values of a set of keys in one request. Stores that can do so
+     * read all the keys at the same point in time, the default reads them one at a time.
+     *
+     * @param keys - the keys to retrieve
+     * @return A map of the keys that exist to their values. Keys that do not exist are left out.
+     * @throws DynamicStatusStoreException
+     */
+    @NotNull
+    default Map<String, String> getMultiple(@NotNull Set<String> keys) throws DynamicStatusStoreException {
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            String value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Retrieve all values with any of a set of key prefixes in one request. Stores that can do so
+     * read all the prefixes at the same point in time, the default reads them one at a time.
+     *
+     * @param keyPrefixes - the prefixes of all the keys to use.
+     * @return A map. The keys start with one of the specified prefixes. The value is a string.
+     * @throws DynamicStatusStoreException
+     */
+    @NotNull
+    default Map<String, String> getPrefixes(@NotNull Set<String> keyPrefixes) throws DynamicStatusStoreException {
+        Map<String, String> values = new HashMap<>();
+        for (String keyPrefix : keyPrefixes) {
+            values.putAll(getPrefix(keyPrefix));
+        }
+        return values;
+    }
+
     /**
      * Delete the key
      * 
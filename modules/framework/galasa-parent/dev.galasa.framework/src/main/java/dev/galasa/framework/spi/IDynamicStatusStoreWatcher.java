@@ -15,4 +15,16 @@ public interface IDynamicStatusStoreWatcher {
 
     void propertyModified(String key, Event event, String oldValue, String newValue);
 
+    /**
+     * Called when the store is no longer able to deliver events to this watcher,
+     * for example because the connection to the store has been lost. Events may have
+     * been missed, so a watcher that holds a copy of the store's state should re-read it
+     * and register a new watch.
+     *
+     * @param cause the reason the watch failed, may be null
+     */
+    default void watchFailed(Throwable cause) {
+        // By default, watchers are not interested in watch failures
+    }
+
 }
@@ -5,7 +5,9 @@
  */
 package dev.galasa.framework.spi;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -43,6 +45,25 @@ public interface IFrameworkRuns {
 
     IRun getRun(String runname) throws DynamicStatusStoreException;
 
+    /**
+     * Gets a set of runs with one read of the DSS where the DSS allows it.
+     *
+     * @param runNames the names of the runs to get
+     * @return a map of run name to run, runs that do not exist are left out
+     * @throws DynamicStatusStoreException
+     */
+    @NotNull
+    default Map<String, IRun> getRuns(@NotNull Set<String> runNames) throws DynamicStatusStoreException {
+        Map<String, IRun> runs = new HashMap<>();
+        for (String runName : runNames) {
+            IRun run = getRun(runName);
+            if (run != null) {
+                runs.put(runName, run);
+            }
+        }
+        return runs;
+    }
+
     boolean reset(String runname) throws DynamicStatusStoreException;
 
     boolean markRunInterrupted(String runName, String interruptReason) throws DynamicStatusStoreException;
@@ -6,6 +6,7 @@
 package dev.galasa.framework.spi;
 
 import java.util.List;
+import java.util.function.Function;
 
 import javax.validation.constraints.NotNull;
 
@@ -164,4 +165,35 @@ public interface IResourcePoolingService {
     List<String> obtainResources(@NotNull List<String> resourceStrings, List<String> rejectedResources,
             int returnMinimum, int returnConsecutive, IDynamicStatusStoreService dss, String keyPrefix)
             throws InsufficientResourcesAvailableException;
+
+    /**
+     * <p>
+     * Generate a list of resources that are available for use by the manager, as
+     * obtainResources does, and claim them all in the dss in one transaction. If
+     * another test run claims any of them first, the resources in use are read
+     * again and other resources are generated and claimed.
+     * </p>
+     * 
+     * @param resourceStrings   - A list of resource regex string used to generate
+     *                          the available resource pool to select from
+     * @param rejectedResources - A list of resources to be excluded from selection
+     * @param returnMinimum     - The minimum number of resource names to generate
+     * @param returnConsecutive - The number of consecutive resource names to return
+     *                          (must be a modular of return minimum)
+     * @param dss               - The Dynamic Status Store to check if the resource
+     *                          exists, and to claim the resources in
+     * @param keyPrefix         - The prefix key for the resource in the DSS
+     * @param claimActions      - Returns the DSS actions that claim a resource, which
+     *                          must fail if it is already claimed, for example a
+     *                          DssAdd of the keyPrefix and resource
+     * @return - A list of the resources, which have been claimed for this test run
+     * @throws InsufficientResourcesAvailableException - If unable to generate the
+     *                                                 return minimum, or to claim
+     *                                                 them
+     */
+    @NotNull
+    List<String> obtainAndClaimResources(@NotNull List<String> resourceStrings, List<String> rejectedResources,
+            int returnMinimum, int returnConsecutive, @NotNull IDynamicStatusStoreService dss,
+            @NotNull String keyPrefix, @NotNull Function<String, List<IDssAction>> claimActions)
+            throws InsufficientResourcesAvailableException;
 }
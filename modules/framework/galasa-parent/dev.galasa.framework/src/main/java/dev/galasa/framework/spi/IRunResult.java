@@ -5,8 +5,13 @@
  */
 package dev.galasa.framework.spi;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 
+import dev.galasa.framework.spi.ras.RunLogRange;
 import dev.galasa.framework.spi.teststructure.TestStructure;
 
 public interface IRunResult {
@@ -19,6 +24,39 @@ public interface IRunResult {
 
     String getLog() throws ResultArchiveStoreException;
 
+    /**
+     * Writes part or all of the run log, one line per line of the log, separated by newlines.
+     * Stores which can fetch parts of a log on their own should override this, so that the whole
+     * log does not have to be held in memory and lines outside the range are not read.
+     *
+     * @param writer where to write the log
+     * @param range which lines of the log to write
+     * @return false if the run has no log, in which case nothing is written
+     */
+    default boolean writeLog(Writer writer, RunLogRange range) throws ResultArchiveStoreException, IOException {
+        String log = getLog();
+        if (log == null) {
+            return false;
+        }
+
+        List<String> lines;
+        if (log.isEmpty()) {
+            lines = List.of();
+        } else {
+            lines = Arrays.asList(log.split("\r\n?|\n", -1));
+        }
+
+        boolean isFirstLine = true;
+        for (String line : range.select(lines)) {
+            if (!isFirstLine) {
+                writer.write("\n");
+            }
+            writer.write(line);
+            isFirstLine = false;
+        }
+        return true;
+    }
+
     void discard() throws ResultArchiveStoreException;
 
     void loadArtifacts() throws ResultArchiveStoreException;
@@ -0,0 +1,73 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.ras;
+
+import java.util.List;
+
+/**
+ * The part of a run log that is wanted: all of it, everything from a given line onwards,
+ * or the last few lines. Line numbers start at 1.
+ */
+public class RunLogRange {
+
+    public static final RunLogRange ALL_LINES = new RunLogRange(1, 0);
+
+    private final int fromLine;
+    private final int tailLines;
+
+    private RunLogRange(int fromLine, int tailLines) {
+        this.fromLine = fromLine;
+        this.tailLines = tailLines;
+    }
+
+    /**
+     * @param fromLine the number of the first line wanted, starting at 1
+     * @return a range covering the given line and every line after it
+     */
+    public static RunLogRange fromLine(int fromLine) {
+        if (fromLine < 1) {
+            throw new IllegalArgumentException("The first line of a run log range must be 1 or more, not " + fromLine);
+        }
+        return new RunLogRange(fromLine, 0);
+    }
+
+    /**
+     * @param tailLines how many lines are wanted from the end of the log
+     * @return a range covering the last few lines of the log
+     */
+    public static RunLogRange tail(int tailLines) {
+        if (tailLines < 1) {
+            throw new IllegalArgumentException("The number of tail lines of a run log range must be 1 or more, not " + tailLines);
+        }
+        return new RunLogRange(1, tailLines);
+    }
+
+    public boolean isTail() {
+        return tailLines > 0;
+    }
+
+    public int getFromLine() {
+        return fromLine;
+    }
+
+    public int getTailLines() {
+        return tailLines;
+    }
+
+    /**
+     * @param lines all the lines of a run log
+     * @return the lines which are in this range
+     */
+    public List<String> select(List<String> lines) {
+        int firstIndex;
+        if (isTail()) {
+            firstIndex = Math.max(0, lines.size() - tailLines);
+        } else {
+            firstIndex = Math.min(lines.size(), fromLine - 1);
+        }
+        return lines.subList(firstIndex, lines.size());
+    }
+}
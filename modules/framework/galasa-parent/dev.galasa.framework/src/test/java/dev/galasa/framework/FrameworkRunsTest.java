@@ -13,10 +13,15 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.Map.Entry;
 
+import javax.validation.constraints.NotNull;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -27,6 +32,7 @@ import dev.galasa.framework.mocks.MockCPSStore;
 import dev.galasa.framework.mocks.MockDSSStore;
 import dev.galasa.framework.mocks.MockFramework;
 import dev.galasa.framework.mocks.MockRun;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkException;
 import dev.galasa.framework.spi.IRun;
 import dev.galasa.framework.spi.Result;
@@ -44,6 +50,65 @@ public class FrameworkRunsTest {
         gson.setGsonBuilder(new GalasaGsonBuilder(false));
     }
 
+    /**
+     * An in-memory DSS that answers prefix queries from a sorted map and counts
+     * how many prefix queries it has been asked, so tests can check how many
+     * round trips a real DSS would have seen.
+     */
+    private static class PrefixCountingDSSStore extends MockDSSStore {
+
+        private final TreeMap<String, String> sortedValues;
+        private int getPrefixCallCount = 0;
+        private int getPrefixesCallCount = 0;
+
+        PrefixCountingDSSStore(TreeMap<String, String> sortedValues) {
+            super(sortedValues);
+            this.sortedValues = sortedValues;
+        }
+
+        @Override
+        public @NotNull Map<String, String> getPrefix(@NotNull String keyPrefix) throws DynamicStatusStoreException {
+            getPrefixCallCount++;
+            SortedMap<String, String> matches = sortedValues.subMap(keyPrefix, keyPrefix + Character.MAX_VALUE);
+            return new HashMap<>(matches);
+        }
+
+        @Override
+        public @NotNull Map<String, String> getPrefixes(@NotNull Set<String> keyPrefixes) throws DynamicStatusStoreException {
+            getPrefixesCallCount++;
+            Map<String, String> matches = new HashMap<>();
+            for (String keyPrefix : keyPrefixes) {
+                matches.putAll(sortedValues.subMap(keyPrefix, keyPrefix + Character.MAX_VALUE));
+            }
+            return matches;
+        }
+
+        int getPrefixCallCount() {
+            return getPrefixCallCount;
+        }
+
+        int getPrefixesCallCount() {
+            return getPrefixesCallCount;
+        }
+
+        void resetPrefixCallCount() {
+            getPrefixCallCount = 0;
+        }
+    }
+
+    private void addRunToDss(Map<String, String> dssValues, String runName, String status) {
+        String prefix = "run." + runName + ".";
+        dssValues.put(prefix + "status", status);
+        dssValues.put(prefix + "test", "mybundle/mytest" + runName);
+        dssValues.put(prefix + "request.type", "UNKNOWN");
+        dssValues.put(prefix + "group", "group-" + runName);
+        dssValues.put(prefix + "requestor", "me");
+        dssValues.put(prefix + "queued", "2025-01-01T10:00:00Z");
+        dssValues.put(prefix + "local", "false");
+        dssValues.put(prefix + "testbundle", "mybundle");
+        dssValues.put(prefix + "testclass", "mytest" + runName);
+    }
+
     private String getExpectedOverridesJson(Properties properties) {
         JsonArray overridesArray = new JsonArray();
 
@@ -1142,4 +1207,120 @@ public class FrameworkRunsTest {
         assertThat(mockDss.get("run." + runName + ".heartbeat")).isNull();
         assertThat(mockDss.get("run." + runName + ".status")).isEqualTo(TestRunLifecycleStatus.QUEUED.toString());
     }
+
+    @Test
+    public void testGetAllRunsBuildsEveryRunFromOneDssPrefixFetch() throws Exception {
+        // Given...
+        TreeMap<String, String> dssValues = new TreeMap<>();
+        addRunToDss(dssValues, "U1", "queued");
+        addRunToDss(dssValues, "U10", "running");
+        addRunToDss(dssValues, "U100", "finished");
+        dssValues.put("run.U10.heartbeat", "2025-01-01T10:05:00Z");
+
+        PrefixCountingDSSStore mockDss = new PrefixCountingDSSStore(dssValues);
+        MockCPSStore mockCps = new MockCPSStore(new HashMap<>());
+        MockFramework mockFramework = new MockFramework(mockCps, mockDss);
+
+        FrameworkRuns frameworkRuns = new FrameworkRuns(mockFramework);
+
+        // When...
+        List<IRun> runs = frameworkRuns.getAllRuns();
+
+        // Then...
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(1);
+        assertThat(runs).extracting("name").containsExactlyInAnyOrder("U1", "U10", "U100");
+
+        // Properties of runs whose names share a prefix must not leak into each other
+        for (IRun run : runs) {
+            assertThat(run.getTest()).isEqualTo("mybundle/mytest" + run.getName());
+            assertThat(run.getTestClassName()).isEqualTo("mytest" + run.getName());
+            assertThat(run.getGroup()).isEqualTo("group-" + run.getName());
+            if (run.getName().equals("U10")) {
+                assertThat(run.getHeartbeat()).isEqualTo(Instant.parse("2025-01-01T10:05:00Z"));
+            } else {
+                assertThat(run.getHeartbeat()).isNull();
+            }
+        }
+    }
+
+    @Test
+    public void testGetQueuedAndActiveRunsUseOneDssPrefixFetchEach() throws Exception {
+        // Given...
+        TreeMap<String, String> dssValues = new TreeMap<>();
+        addRunToDss(dssValues, "U1", "queued");
+        addRunToDss(dssValues, "U2", "allocated");
+        addRunToDss(dssValues, "U3", "finished");
+
+        PrefixCountingDSSStore mockDss = new PrefixCountingDSSStore(dssValues);
+        MockCPSStore mockCps = new MockCPSStore(new HashMap<>());
+        MockFramework mockFramework = new MockFramework(mockCps, mockDss);
+
+        FrameworkRuns frameworkRuns = new FrameworkRuns(mockFramework);
+
+        // When...
+        List<IRun> queuedRuns = frameworkRuns.getQueuedRuns();
+        int queuedFetches = mockDss.getPrefixCallCount();
+        mockDss.resetPrefixCallCount();
+
+        List<IRun> activeRuns = frameworkRuns.getActiveRuns();
+        int activeFetches = mockDss.getPrefixCallCount();
+
+        // Then...
+        assertThat(queuedRuns).extracting("name").containsExactly("U1");
+        assertThat(activeRuns).extracting("name").containsExactly("U2");
+        assertThat(queuedFetches).isEqualTo(1);
+        assertThat(activeFetches).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetAllRunsMakesOneDssCallHoweverManyRunsThereAre() throws Exception {
+        // Given...
+        int numberOfRuns = 1000;
+        TreeMap<String, String> dssValues = new TreeMap<>();
+        for (int i = 1; i <= numberOfRuns; i++) {
+            addRunToDss(dssValues, "U" + i, (i % 2 == 0) ? "queued" : "finished");
+        }
+
+        PrefixCountingDSSStore mockDss = new PrefixCountingDSSStore(dssValues);
+        MockCPSStore mockCps = new MockCPSStore(new HashMap<>());
+        MockFramework mockFramework = new MockFramework(mockCps, mockDss);
+
+        FrameworkRuns frameworkRuns = new FrameworkRuns(mockFramework);
+
+        // When...
+        List<IRun> runs = frameworkRuns.getAllRuns();
+
+        // Then...
+        assertThat(runs).hasSize(numberOfRuns);
+        assertThat(runs).filteredOn(run -> run.getStatus().equals("queued")).hasSize(numberOfRuns / 2);
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetRunsReadsEveryRunInOneDssRequest() throws Exception {
+        // Given...
+        TreeMap<String, String> dssValues = new TreeMap<>();
+        addRunToDss(dssValues, "U1", "queued");
+        addRunToDss(dssValues, "U10", "running");
+        addRunToDss(dssValues, "U2", "finished");
+
+        PrefixCountingDSSStore mockDss = new PrefixCountingDSSStore(dssValues);
+        MockFramework mockFramework = new MockFramework(new MockCPSStore(new HashMap<>()), mockDss);
+        FrameworkRuns frameworkRuns = new FrameworkRuns(mockFramework);
+
+        Set<String> runNames = new java.util.HashSet<>();
+        runNames.add("U1");
+        runNames.add("U2");
+        runNames.add("U3");
+
+        // When...
+        Map<String, IRun> runs = frameworkRuns.getRuns(runNames);
+
+        // Then...
+        assertThat(runs).containsOnlyKeys("U1", "U2");
+        assertThat(runs.get("U1").getStatus()).isEqualTo("queued");
+        assertThat(runs.get("U2").getStatus()).isEqualTo("finished");
+        assertThat(mockDss.getPrefixesCallCount()).isEqualTo(1);
+        assertThat(mockDss.getPrefixCallCount()).isEqualTo(0);
+    }
 }
@@ -8,7 +8,9 @@ package dev.galasa.framework.internal.dss;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
@@ -20,6 +22,7 @@ import org.junit.Test;
 
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.FrameworkPropertyFileException;
+import dev.galasa.framework.spi.FrameworkPropertyJournal;
 
 /**
  * Test the Framework DSS Stub. Most of the functionality will exist in the
@@ -53,6 +56,7 @@ public class FpfDynamicStatusStoreTest {
     public void teardown() throws IOException {
         if ((this.tempProperties != null) && Files.exists(this.tempProperties)) {
             Files.delete(this.tempProperties);
+            Files.deleteIfExists(this.tempProperties.resolveSibling(this.tempProperties.getFileName() + ".journal"));
         }
     }
 
@@ -114,6 +118,26 @@ public class FpfDynamicStatusStoreTest {
         Assert.assertNull("Should have gone", getKey(key2));
     }
 
+    @Test
+    public void testMultipleKeyAndPrefixMethods() throws DynamicStatusStoreException, IOException {
+        this.dss.put("run.U1.status", "running");
+        this.dss.put("run.U1.heartbeat", "now");
+        this.dss.put("run.U2.status", "queued");
+        this.dss.put("run.U3.status", "finished");
+
+        final Map<String, String> values = this.dss.getMultiple(new HashSet<>(Arrays.asList("run.U1.status", "run.U3.status", "run.U4.status")));
+
+        Assert.assertEquals("Wrong number of keys", 2, values.size());
+        Assert.assertEquals("Key values differ", "running", values.get("run.U1.status"));
+        Assert.assertEquals("Key values differ", "finished", values.get("run.U3.status"));
+
+        final Map<String, String> prefixValues = this.dss.getPrefixes(new HashSet<>(Arrays.asList("run.U1.", "run.U2.")));
+
+        Assert.assertEquals("Wrong number of keys", 3, prefixValues.size());
+        Assert.assertEquals("Key values differ", "now", prefixValues.get("run.U1.heartbeat"));
+        Assert.assertEquals("Key values differ", "queued", prefixValues.get("run.U2.status"));
+    }
+
     @Test
     public void testSwapMethods() throws DynamicStatusStoreException, InterruptedException, IOException {
         final String key1 = "a_little_key";
@@ -164,7 +188,19 @@ public class FpfDynamicStatusStoreTest {
 //        Assert.assertNotNull("Should get a dynamic run", this.dss.getDynamicRun());
 //    }
 
+    /**
+     * Reads a key from the properties file, once the journal has been compacted
+     * into it as any process sharing the files could do
+     */
     private String getKey(String key) throws IOException {
+        try {
+            FrameworkPropertyJournal journal = new FrameworkPropertyJournal(tempProperties.toUri());
+            journal.compact();
+            journal.shutdown();
+        } catch (FrameworkPropertyFileException e) {
+            throw new IOException(e);
+        }
+
         Properties properties = new Properties();
         properties.load(Files.newInputStream(tempProperties));
 
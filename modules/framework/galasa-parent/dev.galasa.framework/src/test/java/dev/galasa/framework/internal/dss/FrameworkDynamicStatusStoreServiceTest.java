@@ -47,6 +47,7 @@ public class FrameworkDynamicStatusStoreServiceTest {
     public void teardown() {
         if (testFile != null && testFile.exists()) {
             testFile.delete();
+            new File(testFile.getPath() + ".journal").delete();
         }
     }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.framework.spi.ras;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Test;
+
+import dev.galasa.framework.mocks.MockRunResult;
+
+public class RunLogRangeTest {
+
+    private static final List<String> LINES = List.of("line 1", "line 2", "line 3", "line 4", "line 5");
+
+    @Test
+    public void testAllLinesSelectsEveryLine() {
+        assertThat(RunLogRange.ALL_LINES.select(LINES)).isEqualTo(LINES);
+        assertThat(RunLogRange.ALL_LINES.isTail()).isFalse();
+    }
+
+    @Test
+    public void testFromLineSelectsThatLineOnwards() {
+        assertThat(RunLogRange.fromLine(4).select(LINES)).containsExactly("line 4", "line 5");
+        assertThat(RunLogRange.fromLine(1).select(LINES)).isEqualTo(LINES);
+        assertThat(RunLogRange.fromLine(6).select(LINES)).isEmpty();
+        assertThat(RunLogRange.fromLine(100).select(LINES)).isEmpty();
+    }
+
+    @Test
+    public void testTailSelectsTheLastLines() {
+        assertThat(RunLogRange.tail(2).select(LINES)).containsExactly("line 4", "line 5");
+        assertThat(RunLogRange.tail(100).select(LINES)).isEqualTo(LINES);
+        assertThat(RunLogRange.tail(2).isTail()).isTrue();
+    }
+
+    @Test
+    public void testRangeMustStartAtLineOneOrLater() {
+        Throwable thrown = catchThrowable(() -> RunLogRange.fromLine(0));
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+
+        thrown = catchThrowable(() -> RunLogRange.tail(-1));
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testDefaultWriteLogWritesTheLinesInRange() throws Exception {
+        // Given...
+        MockRunResult runResult = new MockRunResult("run1", null, null, "line 1\nline 2\nline 3");
+        StringWriter writer = new StringWriter();
+
+        // When...
+        boolean isLogFound = runResult.writeLog(writer, RunLogRange.fromLine(2));
+
+        // Then...
+        assertThat(isLogFound).isTrue();
+        assertThat(writer.toString()).isEqualTo("line 2\nline 3");
+    }
+
+    @Test
+    public void testDefaultWriteLogWritesNothingWhenThereIsNoLog() throws Exception {
+        // Given...
+        MockRunResult runResult = new MockRunResult("run1", null, null, null);
+        StringWriter writer = new StringWriter();
+
+        // When...
+        boolean isLogFound = runResult.writeLog(writer, RunLogRange.ALL_LINES);
+
+        // Then...
+        assertThat(isLogFound).isFalse();
+        assertThat(writer.toString()).isEmpty();
+    }
+}
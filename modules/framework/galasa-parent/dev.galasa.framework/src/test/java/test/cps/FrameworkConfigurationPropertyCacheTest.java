@@ -0,0 +1,380 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package test.cps;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import dev.galasa.framework.internal.cps.FrameworkConfigurationPropertyCache;
+import dev.galasa.framework.internal.cps.FrameworkConfigurationPropertyService;
+import dev.galasa.framework.mocks.MockFramework;
+import dev.galasa.framework.mocks.MockTimeService;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStore;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreWatcher;
+
+public class FrameworkConfigurationPropertyCacheTest {
+
+    class MockWatchableCpsStore implements IConfigurationPropertyStore {
+        Map<String, String> properties = new HashMap<>();
+        Map<UUID, IConfigurationPropertyStoreWatcher> watchers = new HashMap<>();
+        List<String> watchedPrefixes = new ArrayList<>();
+        List<UUID> unwatchedIds = new ArrayList<>();
+        int getPropertyCount = 0;
+        int getPrefixedPropertiesCount = 0;
+        int watchPrefixCount = 0;
+        boolean isWatchFailing = false;
+
+        // Changes made by someone else while the namespace is being read
+        Map<String, String> changesDuringPrefixRead = new HashMap<>();
+
+        @Override
+        public String getProperty(@NotNull String key) throws ConfigurationPropertyStoreException {
+            getPropertyCount++;
+            return properties.get(key);
+        }
+
+        @Override
+        public @NotNull Map<String, String> getPrefixedProperties(@NotNull String prefix) throws ConfigurationPropertyStoreException {
+            getPrefixedPropertiesCount++;
+            Map<String, String> matchingProperties = new HashMap<>();
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                if (entry.getKey().startsWith(prefix)) {
+                    matchingProperties.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            for (Map.Entry<String, String> change : changesDuringPrefixRead.entrySet()) {
+                fireChange(change.getKey(), change.getValue());
+            }
+            return matchingProperties;
+        }
+
+        @Override
+        public boolean isWatchSupported() {
+            return true;
+        }
+
+        @Override
+        public UUID watchPrefix(@NotNull IConfigurationPropertyStoreWatcher watcher, @NotNull String keyPrefix) throws ConfigurationPropertyStoreException {
+            watchPrefixCount++;
+            if (isWatchFailing) {
+                throw new ConfigurationPropertyStoreException("Unable to watch");
+            }
+            UUID watchId = UUID.randomUUID();
+            watchers.put(watchId, watcher);
+            watchedPrefixes.add(keyPrefix);
+            return watchId;
+        }
+
+        @Override
+        public void unwatch(@NotNull UUID watchId) throws ConfigurationPropertyStoreException {
+            watchers.remove(watchId);
+            unwatchedIds.add(watchId);
+        }
+
+        void fireChange(String key, String newValue) {
+            if (newValue == null) {
+                properties.remove(key);
+            } else {
+                properties.put(key, newValue);
+            }
+            for (IConfigurationPropertyStoreWatcher watcher : new ArrayList<>(watchers.values())) {
+                watcher.propertyModified(key, newValue);
+            }
+        }
+
+        void failWatches() {
+            for (IConfigurationPropertyStoreWatcher watcher : new ArrayList<>(watchers.values())) {
+                watcher.watchFailed(new Exception("Connection lost"));
+            }
+        }
+
+        @Override
+        public void setProperty(@NotNull String key, @NotNull String value) throws ConfigurationPropertyStoreException {
+            properties.put(key, value);
+        }
+
+        @Override
+        public void deleteProperty(@NotNull String key) throws ConfigurationPropertyStoreException {
+            properties.remove(key);
+        }
+
+        @Override
+        public void deletePrefixedProperties(@NotNull String prefix) throws ConfigurationPropertyStoreException {
+            properties.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        @Override
+        public Map<String, String> getPropertiesFromNamespace(String namespace) throws ConfigurationPropertyStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getPropertiesFromNamespace'");
+        }
+
+        @Override
+        public List<String> getNamespaces() throws ConfigurationPropertyStoreException {
+            throw new UnsupportedOperationException("Unimplemented method 'getNamespaces'");
+        }
+
+        @Override
+        public void shutdown() throws ConfigurationPropertyStoreException {
+        }
+    }
+
+    private FrameworkConfigurationPropertyService createCpsService(MockWatchableCpsStore store, FrameworkConfigurationPropertyCache cache, Properties record, String namespace) {
+        return new FrameworkConfigurationPropertyService(new MockFramework(), store, cache, new Properties(), record, namespace);
+    }
+
+    @Test
+    public void testInfixChainIsResolvedFromASinglePrefixRead() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.properties.put("zos.image.PLEXMA.credentialid", "plexCreds");
+        store.properties.put("zos.image.credentialid", "defaultCreds");
+        store.properties.put("cicsts.dse.tag.PRIMARY.applid", "APPL1");
+
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store);
+        Properties record = new Properties();
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, record, "zos");
+
+        // When...
+        String value1 = cps.getProperty("image", "credentialid", "PLEXMA", "MVMA");
+        String value2 = cps.getProperty("image", "credentialid", "OTHERPLEX");
+        String value3 = cps.getProperty("image", "missing");
+
+        // Then...
+        assertThat(value1).isEqualTo("plexCreds");
+        assertThat(value2).isEqualTo("defaultCreds");
+        assertThat(value3).isNull();
+
+        assertThat(store.getPropertyCount).isEqualTo(0);
+        assertThat(store.getPrefixedPropertiesCount).isEqualTo(1);
+        assertThat(store.watchedPrefixes).containsExactly("zos.");
+        assertThat(cache.getHitCount()).isEqualTo(5);
+        assertThat(cache.getMissCount()).isEqualTo(0);
+
+        // The access record is the same as it would be without the cache
+        assertThat(record.getProperty("zos.image.PLEXMA.MVMA.credentialid._source")).isEqualTo("missing");
+        assertThat(record.getProperty("zos.image.PLEXMA.credentialid")).isEqualTo("plexCreds");
+        assertThat(record.getProperty("zos.image.PLEXMA.credentialid._source")).isEqualTo("cps");
+        assertThat(record.getProperty("zos.image.missing._source")).isEqualTo("missing");
+    }
+
+    @Test
+    public void testWatchedChangesAreSeenByLaterReads() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.properties.put("zos.image.PLEXMA.credentialid", "plexCreds");
+
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+        assertThat(cps.getProperty("image", "credentialid", "PLEXMA")).isEqualTo("plexCreds");
+
+        // When...
+        store.fireChange("zos.image.PLEXMA.credentialid", "newCreds");
+        store.fireChange("zos.image.PLEXMB.credentialid", "otherCreds");
+
+        // Then...
+        assertThat(cps.getProperty("image", "credentialid", "PLEXMA")).isEqualTo("newCreds");
+        assertThat(cps.getProperty("image", "credentialid", "PLEXMB")).isEqualTo("otherCreds");
+
+        // When...
+        store.fireChange("zos.image.PLEXMA.credentialid", null);
+
+        // Then...
+        assertThat(cps.getProperty("image", "credentialid", "PLEXMA")).isNull();
+        assertThat(store.getPrefixedPropertiesCount).isEqualTo(1);
+    }
+
+    @Test
+    public void testChangeDuringTheNamespaceReadIsNotOverwrittenByTheRead() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.properties.put("zos.image.PLEXMA.credentialid", "oldCreds");
+        store.changesDuringPrefixRead.put("zos.image.PLEXMA.credentialid", "newCreds");
+
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+
+        // When...
+        String value = cps.getProperty("image", "credentialid", "PLEXMA");
+
+        // Then...
+        assertThat(value).isEqualTo("newCreds");
+    }
+
+    @Test
+    public void testPropertiesSetThroughTheServiceCanBeReadStraightBack() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.properties.put("framework.resultarchive.store", "couchdb");
+
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "framework");
+        assertThat(cps.getProperty("resultarchive", "store")).isEqualTo("couchdb");
+
+        // When...
+        cps.setProperty("test.property", "value1");
+        cps.deleteProperty("resultarchive.store");
+
+        // Then...
+        assertThat(cps.getProperty("test", "property")).isEqualTo("value1");
+        assertThat(cps.getProperty("resultarchive", "store")).isNull();
+    }
+
+    @Test
+    public void testFailedWatchCausesTheNamespaceToBeReadAgain() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.properties.put("zos.image.PLEXMA.credentialid", "plexCreds");
+
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store, timeService);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+        assertThat(cps.getProperty("image", "credentialid", "PLEXMA")).isEqualTo("plexCreds");
+
+        // When... the watch fails, and a change is made which the cache will never hear about
+        store.failWatches();
+        store.properties.put("zos.image.PLEXMA.credentialid", "missedCreds");
+
+        // Then... the namespace is read from the store for a while
+        assertThat(store.unwatchedIds).hasSize(1);
+        assertThat(cps.getProperty("image", "credentialid", "PLEXMA")).isEqualTo("missedCreds");
+        assertThat(store.getPrefixedPropertiesCount).isEqualTo(1);
+        assertThat(store.watchers).isEmpty();
+
+        // ... and then it is copied again
+        timeService.sleepMillis(FrameworkConfigurationPropertyCache.INITIAL_RETRY_DELAY.toMillis());
+        assertThat(cps.getProperty("image", "credentialid", "PLEXMA")).isEqualTo("missedCreds");
+        assertThat(store.getPrefixedPropertiesCount).isEqualTo(2);
+        assertThat(store.watchers).hasSize(1);
+    }
+
+    @Test
+    public void testNamespaceWhichCannotBeWatchedIsReadFromTheStore() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.isWatchFailing = true;
+        store.properties.put("zos.image.PLEXMA.credentialid", "plexCreds");
+
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+
+        // When...
+        String value = cps.getProperty("image", "credentialid", "PLEXMA");
+
+        // Then...
+        assertThat(value).isEqualTo("plexCreds");
+        assertThat(store.getPropertyCount).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testNamespaceWhichCannotBeWatchedIsNotCopiedAgainUntilTheRetryDelayHasPassed() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.isWatchFailing = true;
+        store.properties.put("zos.image.PLEXMA.credentialid", "plexCreds");
+
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store, timeService);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+
+        // When...
+        for (int i = 0; i < 3; i++) {
+            assertThat(cps.getProperty("image", "credentialid", "PLEXMA")).isEqualTo("plexCreds");
+        }
+
+        // Then...
+        assertThat(store.watchPrefixCount).isEqualTo(1);
+        assertThat(store.getPropertyCount).isEqualTo(3);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void testRetryDelayDoublesEachTimeTheNamespaceCannotBeCopied() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.isWatchFailing = true;
+        store.properties.put("zos.image.PLEXMA.credentialid", "plexCreds");
+
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store, timeService);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+        long initialDelayMillis = FrameworkConfigurationPropertyCache.INITIAL_RETRY_DELAY.toMillis();
+        cps.getProperty("image", "credentialid", "PLEXMA");
+
+        // When... the first retry fails too
+        timeService.sleepMillis(initialDelayMillis);
+        cps.getProperty("image", "credentialid", "PLEXMA");
+        assertThat(store.watchPrefixCount).isEqualTo(2);
+
+        // Then... the next retry waits twice as long
+        timeService.sleepMillis(initialDelayMillis);
+        cps.getProperty("image", "credentialid", "PLEXMA");
+        assertThat(store.watchPrefixCount).isEqualTo(2);
+
+        timeService.sleepMillis(initialDelayMillis);
+        cps.getProperty("image", "credentialid", "PLEXMA");
+        assertThat(store.watchPrefixCount).isEqualTo(3);
+    }
+
+    @Test
+    public void testRetryDelayIsLimited() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.isWatchFailing = true;
+
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store, timeService);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+        long maxDelayMillis = FrameworkConfigurationPropertyCache.MAX_RETRY_DELAY.toMillis();
+
+        // When...
+        for (int i = 0; i < 100; i++) {
+            cps.getProperty("image", "credentialid", "PLEXMA");
+            timeService.sleepMillis(maxDelayMillis);
+        }
+
+        // Then...
+        assertThat(store.watchPrefixCount).isEqualTo(100);
+    }
+
+    @Test
+    public void testNamespaceIsCachedOnceItCanBeCopiedAgain() throws Exception {
+        // Given...
+        MockWatchableCpsStore store = new MockWatchableCpsStore();
+        store.isWatchFailing = true;
+        store.properties.put("zos.image.PLEXMA.credentialid", "plexCreds");
+
+        MockTimeService timeService = new MockTimeService(Instant.EPOCH);
+        FrameworkConfigurationPropertyCache cache = new FrameworkConfigurationPropertyCache(store, timeService);
+        FrameworkConfigurationPropertyService cps = createCpsService(store, cache, new Properties(), "zos");
+        cps.getProperty("image", "credentialid", "PLEXMA");
+
+        // When...
+        store.isWatchFailing = false;
+        timeService.sleepMillis(FrameworkConfigurationPropertyCache.INITIAL_RETRY_DELAY.toMillis());
+        cps.getProperty("image", "credentialid", "PLEXMA");
+        cps.getProperty("image", "credentialid", "PLEXMA");
+
+        // Then...
+        assertThat(store.getPrefixedPropertiesCount).isEqualTo(1);
+        assertThat(store.getPropertyCount).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+}
@@ -6,9 +6,18 @@
 package test.cts;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -82,4 +91,167 @@ public class ConfidentialTextServiceTest {
         System.out.println(result + "\n" + expected);
         assertEquals("Did not remove confidential imfomation ", expected, result);
     }
+
+    @Test
+    public void testConfidentialTextIsNotTreatedAsARegex() {
+        FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+
+        ctsService.registerText("pa.s", "This is a test comment");
+
+        String result = ctsService.removeConfidentialText("paXs is not pa.s");
+        assertEquals("Did not remove only the literal confidential text ", "paXs is not *1**", result);
+    }
+
+    @Test
+    public void testTextWithoutConfidentialTextIsReturnedUnchanged() {
+        FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+        String text = "Nothing to see here";
+
+        assertSame("Text with no registered texts was copied ", text, ctsService.removeConfidentialText(text));
+
+        ctsService.registerText("secret", "This is a test comment");
+
+        assertSame("Text without any confidential text was copied ", text, ctsService.removeConfidentialText(text));
+    }
+
+    @Test
+    public void testLongestConfidentialTextIsRemovedWhenTheyOverlap() {
+        FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+
+        ctsService.registerText("pass", "This is a test comment");
+        ctsService.registerText("password", "This is a test comment");
+
+        String result = ctsService.removeConfidentialText("password, pass and passwor");
+        assertEquals("Did not remove the longest confidential text ", "***2****, *1** and *1**wor", result);
+    }
+
+    @Test
+    public void testConfidentialTextStartingInsideAPartialMatchIsRemoved() {
+        FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+
+        ctsService.registerText("abcde", "This is a test comment");
+        ctsService.registerText("cdxyz", "This is a test comment");
+
+        String result = ctsService.removeConfidentialText("abcdxyz abcdexyz");
+        assertEquals("Did not remove the overlapping confidential texts ", "ab**2** **1**xyz", result);
+    }
+
+    @Test
+    public void testWriterRemovesConfidentialTextSplitAcrossWrites() throws IOException {
+        FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+        ctsService.registerText("pass", "This is a test comment");
+        ctsService.registerText("password", "This is a test comment");
+
+        String text = "The password is password and the pass is pass";
+        StringWriter target = new StringWriter();
+        try (Writer writer = ctsService.newConfidentialTextWriter(target)) {
+            for (char c : text.toCharArray()) {
+                writer.write(c);
+            }
+        }
+
+        assertEquals("Did not remove confidential text from the stream ", ctsService.removeConfidentialText(text), target.toString());
+    }
+
+    @Test
+    public void testOutputStreamRemovesConfidentialTextSplitAcrossCharacters() throws IOException {
+        FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+        ctsService.registerText("pässwörd", "This is a test comment");
+
+        byte[] bytes = "The pässwörd is pässwörd".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (OutputStream outputStream = ctsService.newConfidentialTextOutputStream(target, StandardCharsets.UTF_8)) {
+            for (byte b : bytes) {
+                outputStream.write(b);
+            }
+        }
+
+        assertEquals("Did not remove confidential text from the stream ", "The ***1**** is ***1****", new String(target.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRemovingConfidentialTextMatchesASimpleSearch() {
+        // *** Lots of short texts from a small alphabet, so that the registered texts overlap in every way
+        Random random = new Random(16);
+        for (int run = 0; run < 200; run++) {
+            FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+            List<String> texts = new ArrayList<>();
+            int count = 1 + random.nextInt(8);
+            for (int i = 0; i < count; i++) {
+                String text = randomText(random, 1 + random.nextInt(5));
+                ctsService.registerText(text, "This is a test comment");
+                texts.add(text);
+            }
+            String text = randomText(random, random.nextInt(60));
+
+            String expected = simpleRemove(text, texts, ctsService);
+            assertEquals("Did not remove confidential text from '" + text + "' with " + texts, expected, ctsService.removeConfidentialText(text));
+        }
+    }
+
+    @Test
+    public void testRemovingManyConfidentialTextsFromALog() {
+        // *** Every registered text appears in the log, most lines have none
+        FrameworkConfidentialTextService ctsService = new FrameworkConfidentialTextService();
+        Random random = new Random(16);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String text = "password" + i + "-" + randomText(random, 8);
+            ctsService.registerText(text, "This is a test comment");
+            texts.add(text);
+        }
+        StringBuilder log = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int line = 0; line < 2000; line++) {
+            String prefix = "12:00:00 INFO the manager did something with ";
+            log.append(prefix);
+            expected.append(prefix);
+            if (line % 5 == 0) {
+                String text = texts.get(line % texts.size());
+                log.append(text);
+                expected.append(ctsService.removeConfidentialText(text));
+            } else {
+                String text = randomText(random, 20);
+                log.append(text);
+                expected.append(text);
+            }
+            log.append('\n');
+            expected.append('\n');
+        }
+
+        assertEquals("Did not remove the confidential texts from the log", expected.toString(), ctsService.removeConfidentialText(log.toString()));
+    }
+
+    private String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Remove the confidential texts by checking every position in turn for the
+     * longest registered text starting there
+     */
+    private String simpleRemove(String text, List<String> texts, FrameworkConfidentialTextService ctsService) {
+        StringBuilder result = new StringBuilder();
+        int position = 0;
+        while (position < text.length()) {
+            String longest = null;
+            for (String confidential : texts) {
+                if (text.startsWith(confidential, position) && (longest == null || confidential.length() > longest.length())) {
+                    longest = confidential;
+                }
+            }
+            if (longest == null) {
+                result.append(text.charAt(position));
+                position++;
+            } else {
+                result.append(ctsService.removeConfidentialText(longest));
+                position += longest.length();
+            }
+        }
+        return result.toString();
+    }
 }
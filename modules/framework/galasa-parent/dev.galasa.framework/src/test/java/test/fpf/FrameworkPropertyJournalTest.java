@@ -0,0 +1,219 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package test.fpf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import dev.galasa.framework.spi.DssAdd;
+import dev.galasa.framework.spi.DssSwap;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
+import dev.galasa.framework.spi.FrameworkPropertyFile;
+import dev.galasa.framework.spi.FrameworkPropertyJournal;
+import dev.galasa.framework.spi.IFrameworkPropertyFileWatcher.Event;
+
+/**
+ * <p>
+ * Used to test the FrameworkPropertyJournal class, with more than one journal
+ * on the same files standing in for more than one process.
+ * </p>
+ */
+public class FrameworkPropertyJournalTest {
+    private Path propertyFile;
+    private Path journalFile;
+
+    @Before
+    public void createPropertiesFile() throws IOException {
+        propertyFile = Files.createTempFile("galasafpj_", ".properties");
+        journalFile = propertyFile.resolveSibling(propertyFile.getFileName() + ".journal");
+
+        Properties properties = new Properties();
+        properties.setProperty("run.U1.status", "running");
+        properties.setProperty("run.U2.status", "queued");
+        try (OutputStream out = Files.newOutputStream(propertyFile)) {
+            properties.store(out, null);
+        }
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(propertyFile);
+        Files.deleteIfExists(journalFile);
+    }
+
+    private Properties readPropertyFile() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(propertyFile)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    @Test
+    public void testExistingPropertiesFileIsRead() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+
+        assertEquals("running", journal.get("run.U1.status"));
+        assertEquals(2, journal.getPrefix("run.").size());
+        assertTrue("Journal should have been started", Files.exists(journalFile));
+    }
+
+    @Test
+    public void testChangesAreAppendedAndNotWrittenToThePropertiesFile() throws Exception {
+        byte[] before = Files.readAllBytes(propertyFile);
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+
+        journal.set("run.U1.status", "finished");
+        journal.delete("run.U2.status");
+
+        assertEquals(new String(before, StandardCharsets.UTF_8), new String(Files.readAllBytes(propertyFile), StandardCharsets.UTF_8));
+        FrameworkPropertyJournal other = new FrameworkPropertyJournal(propertyFile.toUri());
+        assertEquals("finished", other.get("run.U1.status"));
+        assertNull(other.get("run.U2.status"));
+    }
+
+    @Test
+    public void testAtomicSetsSeeTheChangesOfOtherJournals() throws Exception {
+        FrameworkPropertyJournal first = new FrameworkPropertyJournal(propertyFile.toUri());
+        FrameworkPropertyJournal second = new FrameworkPropertyJournal(propertyFile.toUri());
+
+        assertTrue("First claim should work", first.setAtomic("slot.1", null, "RUN1"));
+        assertFalse("Second claim should fail", second.setAtomic("slot.1", null, "RUN2"));
+        assertTrue("Swap from the current value should work", second.setAtomic("slot.1", "RUN1", "RUN2"));
+        assertFalse("Swap from an old value should fail", first.setAtomic("slot.1", "RUN1", "RUN3"));
+
+        assertEquals("RUN2", first.get("slot.1"));
+    }
+
+    @Test
+    public void testFailedActionsChangeNothing() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+        boolean caught = false;
+
+        try {
+            journal.performActions(new DssAdd("slot.1", "RUN1"),
+                    new DssSwap("run.U1.status", "finished", "ended"));
+        } catch (DynamicStatusStoreMatchException e) {
+            caught = true;
+        }
+
+        assertTrue("Exception not thrown", caught);
+        assertNull(journal.get("slot.1"));
+        assertNull(new FrameworkPropertyJournal(propertyFile.toUri()).get("slot.1"));
+    }
+
+    @Test
+    public void testIncompleteRecordIsIgnoredAndOverwritten() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+        journal.set("run.U1.status", "finished");
+
+        // *** A process ending part way through writing a record
+        Files.write(journalFile, "0badc0de {\"put\":{\"run.U1.st".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        FrameworkPropertyJournal recovered = new FrameworkPropertyJournal(propertyFile.toUri());
+        assertEquals("finished", recovered.get("run.U1.status"));
+
+        recovered.set("run.U3.status", "allocated");
+        FrameworkPropertyJournal other = new FrameworkPropertyJournal(propertyFile.toUri());
+        assertEquals("finished", other.get("run.U1.status"));
+        assertEquals("allocated", other.get("run.U3.status"));
+    }
+
+    @Test
+    public void testCompactionWritesThePropertiesFile() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+        FrameworkPropertyJournal other = new FrameworkPropertyJournal(propertyFile.toUri());
+        journal.set("run.U1.status", "finished");
+        assertEquals("finished", other.get("run.U1.status"));
+
+        long journalSize = Files.size(journalFile);
+        journal.compact();
+
+        assertEquals("finished", readPropertyFile().getProperty("run.U1.status"));
+        assertTrue("Journal should have been emptied", Files.size(journalFile) < journalSize);
+
+        other.set("run.U2.status", "running");
+        assertEquals("running", journal.get("run.U2.status"));
+        assertEquals("finished", journal.get("run.U1.status"));
+    }
+
+    @Test
+    public void testPropertiesFileChangedByAnOlderLevelReplacesTheJournal() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+        journal.set("run.U1.status", "finished");
+
+        Thread.sleep(10);
+        FrameworkPropertyFile fpf = new FrameworkPropertyFile(propertyFile.toUri());
+        fpf.set("run.U4.status", "queued");
+
+        assertEquals("queued", journal.get("run.U4.status"));
+        assertEquals("running", journal.get("run.U1.status"));
+    }
+
+    @Test
+    public void testWatchersAreToldAboutChanges() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+        List<String> events = new ArrayList<>();
+        journal.watchPrefix((key, event, oldValue, newValue) -> events.add(event + " " + key), "run.U1.");
+
+        journal.set("run.U1.status", "finished");
+        journal.set("run.U2.status", "finished");
+        journal.delete("run.U1.status");
+        journal.shutdown();
+
+        assertEquals(2, events.size());
+        assertEquals(Event.MODIFIED + " run.U1.status", events.get(0));
+        assertEquals(Event.DELETE + " run.U1.status", events.get(1));
+    }
+
+    @Test
+    public void testShutdownCompactsTheJournal() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+        journal.set("run.U1.status", "finished");
+
+        journal.shutdown();
+
+        assertEquals("finished", readPropertyFile().getProperty("run.U1.status"));
+    }
+
+    @Test
+    public void testJournalIsCompactedWhenItGrows() throws Exception {
+        FrameworkPropertyJournal journal = new FrameworkPropertyJournal(propertyFile.toUri());
+        FrameworkPropertyJournal other = new FrameworkPropertyJournal(propertyFile.toUri());
+
+        // *** A run updating its heartbeat, until the journal has passed 256KB at least once
+        int updates = 6000;
+        long largestJournal = 0;
+        for (int i = 0; i < updates; i++) {
+            journal.set("run.U1.heartbeat", "2026-10-18T12:00:" + i);
+            largestJournal = Math.max(largestJournal, Files.size(journalFile));
+        }
+
+        assertTrue("Journal should have been compacted", Files.size(journalFile) < largestJournal);
+        assertTrue("Journal should stay under the compaction size", largestJournal <= 256 * 1024 + 1024);
+        assertNotNull("The properties file should hold a compacted heartbeat", readPropertyFile().getProperty("run.U1.heartbeat"));
+        assertEquals("2026-10-18T12:00:" + (updates - 1), other.get("run.U1.heartbeat"));
+        assertEquals("running", other.get("run.U1.status"));
+    }
+}
@@ -9,13 +9,23 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import org.junit.Test;
 
 import dev.galasa.framework.internal.rps.ResourceString;
+import dev.galasa.framework.mocks.MockDSSStore;
+import dev.galasa.framework.spi.DssAdd;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreMatchException;
 import dev.galasa.framework.spi.FrameworkResourcePoolingService;
+import dev.galasa.framework.spi.IDssAction;
 import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
 import dev.galasa.framework.spi.ResourcePoolingServiceException;
 
@@ -86,6 +96,32 @@ public class ResourcesPoolingServiceTest {
         }
     }
 
+    /**
+     * This test method makes sure resources can be found by their position in the
+     * order getNextResource provides them, and the position found from the name.
+     * 
+     * @throws ResourcePoolingServiceException
+     */
+    @Test
+    public void testGetResourceByIndex()
+            throws ResourcePoolingServiceException, InsufficientResourcesAvailableException {
+        ResourceString rs = new ResourceString("A{1}B{z}{2-4}");
+        assertEquals("Unexpected number of resources", 2 * 26 * 3, rs.getNumberOfResources());
+
+        String resource = rs.getFirstResource();
+        for (int i = 0; i < rs.getNumberOfResources(); i++) {
+            assertEquals("Unexpected resource at " + i, resource, rs.getResource(i));
+            assertEquals("Unexpected index of " + resource, i, rs.getIndex(resource));
+            if (i < rs.getNumberOfResources() - 1) {
+                resource = rs.getNextResource();
+            }
+        }
+
+        assertEquals("Resource with a different constant", -1, rs.getIndex("A1Cz4"));
+        assertEquals("Resource with a character out of range", -1, rs.getIndex("A1Bz5"));
+        assertEquals("Resource of a different length", -1, rs.getIndex("A1Bz"));
+    }
+
     /**
      * This test method checks the most simple obtain resources method.
      * 
@@ -239,4 +275,231 @@ public class ResourcesPoolingServiceTest {
 
         assertTrue("Exception not thrown", caught);
     }
+
+    /**
+     * A DSS which counts how it is asked about resources
+     */
+    private static class ResourceCountingDSSStore extends MockDSSStore {
+        private int getCallCount = 0;
+        private int getMultipleCallCount = 0;
+        private int getPrefixCallCount = 0;
+
+        ResourceCountingDSSStore(Map<String, String> values) {
+            super(values);
+        }
+
+        @Override
+        public String get(String key) throws DynamicStatusStoreException {
+            getCallCount++;
+            return super.get(key);
+        }
+
+        @Override
+        public Map<String, String> getMultiple(Set<String> keys) throws DynamicStatusStoreException {
+            getMultipleCallCount++;
+            Map<String, String> values = new HashMap<>();
+            for (String key : keys) {
+                String value = super.get(key);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public Map<String, String> getPrefix(String keyPrefix) throws DynamicStatusStoreException {
+            getPrefixCallCount++;
+            return super.getPrefix(keyPrefix);
+        }
+    }
+
+    /**
+     * A DSS which adds the resources claimed, where another run claims the
+     * resource of the first claim just before it
+     */
+    private static class ContendedDSSStore extends ResourceCountingDSSStore {
+        private int performActionsCallCount = 0;
+
+        ContendedDSSStore(Map<String, String> values) {
+            super(values);
+        }
+
+        @Override
+        public void performActions(IDssAction... actions)
+                throws DynamicStatusStoreException, DynamicStatusStoreMatchException {
+            performActionsCallCount++;
+            if (performActionsCallCount == 1) {
+                put(((DssAdd) actions[0]).getKey(), "OTHERRUN");
+            }
+            for (IDssAction action : actions) {
+                if (get(((DssAdd) action).getKey()) != null) {
+                    throw new DynamicStatusStoreMatchException("Resource already claimed");
+                }
+            }
+            for (IDssAction action : actions) {
+                put(((DssAdd) action).getKey(), ((DssAdd) action).getValue());
+            }
+        }
+    }
+
+    /**
+     * This test method checks that resources in use in the DSS are not returned,
+     * and that the DSS is asked about them in batches rather than one at a time.
+     *
+     * @throws InsufficientResourcesAvailableException
+     */
+    @Test
+    public void testResourcePoolingChecksTheDssInBatches() throws InsufficientResourcesAvailableException {
+        FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+        List<String> resourceStrings = new ArrayList<>();
+        resourceStrings.add("APPLID{9}{9}");
+
+        Map<String, String> dssValues = new HashMap<>();
+        for (int i = 0; i < 90; i++) {
+            dssValues.put(String.format("resource.APPLID%02d", i), "RUN" + i);
+        }
+        ResourceCountingDSSStore dss = new ResourceCountingDSSStore(dssValues);
+
+        List<String> resources = frps.obtainResources(resourceStrings, new ArrayList<>(), 10, 10, dss, "resource.");
+        Collections.sort(resources);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 90; i < 100; i++) {
+            expected.add("APPLID" + i);
+        }
+        assertEquals("Unexpected resources retrieved", expected, resources);
+        assertEquals("Resources should not be checked one at a time", 0, dss.getCallCount);
+        assertTrue("Resources should be checked in batches", dss.getMultipleCallCount < 90);
+    }
+
+    /**
+     * This test method checks that the resources in use are read from the DSS
+     * once, rather than checked a resource at a time.
+     *
+     * @throws InsufficientResourcesAvailableException
+     */
+    @Test
+    public void testResourcePoolingReadsTheDssOnce() throws InsufficientResourcesAvailableException {
+        FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+        Map<String, String> dssValues = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            if (i < 500 || i >= 510) {
+                dssValues.put(String.format("port.PORT%03d", i), "RUN" + i);
+            }
+        }
+        dssValues.put("port.OTHER1", "RUN1");
+        ResourceCountingDSSStore dss = new ResourceCountingDSSStore(dssValues);
+
+        List<String> resources = frps.obtainResources(Arrays.asList("PORT{9}{9}{9}"), null, 10, 10, dss, "port.");
+        Collections.sort(resources);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 500; i < 510; i++) {
+            expected.add("PORT" + i);
+        }
+        assertEquals("Unexpected resources retrieved", expected, resources);
+        assertEquals("The resources in use should be read once", 1, dss.getPrefixCallCount);
+        assertEquals("Resources should not be checked one at a time", 0, dss.getCallCount);
+        assertEquals("Resources should not be checked in batches", 0, dss.getMultipleCallCount);
+    }
+
+    /**
+     * This test method checks that when another run claims one of the resources
+     * first, other resources are obtained and claimed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testResourcePoolingClaimRetriesWhenAnotherRunClaimsFirst() throws Exception {
+        FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+        ContendedDSSStore dss = new ContendedDSSStore(new HashMap<>());
+
+        List<String> resources = frps.obtainAndClaimResources(Arrays.asList("LU{9}{9}"), null, 4, 2, dss, "lu.",
+                resource -> Arrays.asList(new DssAdd("lu." + resource, "RUN1")));
+
+        assertEquals("Unexpected number of resources", 4, resources.size());
+        assertEquals("The claim should have been tried again", 2, dss.performActionsCallCount);
+        assertEquals("The resources in use should be read again", 2, ((ResourceCountingDSSStore) dss).getPrefixCallCount);
+        for (String resource : resources) {
+            assertEquals("Resource not claimed " + resource, "RUN1", dss.get("lu." + resource));
+        }
+    }
+
+    /**
+     * This test method checks that an exception is thrown when the resources
+     * cannot be claimed.
+     */
+    @Test
+    public void testResourcePoolingClaimFailsWhenAllTheResourcesAreClaimed() {
+        FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+        Map<String, String> dssValues = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            dssValues.put("lu.LU" + i, "RUN" + i);
+        }
+        ContendedDSSStore dss = new ContendedDSSStore(dssValues);
+        Boolean caught = false;
+
+        try {
+            frps.obtainAndClaimResources(Arrays.asList("LU{9}"), null, 1, 1, dss, "lu.",
+                    resource -> Arrays.asList(new DssAdd("lu." + resource, "RUN1")));
+        } catch (InsufficientResourcesAvailableException e) {
+            caught = true;
+        }
+
+        assertTrue("Exception not thrown", caught);
+        assertEquals("Nothing should have been claimed", 0, dss.performActionsCallCount);
+    }
+
+    /**
+     * This test method checks that consecutive resources are obtained from pools
+     * that are 90% in use, where the free resources are in short runs spread
+     * through the pool, with one read of the resources in use.
+     *
+     * @throws InsufficientResourcesAvailableException
+     */
+    @Test
+    public void testResourcePoolingNearlyFullPoolReadsResourcesInUseOnce() throws InsufficientResourcesAvailableException {
+        Random random = new Random(1);
+        String definition = "POOL{9}{9}";
+        int poolSize = 100;
+        for (int digits = 3; digits <= 5; digits++) {
+            definition = definition + "{9}";
+            poolSize *= 10;
+            Map<String, String> dssValues = new HashMap<>();
+            for (int block = 0; block < poolSize; block += 100) {
+                int free = random.nextInt(90);
+                for (int i = block; i < block + 100; i++) {
+                    if (i < block + free || i >= block + free + 10) {
+                        dssValues.put("pool.POOL" + String.format("%0" + digits + "d", i), "RUN");
+                    }
+                }
+            }
+            ResourceCountingDSSStore dss = new ResourceCountingDSSStore(dssValues);
+            FrameworkResourcePoolingService frps = new FrameworkResourcePoolingService();
+
+            List<String> resources = frps.obtainResources(Arrays.asList(definition), null, 20, 5, dss, "pool.");
+
+            assertEquals("Unexpected number of resources", 20, resources.size());
+            for (String resource : resources) {
+                assertTrue("Resource in use returned " + resource, !dssValues.containsKey("pool." + resource));
+            }
+            List<Integer> numbers = new ArrayList<>();
+            for (String resource : resources) {
+                numbers.add(Integer.parseInt(resource.substring("POOL".length())));
+            }
+            Collections.sort(numbers);
+            int runLength = 1;
+            for (int i = 1; i <= numbers.size(); i++) {
+                if (i < numbers.size() && numbers.get(i) == numbers.get(i - 1) + 1) {
+                    runLength++;
+                } else {
+                    assertEquals("Resources should be obtained in runs of 5 " + numbers, 0, runLength % 5);
+                    runLength = 1;
+                }
+            }
+            assertEquals("The resources in use should be read once", 1, dss.getPrefixCallCount);
+            assertEquals("Resources should not be checked one at a time", 0, dss.getCallCount);
+        }
+    }
 }
@@ -27,6 +27,7 @@ public class MockRun implements IRun {
     private boolean isRunLocal;
     private String gherkinUrl;
     private Instant heartbeat;
+    private Instant queued;
     private String group;
     private String submissionId;
     private String status;
@@ -104,7 +105,15 @@ public class MockRun implements IRun {
 
     @Override
     public Instant getQueued() {
-        return Instant.now();
+        Instant queuedTime = this.queued;
+        if (queuedTime == null) {
+            queuedTime = Instant.now();
+        }
+        return queuedTime;
+    }
+
+    public void setQueued(Instant queued) {
+        this.queued = queued;
     }
 
     @Override
@@ -212,7 +221,7 @@ public class MockRun implements IRun {
 
     @Override
     public boolean isTrace() {
-        throw new UnsupportedOperationException("Unimplemented method 'isTrace'");
+        return false;
     }
 
     @Override
@@ -27,6 +27,7 @@ import dev.galasa.textscan.TextScanException;
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosfile.IZosUNIXFile;
+import dev.galasa.zosfile.IZosUNIXFile.UNIXFileDataType;
 import dev.galasa.zosfile.ZosUNIXFileException;
 
 public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
@@ -101,15 +102,9 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
     @Override
     public OutputStream retrieve() throws CicsJvmserverResourceException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            if (isZosUNIXFile()) {
-                baos.write(this.zosUnixFile.retrieveAsText().getBytes());
-            } else if (isZosBatchJobSpoolFile()) {
-                baos.write(this.zosBatchJobOutputSpoolFile.getRecords().getBytes());
-            } else {
-                throw new CicsJvmserverResourceException("Log is not a zOS UNIX File or zOS Batch Job spool file");
-            }
-        } catch (ZosUNIXFileException | IOException e) {
+        try (InputStream content = retrieveStream(0)) {
+            IOUtils.copy(content, baos);
+        } catch (IOException e) {
             throw new CicsJvmserverResourceException("Problem retrieving content of log", e);
         }
         return baos;
@@ -166,23 +161,17 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
 
     @Override
     public OutputStream retrieveSinceCheckpoint() throws CicsJvmserverResourceException {
-        try {
-            ByteArrayInputStream bais = new ByteArrayInputStream(((ByteArrayOutputStream) retrieve()).toByteArray());
-            long checkpoint = getCheckpoint();
-            if (checkpoint == -1) {
-            	logger.warn("Log '" + this.scannableName + "' has not been checkpointed");
-            } else {
-	            long skipped = bais.skip(checkpoint);
-	            if (skipped != getCheckpoint()) {
-	                throw new IOException("Failed to skip " + checkpoint + " bytes. Actual bytes skipped " + skipped);
-	            }
-            }
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            IOUtils.copy(bais, baos);
-            return baos;
+        long checkpoint = getCheckpoint();
+        if (checkpoint == -1) {
+            logger.warn("Log '" + this.scannableName + "' has not been checkpointed");
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream content = retrieveStream(checkpoint)) {
+            IOUtils.copy(content, baos);
         } catch (IOException e) {
             throw new CicsJvmserverResourceException("Problem retrieving log since last checkpoint", e);
         }
+        return baos;
     }
 
     @Override
@@ -419,10 +408,35 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
         return this;
     }
 
+    @Override
+    public boolean isScannableSeekable() {
+        return true;
+    }
+
+    @Override
+    public long getScannableSize() throws TextScanException {
+        try {
+            if (isZosUNIXFile()) {
+                return this.zosUnixFile.getSize();
+            } else if (isZosBatchJobSpoolFile()) {
+                return this.zosBatchJobOutputSpoolFile.getSize();
+            } else {
+                throw new CicsJvmserverResourceException("Log is not a zOS UNIX File or zOS Batch Job spool file");
+            }
+        } catch (CicsJvmserverResourceException | ZosUNIXFileException | ZosBatchException e) {
+            throw new TextScanException("Problem finding the size of " + getScannableName(), e);
+        }
+    }
+
     @Override
     public InputStream getScannableInputStream() throws TextScanException {
+        return getScannableInputStream(0);
+    }
+
+    @Override
+    public InputStream getScannableInputStream(long offset) throws TextScanException {
         try {
-            return new ByteArrayInputStream(((ByteArrayOutputStream) retrieve()).toByteArray());
+            return retrieveStream(offset);
         } catch (CicsJvmserverResourceException e) {
             throw new TextScanException("Problem retrieving " + getScannableName(), e);
         }
@@ -436,6 +450,15 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
             throw new TextScanException("Problem retrieving " + getScannableName(), e);
         }
     }
+
+    @Override
+    public String getScannableString(long offset) throws TextScanException {
+        try (InputStream content = getScannableInputStream(offset)) {
+            return new String(IOUtils.toByteArray(content));
+        } catch (IOException e) {
+            throw new TextScanException("Problem retrieving " + getScannableName(), e);
+        }
+    }
     
     @Override
     public String toString() {
@@ -447,4 +470,43 @@ public class JvmserverLogImpl implements IJvmserverLog, ITextScannable {
             return "[UNKNOWN_TYPE] " + this.getScannableName();
         }
     }
+
+    /**
+     * Stream the log, skipping to the offset as it is read so that only the part of the log after
+     * the offset is held in memory
+     * @param offset the number of bytes to skip, or -1 to read the whole log
+     * @return the log content, which the caller must close
+     * @throws CicsJvmserverResourceException
+     */
+    private InputStream retrieveStream(long offset) throws CicsJvmserverResourceException {
+        InputStream content;
+        try {
+            if (isZosUNIXFile()) {
+                this.zosUnixFile.setDataType(UNIXFileDataType.TEXT);
+                content = this.zosUnixFile.retrieveAsStream();
+            } else if (isZosBatchJobSpoolFile()) {
+                content = new ByteArrayInputStream(this.zosBatchJobOutputSpoolFile.getRecords().getBytes());
+            } else {
+                throw new CicsJvmserverResourceException("Log is not a zOS UNIX File or zOS Batch Job spool file");
+            }
+        } catch (ZosUNIXFileException e) {
+            throw new CicsJvmserverResourceException("Problem retrieving content of log", e);
+        }
+        try {
+            if (offset > 0) {
+                long skipped = IOUtils.skip(content, offset);
+                if (skipped != offset) {
+                    throw new IOException("Failed to skip " + offset + " bytes. Actual bytes skipped " + skipped);
+                }
+            }
+            return content;
+        } catch (IOException e) {
+            try {
+                content.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw new CicsJvmserverResourceException("Problem retrieving log since last checkpoint", e);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import dev.galasa.textscan.TextScanManagerException;
+
+/**
+ * Measures the time taken to scan a large log. This is not run by the normal build,
+ * run it with the benchmark task.
+ */
+public class TextScannerImplBenchmark {
+
+	private static final long LOG_SIZE = 100L * 1024 * 1024;
+
+	@Test
+	public void testScanOfLargeLogPerformance() throws TextScanManagerException {
+		// A benchmark of scanning a 100MB log for a search and a fail pattern, the
+		// search text is on the last line so the whole log has to be read
+
+		// Given...
+		Pattern searchPattern = Pattern.compile("CWWKF0011I: The (\\w+) server is ready");
+		Pattern failPattern = Pattern.compile("CWWKE0701E");
+
+		// When...
+		long startNanos = System.nanoTime();
+		String match = new TextScannerImpl().scanForMatch(new SyntheticLogInputStream(LOG_SIZE), searchPattern, failPattern, 1);
+		long elapsedNanos = System.nanoTime() - startNanos;
+
+		// Then...
+		System.out.println("Scanned a " + (LOG_SIZE / (1024 * 1024)) + "MB log in " + (elapsedNanos / 1_000_000) + "ms");
+
+		assertThat(match).isEqualTo("CWWKF0011I: The defaultServer server is ready");
+	}
+}
@@ -5,8 +5,11 @@
  */
 package dev.galasa.textscan;
 
+import java.io.IOException;
 import java.io.InputStream;
 
+import org.apache.commons.io.IOUtils;
+
 /**
  * This interface provides a access to a text resource that can be repeatedly updated and scanned for text.
  * Examples with be a running batch job, docker container log or a linux server log.
@@ -63,4 +66,56 @@ public interface ITextScannable {
      * @throws TextScanException if there is an error retrieving the text
      */
 	public String getScannableString() throws TextScanException;
+    
+    /**
+     * Can the size of the scannable be found without fetching the text, and the text after a checkpoint be 
+     * fetched on its own.  Scannables that cannot seek are fetched in full to checkpoint them.
+     * 
+     * @return true if the scannable supports {@link #getScannableSize()}
+     */
+	public default boolean isScannableSeekable() {
+		return false;
+	}
+    
+    /**
+     * Fetch the current size of the scannable, used as the checkpoint of a seekable scannable
+     * 
+     * @return the number of bytes of an inputstream scannable, or the number of characters of a String scannable
+     * @throws TextScanException If there is an error finding the size or the scannable is not seekable
+     */
+	public default long getScannableSize() throws TextScanException {
+		throw new TextScanException("Scannable '" + getScannableName() + "' is not seekable");
+	}
+    
+    /**
+     * Fetch the InputStream for the scannable from an offset, the default fetches the whole inputstream
+     * and skips to the offset
+     * 
+     * @param offset the number of bytes to skip
+     * @return The latest inputstream, positioned at the offset
+     * @throws TextScanException If there is an error fetching the inputstream or it is shorter than the offset
+     */
+	public default InputStream getScannableInputStream(long offset) throws TextScanException {
+		InputStream inputStream = getScannableInputStream();
+		try {
+			long skipped = IOUtils.skip(inputStream, offset);
+			if (skipped != offset) {
+				throw new IOException("Failed to skip " + offset + " bytes. Actual bytes skipped " + skipped);
+			}
+		} catch (IOException e) {
+			throw new TextScanException("Unable to skip to offset of scannable '" + getScannableName() + "'", e);
+		}
+		return inputStream;
+	}
+    
+    /**
+     * Fetch the latest scannable text from an offset, the default fetches the whole text
+     * 
+     * @param offset the number of characters to skip
+     * @return The latest scannable text after the offset
+     * @throws TextScanException if there is an error retrieving the text
+     */
+	public default String getScannableString(long offset) throws TextScanException {
+		return getScannableString().substring((int) offset);
+	}
 }
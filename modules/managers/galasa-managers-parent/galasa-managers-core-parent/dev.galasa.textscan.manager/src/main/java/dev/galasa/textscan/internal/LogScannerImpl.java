@@ -6,6 +6,7 @@
 package dev.galasa.textscan.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOUtils;
@@ -59,10 +60,12 @@ public class LogScannerImpl implements ILogScanner {
     @Override
     public ILogScanner checkpoint() throws TextScanException {
     	checkScannableNoNull();
-    	if (this.scannable.isScannableInputStream()) {
-    		try {
-				byte[] bytes = IOUtils.toByteArray(this.scannable.getScannableInputStream());
-				this.checkpoint = bytes.length;
+    	if (this.scannable.isScannableSeekable()) {
+    		this.checkpoint = this.scannable.getScannableSize();
+    	} else if (this.scannable.isScannableInputStream()) {
+    		// *** Count the bytes as they are read rather than holding the whole log in memory
+    		try (InputStream inputStream = this.scannable.getScannableInputStream()) {
+				this.checkpoint = IOUtils.consume(inputStream);
 			} catch (IOException e) {
 	    		throw new TextScanException("Unable to checkpoint scannable '" + this.scannableName + QUOTE, e);
 			}
@@ -97,10 +100,9 @@ public class LogScannerImpl implements ILogScanner {
     	checkIsCheckpointed();
     	try {
     		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			this.textScanner.scan(this.scannable.getScannableInputStream(), searchPattern, failPattern, count);
+    			this.textScanner.scan(getScannableInputStreamSinceCheckpoint(), searchPattern, failPattern, count);
     		} else if (this.scannable.isScannableString()) {
-    			this.textScanner.scan(this.scannable.getScannableString().substring((int) this.checkpoint), searchPattern, failPattern, count);
+    			this.textScanner.scan(this.scannable.getScannableString(this.checkpoint), searchPattern, failPattern, count);
     		} else {
     			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
     		}
@@ -121,10 +123,9 @@ public class LogScannerImpl implements ILogScanner {
     	checkIsCheckpointed();
     	try {
     		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			this.textScanner.scan(this.scannable.getScannableInputStream(), searchString, failString, count);
+    			this.textScanner.scan(getScannableInputStreamSinceCheckpoint(), searchString, failString, count);
     		} else if (this.scannable.isScannableString()) {
-    			this.textScanner.scan(this.scannable.getScannableString().substring((int) this.checkpoint), searchString, failString, count);
+    			this.textScanner.scan(this.scannable.getScannableString(this.checkpoint), searchString, failString, count);
     		} else {
     			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
     		}
@@ -145,10 +146,9 @@ public class LogScannerImpl implements ILogScanner {
     	checkIsCheckpointed();
     	try {
     		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			return this.textScanner.scanForMatch(this.scannable.getScannableInputStream(), searchPattern, failPattern, occurrance);
+    			return this.textScanner.scanForMatch(getScannableInputStreamSinceCheckpoint(), searchPattern, failPattern, occurrance);
     		} else if (this.scannable.isScannableString()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableString().substring((int) this.checkpoint), searchPattern, failPattern, occurrance);
+    			return this.textScanner.scanForMatch(this.scannable.getScannableString(this.checkpoint), searchPattern, failPattern, occurrance);
     		} else {
     			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
     		}
@@ -166,10 +166,9 @@ public class LogScannerImpl implements ILogScanner {
     	checkIsCheckpointed();
     	try {
     		if (this.scannable.isScannableInputStream()) {
-    			skipToCheckpoint();
-    			return this.textScanner.scanForMatch(this.scannable.getScannableInputStream(), searchString, failString, occurrance);
+    			return this.textScanner.scanForMatch(getScannableInputStreamSinceCheckpoint(), searchString, failString, occurrance);
     		} else if (this.scannable.isScannableString()) {
-    			return this.textScanner.scanForMatch(this.scannable.getScannableString().substring((int) this.checkpoint), searchString, failString, occurrance);
+    			return this.textScanner.scanForMatch(this.scannable.getScannableString(this.checkpoint), searchString, failString, occurrance);
     		} else {
     			throw new TextScanException(MESSAGE_UNKNOWN_SCANNABLE_TYPE);
     		}
@@ -287,20 +286,14 @@ public class LogScannerImpl implements ILogScanner {
 		}
 	}
 
-	protected void skipToCheckpoint() throws TextScanException {
+	protected InputStream getScannableInputStreamSinceCheckpoint() throws TextScanException {
 		if (getCheckpoint() == -1) {
 			logger.warn("Log '" + this.scannableName + "' has not been checkpointed");
-			return;
-		}
-		try {
-			this.scannable.updateScannable();
-			long skipped = this.scannable.getScannableInputStream().skip(this.checkpoint);
-			if (skipped != this.checkpoint) {
-				throw new IOException("Failed to skip " + checkpoint + " bytes. Actual bytes skipped " + skipped);
-			}
-		} catch (IOException e) {
-			throw new TextScanException("Unable to skip to checkpoint of scannable '" + this.scannableName + QUOTE, e);
+			return this.scannable.getScannableInputStream();
 		}
+		this.scannable.updateScannable();
+		// *** A seekable scannable only fetches the text after the checkpoint
+		return this.scannable.getScannableInputStream(this.checkpoint);
 	}
 
 }
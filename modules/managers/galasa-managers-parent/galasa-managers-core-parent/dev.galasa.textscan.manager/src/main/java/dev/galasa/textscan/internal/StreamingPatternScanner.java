@@ -0,0 +1,199 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scans a stream of text for any number of patterns in one pass, reading it in
+ * chunks into a window that is reused rather than building a string per line.
+ *
+ * The matches of each pattern are found as they would be in the whole text, so
+ * they do not overlap, with a match able to span up to 10 lines. Only the last
+ * lines of the window are kept between chunks, so lines are only scanned again
+ * where a match might continue into the next chunk. Line ends are read as '\n',
+ * and the last line always has one.
+ *
+ * A scanner is for one stream, so is not thread safe.
+ */
+class StreamingPatternScanner {
+
+	private static final int CHUNK_SIZE   = 64 * 1024;
+	private static final int WINDOW_LINES = 10;
+
+	/**
+	 * Receives the matches in the order they end, and for matches ending at the
+	 * same place in the order of the patterns
+	 */
+	interface IMatchHandler {
+		/**
+		 * @param pattern - the index of the pattern that matched
+		 * @param window - the text the match positions refer to, only valid during the call
+		 * @return true to stop the scan
+		 */
+		boolean matched(int pattern, CharSequence window, int start, int end);
+	}
+
+	private final Matcher[] matchers;
+	private final int[]     scanFrom;
+
+	private char[]  window = new char[CHUNK_SIZE * 2];
+	private int     length;
+	private boolean skipLineFeed;
+
+	// The matches found in the window, waiting to be passed on in order
+	private int[] matchPatterns = new int[16];
+	private int[] matchStarts   = new int[16];
+	private int[] matchEnds     = new int[16];
+	private int   matchCount;
+
+	StreamingPatternScanner(Pattern... patterns) {
+		this.matchers = new Matcher[patterns.length];
+		this.scanFrom = new int[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
+			this.matchers[i] = patterns[i].matcher("")
+					.useTransparentBounds(true)
+					.useAnchoringBounds(false);
+		}
+	}
+
+	void scan(Reader reader, IMatchHandler handler) throws IOException {
+		char[] chunk = new char[CHUNK_SIZE];
+		boolean endOfInput = false;
+		while (!endOfInput) {
+			int read = reader.read(chunk);
+			if (read < 0) {
+				endOfInput = true;
+				if (length > 0 && window[length - 1] != '\n') {
+					append('\n');
+				}
+			} else {
+				for (int i = 0; i < read; i++) {
+					appendNormalised(chunk[i]);
+				}
+			}
+
+			if (scanWindow(endOfInput, handler)) {
+				return;
+			}
+		}
+	}
+
+	private boolean scanWindow(boolean endOfInput, IMatchHandler handler) {
+		CharBuffer text = CharBuffer.wrap(window, 0, length);
+		int tailStart = endOfInput ? length : findTailStart();
+
+		matchCount = 0;
+		for (int i = 0; i < matchers.length; i++) {
+			Matcher matcher = matchers[i].reset(text);
+			matcher.region(scanFrom[i], length);
+
+			int lastEnd = scanFrom[i];
+			int keepFrom = -1;
+			while (matcher.find()) {
+				if (!endOfInput && matcher.hitEnd()) {
+					// *** The match might be different with more of the text, so try it again with the next chunk
+					keepFrom = matcher.start();
+					break;
+				}
+				addMatch(i, matcher.start(), matcher.end());
+				// *** Do not find an empty match again
+				lastEnd = (matcher.end() == matcher.start()) ? Math.min(matcher.end() + 1, length) : matcher.end();
+			}
+			if (keepFrom < 0) {
+				// *** If the search reached the end of the window, a match might start in it and continue into the next chunk
+				keepFrom = (!endOfInput && matcher.hitEnd()) ? lastEnd : length;
+			}
+			scanFrom[i] = Math.max(keepFrom, tailStart);
+		}
+
+		if (passMatches(text, handler)) {
+			return true;
+		}
+
+		// *** Keep the last lines, they might be needed by a match continuing into the next chunk
+		System.arraycopy(window, tailStart, window, 0, length - tailStart);
+		length -= tailStart;
+		for (int i = 0; i < scanFrom.length; i++) {
+			scanFrom[i] -= tailStart;
+		}
+		return false;
+	}
+
+	private boolean passMatches(CharSequence text, IMatchHandler handler) {
+		if (matchCount == 0) {
+			return false;
+		}
+
+		Integer[] order = new Integer[matchCount];
+		for (int i = 0; i < matchCount; i++) {
+			order[i] = i;
+		}
+		if (matchers.length > 1) {
+			Arrays.sort(order, (a, b) -> {
+				int compare = Integer.compare(matchEnds[a], matchEnds[b]);
+				return (compare != 0) ? compare : Integer.compare(matchPatterns[a], matchPatterns[b]);
+			});
+		}
+
+		for (Integer match : order) {
+			if (handler.matched(matchPatterns[match], text, matchStarts[match], matchEnds[match])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return where the last lines of the window start, those that a match
+	 * ending in the next chunk could still span
+	 */
+	private int findTailStart() {
+		int lineEnds = 0;
+		for (int i = length - 1; i >= 0; i--) {
+			if (window[i] == '\n') {
+				lineEnds++;
+				if (lineEnds == WINDOW_LINES) {
+					return i + 1;
+				}
+			}
+		}
+		return 0;
+	}
+
+	private void addMatch(int pattern, int start, int end) {
+		if (matchCount == matchStarts.length) {
+			matchPatterns = Arrays.copyOf(matchPatterns, matchCount * 2);
+			matchStarts = Arrays.copyOf(matchStarts, matchCount * 2);
+			matchEnds = Arrays.copyOf(matchEnds, matchCount * 2);
+		}
+		matchPatterns[matchCount] = pattern;
+		matchStarts[matchCount] = start;
+		matchEnds[matchCount] = end;
+		matchCount++;
+	}
+
+	private void appendNormalised(char c) {
+		if (c == '\n' && skipLineFeed) {
+			skipLineFeed = false;
+			return;
+		}
+		skipLineFeed = (c == '\r');
+		append(skipLineFeed ? '\n' : c);
+	}
+
+	private void append(char c) {
+		if (length == window.length) {
+			window = Arrays.copyOf(window, window.length * 2);
+		}
+		window[length++] = c;
+	}
+}
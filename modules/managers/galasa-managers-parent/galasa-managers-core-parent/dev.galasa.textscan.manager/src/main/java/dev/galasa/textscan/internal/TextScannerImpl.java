@@ -9,8 +9,6 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,6 +18,7 @@ import dev.galasa.textscan.ITextScanner;
 import dev.galasa.textscan.IncorrectOccurrencesException;
 import dev.galasa.textscan.MissingTextException;
 import dev.galasa.textscan.TextScanException;
+import dev.galasa.textscan.internal.StreamingPatternScanner.IMatchHandler;
 
 public class TextScannerImpl implements ITextScanner {	
 
@@ -115,53 +114,27 @@ public class TextScannerImpl implements ITextScanner {
 			throw new TextScanException(MSG_INVALID_COUNT);
 		}
 
-		ArrayList<Integer> foundPatternStartPositions = new ArrayList<>();
-		LinkedList<String> buffer = new LinkedList<>();
+		int[] found = new int[1];
 
-		int offset = 0;
-
-		try (BufferedReader reader = new BufferedReader (new InputStreamReader(inputStream))){
-			String line = "";
-			while ((line = reader.readLine()) != null) {
-				buffer.add(line);
-				if (buffer.size() > 10) {
-					offset = offset + buffer.remove(0).length() + 1;
-				}
-
-				// Build a String from the current buffer
-				StringBuilder sb = new StringBuilder();
-				for (String queueLine : buffer) {
-					sb.append(queueLine);
-					sb.append("\n");
-				}
-
-				String currentBuffer = sb.toString();
-
-				if (failPattern != null && failPattern.matcher(currentBuffer).find()) {
-					throw new FailTextFoundException(String.format(MSG_FAIL_FOUND, PATTERN, failPattern));
-				}
-
-				Matcher m = searchPattern.matcher(currentBuffer);
-				while (m.find()) {
-
-					int stp = m.start() + offset;
-					if (!foundPatternStartPositions.contains(stp)) {
-						foundPatternStartPositions.add(stp);
-
-					}
-				}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+			String failText = scanInputStream(reader, searchPattern, failPattern, (pattern, window, start, end) -> {
+				found[0]++;
+				return false;
+			});
+			if (failText != null) {
+				throw new FailTextFoundException(String.format(MSG_FAIL_FOUND, PATTERN, failPattern));
 			}
-			if (foundPatternStartPositions.size() >= count) {
+			if (found[0] >= count) {
 				return this;
 			}
 		} catch (IOException e) {
 			throw new TextScanException("Problem in InputStream scan", e);
 		}
 
-		if(foundPatternStartPositions.isEmpty()) {
+		if(found[0] == 0) {
 			throw new MissingTextException(String.format(MSG_SEARCH_NOT_FOUND, PATTERN, searchPattern));
 		}
-		throw new IncorrectOccurrencesException(String.format(MSG_EXPECTING_BUT_FOUND, count, PATTERN, searchPattern, foundPatternStartPositions.size()));
+		throw new IncorrectOccurrencesException(String.format(MSG_EXPECTING_BUT_FOUND, count, PATTERN, searchPattern, found[0]));
 	}
 
 	@Override
@@ -267,58 +240,31 @@ public class TextScannerImpl implements ITextScanner {
 			throw new TextScanException(MSG_INVALID_COUNT);
 		}
 
-		ArrayList<Integer> foundPatternStartPositions = new ArrayList<>();
-		LinkedList<String> buffer = new LinkedList<>();
-
-		int offset = 0;
-		String foundString = "";
+		int[] found = new int[1];
+		String[] foundString = new String[1];
 
-		try (BufferedReader  reader = new BufferedReader (new InputStreamReader(inputStream))) {
-			String line = "";
-			while ((line =reader.readLine()) != null) {
-				buffer.add(line);
-				if (buffer.size() > 10) {
-					offset = offset + buffer.remove(0).length() + 1;
-				}
-
-				// Build a String from the current buffer
-				StringBuilder sb = new StringBuilder();
-				for (String queueLine : buffer) {
-					sb.append(queueLine);
-					sb.append("\n");
-				}
-
-				String currentBuffer = sb.toString();
-
-				if (failPattern != null) {
-					Matcher fm = failPattern.matcher(currentBuffer);
-					if (fm.find()) {
-						return fm.group(); 
-					}
-				}
-				
-				Matcher m = searchPattern.matcher(currentBuffer);
-
-				while (m.find()) {
-
-					int stp = m.start() + offset;
-					if (!foundPatternStartPositions.contains(stp)) {
-						foundPatternStartPositions.add(stp);
-						foundString = m.group();
-					} 
-					if (foundPatternStartPositions.size() >= occurrence) {
-						return foundString;
-					}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+			String failText = scanInputStream(reader, searchPattern, failPattern, (pattern, window, start, end) -> {
+				found[0]++;
+				if (found[0] >= occurrence) {
+					foundString[0] = window.subSequence(start, end).toString();
+					return true;
 				}
+				return false;
+			});
+			if (failText != null) {
+				return failText;
+			}
+			if (foundString[0] != null) {
+				return foundString[0];
 			}
-
 		} catch (IOException e) {
 			throw new TextScanException("Problem in InputStream scan", e);
 		}
-		if(foundPatternStartPositions.isEmpty()) {
+		if(found[0] == 0) {
 			throw new MissingTextException(String.format(MSG_SEARCH_NOT_FOUND, PATTERN, searchPattern));
 		}
-		throw new IncorrectOccurrencesException(String.format(MSG_UNABLE_TO_FIND_OCCURRENCE, occurrence, searchPattern, foundPatternStartPositions.size()));
+		throw new IncorrectOccurrencesException(String.format(MSG_UNABLE_TO_FIND_OCCURRENCE, occurrence, searchPattern, found[0]));
 	}
 
 	@Override
@@ -340,4 +286,30 @@ public class TextScannerImpl implements ITextScanner {
 		return match;
 	}
 
+	/**
+	 * Scan an InputStream for the search and fail patterns in one pass, stopping at
+	 * the first match of the fail pattern
+	 *
+	 * @return the text matched by the fail pattern, or null if it was not found
+	 */
+	private String scanInputStream(BufferedReader reader, Pattern searchPattern, Pattern failPattern, IMatchHandler searchHandler) throws IOException {
+		StreamingPatternScanner scanner;
+		if (failPattern == null) {
+			scanner = new StreamingPatternScanner(searchPattern);
+		} else {
+			// *** The fail pattern is first, so it wins when both matches end in the same place
+			scanner = new StreamingPatternScanner(failPattern, searchPattern);
+		}
+
+		String[] failText = new String[1];
+		scanner.scan(reader, (pattern, window, start, end) -> {
+			if (failPattern != null && pattern == 0) {
+				failText[0] = window.subSequence(start, end).toString();
+				return true;
+			}
+			return searchHandler.matched(pattern, window, start, end);
+		});
+		return failText[0];
+	}
+
 }
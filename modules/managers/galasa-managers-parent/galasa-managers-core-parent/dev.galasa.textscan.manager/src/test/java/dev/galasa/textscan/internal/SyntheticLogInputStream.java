@@ -0,0 +1,56 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Liberty style messages.log lines of about the given size, ending with a server is ready message
+ */
+class SyntheticLogInputStream extends InputStream {
+
+	private static final String LAST_LINE = "[18/10/26 12:00:00:000 UTC] 00000001 com.ibm.ws.kernel.feature.internal.FeatureManager A CWWKF0011I: The defaultServer server is ready to run a smarter planet.\n";
+
+	private final byte[] block;
+	private final byte[] lastLine = LAST_LINE.getBytes(StandardCharsets.UTF_8);
+	private final long   blocks;
+	private long         blockCount;
+	private int          position;
+
+	SyntheticLogInputStream(long size) {
+		StringBuilder lines = new StringBuilder();
+		for (int line = 0; lines.length() < 1024 * 1024; line++) {
+			lines.append("[18/10/26 12:00:00:000 UTC] 000000").append(line % 100)
+					.append(" com.ibm.ws.webcontainer I SRVE0242I: [app] [/app] [Servlet").append(line).append("]: Initialization successful.\n");
+		}
+		this.block = lines.toString().getBytes(StandardCharsets.UTF_8);
+		this.blocks = size / block.length;
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] b = new byte[1];
+		return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xff);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		byte[] current = (blockCount < blocks) ? block : lastLine;
+		if (blockCount > blocks) {
+			return -1;
+		}
+		int read = Math.min(len, current.length - position);
+		System.arraycopy(current, position, b, off, read);
+		position += read;
+		if (position == current.length) {
+			position = 0;
+			blockCount++;
+		}
+		return read;
+	}
+}
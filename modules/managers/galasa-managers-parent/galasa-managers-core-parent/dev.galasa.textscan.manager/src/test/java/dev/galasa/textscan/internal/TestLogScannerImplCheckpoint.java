@@ -0,0 +1,149 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import dev.galasa.textscan.ITextScannable;
+import dev.galasa.textscan.MissingTextException;
+import dev.galasa.textscan.TextScanException;
+
+public class TestLogScannerImplCheckpoint {
+
+    /**
+     * A log that can be appended to, which counts how often it is fetched in full
+     */
+    private static class GrowingLog implements ITextScannable {
+
+        private final boolean seekable;
+        private String        text = "";
+        private int           fullFetches;
+        private int           tailFetches;
+
+        GrowingLog(boolean seekable) {
+            this.seekable = seekable;
+        }
+
+        void append(String moreText) {
+            this.text = this.text + moreText;
+        }
+
+        @Override
+        public boolean isScannableInputStream() {
+            return true;
+        }
+
+        @Override
+        public boolean isScannableString() {
+            return false;
+        }
+
+        @Override
+        public String getScannableName() {
+            return "GrowingLog";
+        }
+
+        @Override
+        public ITextScannable updateScannable() throws TextScanException {
+            return this;
+        }
+
+        @Override
+        public InputStream getScannableInputStream() throws TextScanException {
+            fullFetches++;
+            return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String getScannableString() throws TextScanException {
+            return text;
+        }
+
+        @Override
+        public boolean isScannableSeekable() {
+            return seekable;
+        }
+
+        @Override
+        public long getScannableSize() throws TextScanException {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public InputStream getScannableInputStream(long offset) throws TextScanException {
+            if (!seekable) {
+                return ITextScannable.super.getScannableInputStream(offset);
+            }
+            tailFetches++;
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            return new ByteArrayInputStream(Arrays.copyOfRange(bytes, (int) offset, bytes.length));
+        }
+    }
+
+    @Test
+    public void testSeekableScannableIsNotFetchedToCheckpointOrScan() throws Exception {
+        // Given...
+        GrowingLog log = new GrowingLog(true);
+        log.append("Server starting\nServer started\n");
+        LogScannerImpl logScanner = new LogScannerImpl();
+        logScanner.setScannable(log);
+
+        // When...
+        logScanner.checkpoint();
+        log.append("Server stopping\nServer stopped\n");
+        String match = logScanner.scanForMatchSinceCheckpoint("Server stop", null, 2);
+
+        // Then...
+        assertThat(logScanner.getCheckpoint()).isEqualTo(31);
+        assertThat(match).isEqualTo("Server stop");
+        assertThat(log.fullFetches).isZero();
+        assertThat(log.tailFetches).isEqualTo(1);
+    }
+
+    @Test
+    public void testScannableThatCannotSeekOnlyScansSinceTheCheckpoint() throws Exception {
+        // Given...
+        GrowingLog log = new GrowingLog(false);
+        log.append("Server starting\nServer started\n");
+        LogScannerImpl logScanner = new LogScannerImpl();
+        logScanner.setScannable(log);
+
+        // When...
+        logScanner.checkpoint();
+        log.append("Server stopping\n");
+        Throwable thrown = catchThrowable(() -> logScanner.scanSinceCheckpoint("Server start", null, 1));
+
+        // Then...
+        assertThat(logScanner.getCheckpoint()).isEqualTo(31);
+        assertThat(thrown).isInstanceOf(MissingTextException.class);
+        assertThat(log.fullFetches).isEqualTo(2);
+    }
+
+    @Test
+    public void testScannableShorterThanTheCheckpointFails() throws Exception {
+        // Given...
+        GrowingLog log = new GrowingLog(false);
+        log.append("Server starting\n");
+        LogScannerImpl logScanner = new LogScannerImpl();
+        logScanner.setScannable(log);
+        logScanner.setCheckpoint(100);
+
+        // When...
+        Throwable thrown = catchThrowable(() -> logScanner.scanSinceCheckpoint("Server", null, 1));
+
+        // Then...
+        assertThat(thrown).isInstanceOf(TextScanException.class);
+        assertThat(thrown.getCause()).hasMessageContaining("Unable to skip to offset of scannable 'GrowingLog'");
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.textscan.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import dev.galasa.textscan.FailTextFoundException;
+import dev.galasa.textscan.TextScanManagerException;
+
+public class TestStreamingPatternScanner {
+
+	private List<String> scan(String text, Pattern... patterns) throws IOException {
+		List<String> matches = new ArrayList<>();
+		new StreamingPatternScanner(patterns).scan(new StringReader(text), (pattern, window, start, end) -> {
+			matches.add(pattern + ":" + window.subSequence(start, end));
+			return false;
+		});
+		return matches;
+	}
+
+	private int countInString(String text, Pattern pattern) {
+		Matcher matcher = pattern.matcher(text);
+		int count = 0;
+		while (matcher.find()) {
+			count++;
+		}
+		return count;
+	}
+
+	@Test
+	public void testMatchesSpanningChunksAreFoundOnce() throws IOException {
+		// Given...
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			text.append("Line ").append(i % 7).append('\n');
+		}
+		Pattern pattern = Pattern.compile("Line 5\nLine 6\nLine 0");
+
+		// When...
+		List<String> matches = scan(text.toString(), pattern);
+
+		// Then...
+		assertThat(matches).hasSize(countInString(text.toString(), pattern));
+	}
+
+	@Test
+	public void testGreedyMatchIsNotSplitAtTheEndOfAChunk() throws IOException {
+		// Given...
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			text.append(i % 10 == 9 ? "x" : "a").append("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+		}
+		Pattern pattern = Pattern.compile("a+");
+
+		// When...
+		List<String> matches = scan(text.toString(), pattern);
+
+		// Then...
+		assertThat(matches).hasSize(countInString(text.toString() + "\n", pattern));
+	}
+
+	@Test
+	public void testLineEndsAreReadAsNewLines() throws IOException {
+		// When...
+		List<String> matches = scan("Line 1\r\nLine 2\rLine 3", Pattern.compile("Line \\d\n"));
+
+		// Then...
+		assertThat(matches).containsExactly("0:Line 1\n", "0:Line 2\n", "0:Line 3\n");
+	}
+
+	@Test
+	public void testMatchesOfAllThePatternsAreInOrder() throws IOException {
+		// When...
+		List<String> matches = scan("one two\nthree two one\n", Pattern.compile("one"), Pattern.compile("t\\w+"));
+
+		// Then...
+		assertThat(matches).containsExactly("0:one", "1:two", "1:three", "1:two", "0:one");
+	}
+
+	@Test
+	public void testScanStopsWhenAsked() throws IOException {
+		// Given...
+		List<String> matches = new ArrayList<>();
+
+		// When...
+		new StreamingPatternScanner(Pattern.compile("a")).scan(new StringReader("aaaa"), (pattern, window, start, end) -> {
+			matches.add(window.subSequence(start, end).toString());
+			return matches.size() == 2;
+		});
+
+		// Then...
+		assertThat(matches).hasSize(2);
+	}
+
+	@Test
+	public void testSearchTextOnTheLastLineOfALargeLogIsFound() throws TextScanManagerException {
+		// When...
+		String match = new TextScannerImpl().scanForMatch(new SyntheticLogInputStream(4L * 1024 * 1024),
+				Pattern.compile("CWWKF0011I: The \\w+ server is ready"), Pattern.compile("CWWKE0701E"), 1);
+
+		// Then...
+		assertThat(match).isEqualTo("CWWKF0011I: The defaultServer server is ready");
+	}
+
+	@Test(expected = FailTextFoundException.class)
+	public void testFailTextOnTheLastLineOfALargeLogIsFound() throws TextScanManagerException {
+		// When...
+		new TextScannerImpl().scan(new SyntheticLogInputStream(4L * 1024 * 1024),
+				Pattern.compile("SRVE0242I"), Pattern.compile("CWWKF0011I"), 1);
+	}
+}
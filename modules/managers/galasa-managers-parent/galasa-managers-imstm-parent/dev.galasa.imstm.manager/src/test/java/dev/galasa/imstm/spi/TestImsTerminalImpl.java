@@ -34,9 +34,11 @@ import dev.galasa.zos.IZosImage;
 import dev.galasa.zos3270.common.screens.TerminalSize;
 import dev.galasa.zos3270.internal.comms.Network;
 import dev.galasa.zos3270.internal.properties.ApplyConfidentialTextFiltering;
+import dev.galasa.zos3270.internal.properties.DeltaTerminalRecordings;
 import dev.galasa.zos3270.internal.properties.LiveTerminalUrl;
 import dev.galasa.zos3270.internal.properties.LogConsoleTerminals;
 import dev.galasa.zos3270.internal.properties.TerminalDeviceTypes;
+import dev.galasa.zos3270.internal.properties.VirtualNetworkThreads;
 import dev.galasa.zos3270.spi.NetworkException;
 import dev.galasa.zos3270.spi.Screen;
 
@@ -100,7 +102,9 @@ public class TestImsTerminalImpl {
         MockedStatic<ApplyConfidentialTextFiltering> filtering = Mockito.mockStatic(ApplyConfidentialTextFiltering.class);
         MockedStatic<LiveTerminalUrl> url = Mockito.mockStatic(LiveTerminalUrl.class);
         MockedStatic<TerminalDeviceTypes> deviceTypes = Mockito.mockStatic(TerminalDeviceTypes.class);
-        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class)) {
+        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class);
+        MockedStatic<DeltaTerminalRecordings> deltaRecordings = Mockito.mockStatic(DeltaTerminalRecordings.class);
+        MockedStatic<VirtualNetworkThreads> virtualThreads = Mockito.mockStatic(VirtualNetworkThreads.class)) {
             terminal = new ImsTerminalImpl(imsManager, framework, system, HOST, PORT, SSL, AUTOCONNECT, textScanManager, CREDENTIALS_TAG);
             verifyConstructorActions(networks.constructed(), deviceTypes, screens.constructed());
             Assert.assertEquals("Wrong login credentials tag was saved", CREDENTIALS_TAG, terminal.getLoginCredentialsTag());
@@ -130,7 +134,9 @@ public class TestImsTerminalImpl {
         MockedStatic<ApplyConfidentialTextFiltering> filtering = Mockito.mockStatic(ApplyConfidentialTextFiltering.class);
         MockedStatic<LiveTerminalUrl> url = Mockito.mockStatic(LiveTerminalUrl.class);
         MockedStatic<TerminalDeviceTypes> deviceTypes = Mockito.mockStatic(TerminalDeviceTypes.class);
-        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class)) {
+        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class);
+        MockedStatic<DeltaTerminalRecordings> deltaRecordings = Mockito.mockStatic(DeltaTerminalRecordings.class);
+        MockedStatic<VirtualNetworkThreads> virtualThreads = Mockito.mockStatic(VirtualNetworkThreads.class)) {
             terminal = new ImsTerminalImpl(imsManager, framework, system, ipHost, AUTOCONNECT, textScanManager, CREDENTIALS_TAG);
             verifyConstructorActions(networks.constructed(), deviceTypes, screens.constructed());
             Assert.assertEquals("Wrong login credentials tag was saved", CREDENTIALS_TAG, terminal.getLoginCredentialsTag());
@@ -160,7 +166,9 @@ public class TestImsTerminalImpl {
         MockedStatic<ApplyConfidentialTextFiltering> filtering = Mockito.mockStatic(ApplyConfidentialTextFiltering.class);
         MockedStatic<LiveTerminalUrl> url = Mockito.mockStatic(LiveTerminalUrl.class);
         MockedStatic<TerminalDeviceTypes> deviceTypes = Mockito.mockStatic(TerminalDeviceTypes.class);
-        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class)) {
+        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class);
+        MockedStatic<DeltaTerminalRecordings> deltaRecordings = Mockito.mockStatic(DeltaTerminalRecordings.class);
+        MockedStatic<VirtualNetworkThreads> virtualThreads = Mockito.mockStatic(VirtualNetworkThreads.class)) {
             terminal = new ImsTerminalImpl(imsManager, framework, system, AUTOCONNECT, textScanManager, CREDENTIALS_TAG);
             verifyConstructorActions(networks.constructed(), deviceTypes, screens.constructed());
             Assert.assertEquals("Wrong login credentials tag was saved", CREDENTIALS_TAG, terminal.getLoginCredentialsTag());
@@ -190,7 +198,9 @@ public class TestImsTerminalImpl {
         MockedStatic<ApplyConfidentialTextFiltering> filtering = Mockito.mockStatic(ApplyConfidentialTextFiltering.class);
         MockedStatic<LiveTerminalUrl> url = Mockito.mockStatic(LiveTerminalUrl.class);
         MockedStatic<TerminalDeviceTypes> deviceTypes = Mockito.mockStatic(TerminalDeviceTypes.class);
-        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class)) {
+        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class);
+        MockedStatic<DeltaTerminalRecordings> deltaRecordings = Mockito.mockStatic(DeltaTerminalRecordings.class);
+        MockedStatic<VirtualNetworkThreads> virtualThreads = Mockito.mockStatic(VirtualNetworkThreads.class)) {
             terminal = new ImsTerminalImpl(imsManager, framework, system, AUTOCONNECT, textScanManager);
             verifyConstructorActions(networks.constructed(), deviceTypes, screens.constructed());
             Assert.assertEquals("Wrong login credentials tag was saved", "", terminal.getLoginCredentialsTag());
@@ -292,7 +302,9 @@ public class TestImsTerminalImpl {
         try (MockedStatic<ApplyConfidentialTextFiltering> filtering = Mockito.mockStatic(ApplyConfidentialTextFiltering.class);
         MockedStatic<LiveTerminalUrl> url = Mockito.mockStatic(LiveTerminalUrl.class);
         MockedStatic<TerminalDeviceTypes> deviceTypes = Mockito.mockStatic(TerminalDeviceTypes.class);
-        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class)) {
+        MockedStatic<LogConsoleTerminals> consoles = Mockito.mockStatic(LogConsoleTerminals.class);
+        MockedStatic<DeltaTerminalRecordings> deltaRecordings = Mockito.mockStatic(DeltaTerminalRecordings.class);
+        MockedStatic<VirtualNetworkThreads> virtualThreads = Mockito.mockStatic(VirtualNetworkThreads.class)) {
             terminal = new ImsTerminalImpl(imsManager, framework, system, AUTOCONNECT, textScanManager);
         }
     }
@@ -44,6 +44,7 @@ import dev.galasa.artifact.IArtifactManager;
 import dev.galasa.artifact.IBundleResources;
 import dev.galasa.artifact.TestBundleResourceException;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.FrameworkPropertyJournal;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
 import dev.galasa.framework.spi.utils.GalasaGson;
@@ -839,12 +840,13 @@ public abstract class LocalEcosystemImpl extends AbstractEcosystemImpl implement
     @Override
     public String getDssProperty(@NotNull String property) throws GalasaEcosystemManagerException {
         try {
-            Properties currentDss = new Properties();
-            try (InputStream isDss = Files.newInputStream(this.dssFile)) {
-                currentDss.load(isDss);
+            // *** The ecosystem keeps its changes in a journal beside the properties file
+            FrameworkPropertyJournal currentDss = new FrameworkPropertyJournal(this.dssFile.toUri());
+            try {
+                return currentDss.get(property);
+            } finally {
+                currentDss.shutdown();
             }
-
-            return currentDss.getProperty(property);
         } catch(Exception e) {
             throw new GalasaEcosystemManagerException("Problem inspecting the DSS", e);
         }
@@ -853,19 +855,15 @@ public abstract class LocalEcosystemImpl extends AbstractEcosystemImpl implement
     @Override
     public void setDssProperty(@NotNull String property, String value) throws GalasaEcosystemManagerException {
         try {
-            Properties currentDss = new Properties();
-            try (InputStream isDss = Files.newInputStream(this.dssFile)) {
-                currentDss.load(isDss);
-            }
-
-            if (value == null) {
-                currentDss.remove(property);
-            } else {
-                currentDss.put(property, value);
-            }
-
-            try (OutputStream osDss = Files.newOutputStream(this.dssFile)) {
-                currentDss.store(osDss, "Galasa ecosystem manager");
+            FrameworkPropertyJournal currentDss = new FrameworkPropertyJournal(this.dssFile.toUri());
+            try {
+                if (value == null) {
+                    currentDss.delete(property);
+                } else {
+                    currentDss.set(property, value);
+                }
+            } finally {
+                currentDss.shutdown();
             }
         } catch(Exception e) {
             throw new GalasaEcosystemManagerException("Problem updating the DSS", e);
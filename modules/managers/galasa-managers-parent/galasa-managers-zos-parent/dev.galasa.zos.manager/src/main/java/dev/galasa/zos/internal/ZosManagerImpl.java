@@ -6,6 +6,8 @@
 package dev.galasa.zos.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
@@ -660,6 +662,18 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
         }
     }
 
+    @Override
+    public void storeArtifact(Path artifactPath, InputStream content, ResultArchiveStoreContentType type) throws ZosManagerException {
+        try (InputStream in = content) {
+            Files.createFile(artifactPath, type);
+            try (OutputStream out = Files.newOutputStream(artifactPath)) {
+                in.transferTo(out);
+            }
+        } catch (IOException e) {
+            throw new ZosManagerException("Unable to store artifact", e);
+        }
+    }
+
     @Override
     public void createArtifactDirectory(Path artifactPath) throws ZosManagerException {
         try {
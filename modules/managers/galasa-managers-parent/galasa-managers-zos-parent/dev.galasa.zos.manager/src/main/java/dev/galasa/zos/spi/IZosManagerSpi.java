@@ -5,6 +5,7 @@
  */
 package dev.galasa.zos.spi;
 
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.HashMap;
 
@@ -168,6 +169,15 @@ public interface IZosManagerSpi extends IZosManager {
 	 */
 	void storeArtifact(Path artifactPath, String content, ResultArchiveStoreContentType type) throws ZosManagerException;
 
+	/**
+	 * Store an artifact in the results archive on behalf of another manager, copying the
+	 * content from a stream rather than holding it all in memory. The stream is closed afterwards
+	 * @param artifactPath
+	 * @param content
+	 * @param type
+	 */
+	void storeArtifact(Path artifactPath, InputStream content, ResultArchiveStoreContentType type) throws ZosManagerException;
+
 	/**
 	 * Create an empty dirictory in the results archive on behalf of another manager
 	 * @param artifactPath
@@ -0,0 +1,82 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.spi;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import dev.galasa.ResultArchiveStoreContentType;
+import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zos.spi.ZosRequestPool.Request;
+
+/**
+ * Stores many text artifacts in the results archive at once, filling them on the threads of a
+ * {@link ZosRequestPool}. Get one with {@link ZosRequestPool#newArtifactRequests(IZosManagerSpi, Path)}.
+ *
+ * <p>Each artifact is named and created when it is added, and the artifacts are only filled by
+ * {@link #sendAll()}. Naming and creating the artifacts in order means that duplicate names are given
+ * the same suffixes by {@link IZosManagerSpi#buildUniquePathName(Path, String)} as when the artifacts
+ * were stored one at a time.</p>
+ *
+ * @param <P> the processor the requests are sent with
+ * @param <E> the exception the requests throw
+ */
+public class ZosArtifactRequests<P, E extends Exception> {
+
+    /**
+     * A request which fills an artifact that has already been created
+     */
+    @FunctionalInterface
+    public interface ArtifactRequest<P, E extends Exception> {
+        void send(P processor, Path artifact) throws E;
+    }
+
+    private final ZosRequestPool<P, E> requestPool;
+    private final IZosManagerSpi zosManager;
+    private final Path artifactPath;
+    private final Function<Throwable, E> exceptionWrapper;
+    private final List<Request<P, Void, E>> requests = new ArrayList<>();
+
+    ZosArtifactRequests(ZosRequestPool<P, E> requestPool, IZosManagerSpi zosManager, Path artifactPath, Function<Throwable, E> exceptionWrapper) {
+        this.requestPool = requestPool;
+        this.zosManager = zosManager;
+        this.artifactPath = artifactPath;
+        this.exceptionWrapper = exceptionWrapper;
+    }
+
+    /**
+     * Create an empty artifact and add the request which will fill it
+     * @param name the name of the artifact, which is made unique in the artifact directory
+     * @param request the request to fill the artifact
+     * @return the artifact
+     * @throws E if the artifact could not be created
+     */
+    public Path add(String name, ArtifactRequest<P, E> request) throws E {
+        Path artifact = this.artifactPath.resolve(this.zosManager.buildUniquePathName(this.artifactPath, name));
+        try {
+            Files.createFile(artifact, ResultArchiveStoreContentType.TEXT);
+        } catch (IOException e) {
+            throw this.exceptionWrapper.apply(new ZosManagerException("Unable to store artifact", e));
+        }
+        this.requests.add(processor -> {
+            request.send(processor, artifact);
+            return null;
+        });
+        return artifact;
+    }
+
+    /**
+     * Send the requests on the threads of the pool and wait for all of them to finish
+     * @throws E if any of the requests failed
+     */
+    public void sendAll() throws E {
+        this.requestPool.sendAll(this.requests);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.spi;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A bounded pool of threads for sending many requests to a zOS image at once, such as
+ * retrieving the spool files of a batch job or the members of a data set.
+ *
+ * <p>The pool holds one processor for each thread, and each request is given a processor
+ * no other request is using. The processors are created when the pool is first used.</p>
+ *
+ * @param <P> the processor the requests are sent with
+ * @param <E> the exception the requests throw
+ */
+public class ZosRequestPool<P, E extends Exception> {
+
+    /**
+     * A request sent on the pool
+     */
+    @FunctionalInterface
+    public interface Request<P, T, E extends Exception> {
+        T send(P processor) throws E;
+    }
+
+    /**
+     * Creates the processors of the pool
+     */
+    @FunctionalInterface
+    public interface ProcessorFactory<P, E extends Exception> {
+        P newProcessor() throws E;
+    }
+
+    private final String name;
+    private final int size;
+    private final ProcessorFactory<P, E> processorFactory;
+    private final Class<E> exceptionType;
+    private final Function<Throwable, E> exceptionWrapper;
+    private final BlockingQueue<P> idleProcessors = new LinkedBlockingQueue<>();
+    private ExecutorService executor;
+
+    private static final Log logger = LogFactory.getLog(ZosRequestPool.class);
+
+    /**
+     * @param name the name of the threads of the pool
+     * @param size the number of threads
+     * @param processorFactory creates a processor for each thread
+     * @param exceptionType the exception the requests throw, which is thrown unchanged by {@link #sendAll(List)}
+     * @param exceptionWrapper wraps any other failure in the exception the requests throw
+     */
+    public ZosRequestPool(String name, int size, ProcessorFactory<P, E> processorFactory, Class<E> exceptionType, Function<Throwable, E> exceptionWrapper) {
+        this.name = name;
+        this.size = size;
+        this.processorFactory = processorFactory;
+        this.exceptionType = exceptionType;
+        this.exceptionWrapper = exceptionWrapper;
+    }
+
+    /**
+     * Send requests on the threads of the pool and wait for all of them to finish
+     * @param requests the requests
+     * @return the results, in the order of the requests
+     * @throws E if any of the requests failed
+     */
+    public <T> List<T> sendAll(List<? extends Request<P, T, E>> requests) throws E {
+        List<Future<T>> futures = new ArrayList<>(requests.size());
+        synchronized (this) {
+            start();
+            for (Request<P, T, E> request : requests) {
+                futures.add(this.executor.submit(() -> {
+                    P processor = this.idleProcessors.take();
+                    try {
+                        return request.send(processor);
+                    } finally {
+                        this.idleProcessors.add(processor);
+                    }
+                }));
+            }
+        }
+
+        List<T> results = new ArrayList<>(requests.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            logger.error("Requests on " + this.name + " interrupted", e);
+            Thread.currentThread().interrupt();
+            throw this.exceptionWrapper.apply(e);
+        } catch (ExecutionException e) {
+            if (this.exceptionType.isInstance(e.getCause())) {
+                throw this.exceptionType.cast(e.getCause());
+            }
+            throw this.exceptionWrapper.apply(e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Start a set of requests which each fill a new artifact in the results archive
+     * @param zosManager the zOS manager, which names the artifacts
+     * @param artifactPath the directory to create the artifacts in
+     * @return the requests, to add to and then send
+     */
+    public ZosArtifactRequests<P, E> newArtifactRequests(IZosManagerSpi zosManager, Path artifactPath) {
+        return new ZosArtifactRequests<>(this, zosManager, artifactPath, this.exceptionWrapper);
+    }
+
+    protected void start() throws E {
+        if (this.executor != null) {
+            return;
+        }
+        this.idleProcessors.clear();
+        for (int i = 0; i < this.size; i++) {
+            this.idleProcessors.add(this.processorFactory.newProcessor());
+        }
+        this.executor = Executors.newFixedThreadPool(this.size, runnable -> {
+            Thread thread = new Thread(runnable, this.name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stop the threads of the pool
+     */
+    public synchronized void shutdown() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+        this.idleProcessors.clear();
+    }
+}
@@ -28,4 +28,28 @@ public interface IZosBatchJobOutputSpi extends IZosBatchJobOutput {
 	 */
 	public void addJcl(String fileOutput);
 
+	/**
+	 * Build the results archive artifact name of a spool file, before it is made unique
+	 * @param jobid
+	 * @param stepname the step name, or null
+	 * @param procstep the procedure step name, or null
+	 * @param ddname
+	 * @return the name
+	 */
+	public static String spoolFileArtifactName(String jobid, String stepname, String procstep, String ddname) {
+		StringBuilder name = new StringBuilder();
+		name.append(jobid);
+		if (stepname != null && !stepname.isEmpty()) {
+			name.append("_");
+			name.append(stepname);
+		}
+		if (procstep != null && !procstep.isEmpty()) {
+			name.append("_");
+			name.append(procstep);
+		}
+		name.append("_");
+		name.append(ddname);
+		return name.toString();
+	}
+
 }
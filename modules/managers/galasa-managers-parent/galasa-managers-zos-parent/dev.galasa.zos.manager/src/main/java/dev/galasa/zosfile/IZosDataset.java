@@ -5,7 +5,9 @@
  */
 package dev.galasa.zosfile;
 
+import java.io.InputStream;
 import java.util.Collection;
+import java.util.Map;
 
 import javax.validation.constraints.NotNull;
 
@@ -257,6 +259,15 @@ public interface IZosDataset {
      */
     public byte[] retrieveAsBinary() throws ZosDatasetException;
 
+    /**
+     * Retrieve content of the data set as a stream, without holding all of it in memory.
+     * The caller must close the stream
+     * <p>See {@link #setDataType(DatasetDataType)}
+     * @return data set content
+     * @throws ZosDatasetException
+     */
+    public InputStream retrieveAsStream() throws ZosDatasetException;
+
     /**
      * Store the content of the data set to the Results Archive Store
      * @param rasPath path in Results Archive Store
@@ -315,6 +326,22 @@ public interface IZosDataset {
      * @throws ZosDatasetException
      */
     public void memberStoreBinary(@NotNull String memberName, @NotNull byte[] content) throws ZosDatasetException;
+
+    /**
+     * Write content to several partitioned data set members in Text mode. The members may be
+     * written concurrently
+     * @param members the content of each member, keyed by member name
+     * @throws ZosDatasetException
+     */
+    public void memberStoreText(@NotNull Map<String, String> members) throws ZosDatasetException;
+
+    /**
+     * Write content to several partitioned data set members in Binary mode. The members may be
+     * written concurrently
+     * @param members the content of each member, keyed by member name
+     * @throws ZosDatasetException
+     */
+    public void memberStoreBinary(@NotNull Map<String, byte[]> members) throws ZosDatasetException;
     
     /**
      * Retrieve content from the partitioned data set member in Text mode
@@ -332,6 +359,15 @@ public interface IZosDataset {
      */
     public  byte[] memberRetrieveAsBinary(@NotNull String memberName) throws ZosDatasetException;
 
+    /**
+     * Retrieve content from the partitioned data set member as a stream, without holding
+     * all of it in memory. The caller must close the stream
+     * @param memberName
+     * @return
+     * @throws ZosDatasetException
+     */
+    public InputStream memberRetrieveAsStream(@NotNull String memberName) throws ZosDatasetException;
+
     /**
      * List the members of the partitioned data set
      * @return
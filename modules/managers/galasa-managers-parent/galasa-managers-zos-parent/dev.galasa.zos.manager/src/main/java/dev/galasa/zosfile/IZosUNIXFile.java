@@ -5,6 +5,7 @@
  */
 package dev.galasa.zosfile;
 
+import java.io.InputStream;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Set;
 import java.util.SortedMap;
@@ -146,6 +147,15 @@ public interface IZosUNIXFile {
      */
     public byte[] retrieveAsBinary() throws ZosUNIXFileException;
 
+    /**
+     * Retrieve content of the zOS UNIX file from the zOS image as a stream, without holding
+     * all of it in memory. The caller must close the stream
+     * <p>See {@link #setDataType(UNIXFileDataType)}
+     * @return zOS UNIX file content
+     * @throws ZosUNIXFileException
+     */
+    public InputStream retrieveAsStream() throws ZosUNIXFileException;
+
     /**
      * Recursively store the content of the zOS UNIX file or directory to the Results Archive Store
      * @param rasPath path in Results Archive Store
@@ -5,14 +5,19 @@
  */
 package dev.galasa.zos.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.FileSystem;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -941,4 +946,47 @@ public class TestZosManagerImpl {
 //            zosImage.getImageID();
 //        }
 //    }
+
+    private FileSystemProvider fileSystemProviderMock;
+
+    private Path newArtifactMock(OutputStream out) throws IOException {
+        FileSystem fileSystemMock = Mockito.mock(FileSystem.class);
+        fileSystemProviderMock = Mockito.mock(FileSystemProvider.class);
+        Mockito.when(fileSystemMock.provider()).thenReturn(fileSystemProviderMock);
+        Mockito.when(fileSystemProviderMock.newByteChannel(Mockito.any(), Mockito.any(), Mockito.any(FileAttribute[].class))).thenReturn(Mockito.mock(SeekableByteChannel.class));
+        Mockito.when(fileSystemProviderMock.newOutputStream(Mockito.any(Path.class), Mockito.any(OpenOption[].class))).thenReturn(out);
+        Path artifactMock = Mockito.mock(Path.class);
+        Mockito.when(artifactMock.getFileSystem()).thenReturn(fileSystemMock);
+        return artifactMock;
+    }
+
+    @Test
+    public void testStoreArtifactFromStream() throws Exception {
+        byte[] content = new byte[] {0x00, (byte) 0xC1, (byte) 0xFF, '\n'};
+        InputStream in = Mockito.spy(new ByteArrayInputStream(content));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Path artifactMock = newArtifactMock(out);
+
+        new ZosManagerImpl().storeArtifact(artifactMock, in, ResultArchiveStoreContentType.TEXT);
+
+        Assert.assertArrayEquals("storeArtifact() should copy the content unchanged", content, out.toByteArray());
+        Mockito.verify(fileSystemProviderMock).newByteChannel(Mockito.eq(artifactMock), Mockito.any(), Mockito.eq(ResultArchiveStoreContentType.TEXT));
+        Mockito.verify(in).close();
+    }
+
+    @Test
+    public void testStoreArtifactFromStreamFailedWrite() throws Exception {
+        InputStream in = Mockito.spy(new ByteArrayInputStream(new byte[] {0x01}));
+        OutputStream out = Mockito.mock(OutputStream.class);
+        Mockito.doThrow(new IOException("write failed")).when(out).write(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+        Path artifactMock = newArtifactMock(out);
+
+        ZosManagerException expectedException = Assert.assertThrows("expected exception should be thrown", ZosManagerException.class, ()->{
+            new ZosManagerImpl().storeArtifact(artifactMock, in, ResultArchiveStoreContentType.TEXT);
+        });
+
+        Assert.assertEquals("exception should contain expected message", "Unable to store artifact", expectedException.getMessage());
+        Mockito.verify(in).close();
+        Mockito.verify(out).close();
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.spi;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zosbatch.ZosBatchException;
+
+public class TestZosArtifactRequests {
+
+    private ZosRequestPool<String, ZosBatchException> requestPool;
+
+    private IZosManagerSpi zosManagerMock;
+
+    // What happened to the artifacts, in order
+    private List<String> events;
+
+    // The artifacts that have been created
+    private Set<String> artifacts;
+
+    private boolean isArtifactStoreFailing;
+
+    @Before
+    public void setup() {
+        requestPool = new ZosRequestPool<>("test-pool", 2, () -> "processor", ZosBatchException.class, ZosBatchException::new);
+        events = Collections.synchronizedList(new ArrayList<>());
+        artifacts = ConcurrentHashMap.newKeySet();
+        isArtifactStoreFailing = false;
+
+        // Like the real zOS manager, add a suffix to a name that already exists
+        zosManagerMock = Mockito.mock(IZosManagerSpi.class);
+        Mockito.when(zosManagerMock.buildUniquePathName(Mockito.any(), Mockito.anyString())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(1);
+            String uniqueName = name;
+            for (int i = 1; artifacts.contains(uniqueName); i++) {
+                uniqueName = name + "_" + i;
+            }
+            return uniqueName;
+        });
+    }
+
+    @After
+    public void teardown() {
+        requestPool.shutdown();
+    }
+
+    private Path newArtifactDirectoryMock() throws IOException {
+        FileSystem fileSystemMock = Mockito.mock(FileSystem.class);
+        FileSystemProvider fileSystemProviderMock = Mockito.mock(FileSystemProvider.class);
+        Mockito.when(fileSystemMock.provider()).thenReturn(fileSystemProviderMock);
+        Mockito.when(fileSystemProviderMock.newByteChannel(Mockito.any(), Mockito.any(), Mockito.any(FileAttribute[].class))).thenAnswer(invocation -> {
+            if (isArtifactStoreFailing) {
+                throw new IOException("artifact store failed");
+            }
+            String name = invocation.getArgument(0).toString();
+            artifacts.add(name);
+            events.add("create " + name);
+            return Mockito.mock(SeekableByteChannel.class);
+        });
+        Path directoryMock = Mockito.mock(Path.class);
+        Mockito.when(directoryMock.resolve(Mockito.anyString())).thenAnswer(invocation -> {
+            Path fileMock = Mockito.mock(Path.class);
+            Mockito.when(fileMock.toString()).thenReturn(invocation.getArgument(0));
+            Mockito.when(fileMock.getFileSystem()).thenReturn(fileSystemMock);
+            return fileMock;
+        });
+        return directoryMock;
+    }
+
+    @Test
+    public void testArtifactsAreCreatedInOrderBeforeAnyAreFilled() throws Exception {
+        ZosArtifactRequests<String, ZosBatchException> requests = requestPool.newArtifactRequests(zosManagerMock, newArtifactDirectoryMock());
+        List<String> filled = Collections.synchronizedList(new ArrayList<>());
+        for (String name : Arrays.asList("JESMSGLG", "SYSPRINT", "SYSPRINT", "SYSPRINT")) {
+            requests.add(name, (processor, artifact) -> {
+                events.add("fill " + artifact);
+                filled.add(artifact.toString());
+            });
+        }
+
+        Assert.assertEquals("add() should create the artifacts in order, with duplicate names made unique", Arrays.asList("create JESMSGLG", "create SYSPRINT", "create SYSPRINT_1", "create SYSPRINT_2"), events);
+
+        requests.sendAll();
+
+        Assert.assertEquals("sendAll() should fill every artifact once", 8, events.size());
+        Assert.assertTrue("sendAll() should fill the artifacts that were created", filled.containsAll(Arrays.asList("JESMSGLG", "SYSPRINT", "SYSPRINT_1", "SYSPRINT_2")));
+    }
+
+    @Test
+    public void testRequestFailureIsThrown() throws Exception {
+        ZosArtifactRequests<String, ZosBatchException> requests = requestPool.newArtifactRequests(zosManagerMock, newArtifactDirectoryMock());
+        requests.add("JESMSGLG", (processor, artifact) -> {
+            throw new ZosBatchException("exception");
+        });
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            requests.sendAll();
+        });
+
+        Assert.assertEquals("exception should contain expected message", "exception", expectedException.getMessage());
+    }
+
+    @Test
+    public void testArtifactThatCannotBeCreatedIsNotFilled() throws Exception {
+        ZosArtifactRequests<String, ZosBatchException> requests = requestPool.newArtifactRequests(zosManagerMock, newArtifactDirectoryMock());
+        isArtifactStoreFailing = true;
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            requests.add("JESMSGLG", (processor, artifact) -> events.add("fill " + artifact));
+        });
+        requests.sendAll();
+
+        Assert.assertTrue("exception should be caused by the artifact store", expectedException.getCause() instanceof ZosManagerException);
+        Assert.assertEquals("exception should contain expected message", "Unable to store artifact", expectedException.getCause().getMessage());
+        Assert.assertTrue("the artifact should not be filled", events.isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos.spi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import dev.galasa.zos.spi.ZosRequestPool.Request;
+import dev.galasa.zosbatch.ZosBatchException;
+
+public class TestZosRequestPool {
+
+    private static final int POOL_SIZE = 4;
+
+    private ZosRequestPool<String, ZosBatchException> requestPool;
+
+    private AtomicInteger processorsCreated;
+
+    @Before
+    public void setup() {
+        processorsCreated = new AtomicInteger();
+        requestPool = new ZosRequestPool<>("test-pool", POOL_SIZE, () -> "processor" + processorsCreated.incrementAndGet(), ZosBatchException.class, ZosBatchException::new);
+    }
+
+    @After
+    public void teardown() {
+        requestPool.shutdown();
+    }
+
+    @Test
+    public void testRequestsAreSentConcurrentlyWithTheirOwnProcessors() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(POOL_SIZE);
+        Set<String> processorsInUse = Collections.synchronizedSet(new HashSet<>());
+        Set<String> processorsUsed = Collections.synchronizedSet(new HashSet<>());
+        List<Request<String, String, ZosBatchException>> requests = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE * 3; i++) {
+            String content = "content" + i;
+            requests.add(processor -> {
+                if (!processorsInUse.add(processor)) {
+                    throw new ZosBatchException("Processor used by two requests at once");
+                }
+                processorsUsed.add(processor);
+                allStarted.countDown();
+                try {
+                    if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                        throw new ZosBatchException("Requests were not sent concurrently");
+                    }
+                } catch (InterruptedException e) {
+                    throw new ZosBatchException(e);
+                } finally {
+                    processorsInUse.remove(processor);
+                }
+                return content;
+            });
+        }
+
+        List<String> results = requestPool.sendAll(requests);
+
+        Assert.assertEquals("sendAll() should return a result for each request", requests.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals("sendAll() should return the results in order", "content" + i, results.get(i));
+        }
+        Assert.assertEquals("Each thread should have its own processor", POOL_SIZE, processorsUsed.size());
+        Assert.assertEquals("The processors should only be created once", POOL_SIZE, processorsCreated.get());
+    }
+
+    @Test
+    public void testFailedRequestIsThrown() throws Exception {
+        List<Request<String, String, ZosBatchException>> requests = new ArrayList<>();
+        requests.add(processor -> "content");
+        requests.add(processor -> {
+            throw new ZosBatchException("exception");
+        });
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            requestPool.sendAll(requests);
+        });
+
+        Assert.assertEquals("sendAll() should throw the exception of the request", "exception", expectedException.getMessage());
+    }
+
+    @Test
+    public void testUnexpectedExceptionIsWrapped() throws Exception {
+        IllegalStateException unexpected = new IllegalStateException("unexpected");
+        List<Request<String, String, ZosBatchException>> requests = new ArrayList<>();
+        requests.add(processor -> {
+            throw unexpected;
+        });
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            requestPool.sendAll(requests);
+        });
+
+        Assert.assertSame("sendAll() should wrap the unexpected exception", unexpected, expectedException.getCause());
+    }
+
+    @Test
+    public void testPoolCanBeUsedAgainAfterShutdown() throws Exception {
+        List<Request<String, String, ZosBatchException>> requests = new ArrayList<>();
+        requests.add(processor -> "content");
+
+        requestPool.sendAll(requests);
+        requestPool.shutdown();
+
+        Assert.assertEquals("sendAll() should start the pool again", Collections.singletonList("content"), requestPool.sendAll(requests));
+        Assert.assertEquals("A new processor should be created for each thread", POOL_SIZE * 2, processorsCreated.get());
+    }
+}
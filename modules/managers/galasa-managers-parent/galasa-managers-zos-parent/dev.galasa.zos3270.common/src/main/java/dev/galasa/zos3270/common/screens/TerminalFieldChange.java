@@ -0,0 +1,51 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.common.screens;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Pojo to represent a field that has changed since the previous image of a
+ * terminal recording.
+ *
+ *
+ *
+ */
+public class TerminalFieldChange {
+
+    private final int           index;
+    private final TerminalField field;
+
+    /**
+     * Constructor
+     *
+     * @param index The position of the field in the field list of the image
+     * @param field The field as it is in this image
+     */
+    public TerminalFieldChange(int index, @NotNull TerminalField field) {
+        this.index = index;
+        this.field = field;
+    }
+
+    /**
+     * Fetch the position of the field in the field list
+     *
+     * @return index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Fetch the field as it is in this image
+     *
+     * @return the field
+     */
+    public @NotNull TerminalField getField() {
+        return field;
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.common.screens;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Pojo to represent a screen image in a terminal recording. A keyframe holds
+ * every field of the screen, other images only hold the fields that have
+ * changed since the previous image.
+ *
+ *
+ *
+ */
+public class TerminalRecordedImage {
+
+    private final int                       sequence;
+    private final String                    id;
+    private final boolean                   inbound;          // *** Inbound means from server -> client
+    private final String                    type;
+
+    private final TerminalSize              imageSize;
+
+    private final int                       cursorColumn;
+    private final int                       cursorRow;
+
+    private final String                    aid;
+
+    private final boolean                   keyframe;
+    private final int                       fieldCount;
+    private final List<TerminalField>       fields        = new ArrayList<>();
+    private final List<TerminalFieldChange> changedFields = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param image      The image being recorded, the fields are not copied
+     * @param keyframe   true if the image holds all of its fields
+     */
+    public TerminalRecordedImage(@NotNull TerminalImage image, boolean keyframe) {
+        this.sequence = image.getSequence();
+        this.id = image.getId();
+        this.inbound = image.isInbound();
+        this.type = image.getType();
+        this.aid = image.getAid();
+        this.imageSize = image.getImageSize();
+        this.cursorColumn = image.getCursorColumn();
+        this.cursorRow = image.getCursorRow();
+        this.keyframe = keyframe;
+        this.fieldCount = image.getFields().size();
+    }
+
+    /**
+     * Fetch the sequence number
+     *
+     * @return sequence number
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Is this image a keyframe, holding all of its fields
+     *
+     * @return keyframe
+     */
+    public boolean isKeyframe() {
+        return keyframe;
+    }
+
+    /**
+     * Fetch the number of fields on the screen
+     *
+     * @return field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Fetch all the fields, only valid for keyframes
+     *
+     * @return Fields
+     */
+    public List<TerminalField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Fetch the fields that have changed since the previous image, only valid
+     * for images that are not keyframes
+     *
+     * @return Changed fields
+     */
+    public List<TerminalFieldChange> getChangedFields() {
+        return changedFields;
+    }
+
+    /**
+     * Rebuild the image
+     *
+     * @param previousFields the fields of the previous image, ignored for keyframes
+     * @return the full image
+     */
+    public @NotNull TerminalImage toTerminalImage(List<TerminalField> previousFields) {
+        TerminalImage image = new TerminalImage(sequence, id, inbound, type, aid, imageSize, cursorColumn,
+                cursorRow);
+
+        if (keyframe) {
+            image.getFields().addAll(fields);
+            return image;
+        }
+
+        ArrayList<TerminalField> newFields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            newFields.add((i < previousFields.size()) ? previousFields.get(i) : null);
+        }
+        for (TerminalFieldChange change : changedFields) {
+            newFields.set(change.getIndex(), change.getField());
+        }
+        image.getFields().addAll(newFields);
+        return image;
+    }
+
+}
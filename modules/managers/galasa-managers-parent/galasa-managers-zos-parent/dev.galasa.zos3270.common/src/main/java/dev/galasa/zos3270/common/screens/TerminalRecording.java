@@ -0,0 +1,195 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.common.screens;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Pojo to contain a set of terminal images, recorded as keyframes holding
+ * every field followed by images that only hold the fields that have changed.
+ * Use {@link TerminalRecordingReader} to rebuild the images.
+ *
+ * The index of sequence numbers and keyframes comes before the images, so a
+ * reader can go straight to the keyframe it needs.
+ *
+ *
+ *
+ */
+public class TerminalRecording {
+
+    public static final String                FORMAT             = "keyframe-delta";
+
+    /**
+     * The most images between keyframes, so rebuilding an image never has to
+     * apply too many changes
+     */
+    public static final int                   KEYFRAME_INTERVAL  = 50;
+
+    private final String                      format;
+    private final String                      id;
+    private final String                      runId;
+    private final int                         sequence;
+    private final TerminalSize                defaultSize;
+    private final List<Integer>               imageSequences     = new ArrayList<>();
+    private final List<Integer>               keyframes          = new ArrayList<>();
+    private final List<TerminalRecordedImage> images             = new ArrayList<>();
+
+    // *** Only needed whilst recording, so not serialised
+    private transient List<TerminalField>     previousFields;
+    private transient TerminalSize            previousImageSize;
+    private transient int                     imagesSinceKeyframe;
+
+    /**
+     * Constructor
+     *
+     * @param id          Terminal ID
+     * @param runId       The run the terminal belongs to
+     * @param sequence    Sequence number of this pojo for this terminal
+     * @param defaultSize Default size of the terminal
+     */
+    public TerminalRecording(@NotNull String id, @NotNull String runId, int sequence,
+            @NotNull TerminalSize defaultSize) {
+        this.format = FORMAT;
+        this.id = id;
+        this.runId = runId;
+        this.sequence = sequence;
+        this.defaultSize = defaultSize;
+    }
+
+    /**
+     * Record a new image, as a keyframe if it is the first image, if too many
+     * images have been recorded since the last keyframe, or if most of its fields
+     * have changed
+     *
+     * @param image new image
+     */
+    public void addImage(@NotNull TerminalImage image) {
+        List<TerminalField> fields = image.getFields();
+
+        List<TerminalFieldChange> changes = null;
+        if (previousFields != null && imagesSinceKeyframe < KEYFRAME_INTERVAL
+                && sameSize(previousImageSize, image.getImageSize())) {
+            changes = findChanges(previousFields, fields);
+            if (changes.size() * 2 > fields.size()) {
+                changes = null;
+            }
+        }
+
+        TerminalRecordedImage recordedImage;
+        if (changes == null) {
+            recordedImage = new TerminalRecordedImage(image, true);
+            recordedImage.getFields().addAll(fields);
+            keyframes.add(images.size());
+            imagesSinceKeyframe = 0;
+        } else {
+            recordedImage = new TerminalRecordedImage(image, false);
+            recordedImage.getChangedFields().addAll(changes);
+            imagesSinceKeyframe++;
+        }
+
+        imageSequences.add(image.getSequence());
+        images.add(recordedImage);
+
+        previousFields = new ArrayList<>(fields);
+        previousImageSize = image.getImageSize();
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public @NotNull String getId() {
+        return id;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public @NotNull TerminalSize getDefaultSize() {
+        return defaultSize;
+    }
+
+    /**
+     * Fetch the sequence numbers of the images, in the order they were recorded
+     *
+     * @return image sequence numbers
+     */
+    public List<Integer> getImageSequences() {
+        return imageSequences;
+    }
+
+    /**
+     * Fetch the positions of the keyframes in the image list
+     *
+     * @return keyframe positions
+     */
+    public List<Integer> getKeyframes() {
+        return keyframes;
+    }
+
+    public List<TerminalRecordedImage> getImages() {
+        return images;
+    }
+
+    private static List<TerminalFieldChange> findChanges(List<TerminalField> previousFields,
+            List<TerminalField> fields) {
+        ArrayList<TerminalFieldChange> changes = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            TerminalField field = fields.get(i);
+            if (i >= previousFields.size() || !sameField(previousFields.get(i), field)) {
+                changes.add(new TerminalFieldChange(i, field));
+            }
+        }
+        return changes;
+    }
+
+    private static boolean sameSize(TerminalSize a, TerminalSize b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getColumns() == b.getColumns() && a.getRows() == b.getRows();
+    }
+
+    private static boolean sameField(TerminalField a, TerminalField b) {
+        if (a == b) {
+            return true;
+        }
+
+        if (a.getRow() != b.getRow() || a.getColumn() != b.getColumn()
+                || a.isUnformatted() != b.isUnformatted() || a.isFieldProtected() != b.isFieldProtected()
+                || a.isFieldNumeric() != b.isFieldNumeric() || a.isFieldDisplay() != b.isFieldDisplay()
+                || a.isFieldIntenseDisplay() != b.isFieldIntenseDisplay()
+                || a.isFieldSelectorPen() != b.isFieldSelectorPen() || a.isFieldModifed() != b.isFieldModifed()
+                || !Objects.equals(a.getForegroundColour(), b.getForegroundColour())
+                || !Objects.equals(a.getBackgroundColour(), b.getBackgroundColour())
+                || !Objects.equals(a.getHighlight(), b.getHighlight())) {
+            return false;
+        }
+
+        List<FieldContents> aContents = a.getContents();
+        List<FieldContents> bContents = b.getContents();
+        if (aContents.size() != bContents.size()) {
+            return false;
+        }
+        for (int i = 0; i < aContents.size(); i++) {
+            if (!Arrays.equals(aContents.get(i).getChars(), bContents.get(i).getChars())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
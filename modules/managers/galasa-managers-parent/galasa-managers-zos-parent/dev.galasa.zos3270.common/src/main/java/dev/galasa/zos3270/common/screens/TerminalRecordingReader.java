@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.common.screens;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import dev.galasa.framework.spi.utils.GalasaGsonBuilder;
+
+/**
+ * Reads the images from the json of a stored terminal, whether it was stored
+ * as a {@link TerminalRecording} or as a {@link Terminal} holding every field
+ * of every image, as older runs were.
+ *
+ * A single image is rebuilt by skipping straight to the keyframe before it, so
+ * the images before that keyframe are never decoded.
+ *
+ *
+ *
+ */
+public class TerminalRecordingReader {
+
+    private final Gson   gson = new GalasaGsonBuilder(false).getGson();
+
+    private final String json;
+
+    /**
+     * Constructor
+     *
+     * @param json the json of a {@link TerminalRecording} or a {@link Terminal}
+     */
+    public TerminalRecordingReader(@NotNull String json) {
+        this.json = json;
+    }
+
+    /**
+     * Rebuild one image of the terminal
+     *
+     * @param imageSequence the sequence number of the image
+     * @return the image, or null if there is no image with that sequence number
+     * @throws IOException if the json is not valid
+     */
+    public TerminalImage getImage(int imageSequence) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            String format = null;
+            List<Integer> imageSequences = null;
+            List<Integer> keyframes = null;
+
+            // *** TerminalRecording writes the format and the index before the images
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "format":
+                        format = reader.nextString();
+                        break;
+                    case "imageSequences":
+                        imageSequences = readIntegers(reader);
+                        break;
+                    case "keyframes":
+                        keyframes = readIntegers(reader);
+                        break;
+                    case "images":
+                        return findImage(reader, imageSequence, TerminalRecording.FORMAT.equals(format),
+                                imageSequences, keyframes);
+                    default:
+                        reader.skipValue();
+                }
+            }
+            return null;
+        } catch (RuntimeException e) {
+            throw new IOException("Unable to read the terminal images", e);
+        }
+    }
+
+    /**
+     * Rebuild every image of the terminal
+     *
+     * @return the terminal with all of its images in full
+     * @throws IOException if the json is not valid
+     */
+    public @NotNull Terminal toTerminal() throws IOException {
+        try {
+            TerminalRecording recording = gson.fromJson(json, TerminalRecording.class);
+            if (!TerminalRecording.FORMAT.equals(recording.getFormat())) {
+                return gson.fromJson(json, Terminal.class);
+            }
+
+            Terminal terminal = new Terminal(recording.getId(), recording.getRunId(), recording.getSequence(),
+                    recording.getDefaultSize());
+            List<TerminalField> previousFields = Collections.emptyList();
+            for (TerminalRecordedImage recordedImage : recording.getImages()) {
+                TerminalImage image = recordedImage.toTerminalImage(previousFields);
+                terminal.addImage(image);
+                previousFields = image.getFields();
+            }
+            return terminal;
+        } catch (RuntimeException e) {
+            throw new IOException("Unable to read the terminal images", e);
+        }
+    }
+
+    private TerminalImage findImage(JsonReader reader, int imageSequence, boolean isRecording,
+            List<Integer> imageSequences, List<Integer> keyframes) throws IOException {
+        int startIndex = 0;
+        if (isRecording && imageSequences != null && keyframes != null) {
+            int targetIndex = imageSequences.indexOf(imageSequence);
+            if (targetIndex < 0) {
+                return null;
+            }
+            for (int keyframe : keyframes) {
+                if (keyframe <= targetIndex) {
+                    startIndex = keyframe;
+                }
+            }
+        }
+
+        reader.beginArray();
+        List<TerminalField> previousFields = Collections.emptyList();
+        for (int i = 0; reader.hasNext(); i++) {
+            if (i < startIndex) {
+                reader.skipValue();
+                continue;
+            }
+
+            TerminalImage image;
+            if (isRecording) {
+                TerminalRecordedImage recordedImage = gson.fromJson(reader, TerminalRecordedImage.class);
+                image = recordedImage.toTerminalImage(previousFields);
+            } else {
+                image = gson.fromJson(reader, TerminalImage.class);
+            }
+
+            if (image.getSequence() == imageSequence) {
+                return image;
+            }
+            previousFields = image.getFields();
+        }
+        return null;
+    }
+
+    private List<Integer> readIntegers(JsonReader reader) throws IOException {
+        ArrayList<Integer> integers = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            integers.add(reader.nextInt());
+        }
+        reader.endArray();
+        return integers;
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.common.screens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import dev.galasa.framework.spi.utils.GalasaGsonBuilder;
+import dev.galasa.zos3270.common.screens.json.TerminalJsonTransform;
+
+public class TerminalRecordingReaderTest {
+
+    private final Gson gson = new GalasaGsonBuilder(false).getGson();
+
+    private final TerminalSize size = new TerminalSize(80, 24);
+
+    private TerminalImage createImage(int sequence, String... fieldTexts) {
+        TerminalImage image = new TerminalImage(sequence, "term1-" + sequence, true, null, null, size, 0, 0);
+        for (int i = 0; i < fieldTexts.length; i++) {
+            TerminalField field = new TerminalField(i, 0, false, true, false, true, false, false, false, null, null, null);
+            char[] chars = fieldTexts[i].toCharArray();
+            Character[] contents = new Character[chars.length];
+            for (int j = 0; j < chars.length; j++) {
+                contents[j] = chars[j];
+            }
+            field.getContents().add(new FieldContents(contents));
+            image.getFields().add(field);
+        }
+        return image;
+    }
+
+    private String getFieldText(TerminalImage image, int fieldIndex) {
+        StringBuilder text = new StringBuilder();
+        for (Character c : image.getFields().get(fieldIndex).getContents().get(0).getChars()) {
+            text.append(c);
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void testOnlyChangedFieldsAreRecordedBetweenKeyframes() {
+        // Given...
+        TerminalRecording recording = new TerminalRecording("term1", "run1", 1, size);
+
+        // When...
+        recording.addImage(createImage(1, "HEADER", "USERID", "PASSWORD", "FOOTER"));
+        recording.addImage(createImage(2, "HEADER", "USERID", "********", "FOOTER"));
+        recording.addImage(createImage(3, "MENU", "OPTION 1", "OPTION 2", "FOOTER"));
+
+        // Then...
+        assertThat(recording.getImageSequences()).containsExactly(1, 2, 3);
+        assertThat(recording.getKeyframes()).containsExactly(0, 2);
+
+        TerminalRecordedImage delta = recording.getImages().get(1);
+        assertThat(delta.isKeyframe()).isFalse();
+        assertThat(delta.getFields()).isEmpty();
+        assertThat(delta.getChangedFields()).hasSize(1);
+        assertThat(delta.getChangedFields().get(0).getIndex()).isEqualTo(2);
+    }
+
+    @Test
+    public void testImageIsRebuiltFromTheKeyframeBeforeIt() throws Exception {
+        // Given...
+        TerminalRecording recording = new TerminalRecording("term1", "run1", 1, size);
+        recording.addImage(createImage(1, "HEADER", "USERID", "PASSWORD", "FOOTER"));
+        recording.addImage(createImage(2, "HEADER", "USERID", "********", "FOOTER"));
+        recording.addImage(createImage(3, "HEADER", "USERID", "********", "FOOTER", "MORE"));
+        String json = gson.toJson(recording);
+
+        // When...
+        TerminalImage image = new TerminalRecordingReader(json).getImage(3);
+
+        // Then...
+        assertThat(image.getSequence()).isEqualTo(3);
+        assertThat(image.getId()).isEqualTo("term1-3");
+        assertThat(image.getImageSize().getColumns()).isEqualTo(80);
+        assertThat(image.getFields()).hasSize(5);
+        assertThat(getFieldText(image, 0)).isEqualTo("HEADER");
+        assertThat(getFieldText(image, 2)).isEqualTo("********");
+        assertThat(getFieldText(image, 4)).isEqualTo("MORE");
+    }
+
+    @Test
+    public void testUnknownImageIsNotFound() throws Exception {
+        // Given...
+        TerminalRecording recording = new TerminalRecording("term1", "run1", 1, size);
+        recording.addImage(createImage(1, "HEADER"));
+        String json = gson.toJson(recording);
+
+        // When...
+        TerminalImage image = new TerminalRecordingReader(json).getImage(2);
+
+        // Then...
+        assertThat(image).isNull();
+    }
+
+    @Test
+    public void testRecordingIsRebuiltAsAFullTerminal() throws Exception {
+        // Given...
+        TerminalRecording recording = new TerminalRecording("term1", "run1", 7, size);
+        recording.addImage(createImage(1, "HEADER", "USERID", "PASSWORD", "FOOTER"));
+        recording.addImage(createImage(2, "HEADER", "USERID", "********", "FOOTER"));
+        String json = gson.toJson(recording);
+
+        // When...
+        Terminal terminal = new TerminalRecordingReader(json).toTerminal();
+
+        // Then...
+        assertThat(terminal.getId()).isEqualTo("term1");
+        assertThat(terminal.getRunId()).isEqualTo("run1");
+        assertThat(terminal.getSequence()).isEqualTo(7);
+        assertThat(terminal.getImages()).hasSize(2);
+        assertThat(getFieldText(terminal.getImages().get(1), 0)).isEqualTo("HEADER");
+        assertThat(getFieldText(terminal.getImages().get(1), 2)).isEqualTo("********");
+    }
+
+    @Test
+    public void testTerminalWithFullImagesCanStillBeRead() throws Exception {
+        // Given...
+        Terminal terminal = new Terminal("term1", "run1", 1, size);
+        terminal.addImage(createImage(1, "HEADER", "USERID"));
+        terminal.addImage(createImage(2, "MENU", "OPTION 1"));
+        String json = new TerminalJsonTransform(false).toJsonString(terminal);
+
+        // When...
+        TerminalRecordingReader reader = new TerminalRecordingReader(json);
+        TerminalImage image = reader.getImage(2);
+        Terminal readTerminal = reader.toTerminal();
+
+        // Then...
+        assertThat(image.getFields()).hasSize(2);
+        assertThat(getFieldText(image, 1)).isEqualTo("OPTION 1");
+        assertThat(readTerminal.getImages()).hasSize(2);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.datastream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URL;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import dev.galasa.zos3270.internal.comms.Inbound3270Message;
+import dev.galasa.zos3270.internal.comms.NetworkThread;
+import dev.galasa.zos3270.spi.Field;
+import dev.galasa.zos3270.spi.Screen;
+import dev.galasa.zos3270.util.Zos3270TestBase;
+
+/**
+ * Measures the time taken and the memory allocated for each inbound message, by replaying
+ * the recorded VAMP datastream on the same screen. This is not run by the normal build, run
+ * it with the benchmark task.
+ */
+public class InboundMessageBenchmark extends Zos3270TestBase {
+
+    private static final int WARMUP_MESSAGES = 2000;
+    private static final int MEASURED_MESSAGES = 5000;
+
+    @Test
+    public void testReplayOfRecordedDatastreamReportsTimeAndAllocationPerInboundMessage() throws Exception {
+        // A micro-benchmark of the work done for every inbound message: applying the
+        // orders to the screen, then reading the fields and text back as a test would.
+
+        // Given...
+        URL vampFile = getClass().getClassLoader().getResource("vampstream.txt");
+        byte[] stream = Hex.decodeHex(IOUtils.toString(vampFile.openStream(), "utf-8"));
+
+        Screen screen = CreateTestScreen();
+        NetworkThread networkThread = new NetworkThread(null, screen, null, null);
+        Inbound3270Message message = networkThread.process3270Data(ByteBuffer.wrap(stream));
+
+        for (int i = 0; i < WARMUP_MESSAGES; i++) {
+            replayMessage(screen, message);
+        }
+
+        // When...
+        long startAllocatedBytes = getAllocatedBytes();
+        long startNanos = System.nanoTime();
+        int fieldCount = 0;
+        for (int i = 0; i < MEASURED_MESSAGES; i++) {
+            fieldCount = replayMessage(screen, message);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = getAllocatedBytes() - startAllocatedBytes;
+
+        // Then...
+        String allocationReport = (startAllocatedBytes < 0) ? "allocation not available"
+            : (allocatedBytes / MEASURED_MESSAGES) + " bytes allocated";
+        System.out.println("Inbound message replay of " + message.getOrders().size() + " orders: "
+            + (elapsedNanos / MEASURED_MESSAGES / 1000) + "us and " + allocationReport + " per message");
+
+        assertThat(fieldCount).isGreaterThan(1);
+        assertThat(screen.retrieveFlatScreen()).contains("WINMVS2D");
+    }
+
+    private int replayMessage(Screen screen, Inbound3270Message message) throws Exception {
+        screen.processInboundMessage(message);
+        Field[] fields = screen.calculateFields();
+        screen.retrieveFlatScreen();
+        return fields.length;
+    }
+
+    /**
+     * @return the bytes allocated by this thread so far, or -1 if the JVM can not tell us
+     */
+    private long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
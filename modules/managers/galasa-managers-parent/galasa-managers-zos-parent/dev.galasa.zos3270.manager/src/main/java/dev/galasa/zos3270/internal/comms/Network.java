@@ -13,8 +13,18 @@ import java.net.Socket;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocket;
@@ -32,6 +42,22 @@ public class Network {
 
     private final Log           logger          = LogFactory.getLog(getClass());
 
+    // A keep-alive write blocked for longer than this means the connection is no longer working
+    public static final Duration KEEP_ALIVE_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final int     KEEP_ALIVE_SENDER_THREADS = 4;
+
+    // *** One thread checks which connections in the JVM need a keep-alive
+    private static final ScheduledExecutorService keepAliveScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "3270 keep alive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // *** The keep-alives are written by a small pool, so a connection whose write blocks cannot hold up the
+    // *** keep-alives of the other connections. When every thread is busy a keep-alive waits for the next check
+    private static final ExecutorService keepAliveSenders = newKeepAliveSenders();
+
     private final String        host;
     private final int           port;
     private final boolean       ssl;
@@ -43,10 +69,11 @@ public class Network {
     private OutputStream        outputStream;
     private InputStream         inputStream;
 
-    private KeepAlive           keepAlive;
-    private Instant             lastSend        = Instant.now();
+    private ScheduledFuture<?>  keepAlive;
+    private volatile Instant    lastSend        = Instant.now();
+    private volatile Instant    keepAliveStarted;
 
-    private Exception           errorException;
+    private volatile Exception  errorException;
 
     private boolean             basicTelnet = false;
 
@@ -85,8 +112,8 @@ public class Network {
             this.outputStream = this.socket.getOutputStream();
             newSocket = null;
 
-            this.keepAlive = new KeepAlive();
-            this.keepAlive.start();
+            logger.trace("Scheduling keep-alive");
+            this.keepAlive = keepAliveScheduler.scheduleWithFixedDelay(() -> checkKeepAlive(Instant.now()), 5, 5, TimeUnit.SECONDS);
 
             logger.trace("connectClient() exiting, client connected OK");
             return true;
@@ -162,12 +189,11 @@ public class Network {
             inputStream = null;
             outputStream = null;
             
-            logger.trace("Interrupting keep-alive thread");
+            logger.trace("Cancelling keep-alive");
 
-            this.keepAlive.shutdown = true;
-            this.keepAlive.interrupt();
+            this.keepAlive.cancel(false);
 
-            logger.trace("Keep-alive thread interrupted OK");
+            logger.trace("Keep-alive cancelled OK");
         }
         logger.trace("close() exiting");
     }
@@ -261,20 +287,55 @@ public class Network {
         return this.ssl;
     }
 
-    private void sendKeepAlive() {
-        logger.trace("sendKeepAlive() entered");
-        if (this.outputStream == null) {
-            logger.trace("sendKeepAlive() exiting, output stream is null");
+    /**
+     * Start sending a keep-alive if nothing has been sent for 10 minutes. If the last keep-alive
+     * has been blocked for longer than {@link #KEEP_ALIVE_TIMEOUT}, the connection is closed and put
+     * into error state, which also ends the blocked write
+     * @param now the time of the check
+     */
+    void checkKeepAlive(Instant now) {
+        logger.trace("checkKeepAlive() entered");
+        OutputStream outputStream = this.outputStream;
+        Socket socket = this.socket;
+        if (outputStream == null || this.errorException != null) {
+            logger.trace("checkKeepAlive() exiting, the connection is not usable");
+            return;
+        }
+
+        Instant started = this.keepAliveStarted;
+        if (started != null) {
+            if (started.plus(KEEP_ALIVE_TIMEOUT).isBefore(now)) {
+                logger.error("The keep-alive to terminal " + this.terminalId + " has been blocked since " + started + ", closing the connection");
+                this.errorException = new NetworkException("Keep-alive blocked since " + started);
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    logger.error("Failed to close the socket", e);
+                }
+            }
+            logger.trace("checkKeepAlive() exiting, a keep-alive is still being sent");
             return;
         }
 
-        if (this.lastSend.plus(10, ChronoUnit.MINUTES).isAfter(Instant.now())) {
-            logger.trace("sendKeepAlive() exiting, a keep-alive has been sent recently");
+        if (this.lastSend.plus(10, ChronoUnit.MINUTES).isAfter(now)) {
+            logger.trace("checkKeepAlive() exiting, data has been sent recently");
             return;
         }
 
-        synchronized(this.outputStream) {
-            try {
+        this.keepAliveStarted = now;
+        try {
+            keepAliveSenders.execute(() -> sendKeepAlive(outputStream));
+        } catch (RejectedExecutionException e) {
+            this.keepAliveStarted = null;
+            logger.warn("All the keep-alive threads are busy, the keep-alive to terminal " + this.terminalId + " will be sent later");
+        }
+        logger.trace("checkKeepAlive() exiting");
+    }
+
+    private void sendKeepAlive(OutputStream outputStream) {
+        logger.trace("sendKeepAlive() entered");
+        try {
+            synchronized(outputStream) {
                 ByteArrayOutputStream baos = new ByteArrayOutputStream();
                 baos.write(NetworkThread.IAC);
                 baos.write(NetworkThread.DO);
@@ -283,13 +344,26 @@ public class Network {
                 outputStream.flush();
                 this.lastSend = Instant.now();
                 logger.trace("Keep-alive sent OK");
-            } catch(Exception e) {
-                logger.error("Failed to write DO TIMING MARK",e);
             }
+        } catch(Exception e) {
+            logger.error("Failed to write DO TIMING MARK",e);
+        } finally {
+            this.keepAliveStarted = null;
         }
         logger.trace("sendKeepAlive() exiting");
     }
 
+    private static ExecutorService newKeepAliveSenders() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor senders = new ThreadPoolExecutor(KEEP_ALIVE_SENDER_THREADS, KEEP_ALIVE_SENDER_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "3270 keep alive sender " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        senders.allowCoreThreadTimeOut(true);
+        return senders;
+    }
+
     public String getHostPort() {
         return this.host + ":" + Integer.toString(this.port);
     }
@@ -333,31 +407,6 @@ public class Network {
 
     }
 
-    private class KeepAlive extends Thread {
-
-        private boolean shutdown = false;
-
-        public KeepAlive() {
-            logger.trace("Starting keep-alive thread");
-            setName("3270 keep alive");
-        }
-
-        @Override
-        public void run() {
-            logger.trace("Started keep-alive thread");
-            while(!shutdown) {
-                sendKeepAlive();
-
-                try {
-                    Thread.sleep(5000);
-                } catch(Exception e) {
-                    logger.trace("Keep-alive encountered an exception, interrupting thread...", e);
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-    }
-
     public void setBasicTelnet(boolean basicTelnet) {
         this.basicTelnet = basicTelnet;
     }
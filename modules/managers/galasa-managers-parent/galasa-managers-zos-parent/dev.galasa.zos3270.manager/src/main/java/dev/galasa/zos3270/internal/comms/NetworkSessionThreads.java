@@ -0,0 +1,78 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.comms;
+
+import java.lang.reflect.Method;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Starts the threads that read from terminal sessions on virtual threads, so a JVM driving many
+ * terminals does not need a platform thread and its stack for every session.
+ *
+ * The manager is built for Java 11, so virtual threads are looked up when first needed and are
+ * only used if the Java runtime supports them.
+ */
+public class NetworkSessionThreads {
+
+    private static final Log logger = LogFactory.getLog(NetworkSessionThreads.class);
+
+    private static volatile boolean lookedUp = false;
+    private static Method ofVirtual;
+    private static Method builderName;
+    private static Method builderStart;
+
+    private NetworkSessionThreads() {
+    }
+
+    /**
+     * Start a session on a virtual thread
+     *
+     * @param session - what the thread is to run
+     * @param name - the name of the thread
+     * @return the started virtual thread, or null if this Java runtime does not support virtual threads
+     */
+    public static Thread startVirtual(Runnable session, String name) {
+        if (!isVirtualThreadsAvailable()) {
+            return null;
+        }
+
+        try {
+            Object builder = ofVirtual.invoke(null);
+            builder = builderName.invoke(builder, name);
+            return (Thread) builderStart.invoke(builder, session);
+        } catch (Exception e) {
+            logger.warn("Unable to start a virtual thread for " + name + ", a platform thread will be used", e);
+            return null;
+        }
+    }
+
+    public static boolean isVirtualThreadsAvailable() {
+        lookUp();
+        return ofVirtual != null;
+    }
+
+    private static synchronized void lookUp() {
+        if (lookedUp) {
+            return;
+        }
+
+        try {
+            Method newOfVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class);
+            builderStart = builderClass.getMethod("start", Runnable.class);
+
+            // *** Virtual threads are a preview in some Java versions, which throws if preview is not enabled
+            newOfVirtual.invoke(null);
+            ofVirtual = newOfVirtual;
+        } catch (Exception e) {
+            logger.debug("Virtual threads are not available on this Java runtime");
+        }
+        lookedUp = true;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zos3270.Zos3270ManagerException;
+
+/**
+ * zOS3270 Store terminal images in the RAS as keyframes and changed fields
+ * <p>
+ * This property indicates that the terminal images are stored in the RAS as
+ * TerminalRecordings, which only hold the fields that have changed between
+ * keyframes, rather than every field of every image. Tools reading the RAS
+ * must be able to read TerminalRecordings before this is switched on.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * zos3270.terminal.delta.recordings=true
+ * </p>
+ * <p>
+ * default value is false
+ * </p>
+ * 
+ *  
+ *
+ */
+public class DeltaTerminalRecordings extends CpsProperties {
+
+    public static boolean get() throws Zos3270ManagerException {
+        return Boolean.parseBoolean(
+                getStringWithDefault(Zos3270PropertiesSingleton.cps(), "false", "terminal.delta", "recordings"));
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zos3270.Zos3270ManagerException;
+
+/**
+ * zOS3270 Read the terminal networks on virtual threads
+ * <p>
+ * This property indicates that each terminal reads from the network on a virtual thread
+ * rather than a platform thread, so tests with many terminals use fewer platform threads.
+ * It is ignored if the Java runtime does not support virtual threads.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * zos3270.network.virtual.threads=true
+ * </p>
+ * <p>
+ * default value is false
+ * </p>
+ * 
+ *  
+ *
+ */
+public class VirtualNetworkThreads extends CpsProperties {
+
+    public static boolean get() throws Zos3270ManagerException {
+        return Boolean.parseBoolean(
+                getStringWithDefault(Zos3270PropertiesSingleton.cps(), "false", "network.virtual", "threads"));
+    }
+
+}
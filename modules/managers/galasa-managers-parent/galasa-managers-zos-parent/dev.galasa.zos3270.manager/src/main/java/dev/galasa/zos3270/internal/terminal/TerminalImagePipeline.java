@@ -0,0 +1,201 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.terminal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.zos3270.common.screens.TerminalImage;
+
+/**
+ * Takes the images of a terminal as they are captured and writes them on a background thread,
+ * so that the network thread and the test are never held up by serialising, compressing or
+ * uploading them.
+ *
+ * Images are gathered into batches for the RAS.  Images for the live terminal are coalesced, so
+ * only the latest image is uploaded if the upload is running behind.  If too many writes are
+ * waiting, new batches are dropped rather than holding up the terminal, apart from the final
+ * batch written by {@link #flush()}, which is always written.
+ */
+public class TerminalImagePipeline {
+
+    public static final int DEFAULT_BATCH_SIZE = 10;
+    public static final int MAX_QUEUED_WRITES = 100;
+
+    private static final long FLUSH_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Writes a batch of images to the RAS
+     */
+    public interface IBatchWriter {
+        void write(List<TerminalImage> images, int sequence) throws Exception;
+    }
+
+    /**
+     * Writes the latest image to the live terminal
+     */
+    public interface ILiveWriter {
+        void write(TerminalImage image) throws Exception;
+    }
+
+    private final Log logger = LogFactory.getLog(getClass());
+
+    private final String terminalId;
+    private final int batchSize;
+    private final IBatchWriter batchWriter;
+    private final ILiveWriter liveWriter;
+    private final ThreadPoolExecutor executor;
+
+    private ArrayList<TerminalImage> pendingImages = new ArrayList<>();
+    private int batchSequence = 0;
+    private int droppedImages = 0;
+
+    private final AtomicReference<TerminalImage> latestLiveImage = new AtomicReference<>();
+    private final AtomicBoolean liveWriteQueued = new AtomicBoolean(false);
+
+    /**
+     * @param terminalId - the terminal the images are from, used to name the background thread
+     * @param batchSize - how many images to put in each RAS batch
+     * @param maxQueuedWrites - how many writes can be waiting before batches are dropped
+     * @param batchWriter - writes batches of images to the RAS
+     * @param liveWriter - writes images to the live terminal, or null if there is no live terminal
+     */
+    public TerminalImagePipeline(String terminalId, int batchSize, int maxQueuedWrites, IBatchWriter batchWriter, ILiveWriter liveWriter) {
+        this.terminalId = terminalId;
+        this.batchSize = batchSize;
+        this.batchWriter = batchWriter;
+        this.liveWriter = liveWriter;
+
+        this.executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxQueuedWrites), runnable -> {
+            Thread thread = new Thread(runnable, "zos3270-images-" + terminalId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Don't keep a thread for a terminal that is not being updated
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Hand over a newly captured image.  This does not wait for the image to be written.
+     */
+    public synchronized void imageCaptured(TerminalImage image) {
+        this.pendingImages.add(image);
+        if (this.pendingImages.size() >= this.batchSize) {
+            submitPendingImages(false);
+        }
+
+        if (this.liveWriter != null) {
+            this.latestLiveImage.set(image);
+            if (this.liveWriteQueued.compareAndSet(false, true)) {
+                try {
+                    this.executor.execute(this::writeLatestLiveImage);
+                } catch (RejectedExecutionException e) {
+                    // The next image will try again
+                    this.liveWriteQueued.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write any images that have not been written yet and wait until all the writes are complete
+     */
+    public void flush() {
+        synchronized (this) {
+            submitPendingImages(true);
+        }
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(FLUSH_TIMEOUT_SECONDS);
+        try {
+            // Writes are done in order, so once this has run, everything before it has been written
+            Future<?> marker = null;
+            while (marker == null) {
+                try {
+                    marker = this.executor.submit(() -> {});
+                } catch (RejectedExecutionException e) {
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new TimeoutException();
+                    }
+                    Thread.sleep(10);
+                }
+            }
+            marker.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted whilst waiting for terminal " + this.terminalId + " images to be written");
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Terminal " + this.terminalId + " images were not all written within " + FLUSH_TIMEOUT_SECONDS + " seconds");
+        }
+    }
+
+    /**
+     * Throw away any images that have not been handed to the background thread yet
+     */
+    public synchronized void discardPending() {
+        this.pendingImages.clear();
+    }
+
+    public synchronized int getDroppedImages() {
+        return this.droppedImages;
+    }
+
+    private void submitPendingImages(boolean mustWrite) {
+        if (this.pendingImages.isEmpty()) {
+            return;
+        }
+
+        List<TerminalImage> batch = this.pendingImages;
+        this.pendingImages = new ArrayList<>();
+        this.batchSequence++;
+        int sequence = this.batchSequence;
+
+        Runnable writeBatch = () -> {
+            try {
+                this.batchWriter.write(batch, sequence);
+            } catch (Exception e) {
+                logger.error("Unable to write terminal cache to the RAS", e);
+            }
+        };
+
+        try {
+            this.executor.execute(writeBatch);
+        } catch (RejectedExecutionException e) {
+            if (mustWrite) {
+                writeBatch.run();
+            } else {
+                this.droppedImages += batch.size();
+                logger.warn("Dropped " + batch.size() + " images of terminal " + this.terminalId
+                        + " as the RAS is not keeping up, " + this.droppedImages + " dropped so far");
+            }
+        }
+    }
+
+    private void writeLatestLiveImage() {
+        // Clear the flag before taking the image, so an image captured after this point queues another write
+        this.liveWriteQueued.set(false);
+        TerminalImage image = this.latestLiveImage.getAndSet(null);
+        if (image == null) {
+            return;
+        }
+
+        try {
+            this.liveWriter.write(image);
+        } catch (Exception e) {
+            logger.error("Failed to write live terminal image, image lost", e);
+        }
+    }
+}
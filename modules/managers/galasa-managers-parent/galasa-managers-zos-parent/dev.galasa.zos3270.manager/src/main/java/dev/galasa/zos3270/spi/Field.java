@@ -42,6 +42,40 @@ public class Field {
         this.highlight        = sf.getHighlight();
     }
 
+    /**
+     * Create a field straight from the screen buffer, with its text already complete
+     * 
+     * @param start - the position of the start of field, -1 if the field is unformatted or wrapped
+     * @param buffer - the screen buffer
+     * @param sfPos - the position of the start of field that holds the attributes, -1 for the default attributes
+     * @param text - the text of the field
+     */
+    Field(int start, ScreenBuffer buffer, int sfPos, char[] text) {
+        this.start = start;
+        this.text = text;
+        if (sfPos < 0) {
+            this.fieldProtected = false;
+            this.fieldNumeric = false;
+            this.fieldDisplay = true;
+            this.fieldIntenseDisplay = false;
+            this.fieldSelectorPen = false;
+            this.fieldModifed = false;
+            this.foregroundColour = null;
+            this.backgroundColour = null;
+            this.highlight = null;
+        } else {
+            this.fieldProtected = buffer.isProtected(sfPos);
+            this.fieldNumeric = buffer.isNumeric(sfPos);
+            this.fieldDisplay = buffer.isDisplay(sfPos);
+            this.fieldIntenseDisplay = buffer.isIntenseDisplay(sfPos);
+            this.fieldSelectorPen = buffer.isSelectorPen(sfPos);
+            this.fieldModifed = buffer.isFieldModifed(sfPos);
+            this.foregroundColour = buffer.getForegroundColour(sfPos);
+            this.backgroundColour = buffer.getBackgroundColour(sfPos);
+            this.highlight = buffer.getHighlight(sfPos);
+        }
+    }
+
     public Field() {
         this.start = -1;
         this.fieldProtected = false;
@@ -145,6 +179,13 @@ public class Field {
         return highlight;
     }
 
+    /**
+     * @return the text of the field, not a copy, so it must not be changed
+     */
+    char[] getText() {
+        return this.text;
+    }
+
     public String getFieldWithoutNulls() {
         StringBuilder sb = new StringBuilder();
         for (char c : text) {
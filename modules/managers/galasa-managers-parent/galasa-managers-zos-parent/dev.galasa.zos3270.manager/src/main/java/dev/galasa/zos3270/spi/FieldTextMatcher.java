@@ -0,0 +1,167 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.spi;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Searches the fields of a screen for many strings at once, with an Aho-Corasick automaton,
+ * so that every field is read only once however many strings are being looked for.
+ *
+ * A string only matches if it is wholly within one field, the same as {@link Field#containsText(String)}.
+ */
+class FieldTextMatcher {
+
+    private final String[] patterns;
+
+    // The automaton, each state has its transitions as sorted characters with their target states
+    private final char[][]  transitionChars;
+    private final int[][]   transitionStates;
+    private final int[]     failStates;
+    private final int[][]   matchedPatterns;
+
+    FieldTextMatcher(String[] patterns) {
+        this.patterns = patterns.clone();
+
+        // *** Build the trie of the patterns
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        outputs.add(new ArrayList<>());
+        for (int i = 0; i < patterns.length; i++) {
+            String pattern = patterns[i];
+            int state = 0;
+            for (int j = 0; j < pattern.length(); j++) {
+                Integer nextState = trie.get(state).get(pattern.charAt(j));
+                if (nextState == null) {
+                    nextState = trie.size();
+                    trie.get(state).put(pattern.charAt(j), nextState);
+                    trie.add(new TreeMap<>());
+                    outputs.add(new ArrayList<>());
+                }
+                state = nextState;
+            }
+            outputs.get(state).add(i);
+        }
+
+        int stateCount = trie.size();
+        this.transitionChars  = new char[stateCount][];
+        this.transitionStates = new int[stateCount][];
+        this.failStates       = new int[stateCount];
+        this.matchedPatterns  = new int[stateCount][];
+
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> transitions = trie.get(state);
+            char[] chars = new char[transitions.size()];
+            int[] states = new int[transitions.size()];
+            int t = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                chars[t] = transition.getKey();
+                states[t] = transition.getValue();
+                t++;
+            }
+            this.transitionChars[state] = chars;
+            this.transitionStates[state] = states;
+        }
+
+        // *** Work out the fail states breadth first, so a state's fail state is always
+        // complete before it is needed, and gather the matches of the fail states
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : this.transitionStates[0]) {
+            this.failStates[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int t = 0; t < this.transitionChars[state].length; t++) {
+                char c = this.transitionChars[state][t];
+                int child = this.transitionStates[state][t];
+
+                int fail = this.failStates[state];
+                int failChild = findTransition(fail, c);
+                while (failChild < 0 && fail != 0) {
+                    fail = this.failStates[fail];
+                    failChild = findTransition(fail, c);
+                }
+                this.failStates[child] = (failChild < 0) ? 0 : failChild;
+                outputs.get(child).addAll(outputs.get(this.failStates[child]));
+
+                queue.add(child);
+            }
+        }
+
+        for (int state = 0; state < stateCount; state++) {
+            List<Integer> output = outputs.get(state);
+            int[] matched = new int[output.size()];
+            for (int i = 0; i < matched.length; i++) {
+                matched[i] = output.get(i);
+            }
+            this.matchedPatterns[state] = matched;
+        }
+    }
+
+    /**
+     * @return true if this matcher looks for exactly these strings, in this order
+     */
+    boolean isFor(String[] otherPatterns) {
+        return Arrays.equals(this.patterns, otherPatterns);
+    }
+
+    /**
+     * Search the fields for all the strings.
+     *
+     * @param fields - the fields of the screen
+     * @return whether each string was found, indexed in the same order as the strings were given
+     */
+    boolean[] findMatches(Field[] fields) {
+        boolean[] found = new boolean[this.patterns.length];
+        if (fields.length == 0) {
+            return found;
+        }
+
+        // Empty strings are contained in every field
+        for (int pattern : this.matchedPatterns[0]) {
+            found[pattern] = true;
+        }
+
+        for (Field field : fields) {
+            int state = 0;
+            for (char c : field.getText()) {
+                state = nextState(state, c);
+                for (int pattern : this.matchedPatterns[state]) {
+                    found[pattern] = true;
+                }
+            }
+        }
+        return found;
+    }
+
+    private int nextState(int state, char c) {
+        while (true) {
+            int next = findTransition(state, c);
+            if (next >= 0) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = this.failStates[state];
+        }
+    }
+
+    private int findTransition(int state, char c) {
+        int index = Arrays.binarySearch(this.transitionChars[state], c);
+        if (index < 0) {
+            return -1;
+        }
+        return this.transitionStates[state][index];
+    }
+}
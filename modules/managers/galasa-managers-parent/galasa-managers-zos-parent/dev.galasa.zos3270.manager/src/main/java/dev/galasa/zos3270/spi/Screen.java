@@ -93,7 +93,7 @@ public class Screen {
     private final Network                           network;
 
     private boolean                                 usingAlternate;
-    private IBufferHolder[]                         buffer;
+    private ScreenBuffer                            buffer;
     private int                                     screenSize;
     private int                                     columns;
     private int                                     rows;
@@ -125,6 +125,13 @@ public class Screen {
     
     private boolean                                 detectedSetAttribute = false;
 
+    // The fields worked out from the buffer, kept until the buffer changes
+    private Field[]                                 cachedFields;
+    private ScreenBuffer                            cachedFieldsBuffer;
+    private int                                     cachedFieldsGeneration;
+
+    private FieldTextMatcher                        lastTextMatcher;
+
     /**
      * @deprecated use the {@link #Screen(TerminalSize primarySize, TerminalSize alternateSize, Network network, Charset codePage)}
      * constructor instead.  
@@ -253,10 +260,8 @@ public class Screen {
 
     private void resetMdt() {
         for(int i = 0; i < this.screenSize; i++) {
-            IBufferHolder bh = this.buffer[i];
-            if (bh instanceof BufferStartOfField) {
-                BufferStartOfField sof = (BufferStartOfField) bh;
-                sof.clearFieldModified();
+            if (this.buffer.isStartOfField(i)) {
+                this.buffer.clearFieldModified(i);
             }
         }
     }
@@ -270,22 +275,17 @@ public class Screen {
             BufferAddress cursor = new BufferAddress(this.screenCursor);
             outboundBuffer.write(cursor.getCharRepresentation());
 
-            for(IBufferHolder bh : this.buffer) {
-                if (bh == null) {
+            for(int i = 0; i < this.screenSize; i++) {
+                if (this.buffer.isEmpty(i)) {
                     outboundBuffer.write(0);
-                } else if (bh instanceof BufferGraphicsEscape) {
-                    BufferGraphicsEscape bc = (BufferGraphicsEscape) bh;
+                } else if (this.buffer.getType(i) == ScreenBuffer.GRAPHICS_ESCAPE) {
                     outboundBuffer.write(OrderGraphicsEscape.ID);
-                    outboundBuffer.write(bc.getFieldEbcdic(this.codePage));
-                } else if (bh instanceof BufferChar) {
-                    BufferChar bc = (BufferChar) bh;
-                    outboundBuffer.write(bc.getFieldEbcdic(this.codePage));
-                } else if (bh instanceof BufferStartOfField) {
-                    BufferStartOfField sf = (BufferStartOfField) bh;
-                    OrderStartField osf = new OrderStartField(sf.isProtected(), sf.isNumeric(), sf.isDisplay(), sf.isIntenseDisplay(), sf.isSelectorPen(), sf.isFieldModifed());
+                    outboundBuffer.write(this.buffer.getFieldEbcdic(i, this.codePage));
+                } else if (this.buffer.isStartOfField(i)) {
+                    OrderStartField osf = new OrderStartField(this.buffer.isProtected(i), this.buffer.isNumeric(i), this.buffer.isDisplay(i), this.buffer.isIntenseDisplay(i), this.buffer.isSelectorPen(i), this.buffer.isFieldModifed(i));
                     outboundBuffer.write(osf.getBytes());
                 } else {
-                    throw new DatastreamException("Unrecognised Buffer Holder - " + bh.getClass().getName());
+                    outboundBuffer.write(this.buffer.getFieldEbcdic(i, this.codePage));
                 }
             }
             String outboundHex = new String(Hex.encodeHex(outboundBuffer.toByteArray()));
@@ -345,15 +345,15 @@ public class Screen {
 
         int start = 0;
         int end = 0;
-        for (; start < buffer.length; start++) {
-            if (buffer[start] instanceof BufferStartOfField) {
+        for (; start < this.screenSize; start++) {
+            if (buffer.isStartOfField(start)) {
                 break;
             }
         }
 
-        if (start >= buffer.length) { // indicates unfromatted, send it all
+        if (start >= this.screenSize) { // indicates unfromatted, send it all
             start = 0;
-            end = buffer.length - 1;
+            end = this.screenSize - 1;
 
             // OrderSetBufferAddress sba = new OrderSetBufferAddress(new BufferAddress(0));
             // outboundBuffer.write(sba.getCharRepresentation());
@@ -361,32 +361,28 @@ public class Screen {
         } else { // formatted
             end = start - 1;
             if (end < 0) {
-                end = buffer.length - 1;
+                end = this.screenSize - 1;
             }
         }
 
         int pos = start;
         while (true) {
-            IBufferHolder bh = buffer[pos];
-            if (bh instanceof BufferStartOfField) {
-                BufferStartOfField bsf = (BufferStartOfField) bh;
-                fieldModified = bsf.isFieldModifed();
+            if (buffer.isStartOfField(pos)) {
+                fieldModified = buffer.isFieldModifed(pos);
 
                 if (fieldModified) { // Send whether unprotected or not
                     OrderSetBufferAddress sba = new OrderSetBufferAddress(new BufferAddress(pos + 1));
                     outboundBuffer.write(sba.getCharRepresentation());
                 }
-            } else if (bh instanceof BufferGraphicsEscape) {
-                BufferGraphicsEscape bc = (BufferGraphicsEscape) bh;
+            } else if (buffer.getType(pos) == ScreenBuffer.GRAPHICS_ESCAPE) {
                 if (fieldModified) {
                     outboundBuffer.write(OrderGraphicsEscape.ID);
-                    byte value = bc.getFieldEbcdic(this.codePage);
+                    byte value = buffer.getFieldEbcdic(pos, this.codePage);
                     outboundBuffer.write(value);
                 }
-            } else if (bh instanceof BufferChar) {
-                BufferChar bc = (BufferChar) bh;
+            } else if (buffer.isChar(pos)) {
                 if (fieldModified) {
-                    byte value = bc.getFieldEbcdic(this.codePage);
+                    byte value = buffer.getFieldEbcdic(pos, this.codePage);
                     if (value != 0) {
                         outboundBuffer.write(value);
                     }
@@ -398,7 +394,7 @@ public class Screen {
             }
 
             pos++;
-            if (pos >= buffer.length) {
+            if (pos >= this.screenSize) {
                 pos = 0;
             }
         }
@@ -569,9 +565,7 @@ public class Screen {
             this.usingAlternate = false;
         }
 
-        for (int i = 0; i < buffer.length; i++) {
-            buffer[i] = null;
-        }
+        buffer.clear();
 
         this.screenCursor  = 0;
         this.workingCursor = 0;
@@ -593,9 +587,7 @@ public class Screen {
             this.usingAlternate = true;
         }
 
-        for (int i = 0; i < buffer.length; i++) {
-            buffer[i] = null;
-        }
+        buffer.clear();
 
         this.screenCursor  = 0;
         this.workingCursor = 0;
@@ -603,7 +595,7 @@ public class Screen {
 
     private void allocateBuffer() {
         this.screenSize = this.columns * this.rows;
-        this.buffer = new IBufferHolder[this.screenSize];        
+        this.buffer = new ScreenBuffer(this.screenSize);
     }
 
     /**
@@ -634,7 +626,7 @@ public class Screen {
 
         boolean firstPosition = true;
         while (firstPosition || this.workingCursor != endOfRepeat) {
-            this.buffer[this.workingCursor] = new BufferChar(order.getChar());
+            this.buffer.setChar(this.workingCursor, order.getChar());
             if (endOfRepeat == this.screenSize && this.workingCursor == (this.screenSize - 1)) {
                 endOfRepeat = 0;
                 break;
@@ -654,54 +646,41 @@ public class Screen {
     }
 
     private void processSF(OrderStartField order) {
-        this.buffer[this.workingCursor] = new BufferStartOfField(this.workingCursor, order.isFieldProtected(),
+        this.buffer.setStartOfField(this.workingCursor, order.isFieldProtected(),
                 order.isFieldNumeric(), order.isFieldDisplay(), order.isFieldIntenseDisplay(),
-                order.isFieldSelectorPen(), order.isFieldModifed());
+                order.isFieldSelectorPen(), order.isFieldModifed(), null, null, null);
         incrementWorkingCursor();
     }
 
     private void processSFE(OrderStartFieldExtended order) {
-        OrderStartField sf = order.getOrderStartField();
-        BufferStartOfField bsf = null;
-
-        if (sf != null) {
-            bsf = new BufferStartOfField(this.workingCursor, sf.isFieldProtected(), sf.isFieldNumeric(),
-                    sf.isFieldDisplay(), sf.isFieldIntenseDisplay(), sf.isFieldSelectorPen(), sf.isFieldModifed(),
-                    order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
-        }
-
-        if (bsf == null) {
-            bsf = new BufferStartOfField(this.workingCursor, false, false, true, false, false, false);
-        }
-
-        this.buffer[this.workingCursor] = bsf;
+        setExtendedStartOfField(order.getOrderStartField(), order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
         incrementWorkingCursor();
     }
 
     private void processMF(OrderModifyField order) {
-        OrderStartField sf = order.getOrderStartField();
-        BufferStartOfField bsf = null;
-
-        if (sf != null) {
-            bsf = new BufferStartOfField(this.workingCursor, sf.isFieldProtected(), sf.isFieldNumeric(),
-                    sf.isFieldDisplay(), sf.isFieldIntenseDisplay(), sf.isFieldSelectorPen(), sf.isFieldModifed(),
-                    order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
-        }
+        setExtendedStartOfField(order.getOrderStartField(), order.getHighlight(), order.getForegroundColour(), order.getBackgroundColor());
+        incrementWorkingCursor();
+    }
 
-        if (bsf == null) {
-            bsf = new BufferStartOfField(this.workingCursor, false, false, true, false, false, false);
+    private void setExtendedStartOfField(OrderStartField sf, AttributeExtendedHighlighting highlight,
+            AttributeForegroundColour foregroundColour, AttributeBackgroundColour backgroundColour) {
+        if (sf == null) {
+            this.buffer.setStartOfField(this.workingCursor, false, false, true, false, false, false, null, null, null);
+            return;
         }
 
-        this.buffer[this.workingCursor] = bsf;
-        incrementWorkingCursor();
+        this.buffer.setStartOfField(this.workingCursor, sf.isFieldProtected(), sf.isFieldNumeric(),
+                sf.isFieldDisplay(), sf.isFieldIntenseDisplay(), sf.isFieldSelectorPen(), sf.isFieldModifed(),
+                (foregroundColour == null) ? null : foregroundColour.getColour(),
+                (backgroundColour == null) ? null : backgroundColour.getColour(),
+                (highlight == null) ? null : highlight.getHighlight());
     }
 
     private void processEUA(OrderEraseUnprotectedToAddress order) {
         boolean charProtected = true;
-        IBufferHolder bh = this.buffer[this.workingCursor];
         // are we on a SF, if so take the protected setting
-        if (bh instanceof BufferStartOfField) {
-            charProtected = ((BufferStartOfField)bh).isProtected();
+        if (this.buffer.isStartOfField(this.workingCursor)) {
+            charProtected = this.buffer.isProtected(this.workingCursor);
         } else {
             // we have to go looking backwards for it
             int searchCursor = this.workingCursor - 1;
@@ -710,10 +689,8 @@ public class Screen {
             }
             boolean found = false;
             while(searchCursor != this.workingCursor) {
-                bh = this.buffer[searchCursor];
-
-                if (bh instanceof BufferStartOfField) {
-                    charProtected = ((BufferStartOfField)bh).isProtected();
+                if (this.buffer.isStartOfField(searchCursor)) {
+                    charProtected = this.buffer.isProtected(searchCursor);
                     found = true;
                     break;
                 }
@@ -741,12 +718,11 @@ public class Screen {
 
         int eraseCursor = this.workingCursor;
         while(true) {
-            bh = this.buffer[eraseCursor];
-            if (bh instanceof BufferStartOfField) {
-                charProtected = ((BufferStartOfField)bh).isProtected();
+            if (this.buffer.isStartOfField(eraseCursor)) {
+                charProtected = this.buffer.isProtected(eraseCursor);
             } else {
                 if (!charProtected) {
-                    this.buffer[eraseCursor] = null;
+                    this.buffer.setEmpty(eraseCursor);
                 }
             }
 
@@ -773,54 +749,46 @@ public class Screen {
     }
 
     private void processNewLine() {
-        this.buffer[this.workingCursor] = new BufferNewLine();
+        this.buffer.setControlChar(this.workingCursor, ScreenBuffer.NEW_LINE);
         incrementWorkingCursor();
     }
 
     private void processFormFeed() {
-        this.buffer[this.workingCursor] = new BufferFormFeed();
+        this.buffer.setControlChar(this.workingCursor, ScreenBuffer.FORM_FEED);
         incrementWorkingCursor();
     }
 
     private void processCarrageReturn() {
-        this.buffer[this.workingCursor] = new BufferCarrageReturn();
+        this.buffer.setControlChar(this.workingCursor, ScreenBuffer.CARRAGE_RETURN);
         incrementWorkingCursor();
     }
 
     private void processEndOfMedium() {
-        this.buffer[this.workingCursor] = new BufferEndOfMedium();
+        this.buffer.setControlChar(this.workingCursor, ScreenBuffer.END_OF_MEDIUM);
         incrementWorkingCursor();
     }
 
     private void processGraphicsEscape(OrderGraphicsEscape order) {
-        this.buffer[this.workingCursor] = new BufferGraphicsEscape(order.getByte());
+        this.buffer.setGraphicsEscape(this.workingCursor, order.getByte());
         incrementWorkingCursor();
     }
 
     private void processText(OrderText order) {
         String text = order.getText();
         for (int i = 0; i < text.length(); i++) {
-            this.buffer[this.workingCursor] = new BufferChar(text.charAt(i));
+            this.buffer.setChar(this.workingCursor, text.charAt(i));
             incrementWorkingCursor();
         }
 
     }
 
     private String buildRawScreenStringFromBuffer() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.buffer.length; i++) {
-            IBufferHolder currentBufferHolder = this.buffer[i];
-            String currentBufferStr = null;
-            if (currentBufferHolder == null) {
-                currentBufferStr = " ";
-            } else {
-                currentBufferStr = currentBufferHolder.getStringWithoutNulls();
-            }
-
-            sb.append(currentBufferStr);
+        char[] screenChars = new char[this.screenSize];
+        for (int i = 0; i < this.screenSize; i++) {
+            screenChars[i] = this.buffer.getDisplayChar(i);
         }
 
-        return sb.toString();
+        return new String(screenChars);
     }
 
     public String printScreen() {
@@ -882,19 +850,13 @@ public class Screen {
         int row = 0;
         int col = 0;
 
-        // *** Check to see if the screen is wrapped or unformatted
-        BufferStartOfField currentBufferStartOfField = new BufferStartOfField(0, false, false, true, false, false, false);
-        if (!(this.buffer[0] instanceof BufferStartOfField)) {
-            for (int i = this.buffer.length - 1; i >= 0; i--) {
-                IBufferHolder bh = this.buffer[i];
-                if (bh instanceof BufferStartOfField) {
-                    currentBufferStartOfField = (BufferStartOfField) bh;
-                    break;
-                }
-            }
+        // *** Check to see if the screen is wrapped or unformatted, -1 means the default field attributes
+        int currentStartOfField = -1;
+        if (!this.buffer.isStartOfField(0)) {
+            currentStartOfField = findLastStartOfField();
         }  // no need for else as it will be picked up in the loop
 
-        for (int i = 0; i < this.buffer.length; i++) {
+        for (int i = 0; i < this.screenSize; i++) {
             // print row header
             if (col == 0) {
                 screenBuffer.append("=");
@@ -903,19 +865,13 @@ public class Screen {
             }
 
             // Print actual text
-            IBufferHolder bufferHolder = this.buffer[i];
-            if (bufferHolder == null) {
-                screenBuffer.append(" ");
-            } else {
-                screenBuffer.append(bufferHolder.getStringWithoutNulls());
-
-                if (bufferHolder instanceof BufferStartOfField) {
-                    currentBufferStartOfField = (BufferStartOfField)bufferHolder;
-                }
+            screenBuffer.append(this.buffer.getDisplayChar(i));
+            if (this.buffer.isStartOfField(i)) {
+                currentStartOfField = i;
             }
 
 
-            if (bufferHolder == null || bufferHolder == currentBufferStartOfField) {
+            if (this.buffer.isEmpty(i) || i == currentStartOfField) {
                 foregroundLine.append(" ");
                 backgroundLine.append(" ");
                 highlightLine.append(" ");
@@ -924,18 +880,20 @@ public class Screen {
                 numericLine.append(" ");
                 modifiedLine.append(" ");
             } else {
-                AttributeForegroundColour foregroundColour = currentBufferStartOfField.getAttributeForegroundColour();
+                boolean hasStartOfField = currentStartOfField >= 0;
+
+                Colour foregroundColour = hasStartOfField ? this.buffer.getForegroundColour(currentStartOfField) : null;
                 if (foregroundColour == null) {
                     foregroundLine.append(" ");
                 } else {
-                    foregroundLine.append(foregroundColour.getColour().getLetter());
+                    foregroundLine.append(foregroundColour.getLetter());
                 }
                 
-                AttributeBackgroundColour backgroundColour = currentBufferStartOfField.getAttributeBackgroundColour();
+                Colour backgroundColour = hasStartOfField ? this.buffer.getBackgroundColour(currentStartOfField) : null;
                 if (backgroundColour == null) {
                     backgroundLine.append(" ");
                 } else {
-                    backgroundLine.append(backgroundColour.getColour().getLetter());
+                    backgroundLine.append(backgroundColour.getLetter());
                 }
                 
 
@@ -943,11 +901,11 @@ public class Screen {
 
 
                 // Calculate Highlight
-                AttributeExtendedHighlighting extendedHighlighting = currentBufferStartOfField.getAttributeExtendedHighlighting();
+                Highlight extendedHighlighting = hasStartOfField ? this.buffer.getHighlight(currentStartOfField) : null;
                 if (extendedHighlighting == null) {
                     highlightLine.append(" ");
                 } else {
-                    switch(extendedHighlighting.getHighlight()) {
+                    switch(extendedHighlighting) {
                     case BLINK:
                         highlightLine.append("b");
                         break;
@@ -970,28 +928,28 @@ public class Screen {
                 }
 
                 // Calculate intensity
-                if (currentBufferStartOfField.isIntenseDisplay()) {
+                if (hasStartOfField && this.buffer.isIntenseDisplay(currentStartOfField)) {
                     intensityLine.append("i");
                 } else {
                     intensityLine.append(" ");
                 }
 
                 // Calculate Protected
-                if (currentBufferStartOfField.isProtected()) {
+                if (hasStartOfField && this.buffer.isProtected(currentStartOfField)) {
                     protectedLine.append("p");
                 } else {
                     protectedLine.append("u");
                 }
 
                 // Calculate Numeric
-                if (currentBufferStartOfField.isNumeric()) {
+                if (hasStartOfField && this.buffer.isNumeric(currentStartOfField)) {
                     numericLine.append("n");
                 } else {
                     numericLine.append(" ");
                 }
 
                 // Calculate Modified
-                if (currentBufferStartOfField.isFieldModifed()) {
+                if (hasStartOfField && this.buffer.isFieldModifed(currentStartOfField)) {
                     modifiedLine.append("m");
                 } else {
                     modifiedLine.append(" ");
@@ -1109,59 +1067,51 @@ public class Screen {
     }
 
     public String retrieveFlatScreen() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.buffer.length; i++) {
-            if (this.buffer[i] == null) {
-                sb.append(" ");
-            } else {
-                sb.append(this.buffer[i].getStringWithoutNulls());
-            }
-        }
-        return sb.toString();
+        return buildRawScreenStringFromBuffer();
     }
 
 
 
     public synchronized @NotNull Field[] calculateFields() {
-        ArrayList<Field> fields = new ArrayList<>();
-
-        Field currentField = null;
-
-        // *** Check to see if the screen is wrapped or unformatted
-        if (!(this.buffer[0] instanceof BufferStartOfField)) {
-            BufferStartOfField wrapSoField = null;
-            for (int i = this.buffer.length - 1; i >= 0; i--) {
-                IBufferHolder bh = this.buffer[i];
-                if (bh instanceof BufferStartOfField) {
-                    wrapSoField = (BufferStartOfField) bh;
-                    break;
-                }
-            }
+        return getFields().clone();
+    }
 
-            if (wrapSoField == null) {
-                currentField = new Field();
-            } else {
-                currentField = new Field(-1, wrapSoField);
-            }
+    /**
+     * Get the fields on the screen, only working them out again if the buffer has changed
+     * since they were last worked out.  The array is shared, so must not be changed.
+     */
+    private synchronized Field[] getFields() {
+        if (this.cachedFields == null || this.cachedFieldsBuffer != this.buffer || this.cachedFieldsGeneration != this.buffer.getGeneration()) {
+            this.cachedFields = buildFields();
+            this.cachedFieldsBuffer = this.buffer;
+            this.cachedFieldsGeneration = this.buffer.getGeneration();
         }
+        return this.cachedFields;
+    }
 
-        for (int i = 0; i < this.buffer.length; i++) {
-            IBufferHolder bh = this.buffer[i];
-            if (bh == null) {
-                currentField.appendChar((char) 0x00); // NOSONAR, can't be null
-            } else if (bh instanceof BufferStartOfField) {
-                if (currentField != null) {
-                    fields.add(currentField);
+    private Field[] buildFields() {
+        ArrayList<Field> fields = new ArrayList<>();
+
+        // *** Check to see if the screen is wrapped or unformatted, if so the first field
+        // takes its attributes from the last start of field, or the defaults if there is none
+        boolean inField = !this.buffer.isStartOfField(0);
+        int fieldStart = -1;
+        int fieldAttributes = inField ? findLastStartOfField() : -1;
+        int textStart = 0;
+
+        for (int i = 0; i < this.screenSize; i++) {
+            if (this.buffer.isStartOfField(i)) {
+                if (inField) {
+                    fields.add(new Field(fieldStart, this.buffer, fieldAttributes, this.buffer.getChars(textStart, i)));
                 }
-                currentField = new Field(i, (BufferStartOfField) bh);
-            } else if (bh instanceof BufferChar) {
-                currentField.appendChar(((BufferChar) bh).getChar());// NOSONAR, can't be null
-            } else {
-                throw new UnsupportedOperationException("Unrecognised buffer type " + bh.getClass().getName());
+                inField = true;
+                fieldStart = i;
+                fieldAttributes = i;
+                textStart = i + 1;
             }
         }
-        if (currentField != null) {
-            fields.add(currentField);
+        if (inField) {
+            fields.add(new Field(fieldStart, this.buffer, fieldAttributes, this.buffer.getChars(textStart, this.screenSize)));
         }
 
         // *** If the SBA were not in order, possibility that the safeguard first field
@@ -1175,8 +1125,20 @@ public class Screen {
         return fields.toArray(new Field[fields.size()]);
     }
 
+    /**
+     * @return the position of the last start of field on the screen, -1 if the screen is unformatted
+     */
+    private int findLastStartOfField() {
+        for (int i = this.screenSize - 1; i >= 0; i--) {
+            if (this.buffer.isStartOfField(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     public void searchFieldContaining(String text) throws TextNotFoundException {
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (field.containsText(text)) {
                 return;
             }
@@ -1185,22 +1147,31 @@ public class Screen {
         throw new TextNotFoundException(CANT_FIND_TEXT + text + "'");
     }
 
-    public int searchFieldContaining(@NotNull String[] okText, String[] errorText) throws TextNotFoundException, ErrorTextFoundException {
-        if (errorText != null) {
-            for(int i = 0; i < errorText.length; i++) {
-                for (Field field : calculateFields()) {
-                    if (field.containsText(errorText[i])) {
-                        throw new ErrorTextFoundException("Found error text '" + errorText[i] + "' on screen", i);
-                    }
-                }
+    public synchronized int searchFieldContaining(@NotNull String[] okText, String[] errorText) throws TextNotFoundException, ErrorTextFoundException {
+        if (errorText == null) {
+            errorText = new String[0];
+        }
+
+        // *** Search for the error and ok text together, error text first
+        String[] allText = new String[errorText.length + okText.length];
+        System.arraycopy(errorText, 0, allText, 0, errorText.length);
+        System.arraycopy(okText, 0, allText, errorText.length, okText.length);
+
+        // The same text is usually searched for on every screen update, so keep the matcher
+        if (this.lastTextMatcher == null || !this.lastTextMatcher.isFor(allText)) {
+            this.lastTextMatcher = new FieldTextMatcher(allText);
+        }
+        boolean[] found = this.lastTextMatcher.findMatches(getFields());
+
+        for(int i = 0; i < errorText.length; i++) {
+            if (found[i]) {
+                throw new ErrorTextFoundException("Found error text '" + errorText[i] + "' on screen", i);
             }
         }
 
         for(int i = 0; i < okText.length; i++) {
-            for (Field field : calculateFields()) {
-                if (field.containsText(okText[i])) {
-                    return i;
-                }
+            if (found[errorText.length + i]) {
+                return i;
             }
         }
 
@@ -1208,7 +1179,7 @@ public class Screen {
     }
 
     public boolean isTextInField(String text) {
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (field.containsText(text)) {
                 return true;
             }
@@ -1263,7 +1234,7 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (field.containsText(text)) {
                 this.screenCursor = field.getStart();
                 return;
@@ -1278,40 +1249,40 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        if (buffer[screenCursor] != null && !(buffer[screenCursor] instanceof BufferChar)) {
+        if (buffer.isStartOfField(screenCursor)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + this.screenCursor);
         }
 
-        BufferStartOfField sf = null;
+        int sf = -1;
         int sfPos = screenCursor - 1;
         if (sfPos < 0) {
-            sfPos = buffer.length - 1;
+            sfPos = this.screenSize - 1;
         }
         while(sfPos != screenCursor) {
-            if (buffer[sfPos] instanceof BufferStartOfField) {
-                sf = (BufferStartOfField) buffer[sfPos];
+            if (buffer.isStartOfField(sfPos)) {
+                sf = sfPos;
                 break;
             }
 
             sfPos--;
             if (sfPos < 0) {
-                sfPos = buffer.length - 1;
+                sfPos = this.screenSize - 1;
             }
         }
 
         // *** if no field found, assume unprotected
-        if (sf != null && sf.isProtected()) {
+        if (sf != -1 && buffer.isProtected(sf)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + screenCursor);
         }
 
         //*** Set this and following characters to null
         int pos = this.screenCursor;
         while(true) {
-            if (!(buffer[pos] instanceof BufferChar)) {
+            if (!buffer.isChar(pos)) {
                 break;
             }
 
-            buffer[pos] = new BufferChar((char) 0);
+            buffer.setChar(pos, (char) 0);
             pos++;
             if (pos >= this.screenSize) {
                 pos = 0;
@@ -1322,8 +1293,8 @@ public class Screen {
             }
         }
 
-        if (sf != null) {
-            sf.setFieldModified();
+        if (sf != -1) {
+            buffer.setFieldModified(sf);
         }
     }
 
@@ -1334,23 +1305,16 @@ public class Screen {
         }
 
         boolean unprotected = false;
-        BufferStartOfField startOfFieldUnprotected = null;
+        int startOfFieldUnprotected = -1;
 
         // *** Check to see if the screen is wrapped or unformatted
-        if (!(this.buffer[0] instanceof BufferStartOfField)) {
-            BufferStartOfField wrapSoField = null;
-            for (int i = this.buffer.length - 1; i >= 0; i--) {
-                IBufferHolder bh = this.buffer[i];
-                if (bh instanceof BufferStartOfField) {
-                    wrapSoField = (BufferStartOfField) bh;
-                    break;
-                }
-            }
+        if (!this.buffer.isStartOfField(0)) {
+            int wrapSoField = findLastStartOfField();
 
-            if (wrapSoField == null) {
+            if (wrapSoField == -1) {
                 unprotected = true;  // unformatted, screen, so all unprotected
             } else {
-                unprotected = !wrapSoField.isProtected();
+                unprotected = !this.buffer.isProtected(wrapSoField);
                 startOfFieldUnprotected = wrapSoField;
             }
         }
@@ -1358,21 +1322,18 @@ public class Screen {
 
 
         for(int i = 0; i < this.screenSize; i++) {
-            IBufferHolder bh = this.buffer[i];
-
-            if (bh instanceof BufferStartOfField) {
-                BufferStartOfField sof = (BufferStartOfField) bh;
-                unprotected = !sof.isProtected();
+            if (this.buffer.isStartOfField(i)) {
+                unprotected = !this.buffer.isProtected(i);
                 if (unprotected) {
-                    startOfFieldUnprotected = sof;
+                    startOfFieldUnprotected = i;
                 } else {
-                    startOfFieldUnprotected = null;
+                    startOfFieldUnprotected = -1;
                 }
             } else {
                 if (unprotected) {
-                    this.buffer[i] = null;
-                    if (startOfFieldUnprotected != null) {
-                        startOfFieldUnprotected.setFieldModified();
+                    this.buffer.setEmpty(i);
+                    if (startOfFieldUnprotected != -1) {
+                        this.buffer.setFieldModified(startOfFieldUnprotected);
                     }
                 }
             }
@@ -1389,9 +1350,8 @@ public class Screen {
         int startPosition = this.screenCursor;
         boolean foundUnprotectedField = false;
 
-        IBufferHolder sfCheck = this.buffer[this.screenCursor];    
-        if (sfCheck instanceof BufferStartOfField) {
-            foundUnprotectedField = !((BufferStartOfField)sfCheck).isProtected();
+        if (this.buffer.isStartOfField(this.screenCursor)) {
+            foundUnprotectedField = !this.buffer.isProtected(this.screenCursor);
         }
         while(true) {
             // advance the cursor
@@ -1401,19 +1361,14 @@ public class Screen {
             }
 
             // Get the entry at this position
-            IBufferHolder previousBuffer = this.buffer[this.screenCursor];
-            if (previousBuffer == null || previousBuffer instanceof BufferChar) {
+            if (!this.buffer.isStartOfField(this.screenCursor)) {
                 // if this is a character and we are in an unprotected field, use it
                 if (foundUnprotectedField) {
                     return;
                 }
-            } else  if (previousBuffer instanceof BufferStartOfField) {
-                // we have a start of field
-                BufferStartOfField sof = (BufferStartOfField) previousBuffer;
-                // record if it is unprotected or not
-                foundUnprotectedField = !sof.isProtected();
             } else {
-                throw new FieldNotFoundException("Unrecognised buffer type at pos " + this.screenCursor);
+                // we have a start of field, record if it is unprotected or not
+                foundUnprotectedField = !this.buffer.isProtected(this.screenCursor);
             }
 
             if (this.screenCursor == startPosition) {
@@ -1441,15 +1396,13 @@ public class Screen {
             }
 
             // Get the entry in the previous position
-            IBufferHolder previousBuffer = this.buffer[previousPositionInBuffer];
-            if (previousBuffer == null || previousBuffer instanceof BufferChar) {
+            if (!this.buffer.isStartOfField(previousPositionInBuffer)) {
                 // if it is null or a character, mark position as the last valid position whether unprotected or not
                 lastCharField = previousPositionInBuffer;
-            } else  if (previousBuffer instanceof BufferStartOfField) {
+            } else {
                 // we have a start of field
-                BufferStartOfField sof = (BufferStartOfField) previousBuffer;
                 //if it is protected, invalidate the last valid char position
-                if (sof.isProtected()) {
+                if (this.buffer.isProtected(previousPositionInBuffer)) {
                     lastCharField = -1;
                 } else {
                     // as unprotected field,  indicate that there is atleast one on the screen
@@ -1460,8 +1413,6 @@ public class Screen {
                         return;
                     }
                 }
-            } else {
-                throw new FieldNotFoundException("Unrecognised buffer type at pos " + previousPositionInBuffer);
             }
 
             this.screenCursor = previousPositionInBuffer;
@@ -1527,7 +1478,7 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
         if (fields == null || fields.length == 0) {
             this.screenCursor = 0;
@@ -1556,7 +1507,7 @@ public class Screen {
             throw new KeyboardLockedException("Unable to move cursor as keyboard is locked");
         }
 
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
 
         int newCursor = ((this.screenCursor / this.columns) + 1) * this.columns;
@@ -1621,29 +1572,29 @@ public class Screen {
 
         int position = this.screenCursor;
 
-        if (buffer[position] != null && !(buffer[position] instanceof BufferChar)) {
+        if (buffer.isStartOfField(position)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + this.screenCursor);
         }
 
-        BufferStartOfField sf = null;
+        int sf = -1;
         int sfPos = position - 1;
         if (sfPos < 0) {
-            sfPos = buffer.length - 1;
+            sfPos = this.screenSize - 1;
         }
         while(sfPos != position) {
-            if (buffer[sfPos] instanceof BufferStartOfField) {
-                sf = (BufferStartOfField) buffer[sfPos];
+            if (buffer.isStartOfField(sfPos)) {
+                sf = sfPos;
                 break;
             }
 
             sfPos--;
             if (sfPos < 0) {
-                sfPos = buffer.length - 1;
+                sfPos = this.screenSize - 1;
             }
         }
 
         // *** if no field found, assume unprotected
-        if (sf != null && sf.isProtected()) {
+        if (sf != -1 && buffer.isProtected(sf)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + position);
         }
 
@@ -1656,15 +1607,15 @@ public class Screen {
         }
 
         while(true) {
-            this.buffer[position - 1] = this.buffer[position];
-            this.buffer[position] = null;
+            this.buffer.copy(position, position - 1);
+            this.buffer.setEmpty(position);
 
             position++;
             if (position >= this.screenSize) {
                 break;
             }
 
-            if (buffer[position] != null && !(buffer[position] instanceof BufferChar)) {
+            if (buffer.isStartOfField(position)) {
                 break;
             }
         }
@@ -1699,7 +1650,7 @@ public class Screen {
     }
 
     public Field locateFieldAt(int cursorPos) {
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
         int fieldPosition = 0;
         for (; fieldPosition < fields.length; fieldPosition++) {
@@ -1713,7 +1664,7 @@ public class Screen {
 
     public String getValueFromFieldContaining(String text) throws TextNotFoundException {
         Boolean foundHeader = false;
-        for (Field field : calculateFields()) {
+        for (Field field : getFields()) {
             if (!foundHeader) {
                 if (field.containsText(text)) {
                     foundHeader = true;
@@ -1744,29 +1695,29 @@ public class Screen {
             throw new KeyboardLockedException("Unable to type as keyboard is locked");
         }
 
-        if (buffer[position] != null && !(buffer[position] instanceof BufferChar)) {
+        if (buffer.isStartOfField(position)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + position);
         }
 
-        BufferStartOfField sf = null;
+        int sf = -1;
         int sfPos = position - 1;
         if (sfPos < 0) {
-            sfPos = buffer.length - 1;
+            sfPos = this.screenSize - 1;
         }
         while(sfPos != position) {
-            if (buffer[sfPos] instanceof BufferStartOfField) {
-                sf = (BufferStartOfField) buffer[sfPos];
+            if (buffer.isStartOfField(sfPos)) {
+                sf = sfPos;
                 break;
             }
 
             sfPos--;
             if (sfPos < 0) {
-                sfPos = buffer.length - 1;
+                sfPos = this.screenSize - 1;
             }
         }
 
         // *** if no field found, assume unprotected
-        if (sf != null && sf.isProtected()) {
+        if (sf != -1 && buffer.isProtected(sf)) {
             throw new FieldNotFoundException("Unable to type where the cursor is pointing to - " + position);
         }
 
@@ -1775,16 +1726,15 @@ public class Screen {
         }
 
         for (int i = 0; i < text.length(); i++) {
-            IBufferHolder bh = buffer[position];
-            if (bh != null && !(bh instanceof BufferChar)) {
+            if (buffer.isStartOfField(position)) {
                 throw new FieldNotFoundException(
                         "Unable to type where the cursor is pointing to - " + position);
             }
 
-            buffer[position] = new BufferChar(text.charAt(i));
+            buffer.setChar(position, text.charAt(i));
 
-            if (sf != null) {
-                sf.setFieldModified();
+            if (sf != -1) {
+                buffer.setFieldModified(sf);
             }
 
             // We have successfully typed a character, so make sure the cursor is positioned
@@ -1798,17 +1748,15 @@ public class Screen {
                 }
 
                 this.screenCursor = position;
-                bh = buffer[position];
 
-                if (unprotected && (bh == null || (bh instanceof BufferChar))) {
+                if (unprotected && !buffer.isStartOfField(position)) {
                     break;
                 }
 
-                if (bh != null && (bh instanceof BufferStartOfField)) {
-                    BufferStartOfField sof = (BufferStartOfField) bh;
-                    unprotected = !sof.isProtected();
+                if (buffer.isStartOfField(position)) {
+                    unprotected = !buffer.isProtected(position);
                     if (unprotected) {
-                        sf = sof;
+                        sf = position;
                     }
                 }
             }
@@ -1823,15 +1771,13 @@ public class Screen {
         // If the screen was cleared, the initial cursor position will be at very first position on the screen.
         int start = this.initialCursorPosition;
         int end = start + 255;
-        if (end >= buffer.length) {
-            end = buffer.length - 1;
+        if (end >= this.screenSize) {
+            end = this.screenSize - 1;
         }
 
         for (int currentPosition = start; currentPosition <= end; currentPosition++) {
-            IBufferHolder bufferHolder = buffer[currentPosition];
-            if (bufferHolder instanceof BufferChar) {
-                BufferChar bufferChar = (BufferChar) bufferHolder;
-                byte ebcdicCharAsByte = bufferChar.getFieldEbcdic(this.codePage);
+            if (buffer.isChar(currentPosition)) {
+                byte ebcdicCharAsByte = buffer.getFieldEbcdic(currentPosition, this.codePage);
                 if (ebcdicCharAsByte != 0) {
                     outboundBuffer.write(ebcdicCharAsByte);
                 }
@@ -1884,7 +1830,7 @@ public class Screen {
     }
 
     public String printFields() {
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
 
         StringBuilder sb = new StringBuilder();
         for (Field field : fields) {
@@ -1896,15 +1842,15 @@ public class Screen {
     }
 
     public void setBuffer(IBufferHolder[] newBuffer) {
-        for (int i = 0; i < this.buffer.length && i < newBuffer.length; i++) {
-            this.buffer[i] = newBuffer[i];
+        for (int i = 0; i < this.screenSize && i < newBuffer.length; i++) {
+            this.buffer.set(i, newBuffer[i]);
         }
     }
 
     public void setBuffer(int col, int row, String text) {
         int pos = (row * columns) + col;
         for (int i = 0; i < text.length(); i++) {
-            buffer[pos] = new BufferChar(text.charAt(i));
+            buffer.setChar(pos, text.charAt(i));
             pos++;
         }
     }
@@ -1912,7 +1858,7 @@ public class Screen {
     public void nullify(int col, int row, int len) {
         int pos = (row * columns) + col;
         for (int i = 0; i < len; i++) {
-            buffer[pos] = null;
+            buffer.setEmpty(pos);
             pos++;
         }
     }
@@ -1920,7 +1866,7 @@ public class Screen {
     public Field getFieldAt(int col, int row) {
         int pos = (row * columns) + col;
 
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
         Field currentField = fields[0];
         for (int i = 1; i < fields.length; i++) {
             if (fields[i].getStart() > pos) {
@@ -1979,8 +1925,8 @@ public class Screen {
     }
 
     public synchronized boolean isClearScreen() {
-        for(IBufferHolder bh : buffer) {
-            if (bh != null) {
+        for(int i = 0; i < this.screenSize; i++) {
+            if (!buffer.isEmpty(i)) {
                 return false;
             }
         }
@@ -1990,7 +1936,7 @@ public class Screen {
 
     public Colour getColourAtPosition(int pos) {
         
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
         Field currentField = fields[0];
         for (int i = 1; i < fields.length; i++) {
             if (fields[i].getStart() > pos) {
@@ -2003,7 +1949,7 @@ public class Screen {
     }
 
     public Highlight getHighlightAtPosition(int pos) {
-        Field[] fields = calculateFields();
+        Field[] fields = getFields();
         Field currentField = fields[0];
         for (int i = 1; i < fields.length; i++) {
             if (fields[i].getStart() > pos) {
@@ -0,0 +1,314 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.spi;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import dev.galasa.zos3270.internal.datastream.OrderCarrageReturn;
+import dev.galasa.zos3270.internal.datastream.OrderEndOfMedium;
+import dev.galasa.zos3270.internal.datastream.OrderFormFeed;
+import dev.galasa.zos3270.internal.datastream.OrderNewLine;
+
+/**
+ * The presentation space of a screen, held as parallel primitive arrays indexed by buffer
+ * position rather than as an object per position.
+ *
+ * Every position has a type. Character positions keep their character, start of field positions
+ * keep the field attributes, and graphics escape positions keep the escaped byte. The character
+ * array holds what {@link IBufferHolder#getChar()} would have returned for the position, so an
+ * empty position holds 0 and a start of field holds a space.
+ */
+class ScreenBuffer {
+
+    static final byte EMPTY           = 0;
+    static final byte CHAR            = 1;
+    static final byte START_OF_FIELD  = 2;
+    static final byte GRAPHICS_ESCAPE = 3;
+    static final byte NEW_LINE        = 4;
+    static final byte FORM_FEED       = 5;
+    static final byte CARRAGE_RETURN  = 6;
+    static final byte END_OF_MEDIUM   = 7;
+
+    private static final byte FIELD_PROTECTED       = 0x01;
+    private static final byte FIELD_NUMERIC         = 0x02;
+    private static final byte FIELD_DISPLAY         = 0x04;
+    private static final byte FIELD_INTENSE_DISPLAY = 0x08;
+    private static final byte FIELD_SELECTOR_PEN    = 0x10;
+    private static final byte FIELD_MODIFIED        = 0x20;
+
+    private static final Colour[]    COLOURS    = Colour.values();
+    private static final Highlight[] HIGHLIGHTS = Highlight.values();
+
+    private final byte[] types;
+    private final char[] chars;
+
+    // Only meaningful at start of field positions, colours and highlights are held as
+    // the enum ordinal + 1, so that 0 means the attribute was not set
+    private final byte[] fieldFlags;
+    private final byte[] foregroundColours;
+    private final byte[] backgroundColours;
+    private final byte[] highlights;
+
+    // Only meaningful at graphics escape positions
+    private final byte[] graphicsEscapes;
+
+    // Moved on by every change, so anything worked out from the buffer can tell when it is out of date
+    private int generation = 0;
+
+    ScreenBuffer(int size) {
+        this.types             = new byte[size];
+        this.chars             = new char[size];
+        this.fieldFlags        = new byte[size];
+        this.foregroundColours = new byte[size];
+        this.backgroundColours = new byte[size];
+        this.highlights        = new byte[size];
+        this.graphicsEscapes   = new byte[size];
+    }
+
+    int size() {
+        return this.types.length;
+    }
+
+    int getGeneration() {
+        return this.generation;
+    }
+
+    void clear() {
+        this.generation++;
+        Arrays.fill(this.types, EMPTY);
+        Arrays.fill(this.chars, (char) 0);
+    }
+
+    boolean isEmpty(int pos) {
+        return this.types[pos] == EMPTY;
+    }
+
+    boolean isStartOfField(int pos) {
+        return this.types[pos] == START_OF_FIELD;
+    }
+
+    /**
+     * @return true if the position holds a character of any sort, which is everything that
+     * used to be a {@link BufferChar}, including graphics escapes and control characters
+     */
+    boolean isChar(int pos) {
+        byte type = this.types[pos];
+        return type != EMPTY && type != START_OF_FIELD;
+    }
+
+    byte getType(int pos) {
+        return this.types[pos];
+    }
+
+    /**
+     * @return the character at the position, 0 if the position is empty or holds a null character
+     */
+    char getChar(int pos) {
+        return this.chars[pos];
+    }
+
+    /**
+     * @return a copy of the characters from one position up to, but not including, another
+     */
+    char[] getChars(int from, int to) {
+        return Arrays.copyOfRange(this.chars, from, to);
+    }
+
+    /**
+     * @return the character at the position as it is displayed, with nulls shown as spaces
+     */
+    char getDisplayChar(int pos) {
+        char c = this.chars[pos];
+        if (c == 0) {
+            return ' ';
+        }
+        return c;
+    }
+
+    /**
+     * @return the EBCDIC byte for a character position, 0 for a null character
+     */
+    byte getFieldEbcdic(int pos, Charset codePage) {
+        switch (this.types[pos]) {
+        case GRAPHICS_ESCAPE:
+            return this.graphicsEscapes[pos];
+        case NEW_LINE:
+            return OrderNewLine.ID;
+        case FORM_FEED:
+            return OrderFormFeed.ID;
+        case CARRAGE_RETURN:
+            return OrderCarrageReturn.ID;
+        case END_OF_MEDIUM:
+            return OrderEndOfMedium.ID;
+        default:
+            char c = this.chars[pos];
+            if (c == 0) {
+                return 0;
+            }
+            return String.valueOf(c).getBytes(codePage)[0];
+        }
+    }
+
+    void setEmpty(int pos) {
+        this.generation++;
+        this.types[pos] = EMPTY;
+        this.chars[pos] = 0;
+    }
+
+    void setChar(int pos, char c) {
+        this.generation++;
+        this.types[pos] = CHAR;
+        this.chars[pos] = c;
+    }
+
+    void setGraphicsEscape(int pos, byte data) {
+        this.generation++;
+        this.types[pos] = GRAPHICS_ESCAPE;
+        this.chars[pos] = ' ';
+        this.graphicsEscapes[pos] = data;
+    }
+
+    /**
+     * Set a position to one of the control characters, new line, form feed, carrage return or end of medium
+     */
+    void setControlChar(int pos, byte type) {
+        this.generation++;
+        this.types[pos] = type;
+        this.chars[pos] = ' ';
+    }
+
+    void setStartOfField(int pos, boolean fieldProtected, boolean fieldNumeric, boolean fieldDisplay,
+            boolean fieldIntenseDisplay, boolean fieldSelectorPen, boolean fieldModifed,
+            Colour foregroundColour, Colour backgroundColour, Highlight highlight) {
+        this.generation++;
+        byte flags = 0;
+        if (fieldProtected) {
+            flags |= FIELD_PROTECTED;
+        }
+        if (fieldNumeric) {
+            flags |= FIELD_NUMERIC;
+        }
+        if (fieldDisplay) {
+            flags |= FIELD_DISPLAY;
+        }
+        if (fieldIntenseDisplay) {
+            flags |= FIELD_INTENSE_DISPLAY;
+        }
+        if (fieldSelectorPen) {
+            flags |= FIELD_SELECTOR_PEN;
+        }
+        if (fieldModifed) {
+            flags |= FIELD_MODIFIED;
+        }
+
+        this.types[pos]             = START_OF_FIELD;
+        this.chars[pos]             = ' ';
+        this.fieldFlags[pos]        = flags;
+        this.foregroundColours[pos] = (foregroundColour == null) ? 0 : (byte) (foregroundColour.ordinal() + 1);
+        this.backgroundColours[pos] = (backgroundColour == null) ? 0 : (byte) (backgroundColour.ordinal() + 1);
+        this.highlights[pos]        = (highlight == null) ? 0 : (byte) (highlight.ordinal() + 1);
+    }
+
+    /**
+     * Copy everything held for one position to another
+     */
+    void copy(int from, int to) {
+        this.generation++;
+        this.types[to]             = this.types[from];
+        this.chars[to]             = this.chars[from];
+        this.fieldFlags[to]        = this.fieldFlags[from];
+        this.foregroundColours[to] = this.foregroundColours[from];
+        this.backgroundColours[to] = this.backgroundColours[from];
+        this.highlights[to]        = this.highlights[from];
+        this.graphicsEscapes[to]   = this.graphicsEscapes[from];
+    }
+
+    boolean isProtected(int pos) {
+        return (this.fieldFlags[pos] & FIELD_PROTECTED) != 0;
+    }
+
+    boolean isNumeric(int pos) {
+        return (this.fieldFlags[pos] & FIELD_NUMERIC) != 0;
+    }
+
+    boolean isDisplay(int pos) {
+        return (this.fieldFlags[pos] & FIELD_DISPLAY) != 0;
+    }
+
+    boolean isIntenseDisplay(int pos) {
+        return (this.fieldFlags[pos] & FIELD_INTENSE_DISPLAY) != 0;
+    }
+
+    boolean isSelectorPen(int pos) {
+        return (this.fieldFlags[pos] & FIELD_SELECTOR_PEN) != 0;
+    }
+
+    boolean isFieldModifed(int pos) {
+        return (this.fieldFlags[pos] & FIELD_MODIFIED) != 0;
+    }
+
+    void setFieldModified(int pos) {
+        this.generation++;
+        this.fieldFlags[pos] |= FIELD_MODIFIED;
+    }
+
+    void clearFieldModified(int pos) {
+        this.generation++;
+        this.fieldFlags[pos] &= ~FIELD_MODIFIED;
+    }
+
+    Colour getForegroundColour(int pos) {
+        return toColour(this.foregroundColours[pos]);
+    }
+
+    Colour getBackgroundColour(int pos) {
+        return toColour(this.backgroundColours[pos]);
+    }
+
+    Highlight getHighlight(int pos) {
+        byte highlight = this.highlights[pos];
+        if (highlight == 0) {
+            return null;
+        }
+        return HIGHLIGHTS[highlight - 1];
+    }
+
+    private Colour toColour(byte colour) {
+        if (colour == 0) {
+            return null;
+        }
+        return COLOURS[colour - 1];
+    }
+
+    /**
+     * Set a position from one of the old buffer holder objects
+     */
+    void set(int pos, IBufferHolder bufferHolder) {
+        if (bufferHolder == null) {
+            setEmpty(pos);
+        } else if (bufferHolder instanceof BufferStartOfField) {
+            BufferStartOfField sf = (BufferStartOfField) bufferHolder;
+            setStartOfField(pos, sf.isProtected(), sf.isNumeric(), sf.isDisplay(), sf.isIntenseDisplay(),
+                    sf.isSelectorPen(), sf.isFieldModifed(), sf.getForegroundColour(), sf.getBackgroundColour(),
+                    sf.getHighlight());
+        } else if (bufferHolder instanceof BufferGraphicsEscape) {
+            setGraphicsEscape(pos, ((BufferGraphicsEscape) bufferHolder).getFieldEbcdic(null));
+        } else if (bufferHolder instanceof BufferNewLine) {
+            setControlChar(pos, NEW_LINE);
+        } else if (bufferHolder instanceof BufferFormFeed) {
+            setControlChar(pos, FORM_FEED);
+        } else if (bufferHolder instanceof BufferCarrageReturn) {
+            setControlChar(pos, CARRAGE_RETURN);
+        } else if (bufferHolder instanceof BufferEndOfMedium) {
+            setControlChar(pos, END_OF_MEDIUM);
+        } else if (bufferHolder instanceof BufferChar) {
+            setChar(pos, bufferHolder.getChar());
+        } else {
+            throw new UnsupportedOperationException("Unrecognised buffer type " + bufferHolder.getClass().getName());
+        }
+    }
+}
@@ -29,6 +29,7 @@ import dev.galasa.zos3270.TimeoutException;
 import dev.galasa.zos3270.Zos3270Exception;
 import dev.galasa.zos3270.common.screens.TerminalSize;
 import dev.galasa.zos3270.internal.comms.Network;
+import dev.galasa.zos3270.internal.comms.NetworkSessionThreads;
 import dev.galasa.zos3270.internal.comms.NetworkThread;
 
 public class Terminal implements ITerminal {
@@ -38,6 +39,7 @@ public class Terminal implements ITerminal {
     private final Network network;
     private final String  id;
     private NetworkThread networkThread;
+    private Thread        sessionThread;
     private boolean connected = false;
 
     private int           defaultWaitTime = 120_000;
@@ -48,6 +50,8 @@ public class Terminal implements ITerminal {
     
     private List<String>  deviceTypes;
 
+    private boolean       useVirtualThreads = false;
+
     /**
      * @deprecated use the {@link #Terminal(String id, String host, int port, boolean ssl, TerminalSize primarySize, TerminalSize alternateSize, ITextScannerManagerSpi textScan, Charset codePage)}
      * constructor instead.  
@@ -94,6 +98,20 @@ public class Terminal implements ITerminal {
         this.deviceTypes = deviceTypes;
     }
 
+    /**
+     * Read from the network on a virtual thread rather than a platform thread, if the Java runtime supports them
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /**
+     * @return the thread reading from the network, which is a virtual thread or the network thread itself, or null if not connected
+     */
+    protected Thread getSessionThread() {
+        return this.sessionThread;
+    }
+
     @Override
     public synchronized void connect() throws NetworkException {
         logger.trace("connect() entered");
@@ -104,7 +122,14 @@ public class Terminal implements ITerminal {
         
         logger.trace("Creating network thread");
         networkThread = new NetworkThread(this, screen, network, network.getInputStream(), this.deviceTypes);
-        networkThread.start();
+        sessionThread = null;
+        if (useVirtualThreads) {
+            sessionThread = NetworkSessionThreads.startVirtual(networkThread, "3270 network " + this.id);
+        }
+        if (sessionThread == null) {
+            networkThread.start();
+            sessionThread = networkThread;
+        }
         
         Instant expire = Instant.now().plus(60, ChronoUnit.SECONDS);
         boolean started = false;
@@ -146,16 +171,18 @@ public class Terminal implements ITerminal {
             network.close();
             logger.trace("Network closed OK");
         }
-        if (networkThread != null) {
+        Thread sThread = this.sessionThread;
+        if (networkThread != null && sThread != null) {
             try {
                 logger.trace("Waiting for network thread to end...");
-                networkThread.join();
+                sThread.join();
                 logger.trace("Network thread ended OK");
             } catch (InterruptedException e) {
                 logger.warn("Interrupted while waiting for network thread to end. Network thread might still be active.");
                 throw new TerminalInterruptedException("Join of the network thread was interrupted",e);
             }
             networkThread = null;
+            sessionThread = null;
         }
         
         autoReconnect = oldAutoReconnect;
@@ -170,6 +197,7 @@ public class Terminal implements ITerminal {
             network.close();
         }
         networkThread = null;
+        sessionThread = null;
         
         if (autoReconnect) {
             logger.trace("Auto reconnecting...");
@@ -42,11 +42,15 @@ import dev.galasa.zos3270.Zos3270ManagerException;
 import dev.galasa.zos3270.common.screens.FieldContents;
 import dev.galasa.zos3270.common.screens.TerminalField;
 import dev.galasa.zos3270.common.screens.TerminalImage;
+import dev.galasa.zos3270.common.screens.TerminalRecording;
 import dev.galasa.zos3270.common.screens.TerminalSize;
+import dev.galasa.zos3270.internal.terminal.TerminalImagePipeline;
 import dev.galasa.zos3270.internal.properties.ApplyConfidentialTextFiltering;
+import dev.galasa.zos3270.internal.properties.DeltaTerminalRecordings;
 import dev.galasa.zos3270.internal.properties.LiveTerminalUrl;
 import dev.galasa.zos3270.internal.properties.LogConsoleTerminals;
 import dev.galasa.zos3270.internal.properties.TerminalDeviceTypes;
+import dev.galasa.zos3270.internal.properties.VirtualNetworkThreads;
 
 public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListener {
 
@@ -60,13 +64,14 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
 
     private final IConfidentialTextService cts;
     private final boolean applyCtf;
+    private final boolean deltaRecordings;
 
-    private final ArrayList<TerminalImage> cachedImages = new ArrayList<>();
+    // Serialises, compresses and uploads the images away from the network thread
+    private final TerminalImagePipeline imagePipeline;
 
     private Path storedArtifactsRoot;
     private final Path terminalRasDirectory;
-    private int rasTerminalSequence;
-    private URL liveTerminalUrl;
+    private volatile URL liveTerminalUrl;
     private int liveTerminalSequence;
     private boolean logConsoleTerminals;
     private boolean autoConnect;
@@ -98,6 +103,7 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         this.autoConnect = autoConnect;
         this.cts = framework.getConfidentialTextService();
         this.applyCtf = ApplyConfidentialTextFiltering.get();
+        this.deltaRecordings = DeltaTerminalRecordings.get();
         this.textScan = textScanner;
 
         getScreen().registerScreenUpdateListener(this);
@@ -130,8 +136,11 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         }
 
         setDeviceTypes(TerminalDeviceTypes.get(image));
+        setUseVirtualThreads(VirtualNetworkThreads.get());
 
         logConsoleTerminals = LogConsoleTerminals.get();
+
+        this.imagePipeline = createImagePipeline();
     }
 
 
@@ -144,6 +153,7 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         this.autoConnect = autoConnect;
         this.cts = framework.getConfidentialTextService();
         this.applyCtf = ApplyConfidentialTextFiltering.get();
+        this.deltaRecordings = DeltaTerminalRecordings.get();
         this.textScan = textScanner;
 
         getScreen().registerScreenUpdateListener(this);
@@ -176,8 +186,20 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         }
 
         setDeviceTypes(TerminalDeviceTypes.get(image));
+        setUseVirtualThreads(VirtualNetworkThreads.get());
 
         logConsoleTerminals = LogConsoleTerminals.get();
+
+        this.imagePipeline = createImagePipeline();
+    }
+
+    private TerminalImagePipeline createImagePipeline() {
+        TerminalImagePipeline.ILiveWriter liveWriter = null;
+        if (this.liveTerminalUrl != null) {
+            liveWriter = this::writeLiveTerminalImage;
+        }
+        return new TerminalImagePipeline(this.terminalId, TerminalImagePipeline.DEFAULT_BATCH_SIZE,
+                TerminalImagePipeline.MAX_QUEUED_WRITES, this::writeTerminalGzJson, liveWriter);
     }
 
     public boolean doAutoConnect() {
@@ -213,43 +235,7 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         TerminalImage terminalImage = new TerminalImage(updateId, update, direction == Direction.RECEIVED, null,
                 aidText, terminalSize, cursorCol, cursorRow);
         terminalImage.getFields().addAll(buildTerminalFields(getScreen()));
-        cachedImages.add(terminalImage);
-        if (cachedImages.size() >= 10) {
-            writeRasOutput();
-            flushTerminalCache();
-        }
-
-        if (liveTerminalUrl != null) {
-            try {
-                liveTerminalSequence++;
-                dev.galasa.zos3270.common.screens.Terminal liveTerminal = new dev.galasa.zos3270.common.screens.Terminal(
-                        this.terminalId, this.runId, liveTerminalSequence, terminalSize);
-                TerminalImage newTerminalImage = removeConfidentialTextFromTerminalImage(terminalImage);
-                liveTerminal.getImages().add(newTerminalImage);
-
-                JsonObject intermediateJson = (JsonObject) gson.toJsonTree(liveTerminal);
-                stripFalseBooleans(intermediateJson);
-                String tempJson = gson.toJson(intermediateJson);
-
-                HttpURLConnection connection = (HttpURLConnection) this.liveTerminalUrl.openConnection();
-                connection.setRequestMethod("PUT");
-                connection.addRequestProperty("Content-Type", "application/json");
-                connection.setDoInput(true);
-                connection.setDoOutput(true);
-                connection.connect();
-                try (OutputStream os = connection.getOutputStream()) {
-                    IOUtils.write(tempJson, os, StandardCharsets.UTF_8);
-                }
-                if (connection.getResponseCode() != 200) {
-                    logger.warn("Unable to write live terminal due to " + connection.getResponseCode() + " - "
-                            + connection.getResponseMessage());
-                    this.liveTerminalUrl = null;
-                }
-            } catch (Exception e) {
-                logger.error("Failed to write live terminal image, image lost", e);
-                this.liveTerminalUrl = null;
-            }
-        }
+        imagePipeline.imageCaptured(terminalImage);
 
         if (logConsoleTerminals) {
             String screenData = getScreen().printScreenTextWithCursor();
@@ -264,35 +250,39 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         }
     }
 
-    public synchronized void writeRasOutput() {
-        rasTerminalSequence++;
-
-        try {
-            writeTerminalGzJson();
-        } catch (Exception e) {
-            logger.error("Unable to write terminal cache to the RAS", e);
-            rasTerminalSequence--;
-            return;
-        }
+    /**
+     * Writes all the images captured so far to the RAS, waiting until they have been written
+     */
+    public void writeRasOutput() {
+        imagePipeline.flush();
     }
 
     /**
-     * This method creates JSON representations of the Terminal screens and writes them to the RAS
+     * This method creates JSON representations of the Terminal screens and writes them to the RAS.
+     * It is called on the image pipeline thread, so must not synchronize on the terminal.
      * @throws IOException
      */
-    private synchronized void writeTerminalGzJson() throws IOException {
-        if (this.cachedImages.isEmpty()) {
+    private void writeTerminalGzJson(List<TerminalImage> images, int rasTerminalSequence) throws IOException {
+        if (images.isEmpty()) {
             return;
         }
 
-        TerminalSize terminalSize = new TerminalSize(getScreen().getNoOfColumns(), getScreen().getNoOfRows());
-        dev.galasa.zos3270.common.screens.Terminal rasTerminal = new dev.galasa.zos3270.common.screens.Terminal(
-                this.terminalId, this.runId, rasTerminalSequence, terminalSize);
-
-        for (TerminalImage terminalImage : this.cachedImages){
-
-            TerminalImage newTerminalImage = removeConfidentialTextFromTerminalImage(terminalImage);
-            rasTerminal.getImages().add(newTerminalImage);
+        TerminalSize terminalSize = images.get(images.size() - 1).getImageSize();
+        Object rasTerminal;
+        if (deltaRecordings) {
+            TerminalRecording recording = new TerminalRecording(this.terminalId, this.runId, rasTerminalSequence,
+                    terminalSize);
+            for (TerminalImage terminalImage : images) {
+                recording.addImage(removeConfidentialTextFromTerminalImage(terminalImage));
+            }
+            rasTerminal = recording;
+        } else {
+            dev.galasa.zos3270.common.screens.Terminal terminal = new dev.galasa.zos3270.common.screens.Terminal(
+                    this.terminalId, this.runId, rasTerminalSequence, terminalSize);
+            for (TerminalImage terminalImage : images) {
+                terminal.getImages().add(removeConfidentialTextFromTerminalImage(terminalImage));
+            }
+            rasTerminal = terminal;
         }
 
         JsonObject intermediateJson = (JsonObject) gson.toJsonTree(rasTerminal);
@@ -315,6 +305,47 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         }
     }
 
+    /**
+     * Uploads an image to the live terminal.  It is called on the image pipeline thread.
+     * @throws IOException
+     */
+    private void writeLiveTerminalImage(TerminalImage terminalImage) throws IOException {
+        URL url = this.liveTerminalUrl;
+        if (url == null) {
+            return;
+        }
+
+        liveTerminalSequence++;
+        dev.galasa.zos3270.common.screens.Terminal liveTerminal = new dev.galasa.zos3270.common.screens.Terminal(
+                this.terminalId, this.runId, liveTerminalSequence, terminalImage.getImageSize());
+        TerminalImage newTerminalImage = removeConfidentialTextFromTerminalImage(terminalImage);
+        liveTerminal.getImages().add(newTerminalImage);
+
+        JsonObject intermediateJson = (JsonObject) gson.toJsonTree(liveTerminal);
+        stripFalseBooleans(intermediateJson);
+        String tempJson = gson.toJson(intermediateJson);
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("PUT");
+            connection.addRequestProperty("Content-Type", "application/json");
+            connection.setDoInput(true);
+            connection.setDoOutput(true);
+            connection.connect();
+            try (OutputStream os = connection.getOutputStream()) {
+                IOUtils.write(tempJson, os, StandardCharsets.UTF_8);
+            }
+            if (connection.getResponseCode() != 200) {
+                logger.warn("Unable to write live terminal due to " + connection.getResponseCode() + " - "
+                        + connection.getResponseMessage());
+                this.liveTerminalUrl = null;
+            }
+        } catch (IOException e) {
+            this.liveTerminalUrl = null;
+            throw e;
+        }
+    }
+
     /**
      * Creates a copy of the original TerminalImage, iterates through it's TerminalFields and FieldContents,
      * and creates a new TerminalImage with confidential text removed.
@@ -363,8 +394,11 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         return newTerminalImage;
     }
 
-    public synchronized void flushTerminalCache() {
-        this.cachedImages.clear();
+    /**
+     * Throws away any images that have not yet been passed to the image pipeline thread
+     */
+    public void flushTerminalCache() {
+        imagePipeline.discardPending();
     }
 
     private static List<TerminalField> buildTerminalFields(Screen screen) {
@@ -8,6 +8,7 @@ package dev.galasa.zos3270.datastream;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.codec.DecoderException;
@@ -17,9 +18,12 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import dev.galasa.zos3270.TerminalInterruptedException;
+import dev.galasa.zos3270.internal.comms.Inbound3270Message;
 import dev.galasa.zos3270.internal.comms.NetworkThread;
 import dev.galasa.zos3270.internal.datastream.AbstractOrder;
+import dev.galasa.zos3270.spi.Field;
 import dev.galasa.zos3270.spi.NetworkException;
+import dev.galasa.zos3270.spi.Screen;
 import dev.galasa.zos3270.util.Zos3270TestBase;
 
 public class VampScreenTest extends Zos3270TestBase {
@@ -37,4 +41,35 @@ public class VampScreenTest extends Zos3270TestBase {
         Assert.assertEquals("Count of orders is incorrect", 225, orders.size());
     }
 
+    @Test
+    public void testVampScreenReplayedGivesTheSameFields() throws Exception {
+        URL vampFile = getClass().getClassLoader().getResource("vampstream.txt");
+        byte[] stream = Hex.decodeHex(IOUtils.toString(vampFile.openStream(), "utf-8"));
+
+        Screen screen = CreateTestScreen();
+        NetworkThread networkThread = new NetworkThread(null, screen, null, null);
+        Inbound3270Message message = networkThread.process3270Data(ByteBuffer.wrap(stream));
+
+        screen.processInboundMessage(message);
+        List<String> expectedFields = describeFields(screen);
+        String expectedScreen = screen.retrieveFlatScreen();
+
+        // The screen buffer is reused, so nothing from one message should leak into the next
+        for (int i = 0; i < 3; i++) {
+            screen.processInboundMessage(message);
+            Assert.assertEquals("Fields differ after replaying the message", expectedFields, describeFields(screen));
+            Assert.assertEquals("Screen differs after replaying the message", expectedScreen, screen.retrieveFlatScreen());
+        }
+        Assert.assertTrue("Screen does not contain the expected text", expectedScreen.contains("WINMVS2D"));
+        Assert.assertTrue("Screen should have several fields", expectedFields.size() > 1);
+    }
+
+    private List<String> describeFields(Screen screen) {
+        List<String> fields = new ArrayList<>();
+        for (Field field : screen.calculateFields()) {
+            fields.add(field.getStart() + ":" + field.isProtected() + ":" + field.getFieldWithoutNulls());
+        }
+        return fields;
+    }
+
 }
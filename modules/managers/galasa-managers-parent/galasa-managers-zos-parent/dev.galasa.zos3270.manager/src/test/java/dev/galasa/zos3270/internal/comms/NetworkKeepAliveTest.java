@@ -0,0 +1,182 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.comms;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.galasa.zos3270.spi.NetworkException;
+import dev.galasa.zos3270.util.DummySocket;
+import dev.galasa.zos3270.util.DummySocketImpl;
+
+public class NetworkKeepAliveTest {
+
+    private static final byte[] KEEP_ALIVE = new byte[] { NetworkThread.IAC, NetworkThread.DO, NetworkThread.TIMING_MARK };
+
+    private final Instant idleTime = Instant.now().plus(11, ChronoUnit.MINUTES);
+
+    private Thread blockedWriter;
+
+    /**
+     * The server end of a connection, which records each write and can hold writes until it is closed
+     */
+    private static class ServerOutputStream extends OutputStream {
+
+        private final BlockingQueue<byte[]> writes = new LinkedBlockingQueue<>();
+        private final CountDownLatch writeStarted = new CountDownLatch(1);
+        private final CountDownLatch writesAllowed;
+        private volatile boolean closed = false;
+
+        ServerOutputStream(boolean isBlocked) {
+            this.writesAllowed = new CountDownLatch(isBlocked ? 1 : 0);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeStarted.countDown();
+            try {
+                writesAllowed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (closed) {
+                throw new IOException("Socket closed");
+            }
+            writes.add(Arrays.copyOfRange(b, off, off + len));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            writesAllowed.countDown();
+        }
+
+        byte[] nextWrite() throws InterruptedException {
+            return writes.poll(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Network connect(ServerOutputStream toServer) throws Exception {
+        DummySocket socket = new DummySocket(new DummySocketImpl(new ByteArrayInputStream(new byte[0]), toServer)) {
+            @Override
+            public synchronized void close() throws IOException {
+                toServer.close();
+                super.close();
+            }
+        };
+        Network network = new Network("dummy", 0, "T1") {
+            @Override
+            public Socket createSocket() {
+                return socket;
+            }
+        };
+        Assert.assertTrue("Network did not connect", network.connectClient());
+        return network;
+    }
+
+    // Starts a datastream which the server does not read, so the write holds the output stream
+    private void blockWrites(Network network, ServerOutputStream toServer, AtomicReference<Exception> writeFailure) throws Exception {
+        blockedWriter = new Thread(() -> {
+            try {
+                network.sendDatastream(new byte[] { 1 });
+            } catch (NetworkException e) {
+                writeFailure.set(e);
+            }
+        });
+        blockedWriter.start();
+        Assert.assertTrue("The datastream should have started", toServer.writeStarted.await(10, TimeUnit.SECONDS));
+    }
+
+    @After
+    public void teardown() throws Exception {
+        if (blockedWriter != null) {
+            blockedWriter.interrupt();
+            blockedWriter.join(10000);
+        }
+    }
+
+    @Test
+    public void testKeepAliveIsSentWhenNothingHasBeenSentForTenMinutes() throws Exception {
+        ServerOutputStream toServer = new ServerOutputStream(false);
+        Network network = connect(toServer);
+
+        network.checkKeepAlive(idleTime);
+
+        Assert.assertArrayEquals("A keep-alive should have been sent", KEEP_ALIVE, toServer.nextWrite());
+        network.close();
+    }
+
+    @Test
+    public void testKeepAliveIsNotSentWhenDataHasBeenSentRecently() throws Exception {
+        ServerOutputStream toServer = new ServerOutputStream(false);
+        Network network = connect(toServer);
+
+        network.checkKeepAlive(Instant.now());
+        network.sendDatastream(new byte[] { 1 });
+
+        Assert.assertArrayEquals("Only the datastream should have been sent", new byte[] { 0, 0, 0, 0, 0, 1, (byte) 0xff, (byte) 0xef }, toServer.nextWrite());
+        Assert.assertTrue("No keep-alive should have been sent", toServer.writes.isEmpty());
+        network.close();
+    }
+
+    @Test
+    public void testBlockedConnectionDoesNotHoldUpTheKeepAlivesOfOtherConnections() throws Exception {
+        ServerOutputStream toBlockedServer = new ServerOutputStream(true);
+        Network blockedNetwork = connect(toBlockedServer);
+        blockWrites(blockedNetwork, toBlockedServer, new AtomicReference<>());
+        blockedNetwork.checkKeepAlive(idleTime);
+
+        ServerOutputStream toServer = new ServerOutputStream(false);
+        Network network = connect(toServer);
+        network.checkKeepAlive(idleTime);
+
+        Assert.assertArrayEquals("A keep-alive should have been sent on the working connection", KEEP_ALIVE, toServer.nextWrite());
+        network.close();
+        blockedNetwork.close();
+    }
+
+    @Test
+    public void testKeepAliveBlockedPastTheTimeoutClosesTheConnection() throws Exception {
+        ServerOutputStream toServer = new ServerOutputStream(true);
+        Network network = connect(toServer);
+        AtomicReference<Exception> writeFailure = new AtomicReference<>();
+        blockWrites(network, toServer, writeFailure);
+
+        network.checkKeepAlive(idleTime);
+        network.checkKeepAlive(idleTime.plus(Network.KEEP_ALIVE_TIMEOUT));
+        Assert.assertTrue("The connection should still be open until the timeout has passed", toServer.writes.isEmpty() && !toServer.closed);
+
+        network.checkKeepAlive(idleTime.plus(Network.KEEP_ALIVE_TIMEOUT).plusSeconds(1));
+
+        blockedWriter.join(10000);
+        Assert.assertFalse("The blocked write should have ended", blockedWriter.isAlive());
+        Assert.assertNotNull("The blocked write should have failed", writeFailure.get());
+        NetworkException expectedException = Assert.assertThrows("expected exception should be thrown", NetworkException.class, ()->{
+            network.sendDatastream(new byte[] { 1 });
+        });
+        Assert.assertTrue("The connection should be in error state", expectedException.getMessage().contains("error state"));
+    }
+}
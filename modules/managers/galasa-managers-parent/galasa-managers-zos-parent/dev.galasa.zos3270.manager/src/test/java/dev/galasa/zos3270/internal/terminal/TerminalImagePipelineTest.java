@@ -0,0 +1,129 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.internal.terminal;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import dev.galasa.zos3270.common.screens.TerminalImage;
+import dev.galasa.zos3270.common.screens.TerminalSize;
+
+public class TerminalImagePipelineTest {
+
+    private final List<String> writtenBatches = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> writtenLiveImages = Collections.synchronizedList(new ArrayList<>());
+
+    private TerminalImage createImage(int sequence) {
+        return new TerminalImage(sequence, "term1-" + sequence, true, null, null, new TerminalSize(80, 24), 0, 0);
+    }
+
+    private void recordBatch(List<TerminalImage> images, int sequence) {
+        StringBuilder batch = new StringBuilder();
+        batch.append(sequence).append(":");
+        for (TerminalImage image : images) {
+            batch.append(" ").append(image.getSequence());
+        }
+        writtenBatches.add(batch.toString());
+    }
+
+    @Test
+    public void testImagesAreWrittenInBatches() {
+        // Given...
+        TerminalImagePipeline pipeline = new TerminalImagePipeline("term1", 3, 10, this::recordBatch, null);
+
+        // When...
+        for (int i = 1; i <= 7; i++) {
+            pipeline.imageCaptured(createImage(i));
+        }
+        pipeline.flush();
+
+        // Then...
+        assertThat(writtenBatches).containsExactly("1: 1 2 3", "2: 4 5 6", "3: 7");
+    }
+
+    @Test
+    public void testFlushWithNoImagesWritesNothing() {
+        // Given...
+        TerminalImagePipeline pipeline = new TerminalImagePipeline("term1", 3, 10, this::recordBatch, null);
+
+        // When...
+        pipeline.flush();
+
+        // Then...
+        assertThat(writtenBatches).isEmpty();
+    }
+
+    @Test
+    public void testDiscardedImagesAreNotWritten() {
+        // Given...
+        TerminalImagePipeline pipeline = new TerminalImagePipeline("term1", 3, 10, this::recordBatch, null);
+        pipeline.imageCaptured(createImage(1));
+
+        // When...
+        pipeline.discardPending();
+        pipeline.imageCaptured(createImage(2));
+        pipeline.flush();
+
+        // Then...
+        assertThat(writtenBatches).containsExactly("1: 2");
+    }
+
+    @Test
+    public void testLiveImagesAreCoalescedWhileTheWriterIsBusy() throws Exception {
+        // Given...
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        TerminalImagePipeline pipeline = new TerminalImagePipeline("term1", 100, 10, this::recordBatch, image -> {
+            firstWriteStarted.countDown();
+            releaseWriter.await();
+            writtenLiveImages.add(image.getSequence());
+        });
+
+        // When...
+        pipeline.imageCaptured(createImage(1));
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 2; i <= 5; i++) {
+            pipeline.imageCaptured(createImage(i));
+        }
+        releaseWriter.countDown();
+        pipeline.flush();
+
+        // Then...
+        assertThat(writtenLiveImages).containsExactly(1, 5);
+        assertThat(writtenBatches).containsExactly("1: 1 2 3 4 5");
+    }
+
+    @Test
+    public void testBatchesAreDroppedWhenTheWriterFallsBehindButTheFlushIsAlwaysWritten() throws Exception {
+        // Given...
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        TerminalImagePipeline pipeline = new TerminalImagePipeline("term1", 1, 1, (images, sequence) -> {
+            firstWriteStarted.countDown();
+            releaseWriter.await();
+            recordBatch(images, sequence);
+        }, null);
+
+        // When...
+        pipeline.imageCaptured(createImage(1));
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        pipeline.imageCaptured(createImage(2)); // queued
+        pipeline.imageCaptured(createImage(3)); // dropped, the queue is full
+        releaseWriter.countDown();
+        pipeline.flush();
+
+        // Then...
+        assertThat(pipeline.getDroppedImages()).isEqualTo(1);
+        assertThat(writtenBatches).containsExactly("1: 1", "2: 2");
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zos3270.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import dev.galasa.zos3270.TerminalInterruptedException;
+import dev.galasa.zos3270.common.screens.TerminalSize;
+import dev.galasa.zos3270.internal.comms.NetworkServer;
+import dev.galasa.zos3270.internal.comms.NetworkSessionThreads;
+import dev.galasa.zos3270.internal.comms.NetworkThread;
+import dev.galasa.zos3270.internal.datastream.AbstractCommandCode;
+import dev.galasa.zos3270.spi.Terminal;
+import dev.galasa.zos3270.util.Zos3270TestBase;
+
+public class NetworkSessionThreadsTest extends Zos3270TestBase {
+
+    /**
+     * A terminal which lets the test see the thread reading its session
+     */
+    class SessionTerminal extends Terminal {
+        SessionTerminal(int port) throws TerminalInterruptedException {
+            super("T1", "127.0.0.1", port, false, new TerminalSize(80, 24), new TerminalSize(0, 0), null, ebcdic);
+        }
+
+        @Override
+        public Thread getSessionThread() {
+            return super.getSessionThread();
+        }
+    }
+
+    private byte[] createScreenDatastream(String text) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(AbstractCommandCode.ERASE_WRITE);
+        // *** WCC - reset and restore the keyboard
+        baos.write(0xc3);
+        baos.write(text.getBytes(ebcdic));
+        return baos.toByteArray();
+    }
+
+    private boolean waitForScreenText(Terminal terminal, String text) throws InterruptedException {
+        long expire = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < expire) {
+            if (terminal.retrieveScreen().contains(text)) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private boolean isVirtual(Thread thread) throws Exception {
+        if (!NetworkSessionThreads.isVirtualThreadsAvailable()) {
+            return false;
+        }
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    @Test
+    public void testSessionOnVirtualThreadsReceivesAScreenAndDisconnects() throws Exception {
+        ExecutorService serverPool = Executors.newSingleThreadExecutor();
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            // Given...
+            Future<NetworkServer> server = serverPool.submit(() -> new NetworkServer(serverSocket.accept()));
+            SessionTerminal terminal = new SessionTerminal(serverSocket.getLocalPort());
+            terminal.setUseVirtualThreads(true);
+
+            // When...
+            terminal.connect();
+            NetworkServer networkServer = server.get(10, TimeUnit.SECONDS);
+            Thread sessionThread = terminal.getSessionThread();
+            networkServer.sendDatastream(createScreenDatastream("HELLO FROM THE SERVER"));
+            boolean isScreenReceived = waitForScreenText(terminal, "HELLO FROM THE SERVER");
+            terminal.disconnect();
+            sessionThread.join(10_000);
+            networkServer.close();
+
+            // Then...
+            assertThat(networkServer.getDeviceName()).isNotEmpty();
+            assertThat(isScreenReceived).isTrue();
+            assertThat(terminal.isConnected()).isFalse();
+            assertThat(sessionThread.isAlive()).isFalse();
+            assertThat(terminal.getSessionThread()).isNull();
+            if (NetworkSessionThreads.isVirtualThreadsAvailable()) {
+                assertThat(isVirtual(sessionThread)).isTrue();
+            } else {
+                // *** Without virtual threads, the network thread is started as a platform thread instead
+                assertThat(sessionThread).isInstanceOf(NetworkThread.class);
+                assertThat(NetworkSessionThreads.startVirtual(() -> {}, "unused")).isNull();
+            }
+        } finally {
+            serverPool.shutdownNow();
+        }
+    }
+}
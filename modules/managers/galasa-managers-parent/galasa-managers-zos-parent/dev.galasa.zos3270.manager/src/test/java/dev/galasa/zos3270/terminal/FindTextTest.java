@@ -149,4 +149,83 @@ public class FindTextTest extends Zos3270TestBase {
         }
     }
 
+    @Test
+    public void testMultiSearchReportsTheFirstTextInEachList() throws Exception {
+        Screen screen = CreateTestScreen(10, 3, null);
+        screen.erase();
+
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        orders.add(new OrderSetBufferAddress(new BufferAddress(0)));
+        orders.add(new OrderStartField(false, false, true, false, false, false));
+        orders.add(new OrderText("Find this message here", ebcdic));
+
+        screen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+
+        // Overlapping texts, where one ends part way through another
+        Assert.assertEquals("Should have found the first ok text that is on the screen", 1,
+                screen.searchFieldContaining(new String[]{"messages", "sage here", "his"}, null));
+
+        try {
+            screen.searchFieldContaining(new String[]{"Find"}, new String[]{"notpresent", "here", "this"});
+            Assert.fail("Should have thrown ErrorTextFoundException");
+        } catch (ErrorTextFoundException e) {
+            Assert.assertEquals("Should have reported the first error text that is on the screen", 1, e.getErrorId());
+        }
+    }
+
+    @Test
+    public void testTextAcrossTwoFieldsIsNotFound() throws Exception {
+        Screen screen = CreateTestScreen(10, 2, null);
+        screen.erase();
+
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        orders.add(new OrderSetBufferAddress(new BufferAddress(0)));
+        orders.add(new OrderStartField(true, false, true, false, false, false));
+        orders.add(new OrderText("ABCD", ebcdic));
+        orders.add(new OrderStartField(true, false, true, false, false, false));
+        orders.add(new OrderText("EFGH", ebcdic));
+
+        screen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+
+        try {
+            screen.searchFieldContaining(new String[]{"D EF", "DEF"}, null);
+            Assert.fail("Should have thrown TextNotFoundException");
+        } catch(TextNotFoundException e) {
+        }
+        Assert.assertFalse("Text should only be found within a field", screen.isTextInField("D EF"));
+        Assert.assertTrue("Text should be found within a field", screen.isTextInField("EFGH"));
+    }
+
+    @Test
+    public void testSearchFindsTextTypedAfterAnEarlierSearch() throws Exception {
+        Screen screen = CreateTestScreen(10, 2, null);
+        screen.erase();
+
+        ArrayList<AbstractOrder> orders = new ArrayList<>();
+        orders.add(new OrderSetBufferAddress(new BufferAddress(0)));
+        orders.add(new OrderStartField(true, false, true, false, false, false));
+        orders.add(new OrderText("Name", ebcdic));
+        orders.add(new OrderStartField(false, false, true, false, false, false));
+
+        screen.processInboundMessage(new Inbound3270Message(new CommandEraseWrite(),
+                new WriteControlCharacter(false, false, false, false, false, false, true, true), orders));
+
+        String[] okText = new String[]{"galasa"};
+        Assert.assertFalse("Text should not be on the screen yet", screen.isTextInField("galasa"));
+        try {
+            screen.searchFieldContaining(okText, null);
+            Assert.fail("Should have thrown TextNotFoundException");
+        } catch(TextNotFoundException e) {
+        }
+
+        screen.type("galasa", 6);
+
+        Assert.assertEquals("Should have found the typed text", 0, screen.searchFieldContaining(okText, null));
+        Assert.assertTrue("Should have found the typed text", screen.isTextInField("galasa"));
+        Assert.assertTrue("The field should now be modified", screen.locateFieldAt(6).isFieldModifed());
+    }
+
+
 }
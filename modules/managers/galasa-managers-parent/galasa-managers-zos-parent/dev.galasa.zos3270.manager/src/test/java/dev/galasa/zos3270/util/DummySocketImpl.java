@@ -6,7 +6,6 @@
 package dev.galasa.zos3270.util;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -18,11 +17,11 @@ import java.net.SocketImpl;
 public class DummySocketImpl extends SocketImpl {
 
     private final ByteArrayInputStream  byteArrayInputStream;
-    private final ByteArrayOutputStream byteArrayOutputStream;
+    private final OutputStream          byteArrayOutputStream;
     public int                          getInputStreamCount = 0;
     public int                          closeCount          = 0;
 
-    public DummySocketImpl(ByteArrayInputStream byteArrayInputStream, ByteArrayOutputStream byteArrayOutputStream) {
+    public DummySocketImpl(ByteArrayInputStream byteArrayInputStream, OutputStream byteArrayOutputStream) {
         this.byteArrayInputStream = byteArrayInputStream;
         this.byteArrayOutputStream = byteArrayOutputStream;
     }
@@ -5,6 +5,14 @@
  */
 package dev.galasa.zosbatch.rseapi.manager.internal;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -21,10 +29,14 @@ import org.apache.http.HttpStatus;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zos.spi.ZosArtifactRequests;
+import dev.galasa.zos.spi.ZosRequestPool.Request;
 import dev.galasa.zosbatch.IZosBatchJob;
 import dev.galasa.zosbatch.IZosBatchJobOutput;
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
@@ -341,15 +353,17 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
 
     @Override
     public void saveOutputToResultsArchive(String rasPath) throws ZosBatchException {
-        if (!this.outputComplete) {
-            retrieveOutput();
-        }
-        Path artifactPath = this.zosBatchManager.getArtifactsRoot().resolve(rasPath).resolve(jobOutput().getJobname());
+        Path artifactPath = this.zosBatchManager.getArtifactsRoot().resolve(rasPath).resolve(this.jobname.getName());
 		logger.info("Archiving batch job " + this.toString() + " to " + artifactPath.toString());
         
-		Iterator<IZosBatchJobOutputSpoolFile> iterator = jobOutput().iterator();
-        while (iterator.hasNext()) {
-            saveSpoolFile(iterator.next(), artifactPath);
+        if (this.outputComplete) {
+            Iterator<IZosBatchJobOutputSpoolFile> iterator = jobOutput().iterator();
+            while (iterator.hasNext()) {
+                saveSpoolFile(iterator.next(), artifactPath);
+            }
+        } else {
+            // Stream the spool files into the archive rather than retrieving them into the job output
+            streamOutputToResultsArchive(artifactPath);
         }
         if (isComplete()) {
         	this.jobArchived = true;
@@ -384,19 +398,8 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
 	}
 
 	protected void saveSpoolFile(IZosBatchJobOutputSpoolFile spoolFile, Path artifactPath) throws ZosBatchException {
-        StringBuilder name = new StringBuilder();
-        name.append(spoolFile.getJobid());
-        if (!spoolFile.getStepname().isEmpty()){
-            name.append("_");
-            name.append(spoolFile.getStepname());
-        }
-        if (!spoolFile.getProcstep().isEmpty()){
-            name.append("_");
-            name.append(spoolFile.getProcstep());
-        }
-        name.append("_");
-        name.append(spoolFile.getDdname());
-        String fileName = this.zosBatchManager.getZosManager().buildUniquePathName(artifactPath, name.toString());
+        String name = IZosBatchJobOutputSpi.spoolFileArtifactName(spoolFile.getJobid(), spoolFile.getStepname(), spoolFile.getProcstep(), spoolFile.getDdname());
+        String fileName = this.zosBatchManager.getZosManager().buildUniquePathName(artifactPath, name);
         try {
 			this.zosBatchManager.getZosManager().storeArtifact(artifactPath.resolve(fileName), spoolFile.getRecords(), ResultArchiveStoreContentType.TEXT);
 		} catch (ZosManagerException e) {
@@ -404,14 +407,83 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
 		}
 	}
 
+	protected void streamOutputToResultsArchive(Path artifactPath) throws ZosBatchException {
+        JsonArray spoolFiles = getSpoolFileList();
+        if (spoolFiles == null) {
+            return;
+        }
+        
+        JobStatus jobStatus = this.status;
+        ZosArtifactRequests<IRseapiRestApiProcessor, ZosBatchException> requests = this.zosBatchManager.getSpoolPool(this.jobImage).newArtifactRequests(this.zosBatchManager.getZosManager(), artifactPath);
+        for (JsonElement jsonElement : spoolFiles) {
+            JsonObject responseBody = jsonElement.getAsJsonObject();
+            String path = this.jobFilesPath + "/" + jsonNull(responseBody, PROP_ID) + "/content";
+            String name = IZosBatchJobOutputSpi.spoolFileArtifactName(this.jobid, jsonNull(responseBody, "step name"), jsonNull(responseBody, "proc step"), responseBody.get("ddName").getAsString());
+            requests.add(name, (rseapiApiProcessor, spoolFilePath) -> streamOutputFile(rseapiApiProcessor, path, jobStatus, spoolFilePath));
+        }
+        requests.sendAll();
+	}
+
 	protected void getOutput(boolean retrieveRecords) throws ZosBatchException {
+        JsonArray spoolFiles = getSpoolFileList();
+        if (spoolFiles == null) {
+            return;
+        }
+        
+        List<String> spoolFileRecords = null;
+        if (retrieveRecords) {
+            spoolFileRecords = getOutputFileContents(spoolFiles);
+        }
+        for (int i = 0; i < spoolFiles.size(); i++) {
+            JsonObject responseBody = spoolFiles.get(i).getAsJsonObject();
+            String id = jsonNull(responseBody, PROP_ID);
+            String stepname = jsonNull(responseBody, "step name");
+            String procstep = jsonNull(responseBody, "proc step");
+            String ddname = responseBody.get("ddName").getAsString();
+            String records = null;
+            if (retrieveRecords) {
+            	records = spoolFileRecords.get(i);
+            }
+            if(this.jobOutput == null) {
+            	this.jobOutput = this.zosBatchManager.getZosManager().newZosBatchJobOutput(this, this.jobname.getName(), this.jobid);
+            }
+            ((IZosBatchJobOutputSpi) this.jobOutput).addSpoolFile(stepname, procstep, ddname, id, records);
+        }
+        
+        if (this.jobComplete && retrieveRecords) {
+            this.outputComplete = true;
+        }
+    }
+
+    /**
+     * Retrieve the content of spool files concurrently, on the threads of the image's spool pool
+     * @param spoolFiles the spool files
+     * @return the content of each spool file
+     * @throws ZosBatchException
+     */
+    protected List<String> getOutputFileContents(JsonArray spoolFiles) throws ZosBatchException {
+        JobStatus jobStatus = this.status;
+        List<Request<IRseapiRestApiProcessor, String, ZosBatchException>> requests = new ArrayList<>();
+        for (JsonElement jsonElement : spoolFiles) {
+            String path = this.jobFilesPath + "/" + jsonNull(jsonElement.getAsJsonObject(), PROP_ID) + "/content";
+            requests.add(rseapiApiProcessor -> getOutputFileContent(rseapiApiProcessor, path, jobStatus));
+        }
+        return this.zosBatchManager.getSpoolPool(this.jobImage).sendAll(requests);
+    }
+
+    /**
+     * List the spool files of the job
+     * @return the spool files, or null if the job was not found
+     * @throws ZosBatchException
+     */
+    protected JsonArray getSpoolFileList() throws ZosBatchException {
     
         if (!submitted()) {
             throw new ZosBatchException(LOG_JOB_NOT_SUBMITTED);
         }
         updateJobStatus();
         if (this.jobNotFound) {
-            return;
+            return null;
         }
         
         // First, get a list of spool files
@@ -434,32 +506,13 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
             
             logger.trace(responseBodyObject);
             // Get the spool files
-            JsonArray jsonArray = ((JsonObject) responseBodyObject).getAsJsonArray("items");
-            for (JsonElement jsonElement : jsonArray) {
-                JsonObject responseBody = jsonElement.getAsJsonObject();
-                String id = jsonNull(responseBody, PROP_ID);
-                String stepname = jsonNull(responseBody, "step name");
-                String procstep = jsonNull(responseBody, "proc step");
-                String ddname = responseBody.get("ddName").getAsString();
-                String records = null;
-                if (retrieveRecords) {
-                	records = getOutputFileContent(this.jobFilesPath + "/" + id + "/content");
-                }
-                if(this.jobOutput == null) {
-                	this.jobOutput = this.zosBatchManager.getZosManager().newZosBatchJobOutput(this, this.jobname.getName(), this.jobid);
-                }
-                ((IZosBatchJobOutputSpi) this.jobOutput).addSpoolFile(stepname, procstep, ddname, id, records);
-            }
+            return ((JsonObject) responseBodyObject).getAsJsonArray("items");
         } else {            
             // Error case
             String displayMessage = buildErrorString("Retrieve job output", response); 
             logger.error(displayMessage);
             throw new ZosBatchException(displayMessage);
         }
-        
-        if (this.jobComplete && retrieveRecords) {
-            this.outputComplete = true;
-        }
     }
 
     protected void setJobid(String jobid) {
@@ -618,10 +671,21 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
     }
 
     protected String getOutputFileContent(String path) throws ZosBatchException {    
+        return getOutputFileContent(this.rseapiApiProcessor, path, null);
+    }
+
+    /**
+     * @param rseapiApiProcessor the processor to send the request with
+     * @param path the path of the spool file content
+     * @param jobStatus the status of the job, or null to get it when needed
+     * @return the content of the spool file
+     * @throws ZosBatchException
+     */
+    protected String getOutputFileContent(IRseapiRestApiProcessor rseapiApiProcessor, String path, JobStatus jobStatus) throws ZosBatchException {    
         HashMap<String, String> headers = new HashMap<>();
         IRseapiResponse response;
         try {
-            response = this.rseapiApiProcessor.sendRequest(RseapiRequestType.GET, path, headers, null, VALID_STATUS_CODES, true);
+            response = rseapiApiProcessor.sendRequest(RseapiRequestType.GET, path, headers, null, VALID_STATUS_CODES, true);
         } catch (RseapiException e) {
             throw new ZosBatchException(e);
         }
@@ -637,7 +701,7 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
         
             logger.debug(responseBody);
             fileOutput = jsonNull(responseBody, PROP_CONTENT);
-        } else if (response.getStatusCode() == HttpStatus.SC_NOT_FOUND && getStatus().equals(JobStatus.ACTIVE)) {
+        } else if (response.getStatusCode() == HttpStatus.SC_NOT_FOUND && (jobStatus != null ? jobStatus : getStatus()).equals(JobStatus.ACTIVE)) {
         	return null;
         } else {            
             // Error case
@@ -648,6 +712,49 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
         return fileOutput;
     }
 
+    /**
+     * Copy the content of a spool file into an artifact. The content is read from the
+     * response with a {@link JsonReader}, so that the response is not parsed into a tree
+     * @param rseapiApiProcessor the processor to send the request with
+     * @param path the path of the spool file content
+     * @param jobStatus the status of the job
+     * @param spoolFilePath the artifact
+     * @throws ZosBatchException
+     */
+    protected void streamOutputFile(IRseapiRestApiProcessor rseapiApiProcessor, String path, JobStatus jobStatus, Path spoolFilePath) throws ZosBatchException {
+        HashMap<String, String> headers = new HashMap<>();
+        IRseapiResponse response;
+        try {
+            response = rseapiApiProcessor.sendRequest(RseapiRequestType.GET, path, headers, null, VALID_STATUS_CODES, false);
+        } catch (RseapiException e) {
+            throw new ZosBatchException(e);
+        }
+    
+        if (response.getStatusCode() == HttpStatus.SC_OK) {
+            try {
+                Object content = response.getContent();
+                Reader contentReader = content instanceof InputStream ? new InputStreamReader((InputStream) content, StandardCharsets.UTF_8) : new StringReader(String.valueOf(content));
+                try (JsonReader reader = new JsonReader(contentReader); Writer writer = Files.newBufferedWriter(spoolFilePath)) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (PROP_CONTENT.equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                            writer.write(reader.nextString());
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                }
+            } catch (RseapiException | IOException | IllegalStateException e) {
+                throw new ZosBatchException("Unable to store artifact", e);
+            }
+        } else if (!(response.getStatusCode() == HttpStatus.SC_NOT_FOUND && JobStatus.ACTIVE.equals(jobStatus))) {
+            // Error case
+            String displayMessage = buildErrorString("Retrieve job output", response);
+            logger.error(displayMessage);
+            throw new ZosBatchException(displayMessage);
+        }
+    }
+
     protected boolean spoolFileNotFound(JsonObject errorResponseBody) {
         return (jsonZero(errorResponseBody, PROP_CATEGORY) == 6 &&
                 jsonZero(errorResponseBody, PROP_RC) == 4 &&
@@ -705,7 +812,6 @@ public class RseapiZosBatchJobImpl implements IZosBatchJob {
 
     protected void archiveJobOutput() throws ZosBatchException {
         if (shouldArchive() && getStatus() != JobStatus.NOTFOUND && (!isArchived() || !this.jobComplete)) {
-        	retrieveOutput();
             Path rasPath = this.zosBatchManager.getCurrentTestMethodArchiveFolder();
             String folderName = this.jobname.getName() + "_" + this.jobid + "_" + this.retcode.replace(" ", "-").replace(StringUtils.repeat(QUERY, 4), "UNKNOWN");
             rasPath = rasPath.resolve(this.zosBatchManager.getZosManager().buildUniquePathName(rasPath, folderName));
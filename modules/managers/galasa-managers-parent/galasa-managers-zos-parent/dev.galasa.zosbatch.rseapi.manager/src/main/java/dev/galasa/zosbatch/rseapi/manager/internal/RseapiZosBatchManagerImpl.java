@@ -31,6 +31,7 @@ import dev.galasa.framework.spi.language.GalasaTest;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zos.spi.ZosRequestPool;
 import dev.galasa.zosbatch.IZosBatch;
 import dev.galasa.zosbatch.IZosBatchJobname;
 import dev.galasa.zosbatch.ZosBatch;
@@ -39,6 +40,8 @@ import dev.galasa.zosbatch.ZosBatchField;
 import dev.galasa.zosbatch.ZosBatchJobname;
 import dev.galasa.zosbatch.ZosBatchManagerException;
 import dev.galasa.zosbatch.spi.IZosBatchSpi;
+import dev.galasa.zosrseapi.IRseapiRestApiProcessor;
+import dev.galasa.zosrseapi.RseapiManagerException;
 import dev.galasa.zosrseapi.spi.IRseapiManagerSpi;
 
 /**
@@ -54,6 +57,8 @@ public class RseapiZosBatchManagerImpl extends AbstractManager implements IZosBa
 
     private static final String PROVISIONING = "provisioning";
 
+    protected static final int SPOOL_POOL_SIZE = 4;
+
     private IZosManagerSpi zosManager;
     public IZosManagerSpi getZosManager() {
         return this.zosManager;
@@ -66,6 +71,7 @@ public class RseapiZosBatchManagerImpl extends AbstractManager implements IZosBa
 
     private final HashMap<String, RseapiZosBatchImpl> taggedZosBatches = new HashMap<>();
     private final HashMap<String, RseapiZosBatchImpl> zosBatches = new HashMap<>();
+    private final HashMap<String, ZosRequestPool<IRseapiRestApiProcessor, ZosBatchException>> spoolPools = new HashMap<>();
 
     private Path artifactsRoot;
     public Path getArtifactsRoot() {
@@ -201,6 +207,9 @@ public class RseapiZosBatchManagerImpl extends AbstractManager implements IZosBa
         } catch (ZosBatchException e) {
             logger.error("Problem in endOfTestRun()", e);
         }
+        for (ZosRequestPool<IRseapiRestApiProcessor, ZosBatchException> spoolPool : this.spoolPools.values()) {
+            spoolPool.shutdown();
+        }
     }
     
     protected void cleanup(boolean endOfTest) throws ZosBatchException {
@@ -254,6 +263,22 @@ public class RseapiZosBatchManagerImpl extends AbstractManager implements IZosBa
         return zosManager.newZosBatchJobname(name);
     }
 
+    /**
+     * Get the pool of threads for retrieving spool files from an image. Each thread has an RSE API
+     * processor with its own connections, as the RSE API servers are not shared between threads.
+     * @param image the image
+     * @return the spool pool
+     */
+    protected synchronized ZosRequestPool<IRseapiRestApiProcessor, ZosBatchException> getSpoolPool(IZosImage image) {
+        return this.spoolPools.computeIfAbsent(image.getImageID(), imageId -> new ZosRequestPool<>("zosbatch-spool-" + imageId, SPOOL_POOL_SIZE, () -> {
+            try {
+                return this.rseapiManager.newUnsharedRseapiRestApiProcessor(image, this.zosManager.getZosBatchPropertyBatchRestrictToImage(imageId));
+            } catch (RseapiManagerException | ZosBatchManagerException e) {
+                throw new ZosBatchException(e);
+            }
+        }, ZosBatchException.class, ZosBatchException::new));
+    }
+
     @Override
     public @NotNull IZosBatch getZosBatch(IZosImage image) {
         if (zosBatches.containsKey(image.getImageID())) {
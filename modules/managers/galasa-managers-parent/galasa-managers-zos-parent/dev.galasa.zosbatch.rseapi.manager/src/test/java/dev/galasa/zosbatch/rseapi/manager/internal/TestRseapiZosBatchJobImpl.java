@@ -5,15 +5,22 @@
  */
 package dev.galasa.zosbatch.rseapi.manager.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -39,6 +46,8 @@ import dev.galasa.framework.spi.ras.ResultArchiveStorePath;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.internal.ZosManagerImpl;
+import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zos.spi.ZosRequestPool;
 import dev.galasa.zosbatch.IZosBatchJob.JobStatus;
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
 import dev.galasa.zosbatch.IZosBatchJobname;
@@ -51,6 +60,7 @@ import dev.galasa.zosrseapi.IRseapiResponse;
 import dev.galasa.zosrseapi.IRseapiRestApiProcessor;
 import dev.galasa.zosrseapi.RseapiException;
 import dev.galasa.zosrseapi.internal.RseapiManagerImpl;
+import dev.galasa.zosrseapi.spi.IRseapiManagerSpi;
 
 //@RunWith(PowerMockRunner.class)
 //@PrepareForTest({LogFactory.class})
@@ -1058,4 +1068,105 @@ public class TestRseapiZosBatchJobImpl {
 //    	responseBody.add("items", fileArray);
 //        return responseBody;
 //    }
+
+    private static final String STREAMED_JOBID = "JOB12345";
+
+    private final Map<String, ByteArrayOutputStream> artifacts = new ConcurrentHashMap<>();
+
+    private IRseapiRestApiProcessor spoolApiProcessorMock;
+
+    private RseapiZosBatchJobImpl newStreamingJob(JsonArray spoolFiles) throws Exception {
+        IZosImage zosImageMock = Mockito.mock(IZosImage.class);
+        Mockito.when(zosImageMock.getImageID()).thenReturn("IMAGE");
+        IZosManagerSpi zosManagerMock = Mockito.mock(IZosManagerSpi.class);
+        Mockito.when(zosManagerMock.buildUniquePathName(Mockito.any(), Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        IRseapiManagerSpi rseapiManagerMock = Mockito.mock(IRseapiManagerSpi.class);
+        spoolApiProcessorMock = Mockito.mock(IRseapiRestApiProcessor.class);
+        RseapiZosBatchManagerImpl zosBatchManagerMock = Mockito.mock(RseapiZosBatchManagerImpl.class);
+        Mockito.when(zosBatchManagerMock.getZosManager()).thenReturn(zosManagerMock);
+        Mockito.when(zosBatchManagerMock.getRseapiManager()).thenReturn(rseapiManagerMock);
+        Mockito.when(zosBatchManagerMock.getSpoolPool(Mockito.any())).thenReturn(new ZosRequestPool<>("test-spool", 2, () -> spoolApiProcessorMock, ZosBatchException.class, ZosBatchException::new));
+
+        RseapiZosBatchJobImpl zosBatchJob = Mockito.spy(new RseapiZosBatchJobImpl(zosBatchManagerMock, zosImageMock, Mockito.mock(IZosBatchJobname.class), null, null));
+        zosBatchJob.setJobid(STREAMED_JOBID);
+        Mockito.doReturn(spoolFiles).when(zosBatchJob).getSpoolFileList();
+        return zosBatchJob;
+    }
+
+    private JsonObject newSpoolFile(String id, String ddname) {
+        JsonObject spoolFile = new JsonObject();
+        spoolFile.addProperty("id", id);
+        spoolFile.addProperty("step name", "STEP");
+        spoolFile.add("proc step", JsonNull.INSTANCE);
+        spoolFile.addProperty("ddName", ddname);
+        return spoolFile;
+    }
+
+    private void mockSpoolFileContent(String id, int statusCode, Object content) throws Exception {
+        IRseapiResponse responseMock = Mockito.mock(IRseapiResponse.class);
+        Mockito.when(responseMock.getStatusCode()).thenReturn(statusCode);
+        Mockito.when(responseMock.getContent()).thenReturn(content);
+        Mockito.when(spoolApiProcessorMock.sendRequest(Mockito.eq(RseapiRequestType.GET), Mockito.endsWith("/" + id + "/content"), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(false))).thenReturn(responseMock);
+    }
+
+    private Path newArtifactDirectoryMock() throws IOException {
+        FileSystem fileSystemMock = Mockito.mock(FileSystem.class);
+        FileSystemProvider fileSystemProviderMock = Mockito.mock(FileSystemProvider.class);
+        Mockito.when(fileSystemMock.provider()).thenReturn(fileSystemProviderMock);
+        Mockito.when(fileSystemProviderMock.newByteChannel(Mockito.any(), Mockito.any(), Mockito.any(FileAttribute[].class))).thenReturn(Mockito.mock(SeekableByteChannel.class));
+        Mockito.when(fileSystemProviderMock.newOutputStream(Mockito.any(Path.class), Mockito.any(OpenOption[].class))).thenAnswer(invocation -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            artifacts.put(invocation.getArgument(0).toString(), out);
+            return out;
+        });
+        Path directoryMock = Mockito.mock(Path.class);
+        Mockito.when(directoryMock.resolve(Mockito.anyString())).thenAnswer(invocation -> {
+            Path fileMock = Mockito.mock(Path.class);
+            Mockito.when(fileMock.toString()).thenReturn(invocation.getArgument(0));
+            Mockito.when(fileMock.getFileSystem()).thenReturn(fileSystemMock);
+            return fileMock;
+        });
+        return directoryMock;
+    }
+
+    @Test
+    public void testStreamOutputToResultsArchive() throws Exception {
+        JsonArray spoolFiles = new JsonArray();
+        spoolFiles.add(newSpoolFile("1", "JESMSGLG"));
+        spoolFiles.add(newSpoolFile("2", "SYSPRINT"));
+        RseapiZosBatchJobImpl zosBatchJob = newStreamingJob(spoolFiles);
+        String streamedResponse = "{\"id\": 1, \"content\": \"streamed \\u00e9\\nline 2\", \"records\": [\"skipped\"]}";
+        mockSpoolFileContent("1", HttpStatus.SC_OK, new ByteArrayInputStream(streamedResponse.getBytes(StandardCharsets.UTF_8)));
+        mockSpoolFileContent("2", HttpStatus.SC_OK, "{\"content\": \"converted\"}");
+
+        zosBatchJob.streamOutputToResultsArchive(newArtifactDirectoryMock());
+
+        Assert.assertEquals("streamOutputToResultsArchive() should store each spool file", 2, artifacts.size());
+        Assert.assertEquals("streamOutputToResultsArchive() should store only the content of the streamed response", "streamed \u00e9\nline 2", new String(artifacts.get(STREAMED_JOBID + "_STEP_JESMSGLG").toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertEquals("streamOutputToResultsArchive() should store only the content of the text response", "converted", new String(artifacts.get(STREAMED_JOBID + "_STEP_SYSPRINT").toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamOutputFileNotJson() throws Exception {
+        RseapiZosBatchJobImpl zosBatchJob = newStreamingJob(new JsonArray());
+        mockSpoolFileContent("1", HttpStatus.SC_OK, new ByteArrayInputStream("[\"not an object\"]".getBytes(StandardCharsets.UTF_8)));
+        Path artifactPath = newArtifactDirectoryMock().resolve("artifact");
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            zosBatchJob.streamOutputFile(spoolApiProcessorMock, "files/1/content", JobStatus.OUTPUT, artifactPath);
+        });
+
+        Assert.assertEquals("exception should contain expected message", "Unable to store artifact", expectedException.getMessage());
+    }
+
+    @Test
+    public void testStreamOutputFileNotFoundForActiveJob() throws Exception {
+        RseapiZosBatchJobImpl zosBatchJob = newStreamingJob(new JsonArray());
+        mockSpoolFileContent("1", HttpStatus.SC_NOT_FOUND, null);
+        Path artifactPath = newArtifactDirectoryMock().resolve("artifact");
+
+        zosBatchJob.streamOutputFile(spoolApiProcessorMock, "files/1/content", JobStatus.ACTIVE, artifactPath);
+
+        Assert.assertTrue("streamOutputFile() should not store a spool file that is not there yet", artifacts.isEmpty());
+    }
 }
@@ -5,14 +5,19 @@
  */
 package dev.galasa.zosbatch.zosmf.manager.internal;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -26,6 +31,8 @@ import com.google.gson.JsonObject;
 import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zos.spi.ZosArtifactRequests;
+import dev.galasa.zos.spi.ZosRequestPool.Request;
 import dev.galasa.zosbatch.IZosBatchJob;
 import dev.galasa.zosbatch.IZosBatchJobOutput;
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
@@ -258,26 +265,14 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
         }
         logger.info("Waiting up to " + milliSecondTimeout + " second(s) for "+ this.jobid + " " + this.jobname.getName() + " to complete");
         
-        LocalDateTime timeoutTime = LocalDateTime.now().plusSeconds(milliSecondTimeout);
-        while (LocalDateTime.now().isBefore(timeoutTime)) {
-            updateJobStatus();
-            if (this.jobNotFound) {
-                return Integer.MIN_VALUE;
-            }
-            try {
-                if (isComplete()) {
-                    String[] rc = this.retcode.split(" ");
-                    if (rc.length == 2) {
-                        return StringUtils.isNumeric(rc[1]) ? Integer.parseInt(rc[1]) : Integer.MIN_VALUE;
-                    }
-                    return Integer.MIN_VALUE;
-                }
-                
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                logger.error("waitForJob Interrupted", e);
-                Thread.currentThread().interrupt();
-                throw new ZosBatchException(e);
+        // The image's job monitor refreshes this job along with any others being waited for
+        if (!this.zosBatchManager.getJobMonitor(this.jobImage).waitForJob(this, TimeUnit.SECONDS.toMillis(milliSecondTimeout)) || this.jobNotFound) {
+            return Integer.MIN_VALUE;
+        }
+        if (isComplete() && this.retcode != null) {
+            String[] rc = this.retcode.split(" ");
+            if (rc.length == 2) {
+                return StringUtils.isNumeric(rc[1]) ? Integer.parseInt(rc[1]) : Integer.MIN_VALUE;
             }
         }
         return Integer.MIN_VALUE;
@@ -340,16 +335,17 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
 
     @Override
     public void saveOutputToResultsArchive(String rasPath) throws ZosBatchException {
-        if(!this.outputComplete){
-            retrieveOutput();
-        }
-
-        Path artifactPath = this.zosBatchManager.getArtifactsRoot().resolve(rasPath).resolve(jobOutput().getJobname());
+        Path artifactPath = this.zosBatchManager.getArtifactsRoot().resolve(rasPath).resolve(this.jobname.getName());
 		logger.info("Archiving batch job " + this.toString() + " to " + artifactPath.toString());
         
-        Iterator<IZosBatchJobOutputSpoolFile> iterator = jobOutput().iterator();
-        while (iterator.hasNext()) {
-            saveSpoolFile(iterator.next(), artifactPath);
+        if (this.outputComplete) {
+            Iterator<IZosBatchJobOutputSpoolFile> iterator = jobOutput().iterator();
+            while (iterator.hasNext()) {
+                saveSpoolFile(iterator.next(), artifactPath);
+            }
+        } else {
+            // Stream the spool files into the archive rather than retrieving them into the job output
+            streamOutputToResultsArchive(artifactPath);
         }
         if (isComplete()) {
         	this.jobArchived = true;
@@ -384,19 +380,8 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
 	}
 
 	protected void saveSpoolFile(IZosBatchJobOutputSpoolFile spoolFile, Path artifactPath) throws ZosBatchException {
-        StringBuilder name = new StringBuilder();
-        name.append(spoolFile.getJobid());
-        if (!spoolFile.getStepname().isEmpty()){
-            name.append("_");
-            name.append(spoolFile.getStepname());
-        }
-        if (!spoolFile.getProcstep().isEmpty()){
-            name.append("_");
-            name.append(spoolFile.getProcstep());
-        }
-        name.append("_");
-        name.append(spoolFile.getDdname());
-        String fileName = this.zosBatchManager.getZosManager().buildUniquePathName(artifactPath, name.toString());
+        String name = IZosBatchJobOutputSpi.spoolFileArtifactName(spoolFile.getJobid(), spoolFile.getStepname(), spoolFile.getProcstep(), spoolFile.getDdname());
+        String fileName = this.zosBatchManager.getZosManager().buildUniquePathName(artifactPath, name);
         try {
 			this.zosBatchManager.getZosManager().storeArtifact(artifactPath.resolve(fileName), spoolFile.getRecords(), ResultArchiveStoreContentType.TEXT);
 		} catch (ZosManagerException e) {
@@ -404,13 +389,86 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
 		}
 	}
 
+	protected void streamOutputToResultsArchive(Path artifactPath) throws ZosBatchException {
+        JsonArray spoolFiles = getSpoolFileList();
+        if (spoolFiles == null) {
+            return;
+        }
+        
+        ZosArtifactRequests<IZosmfRestApiProcessor, ZosBatchException> requests = this.zosBatchManager.getSpoolPool(this.jobImage).newArtifactRequests(this.zosBatchManager.getZosManager(), artifactPath);
+        for (JsonElement jsonElement : spoolFiles) {
+            JsonObject responseBody = jsonElement.getAsJsonObject();
+            String id = jsonNull(responseBody, PROP_ID);
+            String name = IZosBatchJobOutputSpi.spoolFileArtifactName(this.jobid, jsonNull(responseBody, "stepname"), jsonNull(responseBody, "procstep"), responseBody.get("ddname").getAsString());
+            requests.add(name, (zosmfApiProcessor, spoolFilePath) -> streamSpoolFile(zosmfApiProcessor, id, spoolFilePath));
+        }
+        requests.sendAll();
+	}
+
 	protected void getOutput(boolean retrieveRecords) throws ZosBatchException {
+        JsonArray spoolFiles = getSpoolFileList();
+        if (spoolFiles == null) {
+            return;
+        }
+        
+        List<String> spoolFileRecords = null;
+        if (retrieveRecords) {
+            spoolFileRecords = getSpoolFileContents(spoolFiles);
+        }
+        for (int i = 0; i < spoolFiles.size(); i++) {
+            JsonObject responseBody = spoolFiles.get(i).getAsJsonObject();
+            String id = jsonNull(responseBody, PROP_ID);
+            String stepname = jsonNull(responseBody, "stepname");
+            String procstep = jsonNull(responseBody, "procstep");
+            String ddname = responseBody.get("ddname").getAsString();
+            String records = null;
+            if (retrieveRecords) {
+            	records = spoolFileRecords.get(i);
+            }
+            if(this.jobOutput == null) {
+            	this.jobOutput = this.zosBatchManager.getZosManager().newZosBatchJobOutput(this, this.jobname.getName(), this.jobid);
+            }
+
+            ((IZosBatchJobOutputSpi) this.jobOutput).addSpoolFile(stepname, procstep, ddname, id, records);
+        }
+        
+        // Get the JCLIN
+        if (retrieveRecords) {
+        	getSpoolFileContent("JCL", null, null, null);
+        }
+        
+        if (this.jobComplete  && retrieveRecords) {
+            this.outputComplete = true;
+        }
+    }
+
+    /**
+     * Retrieve the records of spool files concurrently, on the threads of the image's spool pool
+     * @param spoolFiles the spool files
+     * @return the records of each spool file
+     * @throws ZosBatchException
+     */
+    protected List<String> getSpoolFileContents(JsonArray spoolFiles) throws ZosBatchException {
+        List<Request<IZosmfRestApiProcessor, String, ZosBatchException>> requests = new ArrayList<>();
+        for (JsonElement jsonElement : spoolFiles) {
+            String id = jsonNull(jsonElement.getAsJsonObject(), PROP_ID);
+            requests.add(zosmfApiProcessor -> getSpoolFileContent(zosmfApiProcessor, id));
+        }
+        return this.zosBatchManager.getSpoolPool(this.jobImage).sendAll(requests);
+    }
+
+    /**
+     * List the spool files of the job
+     * @return the spool files, or null if the job was not found or has no output yet
+     * @throws ZosBatchException
+     */
+    protected JsonArray getSpoolFileList() throws ZosBatchException {
         if (!submitted()) {
             throw new ZosBatchException(LOG_JOB_NOT_SUBMITTED);
         }
         updateJobStatus();
         if (this.jobNotFound) {
-            return;
+            return null;
         }
         
         // First, get a list of spool files
@@ -434,45 +492,19 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
         logger.trace(responseBodyObject);
         if (response.getStatusCode() == HttpStatus.SC_OK) {
             // Get the spool files
-            JsonArray jsonArray;
             try {
-                jsonArray = response.getJsonArrayContent();
+                return response.getJsonArrayContent();
             } catch (ZosmfException e) {
                 throw new ZosBatchException(e);
             }
-            for (JsonElement jsonElement : jsonArray) {
-                JsonObject responseBody = jsonElement.getAsJsonObject();
-                String id = jsonNull(responseBody, PROP_ID);
-                String stepname = jsonNull(responseBody, "stepname");
-                String procstep = jsonNull(responseBody, "procstep");
-                String ddname = responseBody.get("ddname").getAsString();
-                String records = null;
-                if (retrieveRecords) {
-                	records = getSpoolFileContent(id, stepname, procstep, ddname);
-                }
-                if(this.jobOutput == null) {
-                	this.jobOutput = this.zosBatchManager.getZosManager().newZosBatchJobOutput(this, this.jobname.getName(), this.jobid);
-                }
-
-                ((IZosBatchJobOutputSpi) this.jobOutput).addSpoolFile(stepname, procstep, ddname, id, records);
-            }
         } else if (response.getStatusCode() == HttpStatus.SC_NOT_FOUND && getStatus().equals(JobStatus.ACTIVE)) {
-        	return;
+        	return null;
         } else {            
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
             String displayMessage = buildErrorString("Retrieve job output", (JsonObject) responseBodyObject); 
             logger.error(displayMessage);
             throw new ZosBatchException(displayMessage);
         }
-        
-        // Get the JCLIN
-        if (retrieveRecords) {
-        	getSpoolFileContent("JCL", null, null, null);
-        }
-        
-        if (this.jobComplete  && retrieveRecords) {
-            this.outputComplete = true;
-        }
     }
 
     protected void setJobid(String jobid) {
@@ -601,21 +633,7 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
             
         logger.trace(responseBody);
         if (response.getStatusCode() == HttpStatus.SC_OK) {
-            this.jobNotFound = false;
-            this.owner = jsonNull(responseBody, PROP_OWNER);
-            this.type = jsonNull(responseBody, PROP_TYPE);
-            this.statusString = jsonNull(responseBody, PROP_STATUS);
-            if (this.statusString != null && "OUTPUT".equals(this.statusString)) {
-                this.jobComplete = true;
-            }
-            this.status = JobStatus.valueOfLabel(statusString);
-            String retcodeProperty = jsonNull(responseBody, PROP_RETCODE);
-            if (retcodeProperty != null) {
-                this.retcode = retcodeProperty;
-            } else {
-                this.retcode = StringUtils.repeat(QUERY, 4);
-            }
-            logger.trace(jobStatus());
+            updateJobStatus(responseBody);
         } else {
             if (response.getStatusCode() == HttpStatus.SC_BAD_REQUEST &&
                     jsonZero(responseBody, PROP_RC) == 4 &&
@@ -632,14 +650,44 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
         }            
     }
 
+    /**
+     * Update the job from its status returned by zOS/MF
+     * @param responseBody the job status
+     */
+    protected void updateJobStatus(JsonObject responseBody) {
+        this.jobNotFound = false;
+        this.owner = jsonNull(responseBody, PROP_OWNER);
+        this.type = jsonNull(responseBody, PROP_TYPE);
+        this.statusString = jsonNull(responseBody, PROP_STATUS);
+        if (this.statusString != null && "OUTPUT".equals(this.statusString)) {
+            this.jobComplete = true;
+        }
+        this.status = JobStatus.valueOfLabel(statusString);
+        String retcodeProperty = jsonNull(responseBody, PROP_RETCODE);
+        if (retcodeProperty != null) {
+            this.retcode = retcodeProperty;
+        } else {
+            this.retcode = StringUtils.repeat(QUERY, 4);
+        }
+        logger.trace(jobStatus());
+    }
+
+    protected boolean isNotFound() {
+        return this.jobNotFound;
+    }
+
     protected String getSpoolFileContent(String id, String stepname, String procstep, String ddname) throws ZosBatchException {
+        return getSpoolFileContent(this.zosmfApiProcessor, id);
+    }
+
+    protected String getSpoolFileContent(IZosmfRestApiProcessor zosmfApiProcessor, String id) throws ZosBatchException {
 
     	String path = this.jobFilesPath + "/" + id + "/records";
         HashMap<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, path, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, path, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
         } catch (ZosmfException e) {
             throw new ZosBatchException(e);
         }
@@ -671,6 +719,65 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
         return fileOutput;
     }
 
+    /**
+     * Copy the records of a spool file into an artifact as they are received
+     * @param zosmfApiProcessor the processor to send the request with
+     * @param id the spool file id
+     * @param spoolFilePath the artifact
+     * @throws ZosBatchException
+     */
+    protected void streamSpoolFile(IZosmfRestApiProcessor zosmfApiProcessor, String id, Path spoolFilePath) throws ZosBatchException {
+    	String path = this.jobFilesPath + "/" + id + "/records";
+        HashMap<String, String> headers = new HashMap<>();
+        headers.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
+        IZosmfResponse response;
+        try {
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, path, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), false);
+        } catch (ZosmfException e) {
+            throw new ZosBatchException(e);
+        }
+        
+        if (response.getStatusCode() == HttpStatus.SC_OK) {
+            Object content;
+            try {
+                content = response.getContent();
+            } catch (ZosmfException e) {
+                throw new ZosBatchException("Unable to store artifact", e);
+            }
+            // The streamed content is opened first, so it is closed even if the artifact cannot be opened
+            if (content instanceof InputStream) {
+                try (InputStream in = (InputStream) content; OutputStream out = Files.newOutputStream(spoolFilePath)) {
+                    in.transferTo(out);
+                } catch (IOException e) {
+                    throw new ZosBatchException("Unable to store artifact", e);
+                }
+            } else {
+                try (OutputStream out = Files.newOutputStream(spoolFilePath)) {
+                    if (content instanceof byte[]) {
+                        out.write((byte[]) content);
+                    } else if (content != null) {
+                        out.write(content.toString().getBytes(StandardCharsets.UTF_8));
+                    }
+                } catch (IOException e) {
+                    throw new ZosBatchException("Unable to store artifact", e);
+                }
+            }
+        } else {
+            // Error case
+            JsonObject errorResponseBody;
+            try {
+                errorResponseBody = response.getJsonContent();
+            } catch (ZosmfException e) {
+                throw new ZosBatchException(e);
+            }
+            if (!(this.jobComplete && spoolFileNotFound(errorResponseBody))) {
+                String displayMessage = buildErrorString("Retrieve job output", errorResponseBody);
+                logger.error(displayMessage);
+                throw new ZosBatchException(displayMessage);
+            }
+        }
+    }
+
     protected boolean spoolFileNotFound(JsonObject errorResponseBody) {
         return (jsonZero(errorResponseBody, PROP_CATEGORY) == 6 &&
                 jsonZero(errorResponseBody, PROP_RC) == 4 &&
@@ -816,7 +923,6 @@ public class ZosmfZosBatchJobImpl implements IZosBatchJob {
 
     protected void archiveJobOutput() throws ZosBatchException {
     	if (shouldArchive() && getStatus() != JobStatus.NOTFOUND && (!isArchived() || !this.jobComplete)) {
-    		retrieveOutput();
             String folderName = this.jobname.getName() + "_" + this.jobid + "_" + getRetcode().replace(" ", "-");
             Path rasPath = this.testMethodArchiveFolder.resolve(this.zosBatchManager.getZosManager().buildUniquePathName(testMethodArchiveFolder, folderName));
             saveOutputToResultsArchive(rasPath.toString());
@@ -0,0 +1,305 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpStatus;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import dev.galasa.zosbatch.ZosBatchException;
+import dev.galasa.zosmf.IZosmf.ZosmfCustomHeaders;
+import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
+import dev.galasa.zosmf.IZosmfResponse;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfException;
+
+/**
+ * Tracks the outstanding batch jobs on a zOS image, so that jobs being waited for
+ * are refreshed together with one zOS/MF list jobs request per owner rather than
+ * a request per job. The time between requests doubles while no job completes.
+ * Jobs missing from the list, for example because they have been purged, are
+ * refreshed on their own. A job that fails to refresh is reported to the threads
+ * waiting for that job, and a job is no longer refreshed once nobody is waiting for it.
+ */
+public class ZosmfZosBatchJobMonitor {
+
+    protected static final long MIN_POLL_INTERVAL = 250;
+    protected static final long MAX_POLL_INTERVAL = 5000;
+
+    private final IZosmfRestApiProcessor zosmfApiProcessor;
+
+    private final Map<ZosmfZosBatchJobImpl, MonitoredJob> outstandingJobs = new LinkedHashMap<>();
+    private boolean refreshing;
+    private long pollInterval = MIN_POLL_INTERVAL;
+    private long nextRefreshMillis;
+
+    private static final Log logger = LogFactory.getLog(ZosmfZosBatchJobMonitor.class);
+
+    public ZosmfZosBatchJobMonitor(IZosmfRestApiProcessor zosmfApiProcessor) {
+        this.zosmfApiProcessor = zosmfApiProcessor;
+    }
+
+    /**
+     * Start tracking a submitted job
+     * @param job the job
+     * @return a future completed with the job once it is complete or not found, on the
+     * next refresh made by a waiting thread
+     */
+    public synchronized CompletableFuture<ZosmfZosBatchJobImpl> monitor(ZosmfZosBatchJobImpl job) {
+        MonitoredJob monitoredJob = this.outstandingJobs.get(job);
+        if (monitoredJob != null) {
+            return monitoredJob.future;
+        }
+        if (job.isComplete() || job.isNotFound()) {
+            return CompletableFuture.completedFuture(job);
+        }
+        monitoredJob = new MonitoredJob();
+        this.outstandingJobs.put(job, monitoredJob);
+        this.pollInterval = MIN_POLL_INTERVAL;
+        this.nextRefreshMillis = 0;
+        return monitoredJob.future;
+    }
+
+    /**
+     * Wait for a job to complete. One waiting thread at a time refreshes the outstanding
+     * jobs, the others are woken when it has finished.
+     * @param job the job
+     * @param timeoutMillis how long to wait
+     * @return true if the job is complete or not found, false if the wait timed out
+     * @throws ZosBatchException if the job could not be refreshed
+     */
+    public boolean waitForJob(ZosmfZosBatchJobImpl job, long timeoutMillis) throws ZosBatchException {
+        CompletableFuture<ZosmfZosBatchJobImpl> future;
+        MonitoredJob monitoredJob;
+        synchronized (this) {
+            future = monitor(job);
+            monitoredJob = this.outstandingJobs.get(job);
+            if (monitoredJob != null) {
+                monitoredJob.waiters++;
+            }
+        }
+        try {
+            return waitForJob(future, timeoutMillis);
+        } finally {
+            if (monitoredJob != null) {
+                stopWaiting(job, monitoredJob);
+            }
+        }
+    }
+
+    protected boolean waitForJob(CompletableFuture<ZosmfZosBatchJobImpl> future, long timeoutMillis) throws ZosBatchException {
+        long timeoutTime = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            List<ZosmfZosBatchJobImpl> jobs;
+            synchronized (this) {
+                if (future.isDone()) {
+                    return jobDone(future);
+                }
+                long now = System.currentTimeMillis();
+                if (now >= timeoutTime) {
+                    return false;
+                }
+                if (this.refreshing || now < this.nextRefreshMillis) {
+                    long until = this.refreshing ? timeoutTime : Math.min(timeoutTime, this.nextRefreshMillis);
+                    try {
+                        wait(Math.max(1, until - now));
+                    } catch (InterruptedException e) {
+                        logger.error("waitForJob Interrupted", e);
+                        Thread.currentThread().interrupt();
+                        throw new ZosBatchException(e);
+                    }
+                    continue;
+                }
+                this.refreshing = true;
+                jobs = new ArrayList<>(this.outstandingJobs.keySet());
+            }
+            Map<ZosmfZosBatchJobImpl, ZosBatchException> failures = new HashMap<>();
+            try {
+                refresh(jobs, failures);
+            } finally {
+                refreshed(failures);
+            }
+        }
+    }
+
+    /**
+     * @param future the future of a job that is done
+     * @return true
+     * @throws ZosBatchException if the job could not be refreshed
+     */
+    protected boolean jobDone(CompletableFuture<ZosmfZosBatchJobImpl> future) throws ZosBatchException {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ZosBatchException) {
+                throw (ZosBatchException) e.getCause();
+            }
+            throw new ZosBatchException(e.getCause());
+        }
+        return true;
+    }
+
+    /**
+     * Stop refreshing a job that is no longer being waited for
+     * @param job the job
+     * @param monitoredJob the job's entry in the outstanding jobs
+     */
+    protected synchronized void stopWaiting(ZosmfZosBatchJobImpl job, MonitoredJob monitoredJob) {
+        monitoredJob.waiters--;
+        if (monitoredJob.waiters == 0 && this.outstandingJobs.get(job) == monitoredJob) {
+            this.outstandingJobs.remove(job);
+            logger.trace("No longer waiting for job " + job.getJobId());
+        }
+    }
+
+    /**
+     * Complete the futures of the jobs that have finished or failed to refresh, work out
+     * when to refresh next and wake any waiting threads
+     * @param failures the jobs that failed to refresh
+     */
+    protected synchronized void refreshed(Map<ZosmfZosBatchJobImpl, ZosBatchException> failures) {
+        boolean jobFinished = false;
+        Iterator<Entry<ZosmfZosBatchJobImpl, MonitoredJob>> iterator = this.outstandingJobs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<ZosmfZosBatchJobImpl, MonitoredJob> entry = iterator.next();
+            ZosBatchException failure = failures.get(entry.getKey());
+            if (failure != null) {
+                entry.getValue().future.completeExceptionally(failure);
+                iterator.remove();
+            } else if (entry.getKey().isComplete() || entry.getKey().isNotFound()) {
+                entry.getValue().future.complete(entry.getKey());
+                iterator.remove();
+                jobFinished = true;
+            }
+        }
+        if (jobFinished) {
+            this.pollInterval = MIN_POLL_INTERVAL;
+        } else {
+            this.pollInterval = Math.min(this.pollInterval * 2, MAX_POLL_INTERVAL);
+        }
+        this.nextRefreshMillis = System.currentTimeMillis() + this.pollInterval;
+        this.refreshing = false;
+        notifyAll();
+    }
+
+    /**
+     * Refresh the status of jobs with a list jobs request for each owner. The jobs belong to
+     * other waiting threads too, so a job that fails to refresh is recorded rather than thrown
+     * @param jobs the jobs
+     * @param failures the jobs that failed to refresh
+     */
+    protected void refresh(List<ZosmfZosBatchJobImpl> jobs, Map<ZosmfZosBatchJobImpl, ZosBatchException> failures) {
+        Map<String, List<ZosmfZosBatchJobImpl>> jobsByOwner = new LinkedHashMap<>();
+        for (ZosmfZosBatchJobImpl job : jobs) {
+            String owner = job.getOwner();
+            jobsByOwner.computeIfAbsent(owner.contains("?") ? "*" : owner, k -> new ArrayList<>()).add(job);
+        }
+
+        List<ZosmfZosBatchJobImpl> notListed = new ArrayList<>();
+        for (Entry<String, List<ZosmfZosBatchJobImpl>> entry : jobsByOwner.entrySet()) {
+            Map<String, JsonObject> listedJobs;
+            try {
+                listedJobs = listJobs(entry.getKey(), jobnamePrefix(entry.getValue()));
+            } catch (ZosBatchException e) {
+                logger.trace("List jobs failed, jobs will be refreshed on their own", e);
+                listedJobs = new HashMap<>();
+            }
+            for (ZosmfZosBatchJobImpl job : entry.getValue()) {
+                JsonObject jobStatus = listedJobs.get(job.getJobId());
+                if (jobStatus != null) {
+                    job.updateJobStatus(jobStatus);
+                } else {
+                    notListed.add(job);
+                }
+            }
+        }
+
+        for (ZosmfZosBatchJobImpl job : notListed) {
+            try {
+                job.updateJobStatus();
+            } catch (ZosBatchException e) {
+                failures.put(job, e);
+            }
+        }
+    }
+
+    /**
+     * List the jobs of an owner
+     * @param owner the owner
+     * @param prefix the jobname prefix
+     * @return the jobs keyed by jobid, which is empty if the request failed
+     * @throws ZosBatchException
+     */
+    protected Map<String, JsonObject> listJobs(String owner, String prefix) throws ZosBatchException {
+        String listJobsPath = ZosmfZosBatchJobImpl.RESTJOBS_PATH + "?owner=" + owner + "&prefix=" + prefix;
+        HashMap<String, String> headers = new HashMap<>();
+        headers.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
+        Map<String, JsonObject> listedJobs = new HashMap<>();
+        try {
+            IZosmfResponse response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, listJobsPath, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+            if (response.getStatusCode() != HttpStatus.SC_OK) {
+                logger.trace("List jobs failed, jobs will be refreshed on their own. Output: " + response.getTextContent());
+                return listedJobs;
+            }
+            JsonArray jsonArray = response.getJsonArrayContent();
+            for (JsonElement jsonElement : jsonArray) {
+                JsonObject jobStatus = jsonElement.getAsJsonObject();
+                JsonElement jobid = jobStatus.get("jobid");
+                if (jobid != null && !jobid.isJsonNull()) {
+                    listedJobs.put(jobid.getAsString(), jobStatus);
+                }
+            }
+        } catch (ZosmfException e) {
+            throw new ZosBatchException(e);
+        }
+        return listedJobs;
+    }
+
+    /**
+     * @param jobs the jobs
+     * @return the jobname of the jobs if they all have the same one, otherwise the
+     * longest prefix they share followed by a wildcard
+     */
+    protected String jobnamePrefix(List<ZosmfZosBatchJobImpl> jobs) {
+        String prefix = jobs.get(0).getJobname().getName();
+        boolean sameName = true;
+        for (ZosmfZosBatchJobImpl job : jobs) {
+            String name = job.getJobname().getName();
+            if (!name.equals(prefix)) {
+                sameName = false;
+                int length = 0;
+                while (length < prefix.length() && length < name.length() && prefix.charAt(length) == name.charAt(length)) {
+                    length++;
+                }
+                prefix = prefix.substring(0, length);
+            }
+        }
+        return sameName ? prefix : prefix + "*";
+    }
+
+    /**
+     * A job being monitored, with the number of threads waiting for it
+     */
+    protected static class MonitoredJob {
+        private final CompletableFuture<ZosmfZosBatchJobImpl> future = new CompletableFuture<>();
+        private int waiters;
+    }
+}
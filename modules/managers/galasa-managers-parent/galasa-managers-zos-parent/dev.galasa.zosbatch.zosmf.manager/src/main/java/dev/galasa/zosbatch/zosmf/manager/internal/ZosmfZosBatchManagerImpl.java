@@ -31,6 +31,7 @@ import dev.galasa.framework.spi.language.GalasaTest;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zos.spi.ZosRequestPool;
 import dev.galasa.zosbatch.IZosBatch;
 import dev.galasa.zosbatch.IZosBatchJobname;
 import dev.galasa.zosbatch.ZosBatch;
@@ -39,6 +40,8 @@ import dev.galasa.zosbatch.ZosBatchField;
 import dev.galasa.zosbatch.ZosBatchJobname;
 import dev.galasa.zosbatch.ZosBatchManagerException;
 import dev.galasa.zosbatch.spi.IZosBatchSpi;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfManagerException;
 import dev.galasa.zosmf.spi.IZosmfManagerSpi;
 
 /**
@@ -54,6 +57,8 @@ public class ZosmfZosBatchManagerImpl extends AbstractManager implements IZosBat
 
     private static final String PROVISIONING = "provisioning";
 
+    protected static final int SPOOL_POOL_SIZE = 4;
+
     private IZosManagerSpi zosManager;
     public IZosManagerSpi getZosManager() {
         return this.zosManager;
@@ -66,6 +71,8 @@ public class ZosmfZosBatchManagerImpl extends AbstractManager implements IZosBat
 
     private final HashMap<String, ZosmfZosBatchImpl> taggedZosBatches = new HashMap<>();
     private final HashMap<String, ZosmfZosBatchImpl> zosBatches = new HashMap<>();
+    private final HashMap<String, ZosmfZosBatchJobMonitor> jobMonitors = new HashMap<>();
+    private final HashMap<String, ZosRequestPool<IZosmfRestApiProcessor, ZosBatchException>> spoolPools = new HashMap<>();
 
     private Path artifactsRoot;
     public Path getArtifactsRoot() {
@@ -201,6 +208,9 @@ public class ZosmfZosBatchManagerImpl extends AbstractManager implements IZosBat
         } catch (ZosBatchException e) {
             logger.error("Problem in endOfTestRun()", e);
         }
+        for (ZosRequestPool<IZosmfRestApiProcessor, ZosBatchException> spoolPool : this.spoolPools.values()) {
+            spoolPool.shutdown();
+        }
     }
     
     protected void cleanup(boolean endOfTest) throws ZosBatchException {
@@ -254,6 +264,42 @@ public class ZosmfZosBatchManagerImpl extends AbstractManager implements IZosBat
         return zosManager.newZosBatchJobname(name);
     }
 
+    /**
+     * Get the monitor of the outstanding batch jobs on an image
+     * @param image the image
+     * @return the job monitor
+     * @throws ZosBatchException
+     */
+    protected synchronized ZosmfZosBatchJobMonitor getJobMonitor(IZosImage image) throws ZosBatchException {
+        ZosmfZosBatchJobMonitor jobMonitor = this.jobMonitors.get(image.getImageID());
+        if (jobMonitor == null) {
+            try {
+                jobMonitor = new ZosmfZosBatchJobMonitor(this.zosmfManager.newZosmfRestApiProcessor(image, this.zosManager.getZosBatchPropertyBatchRestrictToImage(image.getImageID())));
+            } catch (ZosmfManagerException | ZosBatchManagerException e) {
+                throw new ZosBatchException(e);
+            }
+            this.jobMonitors.put(image.getImageID(), jobMonitor);
+        }
+        return jobMonitor;
+    }
+
+    /**
+     * Get the pool of threads for retrieving spool files from an image. The threads use processors
+     * that share the zOSMF servers of the manager, so their requests count towards the limits and
+     * circuit breakers of the servers.
+     * @param image the image
+     * @return the spool pool
+     */
+    protected synchronized ZosRequestPool<IZosmfRestApiProcessor, ZosBatchException> getSpoolPool(IZosImage image) {
+        return this.spoolPools.computeIfAbsent(image.getImageID(), imageId -> new ZosRequestPool<>("zosbatch-spool-" + imageId, SPOOL_POOL_SIZE, () -> {
+            try {
+                return this.zosmfManager.newZosmfRestApiProcessor(image, this.zosManager.getZosBatchPropertyBatchRestrictToImage(imageId));
+            } catch (ZosmfManagerException | ZosBatchManagerException e) {
+                throw new ZosBatchException(e);
+            }
+        }, ZosBatchException.class, ZosBatchException::new));
+    }
+
     @Override
     public @NotNull IZosBatch getZosBatch(IZosImage image) {
         if (zosBatches.containsKey(image.getImageID())) {
@@ -5,15 +5,23 @@
  */
 package dev.galasa.zosbatch.zosmf.manager.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -40,6 +48,8 @@ import dev.galasa.framework.spi.ras.ResultArchiveStorePath;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.internal.ZosManagerImpl;
+import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zos.spi.ZosRequestPool;
 import dev.galasa.zosbatch.IZosBatchJob.JobStatus;
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
 import dev.galasa.zosbatch.IZosBatchJobname;
@@ -52,6 +62,7 @@ import dev.galasa.zosmf.IZosmfResponse;
 import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.ZosmfException;
 import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+import dev.galasa.zosmf.spi.IZosmfManagerSpi;
 
 //@RunWith(PowerMockRunner.class)
 //@PrepareForTest({LogFactory.class})
@@ -1249,4 +1260,134 @@ public class TestZosmfZosBatchJobImpl {
 //        fileArray.add(getJsonObject());
 //        return fileArray;
 //    }
+
+    private static final String STREAMED_JOBID = "JOB12345";
+
+    private final Map<String, ByteArrayOutputStream> artifacts = new ConcurrentHashMap<>();
+
+    private boolean isArtifactStoreFailing = false;
+
+    private ZosmfZosBatchManagerImpl zosBatchManagerMock;
+
+    private IZosmfRestApiProcessor spoolApiProcessorMock;
+
+    private ZosmfZosBatchJobImpl newStreamingJob(JsonArray spoolFiles) throws Exception {
+        IZosImage zosImageMock = Mockito.mock(IZosImage.class);
+        Mockito.when(zosImageMock.getImageID()).thenReturn("IMAGE");
+        IZosManagerSpi zosManagerMock = Mockito.mock(IZosManagerSpi.class);
+        Mockito.when(zosManagerMock.buildUniquePathName(Mockito.any(), Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        IZosmfManagerSpi zosmfManagerMock = Mockito.mock(IZosmfManagerSpi.class);
+        spoolApiProcessorMock = Mockito.mock(IZosmfRestApiProcessor.class);
+        zosBatchManagerMock = Mockito.mock(ZosmfZosBatchManagerImpl.class);
+        Mockito.when(zosBatchManagerMock.getZosManager()).thenReturn(zosManagerMock);
+        Mockito.when(zosBatchManagerMock.getZosmfManager()).thenReturn(zosmfManagerMock);
+        Mockito.when(zosBatchManagerMock.getSpoolPool(Mockito.any())).thenReturn(new ZosRequestPool<>("test-spool", 2, () -> spoolApiProcessorMock, ZosBatchException.class, ZosBatchException::new));
+
+        ZosmfZosBatchJobImpl zosBatchJob = Mockito.spy(new ZosmfZosBatchJobImpl(zosBatchManagerMock, zosImageMock, Mockito.mock(IZosBatchJobname.class), null, null));
+        zosBatchJob.setJobid(STREAMED_JOBID);
+        Mockito.doReturn(spoolFiles).when(zosBatchJob).getSpoolFileList();
+        return zosBatchJob;
+    }
+
+    private JsonObject newSpoolFile(String id, String ddname) {
+        JsonObject spoolFile = new JsonObject();
+        spoolFile.addProperty("id", id);
+        spoolFile.addProperty("stepname", "STEP");
+        spoolFile.add("procstep", JsonNull.INSTANCE);
+        spoolFile.addProperty("ddname", ddname);
+        return spoolFile;
+    }
+
+    private void mockSpoolFileContent(String id, int statusCode, Object content) throws Exception {
+        IZosmfResponse responseMock = Mockito.mock(IZosmfResponse.class);
+        Mockito.when(responseMock.getStatusCode()).thenReturn(statusCode);
+        Mockito.when(responseMock.getContent()).thenReturn(content);
+        if (content instanceof JsonObject) {
+            Mockito.when(responseMock.getJsonContent()).thenReturn((JsonObject) content);
+        }
+        Mockito.when(spoolApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith("/" + id + "/records"), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(false))).thenReturn(responseMock);
+    }
+
+    private Path newArtifactDirectoryMock() throws IOException {
+        FileSystem fileSystemMock = Mockito.mock(FileSystem.class);
+        FileSystemProvider fileSystemProviderMock = Mockito.mock(FileSystemProvider.class);
+        Mockito.when(fileSystemMock.provider()).thenReturn(fileSystemProviderMock);
+        Mockito.when(fileSystemProviderMock.newByteChannel(Mockito.any(), Mockito.any(), Mockito.any(FileAttribute[].class))).thenReturn(Mockito.mock(SeekableByteChannel.class));
+        Mockito.when(fileSystemProviderMock.newOutputStream(Mockito.any(Path.class), Mockito.any(OpenOption[].class))).thenAnswer(invocation -> {
+            if (isArtifactStoreFailing) {
+                throw new IOException("artifact store failed");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            artifacts.put(invocation.getArgument(0).toString(), out);
+            return out;
+        });
+        Path directoryMock = Mockito.mock(Path.class);
+        Mockito.when(directoryMock.resolve(Mockito.anyString())).thenAnswer(invocation -> {
+            Path fileMock = Mockito.mock(Path.class);
+            Mockito.when(fileMock.toString()).thenReturn(invocation.getArgument(0));
+            Mockito.when(fileMock.getFileSystem()).thenReturn(fileSystemMock);
+            return fileMock;
+        });
+        return directoryMock;
+    }
+
+    @Test
+    public void testStreamOutputToResultsArchive() throws Exception {
+        JsonArray spoolFiles = new JsonArray();
+        spoolFiles.add(newSpoolFile("1", "JESMSGLG"));
+        spoolFiles.add(newSpoolFile("2", "SYSPRINT"));
+        ZosmfZosBatchJobImpl zosBatchJob = newStreamingJob(spoolFiles);
+        byte[] streamedContent = "streamed \u00e9\n".getBytes(StandardCharsets.UTF_8);
+        mockSpoolFileContent("1", HttpStatus.SC_OK, new ByteArrayInputStream(streamedContent));
+        mockSpoolFileContent("2", HttpStatus.SC_OK, "converted \u00e9\n");
+
+        zosBatchJob.streamOutputToResultsArchive(newArtifactDirectoryMock());
+
+        Assert.assertEquals("streamOutputToResultsArchive() should store each spool file", 2, artifacts.size());
+        Assert.assertArrayEquals("streamOutputToResultsArchive() should copy the streamed content unchanged", streamedContent, artifacts.get(STREAMED_JOBID + "_STEP_JESMSGLG").toByteArray());
+        Assert.assertEquals("streamOutputToResultsArchive() should store text content as UTF-8", "converted \u00e9\n", new String(artifacts.get(STREAMED_JOBID + "_STEP_SYSPRINT").toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamOutputToResultsArchiveFailedSpoolFile() throws Exception {
+        JsonArray spoolFiles = new JsonArray();
+        spoolFiles.add(newSpoolFile("1", "JESMSGLG"));
+        ZosmfZosBatchJobImpl zosBatchJob = newStreamingJob(spoolFiles);
+        JsonObject errorResponseBody = new JsonObject();
+        errorResponseBody.addProperty("category", 6);
+        errorResponseBody.addProperty("rc", 4);
+        errorResponseBody.addProperty("reason", 10);
+        errorResponseBody.addProperty("message", "failed");
+        mockSpoolFileContent("1", HttpStatus.SC_INTERNAL_SERVER_ERROR, errorResponseBody);
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            zosBatchJob.streamOutputToResultsArchive(newArtifactDirectoryMock());
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().contains("failed"));
+    }
+
+    @Test
+    public void testStreamOutputToResultsArchiveClosesTheResponseWhenTheArtifactCannotBeOpened() throws Exception {
+        JsonArray spoolFiles = new JsonArray();
+        spoolFiles.add(newSpoolFile("1", "JESMSGLG"));
+        ZosmfZosBatchJobImpl zosBatchJob = newStreamingJob(spoolFiles);
+        AtomicBoolean isContentClosed = new AtomicBoolean();
+        mockSpoolFileContent("1", HttpStatus.SC_OK, new ByteArrayInputStream("streamed".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                isContentClosed.set(true);
+                super.close();
+            }
+        });
+        Path artifactPath = newArtifactDirectoryMock();
+        isArtifactStoreFailing = true;
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            zosBatchJob.streamOutputToResultsArchive(artifactPath);
+        });
+
+        Assert.assertEquals("exception should contain expected message", "Unable to store artifact", expectedException.getMessage());
+        Assert.assertTrue("the streamed response should be closed so its HTTP client is given back", isContentClosed.get());
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import dev.galasa.zosbatch.IZosBatchJobname;
+import dev.galasa.zosbatch.ZosBatchException;
+import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
+import dev.galasa.zosmf.IZosmfResponse;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfException;
+
+public class TestZosmfZosBatchJobMonitor {
+
+    private static final String FIXED_OWNER = "USERID";
+
+    private IZosmfRestApiProcessor zosmfApiProcessorMock;
+
+    private ZosmfZosBatchJobMonitor jobMonitor;
+
+    private List<String> requestPaths;
+
+    private List<String> listedJobs;
+
+    private String listedStatus;
+
+    @Before
+    public void setup() throws Exception {
+        requestPaths = new ArrayList<>();
+        listedJobs = new ArrayList<>();
+        listedStatus = "ACTIVE";
+        zosmfApiProcessorMock = Mockito.mock(IZosmfRestApiProcessor.class);
+        jobMonitor = new ZosmfZosBatchJobMonitor(zosmfApiProcessorMock);
+    }
+
+    private ZosmfZosBatchJobImpl newJobMock(String jobname, String jobid, boolean listed) throws Exception {
+        ZosmfZosBatchJobImpl jobMock = Mockito.mock(ZosmfZosBatchJobImpl.class);
+        IZosBatchJobname jobnameMock = Mockito.mock(IZosBatchJobname.class);
+        Mockito.when(jobnameMock.getName()).thenReturn(jobname);
+        Mockito.when(jobMock.getJobname()).thenReturn(jobnameMock);
+        Mockito.when(jobMock.getJobId()).thenReturn(jobid);
+        Mockito.when(jobMock.getOwner()).thenReturn(FIXED_OWNER);
+        boolean[] complete = new boolean[1];
+        Mockito.when(jobMock.isComplete()).thenAnswer(invocation -> complete[0]);
+        Mockito.doAnswer(invocation -> {
+            complete[0] = "OUTPUT".equals(((JsonObject) invocation.getArgument(0)).get("status").getAsString());
+            return null;
+        }).when(jobMock).updateJobStatus(Mockito.any(JsonObject.class));
+        Mockito.doAnswer(invocation -> {
+            complete[0] = true;
+            return null;
+        }).when(jobMock).updateJobStatus();
+        if (listed) {
+            listedJobs.add(jobid);
+        }
+        return jobMock;
+    }
+
+    private void mockListJobs() throws Exception {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenAnswer(invocation -> {
+            requestPaths.add(invocation.getArgument(1));
+            JsonArray jobs = new JsonArray();
+            for (String jobid : listedJobs) {
+                JsonObject job = new JsonObject();
+                job.addProperty("jobid", jobid);
+                job.addProperty("owner", FIXED_OWNER);
+                job.addProperty("status", listedStatus);
+                jobs.add(job);
+            }
+            IZosmfResponse responseMock = Mockito.mock(IZosmfResponse.class);
+            Mockito.when(responseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+            Mockito.when(responseMock.getJsonArrayContent()).thenReturn(jobs);
+            return responseMock;
+        });
+    }
+
+    @Test
+    public void testJobsAreRefreshedWithOneListRequest() throws Exception {
+        mockListJobs();
+        List<ZosmfZosBatchJobImpl> jobs = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            jobs.add(newJobMock("GAL0000" + i, "JOB0000" + i, true));
+        }
+        List<CompletableFuture<ZosmfZosBatchJobImpl>> futures = new ArrayList<>();
+        for (ZosmfZosBatchJobImpl job : jobs) {
+            futures.add(jobMonitor.monitor(job));
+        }
+
+        Assert.assertFalse("waitForJob() should time out", jobMonitor.waitForJob(jobs.get(0), 100));
+        Assert.assertEquals("One list request should have been sent", 1, requestPaths.size());
+        Assert.assertEquals("List request should be for the owner and jobname prefix", ZosmfZosBatchJobImpl.RESTJOBS_PATH + "?owner=" + FIXED_OWNER + "&prefix=GAL0000*", requestPaths.get(0));
+
+        listedStatus = "OUTPUT";
+        Assert.assertTrue("waitForJob() should return true", jobMonitor.waitForJob(jobs.get(0), 10000));
+        Assert.assertEquals("Two list requests should have been sent", 2, requestPaths.size());
+        for (CompletableFuture<ZosmfZosBatchJobImpl> future : futures.subList(1, futures.size())) {
+            Assert.assertTrue("The jobs still being monitored should be complete", future.isDone());
+        }
+        for (ZosmfZosBatchJobImpl job : jobs) {
+            Mockito.verify(job, Mockito.never()).updateJobStatus();
+            Assert.assertTrue("waitForJob() should not send another request", jobMonitor.waitForJob(job, 10000));
+        }
+        Assert.assertEquals("No more list requests should have been sent", 2, requestPaths.size());
+    }
+
+    @Test
+    public void testJobNotListedIsRefreshedOnItsOwn() throws Exception {
+        mockListJobs();
+        ZosmfZosBatchJobImpl listedJob = newJobMock("GAL00001", "JOB00001", true);
+        ZosmfZosBatchJobImpl purgedJob = newJobMock("GAL00001", "JOB00002", false);
+        jobMonitor.monitor(listedJob);
+
+        Assert.assertTrue("waitForJob() should return true", jobMonitor.waitForJob(purgedJob, 10000));
+
+        Assert.assertEquals("List request should be for the jobname", ZosmfZosBatchJobImpl.RESTJOBS_PATH + "?owner=" + FIXED_OWNER + "&prefix=GAL00001", requestPaths.get(0));
+        Mockito.verify(purgedJob).updateJobStatus();
+        Mockito.verify(listedJob, Mockito.never()).updateJobStatus();
+    }
+
+    @Test
+    public void testCompleteJobIsNotRefreshed() throws Exception {
+        ZosmfZosBatchJobImpl jobMock = Mockito.mock(ZosmfZosBatchJobImpl.class);
+        Mockito.when(jobMock.isComplete()).thenReturn(true);
+
+        Assert.assertTrue("waitForJob() should return true", jobMonitor.waitForJob(jobMock, 0));
+
+        Mockito.verifyNoInteractions(zosmfApiProcessorMock);
+    }
+
+    @Test
+    public void testTimedOutJobIsNoLongerRefreshed() throws Exception {
+        mockListJobs();
+        ZosmfZosBatchJobImpl timedOutJob = newJobMock("GAL00001", "JOB00001", true);
+        ZosmfZosBatchJobImpl otherJob = newJobMock("GAL00001", "JOB00002", true);
+
+        Assert.assertFalse("waitForJob() should time out", jobMonitor.waitForJob(timedOutJob, 100));
+        Mockito.verify(timedOutJob).updateJobStatus(Mockito.any(JsonObject.class));
+
+        listedStatus = "OUTPUT";
+        Assert.assertTrue("waitForJob() should return true", jobMonitor.waitForJob(otherJob, 10000));
+        Mockito.verify(timedOutJob, Mockito.times(1)).updateJobStatus(Mockito.any(JsonObject.class));
+        Mockito.verify(otherJob).updateJobStatus(Mockito.any(JsonObject.class));
+    }
+
+    @Test
+    public void testTimedOutJobIsStillRefreshedForOtherWaiters() throws Exception {
+        CountDownLatch listRequestSent = new CountDownLatch(1);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenAnswer(invocation -> {
+            listRequestSent.countDown();
+            JsonArray jobs = new JsonArray();
+            JsonObject job = new JsonObject();
+            job.addProperty("jobid", "JOB00001");
+            job.addProperty("status", listedStatus);
+            jobs.add(job);
+            IZosmfResponse responseMock = Mockito.mock(IZosmfResponse.class);
+            Mockito.when(responseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+            Mockito.when(responseMock.getJsonArrayContent()).thenReturn(jobs);
+            return responseMock;
+        });
+        ZosmfZosBatchJobImpl jobMock = newJobMock("GAL00001", "JOB00001", true);
+        AtomicBoolean otherWaiterResult = new AtomicBoolean();
+        Thread otherWaiter = new Thread(() -> {
+            try {
+                otherWaiterResult.set(jobMonitor.waitForJob(jobMock, 10000));
+            } catch (ZosBatchException e) {
+                otherWaiterResult.set(false);
+            }
+        });
+        otherWaiter.start();
+        Assert.assertTrue("The other waiter should refresh the job", listRequestSent.await(10, TimeUnit.SECONDS));
+
+        Assert.assertFalse("waitForJob() should time out", jobMonitor.waitForJob(jobMock, 100));
+
+        listedStatus = "OUTPUT";
+        otherWaiter.join(10000);
+        Assert.assertTrue("waitForJob() of the other waiter should return true", otherWaiterResult.get());
+    }
+
+    @Test
+    public void testFailedRefreshIsThrownToTheJobsWaiter() throws Exception {
+        mockListJobs();
+        ZosmfZosBatchJobImpl jobMock = newJobMock("GAL00001", "JOB00001", false);
+        ZosmfZosBatchJobImpl failingJobMock = newJobMock("GAL00001", "JOB00002", false);
+        Mockito.doThrow(new ZosBatchException("refresh failed")).when(failingJobMock).updateJobStatus();
+        CompletableFuture<ZosmfZosBatchJobImpl> failingFuture = jobMonitor.monitor(failingJobMock);
+
+        Assert.assertTrue("waitForJob() should return true", jobMonitor.waitForJob(jobMock, 10000));
+        Assert.assertTrue("The failure should be recorded against the failing job", failingFuture.isCompletedExceptionally());
+
+        ZosBatchException expectedException = Assert.assertThrows("expected exception should be thrown", ZosBatchException.class, ()->{
+            jobMonitor.waitForJob(failingJobMock, 10000);
+        });
+        Assert.assertEquals("exception should contain expected message", "refresh failed", expectedException.getMessage());
+    }
+
+    @Test
+    public void testFailedListRequestRefreshesJobsOnTheirOwn() throws Exception {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenThrow(new ZosmfException("list failed"));
+        ZosmfZosBatchJobImpl jobMock = newJobMock("GAL00001", "JOB00001", true);
+
+        Assert.assertTrue("waitForJob() should return true", jobMonitor.waitForJob(jobMock, 10000));
+        Mockito.verify(jobMock).updateJobStatus();
+    }
+}
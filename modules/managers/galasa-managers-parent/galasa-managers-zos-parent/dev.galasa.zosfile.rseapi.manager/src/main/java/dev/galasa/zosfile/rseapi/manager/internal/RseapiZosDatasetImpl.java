@@ -5,9 +5,11 @@
  */
 package dev.galasa.zosfile.rseapi.manager.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -140,6 +142,7 @@ public class RseapiZosDatasetImpl implements IZosDataset {
     private static final String LOG_NOT_PDS = " is not a partitioned data set";
     private static final String LOG_CONTENT_MUST_NOT_BE_NULL = "content must not be null";
     private static final String LOG_MEMBER_NAME_MUST_NOT_BE_NULL = "member name must not be null";
+    private static final String LOG_MEMBERS_MUST_NOT_BE_NULL = "members must not be null";
 
     public static final Log logger = LogFactory.getLog(RseapiZosDatasetImpl.class);
 
@@ -306,6 +309,14 @@ public class RseapiZosDatasetImpl implements IZosDataset {
         }
         return (byte[]) content;
     }
+
+    @Override
+    public InputStream retrieveAsStream() throws ZosDatasetException {
+        if (isPDS()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + " is a partitioned data set. Use memberRetrieveAsStream(String memberName) method instead");
+        }
+        return retrieveStream(null);
+    }
     
     @Override
     public void saveToResultsArchive(String rasPath) throws ZosDatasetException {
@@ -317,11 +328,7 @@ public class RseapiZosDatasetImpl implements IZosDataset {
                     Path artifactPath = this.zosFileHandler.getArtifactsRoot().resolve(rasPath);
             		logger.info("Archiving " + quoted(this.dsname) + " to " + artifactPath.toString());
                     try {
-                    	if (this.dataType.equals(DatasetDataType.TEXT)) {
-                    		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, retrieveAsText(), ResultArchiveStoreContentType.TEXT);
-                    	} else  {
-                    		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, new String(retrieveAsBinary()), ResultArchiveStoreContentType.TEXT);
-                    	}
+                    	this.zosFileHandler.getZosManager().storeArtifact(artifactPath, retrieveAsStream(), ResultArchiveStoreContentType.TEXT);
         			} catch (ZosManagerException e) {
         				throw new ZosDatasetException(e);
         			}
@@ -430,6 +437,22 @@ public class RseapiZosDatasetImpl implements IZosDataset {
         storeBinary(content, memberName, false);
     }
 
+    @Override
+    public void memberStoreText(@NotNull Map<String, String> members) throws ZosDatasetException {
+    	Objects.requireNonNull(members, LOG_MEMBERS_MUST_NOT_BE_NULL);
+        for (Map.Entry<String, String> member : members.entrySet()) {
+            memberStoreText(member.getKey(), member.getValue());
+        }
+    }
+
+    @Override
+    public void memberStoreBinary(@NotNull Map<String, byte[]> members) throws ZosDatasetException {
+    	Objects.requireNonNull(members, LOG_MEMBERS_MUST_NOT_BE_NULL);
+        for (Map.Entry<String, byte[]> member : members.entrySet()) {
+            memberStoreBinary(member.getKey(), member.getValue());
+        }
+    }
+
     @Override
     public String memberRetrieveAsText(@NotNull String memberName) throws ZosDatasetException {
     	Objects.requireNonNull(memberName, LOG_MEMBER_NAME_MUST_NOT_BE_NULL);
@@ -460,6 +483,15 @@ public class RseapiZosDatasetImpl implements IZosDataset {
         return (byte[]) content;
     }
 
+    @Override
+    public InputStream memberRetrieveAsStream(@NotNull String memberName) throws ZosDatasetException {
+    	Objects.requireNonNull(memberName, LOG_MEMBER_NAME_MUST_NOT_BE_NULL);
+        if (!isPDS()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_NOT_PDS);
+        }
+        return retrieveStream(memberName);
+    }
+
     @Override
     public Collection<String> memberList() throws ZosDatasetException {
         if (!isPDS()) {
@@ -512,11 +544,7 @@ public class RseapiZosDatasetImpl implements IZosDataset {
             try {
             	Path artifactPath = this.zosFileHandler.getArtifactsRoot().resolve(rasPath);
         		logger.info("Archiving " + quoted(this.dsname) + " to " + artifactPath.toString());
-                if (this.dataType.equals(DatasetDataType.TEXT)) {
-            		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, memberRetrieveAsText(memberName), ResultArchiveStoreContentType.TEXT);
-            	} else  {
-            		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, new String(memberRetrieveAsBinary(memberName)), ResultArchiveStoreContentType.TEXT);
-            	}
+            	this.zosFileHandler.getZosManager().storeArtifact(artifactPath, memberRetrieveAsStream(memberName), ResultArchiveStoreContentType.TEXT);
 			} catch (ZosManagerException e) {
 				throw new ZosDatasetException(e);
 			}
@@ -991,6 +1019,23 @@ public class RseapiZosDatasetImpl implements IZosDataset {
         return content;
     }
 
+    /**
+     * Retrieve the content of the data set or member as a stream. The RSE API returns the
+     * records in a JSON response, so the stream is over the records already received
+     * @param memberName the member name, or null
+     * @return the content
+     * @throws ZosDatasetException
+     */
+    protected InputStream retrieveStream(String memberName) throws ZosDatasetException {
+        Object content = retrieve(memberName);
+        if (content instanceof String) {
+            return new ByteArrayInputStream(((String) content).getBytes(StandardCharsets.UTF_8));
+        } else if (content instanceof byte[]) {
+            return new ByteArrayInputStream((byte[]) content);
+        }
+        return (InputStream) content;
+    }
+
     protected void delete(String name) throws ZosDatasetException {
 	    String urlPath = RESTFILES_DATASET_PATH + SLASH + name;
 	    IRseapiResponse response;
@@ -1060,11 +1105,7 @@ public class RseapiZosDatasetImpl implements IZosDataset {
         	while (memberListIterator.hasNext()) {
         		String memberName = memberListIterator.next();
         		String fileName = zosFileHandler.getZosManager().buildUniquePathName(artifactPath, memberName);
-        		if (this.dataType.equals(DatasetDataType.TEXT)) {
-        			zosFileHandler.getZosManager().storeArtifact(artifactPath.resolve(fileName), memberRetrieveAsText(memberName), ResultArchiveStoreContentType.TEXT);
-        		} else {
-        			zosFileHandler.getZosManager().storeArtifact(artifactPath.resolve(fileName), new String(memberRetrieveAsBinary(memberName)), ResultArchiveStoreContentType.TEXT);
-        		}
+        		zosFileHandler.getZosManager().storeArtifact(artifactPath.resolve(fileName), memberRetrieveAsStream(memberName), ResultArchiveStoreContentType.TEXT);
             	logger.info(quoted(joinDSN(memberName)) + LOG_ARCHIVED_TO + artifactPath.resolve(fileName));
         	}
 		} catch (ZosManagerException e) {
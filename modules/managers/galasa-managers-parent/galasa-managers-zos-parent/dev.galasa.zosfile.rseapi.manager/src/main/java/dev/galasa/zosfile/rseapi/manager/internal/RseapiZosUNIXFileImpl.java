@@ -5,8 +5,11 @@
  */
 package dev.galasa.zosfile.rseapi.manager.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
@@ -260,6 +263,17 @@ public class RseapiZosUNIXFileImpl implements IZosUNIXFile {
         return (byte[]) retrieve(this.unixPath);
 	}
 
+    @Override
+    public InputStream retrieveAsStream() throws ZosUNIXFileException {
+        if (!exists()) {
+            throw new ZosUNIXFileException(LOG_UNIX_PATH + quoted(this.unixPath) + LOG_DOES_NOT_EXIST + logOnImage());
+        }
+        if (isDirectory()) {
+            throw new ZosUNIXFileException(LOG_INVALID_REQUETS + quoted(this.unixPath) + " is a directory");
+        }
+        return retrieveAsStream(this.unixPath);
+    }
+
 	@Override
     public void saveToResultsArchive(String rasPath) throws ZosUNIXFileException {
         saveToResultsArchive(this.unixPath, rasPath);
@@ -602,6 +616,51 @@ public class RseapiZosUNIXFileImpl implements IZosUNIXFile {
 
 
     protected Object retrieve(String path) throws ZosUNIXFileException {
+        IRseapiResponse response = sendRetrieveRequest(path);
+
+        Object content = "";
+        Object responseBody;
+        try {
+        	if (getDataType().equals(UNIXFileDataType.TEXT)) {
+        		responseBody = response.getJsonContent();            
+        		logger.trace(responseBody);
+        		if (((JsonObject) responseBody).get(PROP_CONTENT) != null) {
+        			content = ((JsonObject) responseBody).get(PROP_CONTENT).getAsString();
+        		}
+        	} else {
+        		content = IOUtils.toByteArray((InputStream) response.getContent());
+        	}
+        } catch (RseapiException | IOException e) {
+        	throw new ZosUNIXFileException("Unable to retrieve content of " + quoted(path) + logOnImage(), e);
+        }
+    
+        logger.trace("Content of " + LOG_UNIX_PATH + quoted(path) + " retrieved from  image " + this.image.getImageID());
+        return content;
+    }
+
+
+    /**
+     * Retrieve the content of a file as a stream. Binary content is read from the HTTP response
+     * as it is needed. Text content is returned by the RSE API in a JSON response, so the stream
+     * is over the text already received
+     * @param path the file path
+     * @return the content
+     * @throws ZosUNIXFileException
+     */
+    protected InputStream retrieveAsStream(String path) throws ZosUNIXFileException {
+        if (getDataType().equals(UNIXFileDataType.TEXT)) {
+            return new ByteArrayInputStream(((String) retrieve(path)).getBytes(StandardCharsets.UTF_8));
+        }
+        IRseapiResponse response = sendRetrieveRequest(path);
+        try {
+            return (InputStream) response.getContent();
+        } catch (RseapiException e) {
+        	throw new ZosUNIXFileException("Unable to retrieve content of " + quoted(path) + logOnImage(), e);
+        }
+    }
+
+
+    protected IRseapiResponse sendRetrieveRequest(String path) throws ZosUNIXFileException {
     	String urlPath;
         Map<String, String> headers = new HashMap<>();
         boolean convert;
@@ -628,25 +687,7 @@ public class RseapiZosUNIXFileImpl implements IZosUNIXFile {
             logger.error(displayMessage);
             throw new ZosUNIXFileException(displayMessage);
         }
-
-        Object content = "";
-        Object responseBody;
-        try {
-        	if (getDataType().equals(UNIXFileDataType.TEXT)) {
-        		responseBody = response.getJsonContent();            
-        		logger.trace(responseBody);
-        		if (((JsonObject) responseBody).get(PROP_CONTENT) != null) {
-        			content = ((JsonObject) responseBody).get(PROP_CONTENT).getAsString();
-        		}
-        	} else {
-        		content = IOUtils.toByteArray((InputStream) response.getContent());
-        	}
-        } catch (RseapiException | IOException e) {
-        	throw new ZosUNIXFileException("Unable to retrieve content of " + quoted(path) + logOnImage(), e);
-        }
-    
-        logger.trace("Content of " + LOG_UNIX_PATH + quoted(path) + " retrieved from  image " + this.image.getImageID());
-        return content;
+        return response;
     }
 
 
@@ -669,7 +710,7 @@ public class RseapiZosUNIXFileImpl implements IZosUNIXFile {
 	                	} else {
 	                		directoryName = SLASH;
 	                	}
-	                    String archiveLocation = storeArtifact(rasPath + directoryName, retrieve(entryPath), false, fileName);
+	                    String archiveLocation = storeArtifact(rasPath + directoryName, retrieveAsStream(entryPath), false, fileName);
 	                    logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
 	                } else if (entryFileType.equals(UNIXFileType.DIRECTORY)) {
 	                    String archiveLocation = storeArtifact(rasPath, null, true, directoryName);
@@ -678,12 +719,7 @@ public class RseapiZosUNIXFileImpl implements IZosUNIXFile {
             	}
             }
         } else {
-            String archiveLocation;
-            if (getDataType().equals(UNIXFileDataType.TEXT)) {
-            	archiveLocation = storeArtifact(rasPath, retrieveAsText(), false, this.fileName);
-            } else {
-            	archiveLocation = storeArtifact(rasPath, retrieveAsBinary(), false, this.fileName);
-            }
+            String archiveLocation = storeArtifact(rasPath, retrieveAsStream(), false, this.fileName);
             logger.info(quoted(this.unixPath) + LOG_ARCHIVED_TO + archiveLocation);
         }
     }
@@ -786,6 +822,10 @@ public class RseapiZosUNIXFileImpl implements IZosUNIXFile {
                     Files.write(rasArtifactPath, ((String) content).getBytes()); 
                 } else if (content instanceof byte[]) {
                     Files.write(rasArtifactPath, (byte[]) content);
+                } else if (content instanceof InputStream) {
+                    try (InputStream in = (InputStream) content; OutputStream out = Files.newOutputStream(rasArtifactPath)) {
+                        in.transferTo(out);
+                    }
                 } else {
                     throw new ZosUNIXFileException("Unable to store artifact. Invalid content object type: " + content.getClass().getName());
                 }
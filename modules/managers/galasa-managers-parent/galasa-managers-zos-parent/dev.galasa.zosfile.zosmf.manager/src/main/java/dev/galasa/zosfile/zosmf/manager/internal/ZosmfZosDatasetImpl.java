@@ -5,9 +5,13 @@
  */
 package dev.galasa.zosfile.zosmf.manager.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,6 +35,8 @@ import com.google.gson.JsonObject;
 import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
+import dev.galasa.zos.spi.ZosArtifactRequests;
+import dev.galasa.zos.spi.ZosRequestPool.Request;
 import dev.galasa.zosfile.IZosDataset;
 import dev.galasa.zosfile.ZosDatasetException;
 import dev.galasa.zosfile.ZosFileManagerException;
@@ -147,6 +153,7 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
 
 	private static final String LOG_CONTENT_MUST_NOT_BE_NULL = "content must not be null";
 	private static final String LOG_MEMBER_NAME_MUST_NOT_BE_NULL = "memberName must not be null";
+	private static final String LOG_MEMBERS_MUST_NOT_BE_NULL = "members must not be null";
 
     public ZosmfZosDatasetImpl(ZosmfZosFileHandlerImpl zosFileHandler, IZosImage image, String dsname) throws ZosDatasetException {
         this.zosFileHandler = zosFileHandler;
@@ -345,6 +352,14 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
         }
         return (byte[]) content;
     }
+
+    @Override
+    public InputStream retrieveAsStream() throws ZosDatasetException {
+        if (isPDS()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + " is a partitioned data set. Use memberRetrieveAsStream(String memberName) method instead");
+        }
+        return retrieveStream(null);
+    }
     
     @Override
     public void saveToResultsArchive(String rasPath) throws ZosDatasetException {
@@ -356,11 +371,7 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
                     savePDSToResultsArchive(rasPath);
                 } else {
                     try {
-                    	if (this.dataType.equals(DatasetDataType.TEXT)) {
-                    		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, retrieveAsText(), ResultArchiveStoreContentType.TEXT);
-                    	} else  {
-                    		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, new String(retrieveAsBinary()), ResultArchiveStoreContentType.TEXT);
-                    	}
+                    	this.zosFileHandler.getZosManager().storeArtifact(artifactPath, retrieveAsStream(), ResultArchiveStoreContentType.TEXT);
         			} catch (ZosManagerException e) {
         				throw new ZosDatasetException(e);
         			}
@@ -499,6 +510,48 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
         storeBinary(content, memberName, false);
     }
 
+    @Override
+    public void memberStoreText(@NotNull Map<String, String> members) throws ZosDatasetException {
+    	Objects.requireNonNull(members, LOG_MEMBERS_MUST_NOT_BE_NULL);
+        if (!isPDS()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_NOT_PDS);
+        }
+        if (!exists()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
+        }
+        List<Request<IZosmfRestApiProcessor, Void, ZosDatasetException>> requests = new ArrayList<>();
+        for (Map.Entry<String, String> member : members.entrySet()) {
+            String memberName = Objects.requireNonNull(member.getKey(), LOG_MEMBER_NAME_MUST_NOT_BE_NULL);
+            String content = Objects.requireNonNull(member.getValue(), LOG_CONTENT_MUST_NOT_BE_NULL);
+            requests.add(zosmfApiProcessor -> {
+                storeText(zosmfApiProcessor, content, memberName, true);
+                return null;
+            });
+        }
+        this.zosFileHandler.getZosFileManager().getMemberPool(this.image).sendAll(requests);
+    }
+
+    @Override
+    public void memberStoreBinary(@NotNull Map<String, byte[]> members) throws ZosDatasetException {
+    	Objects.requireNonNull(members, LOG_MEMBERS_MUST_NOT_BE_NULL);
+        if (!isPDS()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_NOT_PDS);
+        }
+        if (!exists()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
+        }
+        List<Request<IZosmfRestApiProcessor, Void, ZosDatasetException>> requests = new ArrayList<>();
+        for (Map.Entry<String, byte[]> member : members.entrySet()) {
+            String memberName = Objects.requireNonNull(member.getKey(), LOG_MEMBER_NAME_MUST_NOT_BE_NULL);
+            byte[] content = Objects.requireNonNull(member.getValue(), LOG_CONTENT_MUST_NOT_BE_NULL);
+            requests.add(zosmfApiProcessor -> {
+                storeBinary(zosmfApiProcessor, content, memberName, false);
+                return null;
+            });
+        }
+        this.zosFileHandler.getZosFileManager().getMemberPool(this.image).sendAll(requests);
+    }
+
     @Override
     public String memberRetrieveAsText(@NotNull String memberName) throws ZosDatasetException {
     	Objects.requireNonNull(memberName, LOG_MEMBER_NAME_MUST_NOT_BE_NULL);
@@ -529,6 +582,15 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
         return (byte[]) content;
     }
 
+    @Override
+    public InputStream memberRetrieveAsStream(@NotNull String memberName) throws ZosDatasetException {
+    	Objects.requireNonNull(memberName, LOG_MEMBER_NAME_MUST_NOT_BE_NULL);
+        if (!isPDS()) {
+            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_NOT_PDS);
+        }
+        return retrieveStream(memberName);
+    }
+
     @Override
     public Collection<String> memberList() throws ZosDatasetException {
         if (!isPDS()) {
@@ -580,11 +642,7 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
             Path artifactPath = this.zosFileHandler.getArtifactsRoot().resolve(rasPath);
     		logger.info("Archiving " + quoted(this.dsname) + " to " + artifactPath.toString());
             try {
-            	if (this.dataType.equals(DatasetDataType.TEXT)) {
-            		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, memberRetrieveAsText(memberName), ResultArchiveStoreContentType.TEXT);
-            	} else  {
-            		this.zosFileHandler.getZosManager().storeArtifact(artifactPath, new String(memberRetrieveAsBinary(memberName)), ResultArchiveStoreContentType.TEXT);
-            	}
+            	this.zosFileHandler.getZosManager().storeArtifact(artifactPath, memberRetrieveAsStream(memberName), ResultArchiveStoreContentType.TEXT);
 			} catch (ZosManagerException e) {
 				throw new ZosDatasetException(e);
 			}
@@ -1036,17 +1094,57 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
     }
 
     protected Object retrieve(String memberName) throws ZosDatasetException {
+      if ("binary".equals(this.dataType.toString())) {
+            this.convert = false;
+        }
+        return retrieve(memberName, this.convert);
+    }
+
+    /**
+     * Retrieve the content of the data set or member as a stream of the HTTP response,
+     * so that it is not held in memory
+     * @param memberName the member name, or null
+     * @return the content
+     * @throws ZosDatasetException
+     */
+    protected InputStream retrieveStream(String memberName) throws ZosDatasetException {
+        return retrieveStream(this.zosmfApiProcessor, memberName);
+    }
+
+    protected InputStream retrieveStream(IZosmfRestApiProcessor zosmfApiProcessor, String memberName) throws ZosDatasetException {
+        Object content = retrieve(zosmfApiProcessor, memberName, false);
+        if (content instanceof String) {
+            return new ByteArrayInputStream(((String) content).getBytes(StandardCharsets.UTF_8));
+        } else if (content instanceof byte[]) {
+            return new ByteArrayInputStream((byte[]) content);
+        }
+        return (InputStream) content;
+    }
+
+    /**
+     * Close a response that is not being returned, so that streamed content releases its connection
+     * @param response the response
+     */
+    protected void closeResponse(IZosmfResponse response) {
+        try {
+            response.close();
+        } catch (ZosmfException e) {
+            logger.warn("Unable to close zOSMF response", e);
+        }
+    }
+
+    protected Object retrieve(String memberName, boolean convert) throws ZosDatasetException {
+        return retrieve(this.zosmfApiProcessor, memberName, convert);
+    }
+
+    protected Object retrieve(IZosmfRestApiProcessor zosmfApiProcessor, String memberName, boolean convert) throws ZosDatasetException {
       Map<String, String> headers = new HashMap<>();
-      String dType = this.dataType.toString();
-      headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), dType);
+      headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), this.dataType.toString());
       String urlPath = RESTFILES_DATASET_PATH + SLASH + joinDSN(memberName);
       IZosmfResponse response;
-      if ("binary".equals(dType)) {
-            this.convert = false;
-        }
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
-                    new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_INTERNAL_SERVER_ERROR)), this.convert);
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
+                    new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_INTERNAL_SERVER_ERROR)), convert);
         } catch (ZosmfException e) {
             throw new ZosDatasetException(e);
         }
@@ -1064,6 +1162,8 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
                 responseBody = response.getJsonContent();
             } catch (ZosmfException e) {
                 throw new ZosDatasetException("Unable to retrieve content of data set " + quoted(joinDSN(memberName)) + logOnImage(), e);
+            } finally {
+                closeResponse(response);
             }
             logger.trace(responseBody);    
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
@@ -1096,13 +1196,17 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
         if (!exists()) {
             throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
         }
+        storeText(this.zosmfApiProcessor, content, memberName, convert);
+    }
+
+    protected void storeText(IZosmfRestApiProcessor zosmfApiProcessor, String content, String memberName, boolean convert) throws ZosDatasetException {
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
     
         String urlPath = RESTFILES_DATASET_PATH + SLASH + joinDSN(memberName);
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.PUT_TEXT, urlPath, headers, content, 
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.PUT_TEXT, urlPath, headers, content, 
                     new ArrayList<>(Arrays.asList(HttpStatus.SC_NO_CONTENT, HttpStatus.SC_CREATED, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), convert);
         } catch (ZosmfException e) {
             throw new ZosDatasetException(e);
@@ -1132,32 +1236,48 @@ public class ZosmfZosDatasetImpl implements IZosDataset {
             Collection<String> memberList = memberList();
             Iterator<String> memberListIterator = memberList.iterator();
         
+            ZosArtifactRequests<IZosmfRestApiProcessor, ZosDatasetException> requests = this.zosFileHandler.getZosFileManager().getMemberPool(this.image).newArtifactRequests(this.zosFileHandler.getZosManager(), artifactPath);
         	while (memberListIterator.hasNext()) {
         		String memberName = memberListIterator.next();
-        		String fileName = this.zosFileHandler.getZosManager().buildUniquePathName(artifactPath, memberName);
-        		if (this.dataType.equals(DatasetDataType.TEXT)) {
-        			this.zosFileHandler.getZosManager().storeArtifact(artifactPath.resolve(fileName), memberRetrieveAsText(memberName), ResultArchiveStoreContentType.TEXT);
-        		} else {
-        			this.zosFileHandler.getZosManager().storeArtifact(artifactPath.resolve(fileName), new String(memberRetrieveAsBinary(memberName)), ResultArchiveStoreContentType.TEXT);
-        		}
-            	logger.info(quoted(joinDSN(memberName)) + LOG_ARCHIVED_TO + artifactPath.resolve(fileName));
+        		requests.add(memberName, (zosmfApiProcessor, memberPath) -> streamMember(zosmfApiProcessor, memberName, memberPath));
         	}
+        	requests.sendAll();
 		} catch (ZosManagerException e) {
 			throw new ZosDatasetException(e);
 		}
     }
 
+    /**
+     * Copy the content of a member into an artifact that has already been created
+     * @param zosmfApiProcessor the processor to send the request with
+     * @param memberName the member name
+     * @param memberPath the artifact
+     * @throws ZosDatasetException
+     */
+    protected void streamMember(IZosmfRestApiProcessor zosmfApiProcessor, String memberName, Path memberPath) throws ZosDatasetException {
+        try (InputStream in = retrieveStream(zosmfApiProcessor, memberName); OutputStream out = Files.newOutputStream(memberPath)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            throw new ZosDatasetException("Unable to store artifact", e);
+        }
+        logger.info(quoted(joinDSN(memberName)) + LOG_ARCHIVED_TO + memberPath);
+    }
+
     protected void storeBinary(byte[] content, String memberName, boolean convert) throws ZosDatasetException {
         if (!exists()) {
             throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
         }
+        storeBinary(this.zosmfApiProcessor, content, memberName, convert);
+    }
+
+    protected void storeBinary(IZosmfRestApiProcessor zosmfApiProcessor, byte[] content, String memberName, boolean convert) throws ZosDatasetException {
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
     
         String urlPath = RESTFILES_DATASET_PATH + SLASH + joinDSN(memberName);
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.PUT_BINARY, urlPath, headers, content, 
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.PUT_BINARY, urlPath, headers, content, 
                     new ArrayList<>(Arrays.asList(HttpStatus.SC_NO_CONTENT, HttpStatus.SC_CREATED, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), convert);
         } catch (ZosmfException e) {
             throw new ZosDatasetException(e);
@@ -32,11 +32,15 @@ import dev.galasa.framework.spi.language.GalasaTest;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zos.spi.ZosRequestPool;
 import dev.galasa.zosfile.IZosFileHandler;
+import dev.galasa.zosfile.ZosDatasetException;
 import dev.galasa.zosfile.ZosFileField;
 import dev.galasa.zosfile.ZosFileHandler;
 import dev.galasa.zosfile.ZosFileManagerException;
 import dev.galasa.zosfile.spi.IZosFileSpi;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfManagerException;
 import dev.galasa.zosmf.spi.IZosmfManagerSpi;
 import dev.galasa.zosunixcommand.spi.IZosUNIXCommandSpi;
 
@@ -66,6 +70,9 @@ public class ZosmfZosFileManagerImpl extends AbstractManager implements IZosFile
     }
 
     private final Map<String, ZosmfZosFileHandlerImpl> zosFileHandlers = new HashMap<>();
+    private final Map<String, ZosRequestPool<IZosmfRestApiProcessor, ZosDatasetException>> memberPools = new HashMap<>();
+
+    protected static final int MEMBER_POOL_SIZE = 4;
 
     private static final String ZOS_DATASETS = "zOS_Datasets";
     
@@ -257,6 +264,9 @@ public class ZosmfZosFileManagerImpl extends AbstractManager implements IZosFile
         } catch (ZosFileManagerException e) {
             logger.error("Problem in endOfTestRun()", e);
         }
+        for (ZosRequestPool<IZosmfRestApiProcessor, ZosDatasetException> memberPool : this.memberPools.values()) {
+            memberPool.shutdown();
+        }
     }
     
     protected void cleanup() throws ZosFileManagerException {
@@ -265,6 +275,23 @@ public class ZosmfZosFileManagerImpl extends AbstractManager implements IZosFile
         }
     }
     
+    /**
+     * Get the pool of threads for reading and writing data set members on an image. The threads use
+     * processors that share the zOSMF servers of the manager, so their requests count towards the
+     * limits and circuit breakers of the servers.
+     * @param image the image
+     * @return the member pool
+     */
+    protected synchronized ZosRequestPool<IZosmfRestApiProcessor, ZosDatasetException> getMemberPool(IZosImage image) {
+        return this.memberPools.computeIfAbsent(image.getImageID(), imageId -> new ZosRequestPool<>("zosfile-member-" + imageId, MEMBER_POOL_SIZE, () -> {
+            try {
+                return getZosmfManager().newZosmfRestApiProcessor(image, getZosManager().getZosFilePropertyFileRestrictToImage(imageId));
+            } catch (ZosmfManagerException | ZosFileManagerException e) {
+                throw new ZosDatasetException(e);
+            }
+        }, ZosDatasetException.class, ZosDatasetException::new));
+    }
+    
     @GenerateAnnotatedField(annotation=ZosFileHandler.class)
     public IZosFileHandler generateZosFileHandler(Field field, List<Annotation> annotations) {
         ZosmfZosFileHandlerImpl zosmfZosFileHandlerImpl = new ZosmfZosFileHandlerImpl(this, field.getName());
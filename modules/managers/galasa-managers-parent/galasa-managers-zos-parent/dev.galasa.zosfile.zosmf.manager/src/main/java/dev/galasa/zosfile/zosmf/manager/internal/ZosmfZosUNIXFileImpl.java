@@ -7,6 +7,7 @@ package dev.galasa.zosfile.zosmf.manager.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
@@ -301,6 +302,17 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
         return retrieveAsBinary(this.unixPath);
     }
 
+    @Override
+    public InputStream retrieveAsStream() throws ZosUNIXFileException {
+        if (!exists()) {
+            throw new ZosUNIXFileException(LOG_UNIX_PATH + quoted(this.unixPath) + LOG_DOES_NOT_EXIST + logOnImage());
+        }
+        if (isDirectory()) {
+            throw new ZosUNIXFileException(LOG_INVALID_REQUETS + quoted(this.unixPath) + " is a directory");
+        }
+        return retrieveAsStream(this.unixPath);
+    }
+
     @Override
     public void saveToResultsArchive(String rasPath) throws ZosUNIXFileException {
         saveToResultsArchive(this.unixPath, rasPath);
@@ -769,6 +781,15 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
 
 
     protected byte[] retrieveAsBinary(String path) throws ZosUNIXFileException {
+        try (InputStream content = retrieveAsStream(path)) {
+            return IOUtils.toByteArray(content);
+        } catch (IOException e) {
+            throw new ZosUNIXFileException("Unable to retrieve content of " + quoted(path) + logOnImage(), e);
+        }
+    }
+
+
+    protected InputStream retrieveAsStream(String path) throws ZosUNIXFileException {
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
         String urlPath = RESTFILES_FILE_SYSTEM_PATH + path;
@@ -780,11 +801,11 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
             throw new ZosUNIXFileException(e);
         }        
     
-        byte[] content;
+        InputStream content;
         if (response.getStatusCode() == HttpStatus.SC_OK) {
             try {
-                content = IOUtils.toByteArray((InputStream) response.getContent());
-            } catch (ZosmfException | IOException e) {
+                content = (InputStream) response.getContent();
+            } catch (ZosmfException e) {
                 throw new ZosUNIXFileException("Unable to retrieve content of " + quoted(path) + logOnImage(), e);
             }
         } else {
@@ -794,6 +815,8 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
                 responseBody = response.getJsonContent();
             } catch (ZosmfException e) {
                 throw new ZosUNIXFileException("Unable to retrieve content of " + quoted(path) + logOnImage(), e);
+            } finally {
+                closeResponse(response);
             }
             logger.trace(responseBody);    
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
@@ -806,6 +829,18 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
         return content;
     }
 
+    /**
+     * Close a response that is not being returned, so that streamed content releases its connection
+     * @param response the response
+     */
+    protected void closeResponse(IZosmfResponse response) {
+        try {
+            response.close();
+        } catch (ZosmfException e) {
+            logger.warn("Unable to close zOSMF response", e);
+        }
+    }
+
     
     protected void saveToResultsArchive(String path, String rasPath) throws ZosUNIXFileException {
         if (!exists(path)) {
@@ -825,7 +860,7 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
                 	} else {
                 		directoryName = SLASH;
                 	}
-                    String archiveLocation = storeArtifact(rasPath + directoryName, retrieveAsText(entryPath), false, fileName);
+                    String archiveLocation = storeArtifact(rasPath + directoryName, retrieveAsStream(entryPath), false, fileName);
                     logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
                 } else if (entryFileType.equals(UNIXFileType.DIRECTORY)) {
                     String archiveLocation = storeArtifact(rasPath, null, true, directoryName);
@@ -833,12 +868,7 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
                 }
             }
         } else {
-            String archiveLocation;
-            if (getDataType().equals(UNIXFileDataType.TEXT)) {
-            	archiveLocation = storeArtifact(rasPath, retrieveAsText(), false, this.fileName);
-            } else {
-            	archiveLocation = storeArtifact(rasPath, retrieveAsBinary(), false, this.fileName);
-            }
+            String archiveLocation = storeArtifact(rasPath, retrieveAsStream(), false, this.fileName);
             logger.info(quoted(this.unixPath) + LOG_ARCHIVED_TO + archiveLocation);
         }
     }
@@ -968,6 +998,10 @@ public class ZosmfZosUNIXFileImpl implements IZosUNIXFile {
                     Files.write(rasArtifactPath, ((String) content).getBytes()); 
                 } else if (content instanceof byte[]) {
                     Files.write(rasArtifactPath, (byte[]) content);
+                } else if (content instanceof InputStream) {
+                    try (InputStream in = (InputStream) content; OutputStream out = Files.newOutputStream(rasArtifactPath)) {
+                        in.transferTo(out);
+                    }
                 } else {
                     throw new ZosUNIXFileException("Unable to store artifact. Invalid content object type: " + content.getClass().getName());
                 }
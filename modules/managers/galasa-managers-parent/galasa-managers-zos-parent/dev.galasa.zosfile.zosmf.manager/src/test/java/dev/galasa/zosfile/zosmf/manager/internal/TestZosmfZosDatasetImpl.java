@@ -6,14 +6,23 @@
 package dev.galasa.zosfile.zosmf.manager.internal;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
@@ -37,9 +46,12 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 
+import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.internal.ZosManagerImpl;
+import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zos.spi.ZosRequestPool;
 import dev.galasa.zosfile.IZosDataset.DSType;
 import dev.galasa.zosfile.IZosDataset.DatasetDataType;
 import dev.galasa.zosfile.IZosDataset.DatasetOrganization;
@@ -53,6 +65,7 @@ import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.ZosmfException;
 import dev.galasa.zosmf.ZosmfManagerException;
 import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+import dev.galasa.zosmf.spi.IZosmfManagerSpi;
 
 //@RunWith(PowerMockRunner.class)
 //@PrepareForTest({LogFactory.class})
@@ -1725,4 +1738,306 @@ public class TestZosmfZosDatasetImpl {
 //            throw new NotImplementedException("Not Implemented");
 //        }
 //    }
+
+    private static final String PDS_NAME = "DATA.SET.NAME";
+
+    private final Map<String, ByteArrayOutputStream> artifacts = new ConcurrentHashMap<>();
+
+    private IZosmfRestApiProcessor datasetApiProcessorMock;
+
+    private IZosmfRestApiProcessor memberApiProcessorMock;
+
+    private IZosManagerSpi zosManagerMock;
+
+    private ZosmfZosDatasetImpl newPartitionedDataset(Path artifactDirectory) throws Exception {
+        IZosImage zosImageMock = Mockito.mock(IZosImage.class);
+        Mockito.when(zosImageMock.getImageID()).thenReturn("IMAGE");
+        zosManagerMock = Mockito.mock(IZosManagerSpi.class);
+        Mockito.when(zosManagerMock.buildUniquePathName(Mockito.any(), Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        datasetApiProcessorMock = Mockito.mock(IZosmfRestApiProcessor.class);
+        memberApiProcessorMock = Mockito.mock(IZosmfRestApiProcessor.class);
+        IZosmfManagerSpi zosmfManagerMock = Mockito.mock(IZosmfManagerSpi.class);
+        Mockito.when(zosmfManagerMock.newZosmfRestApiProcessor(Mockito.any(), Mockito.anyBoolean())).thenReturn(datasetApiProcessorMock);
+        ZosmfZosFileManagerImpl zosFileManagerMock = Mockito.mock(ZosmfZosFileManagerImpl.class);
+        Mockito.when(zosFileManagerMock.getMemberPool(Mockito.any())).thenReturn(new ZosRequestPool<>("test-member", 2, () -> memberApiProcessorMock, ZosDatasetException.class, ZosDatasetException::new));
+        ZosmfZosFileHandlerImpl zosFileHandlerMock = Mockito.mock(ZosmfZosFileHandlerImpl.class);
+        Mockito.when(zosFileHandlerMock.getZosFileManager()).thenReturn(zosFileManagerMock);
+        Mockito.when(zosFileHandlerMock.getZosManager()).thenReturn(zosManagerMock);
+        Mockito.when(zosFileHandlerMock.getZosmfManager()).thenReturn(zosmfManagerMock);
+        Path artifactsRootMock = Mockito.mock(Path.class);
+        Mockito.when(artifactsRootMock.resolve(Mockito.anyString())).thenReturn(artifactDirectory);
+        Mockito.when(zosFileHandlerMock.getArtifactsRoot()).thenReturn(artifactsRootMock);
+
+        ZosmfZosDatasetImpl zosDataset = Mockito.spy(new ZosmfZosDatasetImpl(zosFileHandlerMock, zosImageMock, PDS_NAME));
+        Mockito.doReturn(true).when(zosDataset).isPDS();
+        Mockito.doReturn(true).when(zosDataset).exists();
+        return zosDataset;
+    }
+
+    private IZosmfResponse newResponseMock(int statusCode, Object content) throws Exception {
+        IZosmfResponse responseMock = Mockito.mock(IZosmfResponse.class);
+        Mockito.when(responseMock.getStatusCode()).thenReturn(statusCode);
+        Mockito.when(responseMock.getContent()).thenReturn(content);
+        if (content instanceof JsonObject) {
+            Mockito.when(responseMock.getJsonContent()).thenReturn((JsonObject) content);
+        }
+        return responseMock;
+    }
+
+    private JsonObject newErrorResponseBody() {
+        JsonObject errorResponseBody = new JsonObject();
+        errorResponseBody.addProperty("category", 6);
+        errorResponseBody.addProperty("rc", 4);
+        errorResponseBody.addProperty("reason", 10);
+        errorResponseBody.addProperty("message", "failed");
+        return errorResponseBody;
+    }
+
+    private void mockMemberContent(String memberName, int statusCode, Object content) throws Exception {
+        IZosmfResponse responseMock = newResponseMock(statusCode, content);
+        Mockito.when(memberApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith(PDS_NAME + "(" + memberName + ")"), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(false))).thenReturn(responseMock);
+    }
+
+    private IZosmfResponse mockDatasetContent(String name, int statusCode, Object content) throws Exception {
+        IZosmfResponse responseMock = newResponseMock(statusCode, content);
+        Mockito.when(datasetApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith(name), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(false))).thenReturn(responseMock);
+        return responseMock;
+    }
+
+    private Path newArtifactDirectoryMock() throws IOException {
+        FileSystem fileSystemMock = Mockito.mock(FileSystem.class);
+        FileSystemProvider fileSystemProviderMock = Mockito.mock(FileSystemProvider.class);
+        Mockito.when(fileSystemMock.provider()).thenReturn(fileSystemProviderMock);
+        Mockito.when(fileSystemProviderMock.newByteChannel(Mockito.any(), Mockito.any(), Mockito.any(FileAttribute[].class))).thenReturn(Mockito.mock(SeekableByteChannel.class));
+        Mockito.when(fileSystemProviderMock.newOutputStream(Mockito.any(Path.class), Mockito.any(OpenOption[].class))).thenAnswer(invocation -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            artifacts.put(invocation.getArgument(0).toString(), out);
+            return out;
+        });
+        Path directoryMock = Mockito.mock(Path.class);
+        Mockito.when(directoryMock.resolve(Mockito.anyString())).thenAnswer(invocation -> {
+            Path fileMock = Mockito.mock(Path.class);
+            Mockito.when(fileMock.toString()).thenReturn(invocation.getArgument(0));
+            Mockito.when(fileMock.getFileSystem()).thenReturn(fileSystemMock);
+            return fileMock;
+        });
+        return directoryMock;
+    }
+
+    @Test
+    public void testSavePDSToResultsArchive() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(newArtifactDirectoryMock());
+        Mockito.doReturn(Arrays.asList("MEMBER1", "MEMBER2")).when(zosDataset).memberList();
+        byte[] streamedContent = "streamed \u00e9\n".getBytes(StandardCharsets.UTF_8);
+        byte[] binaryContent = new byte[] {0x00, (byte) 0xC1, (byte) 0xFF};
+        mockMemberContent("MEMBER1", HttpStatus.SC_OK, new ByteArrayInputStream(streamedContent));
+        mockMemberContent("MEMBER2", HttpStatus.SC_OK, binaryContent);
+
+        zosDataset.savePDSToResultsArchive("rasPath");
+
+        Assert.assertEquals("savePDSToResultsArchive() should store each member", 2, artifacts.size());
+        Assert.assertArrayEquals("savePDSToResultsArchive() should copy the streamed content unchanged", streamedContent, artifacts.get("MEMBER1").toByteArray());
+        Assert.assertArrayEquals("savePDSToResultsArchive() should copy the binary content unchanged", binaryContent, artifacts.get("MEMBER2").toByteArray());
+        Mockito.verify(datasetApiProcessorMock, Mockito.never()).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.contains("("), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testSavePDSToResultsArchiveFailedMember() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(newArtifactDirectoryMock());
+        Mockito.doReturn(Arrays.asList("MEMBER1")).when(zosDataset).memberList();
+        mockMemberContent("MEMBER1", HttpStatus.SC_INTERNAL_SERVER_ERROR, newErrorResponseBody());
+
+        ZosDatasetException expectedException = Assert.assertThrows("expected exception should be thrown", ZosDatasetException.class, ()->{
+            zosDataset.savePDSToResultsArchive("rasPath");
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().contains("failed"));
+    }
+
+    @Test
+    public void testStreamMember() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(newArtifactDirectoryMock());
+        byte[] streamedContent = "streamed \u00e9\n".getBytes(StandardCharsets.UTF_8);
+        mockMemberContent("MEMBER1", HttpStatus.SC_OK, new ByteArrayInputStream(streamedContent));
+
+        zosDataset.streamMember(memberApiProcessorMock, "MEMBER1", newArtifactDirectoryMock().resolve("artifact"));
+
+        Assert.assertArrayEquals("streamMember() should copy the content unchanged", streamedContent, artifacts.get("artifact").toByteArray());
+    }
+
+    @Test
+    public void testMemberStoreTextMap() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        IZosmfResponse responseMock = newResponseMock(HttpStatus.SC_NO_CONTENT, null);
+        Mockito.when(memberApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(responseMock);
+        Map<String, String> members = new LinkedHashMap<>();
+        members.put("MEMBER1", "content1");
+        members.put("MEMBER2", "content2");
+
+        zosDataset.memberStoreText(members);
+
+        Mockito.verify(memberApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.endsWith(PDS_NAME + "(MEMBER1)"), Mockito.any(), Mockito.eq("content1"), Mockito.any(), Mockito.eq(true));
+        Mockito.verify(memberApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.endsWith(PDS_NAME + "(MEMBER2)"), Mockito.any(), Mockito.eq("content2"), Mockito.any(), Mockito.eq(true));
+        Mockito.verify(datasetApiProcessorMock, Mockito.never()).sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testMemberStoreTextMapFailedMember() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        IZosmfResponse responseMock = newResponseMock(HttpStatus.SC_INTERNAL_SERVER_ERROR, newErrorResponseBody());
+        Mockito.when(memberApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(responseMock);
+        Map<String, String> members = new LinkedHashMap<>();
+        members.put("MEMBER1", "content1");
+
+        ZosDatasetException expectedException = Assert.assertThrows("expected exception should be thrown", ZosDatasetException.class, ()->{
+            zosDataset.memberStoreText(members);
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().contains("failed"));
+    }
+
+    @Test
+    public void testMemberStoreTextMapNotPDS() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        Mockito.doReturn(false).when(zosDataset).isPDS();
+        Map<String, String> members = new LinkedHashMap<>();
+        members.put("MEMBER1", "content1");
+
+        ZosDatasetException expectedException = Assert.assertThrows("expected exception should be thrown", ZosDatasetException.class, ()->{
+            zosDataset.memberStoreText(members);
+        });
+
+        Assert.assertEquals("exception should contain expected message", "Data set \"" + PDS_NAME + "\" is not a partitioned data set", expectedException.getMessage());
+        Mockito.verifyNoInteractions(memberApiProcessorMock);
+    }
+
+    @Test
+    public void testMemberStoreBinaryMap() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        IZosmfResponse responseMock = newResponseMock(HttpStatus.SC_CREATED, null);
+        Mockito.when(memberApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_BINARY), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(responseMock);
+        byte[] content1 = new byte[] {0x01, 0x02};
+        byte[] content2 = new byte[] {(byte) 0xC1, (byte) 0xFF};
+        Map<String, byte[]> members = new LinkedHashMap<>();
+        members.put("MEMBER1", content1);
+        members.put("MEMBER2", content2);
+
+        zosDataset.memberStoreBinary(members);
+
+        Mockito.verify(memberApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.PUT_BINARY), Mockito.endsWith(PDS_NAME + "(MEMBER1)"), Mockito.any(), Mockito.same(content1), Mockito.any(), Mockito.eq(false));
+        Mockito.verify(memberApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.PUT_BINARY), Mockito.endsWith(PDS_NAME + "(MEMBER2)"), Mockito.any(), Mockito.same(content2), Mockito.any(), Mockito.eq(false));
+        Mockito.verify(datasetApiProcessorMock, Mockito.never()).sendRequest(Mockito.eq(ZosmfRequestType.PUT_BINARY), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testMemberStoreBinaryMapDoesNotExist() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        Mockito.doReturn(false).when(zosDataset).exists();
+        Map<String, byte[]> members = new LinkedHashMap<>();
+        members.put("MEMBER1", new byte[] {0x01});
+
+        ZosDatasetException expectedException = Assert.assertThrows("expected exception should be thrown", ZosDatasetException.class, ()->{
+            zosDataset.memberStoreBinary(members);
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().contains("does not exist"));
+        Mockito.verifyNoInteractions(memberApiProcessorMock);
+    }
+
+    @Test
+    public void testRetrieveAsStream() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        Mockito.doReturn(false).when(zosDataset).isPDS();
+        InputStream content = new ByteArrayInputStream(new byte[] {0x00, (byte) 0xC1});
+        mockDatasetContent(PDS_NAME, HttpStatus.SC_OK, content);
+
+        Assert.assertSame("retrieveAsStream() should return the streamed response content", content, zosDataset.retrieveAsStream());
+    }
+
+    @Test
+    public void testRetrieveAsStreamStringContent() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        Mockito.doReturn(false).when(zosDataset).isPDS();
+        mockDatasetContent(PDS_NAME, HttpStatus.SC_OK, "text \u00e9\n");
+
+        try (InputStream in = zosDataset.retrieveAsStream()) {
+            Assert.assertArrayEquals("retrieveAsStream() should return text content as UTF-8", "text \u00e9\n".getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testRetrieveAsStreamPDS() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+
+        ZosDatasetException expectedException = Assert.assertThrows("expected exception should be thrown", ZosDatasetException.class, ()->{
+            zosDataset.retrieveAsStream();
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().contains("Use memberRetrieveAsStream(String memberName) method instead"));
+        Mockito.verifyNoInteractions(datasetApiProcessorMock);
+    }
+
+    @Test
+    public void testRetrieveAsStreamFailedClosesResponse() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        Mockito.doReturn(false).when(zosDataset).isPDS();
+        IZosmfResponse responseMock = mockDatasetContent(PDS_NAME, HttpStatus.SC_INTERNAL_SERVER_ERROR, newErrorResponseBody());
+
+        ZosDatasetException expectedException = Assert.assertThrows("expected exception should be thrown", ZosDatasetException.class, ()->{
+            zosDataset.retrieveAsStream();
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().contains("failed"));
+        Mockito.verify(responseMock).close();
+    }
+
+    @Test
+    public void testMemberRetrieveAsStream() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        InputStream content = new ByteArrayInputStream(new byte[] {0x00, (byte) 0xC1});
+        mockDatasetContent(PDS_NAME + "(MEMBER1)", HttpStatus.SC_OK, content);
+
+        Assert.assertSame("memberRetrieveAsStream() should return the streamed response content", content, zosDataset.memberRetrieveAsStream("MEMBER1"));
+    }
+
+    @Test
+    public void testMemberRetrieveAsStreamNotPDS() throws Exception {
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(Mockito.mock(Path.class));
+        Mockito.doReturn(false).when(zosDataset).isPDS();
+
+        ZosDatasetException expectedException = Assert.assertThrows("expected exception should be thrown", ZosDatasetException.class, ()->{
+            zosDataset.memberRetrieveAsStream("MEMBER1");
+        });
+
+        Assert.assertEquals("exception should contain expected message", "Data set \"" + PDS_NAME + "\" is not a partitioned data set", expectedException.getMessage());
+    }
+
+    @Test
+    public void testSaveToResultsArchiveTextDataset() throws Exception {
+        Path artifactPathMock = Mockito.mock(Path.class);
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(artifactPathMock);
+        Mockito.doReturn(false).when(zosDataset).isPDS();
+        InputStream content = new ByteArrayInputStream("text\n".getBytes(StandardCharsets.UTF_8));
+        mockDatasetContent(PDS_NAME, HttpStatus.SC_OK, content);
+
+        zosDataset.saveToResultsArchive("rasPath");
+
+        Mockito.verify(datasetApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith(PDS_NAME), Mockito.argThat(headers -> "text".equals(headers.get("X-IBM-Data-Type"))), Mockito.any(), Mockito.any(), Mockito.eq(false));
+        Mockito.verify(zosManagerMock).storeArtifact(artifactPathMock, content, ResultArchiveStoreContentType.TEXT);
+    }
+
+    @Test
+    public void testSaveToResultsArchiveBinaryDataset() throws Exception {
+        Path artifactPathMock = Mockito.mock(Path.class);
+        ZosmfZosDatasetImpl zosDataset = newPartitionedDataset(artifactPathMock);
+        Mockito.doReturn(false).when(zosDataset).isPDS();
+        zosDataset.setDataType(DatasetDataType.BINARY);
+        InputStream content = new ByteArrayInputStream(new byte[] {0x00, (byte) 0xC1});
+        mockDatasetContent(PDS_NAME, HttpStatus.SC_OK, content);
+
+        zosDataset.saveToResultsArchive("rasPath");
+
+        Mockito.verify(datasetApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith(PDS_NAME), Mockito.argThat(headers -> "binary".equals(headers.get("X-IBM-Data-Type"))), Mockito.any(), Mockito.any(), Mockito.eq(false));
+        Mockito.verify(zosManagerMock).storeArtifact(artifactPathMock, content, ResultArchiveStoreContentType.TEXT);
+    }
 }
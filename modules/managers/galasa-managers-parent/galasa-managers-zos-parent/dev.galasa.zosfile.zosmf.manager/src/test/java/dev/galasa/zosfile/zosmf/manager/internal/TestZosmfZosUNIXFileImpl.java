@@ -5,12 +5,17 @@
  */
 package dev.galasa.zosfile.zosmf.manager.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.nio.file.spi.FileSystemProvider;
@@ -18,6 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
@@ -42,6 +48,7 @@ import com.google.gson.JsonPrimitive;
 
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.internal.ZosManagerImpl;
+import dev.galasa.zos.spi.IZosManagerSpi;
 import dev.galasa.zosfile.IZosUNIXFile;
 import dev.galasa.zosfile.IZosUNIXFile.UNIXFileDataType;
 import dev.galasa.zosfile.IZosUNIXFile.UNIXFileType;
@@ -53,6 +60,7 @@ import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.ZosmfException;
 import dev.galasa.zosmf.ZosmfManagerException;
 import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+import dev.galasa.zosmf.spi.IZosmfManagerSpi;
 import dev.galasa.zosunixcommand.IZosUNIXCommand;
 import dev.galasa.zosunixcommand.ZosUNIXCommandException;
 import dev.galasa.zosunixcommand.ssh.manager.internal.ZosUNIXCommandManagerImpl;
@@ -1494,4 +1502,138 @@ public class TestZosmfZosUNIXFileImpl {
 //    	zosUNIXFileSpy.setShouldCleanup(true);
 //    	Assert.assertTrue("setShouldCleanup() should return true", zosUNIXFileSpy.shouldCleanup());
 //    }
+
+    private static final String UNIX_PATH = "/u/user/file";
+
+    private final Map<String, ByteArrayOutputStream> artifacts = new ConcurrentHashMap<>();
+
+    private IZosmfRestApiProcessor unixApiProcessorMock;
+
+    private ZosmfZosUNIXFileImpl newUnixFile(Path artifactsRoot) throws Exception {
+        IZosImage zosImageMock = Mockito.mock(IZosImage.class);
+        Mockito.when(zosImageMock.getImageID()).thenReturn("IMAGE");
+        IZosManagerSpi zosManagerMock = Mockito.mock(IZosManagerSpi.class);
+        Mockito.when(zosManagerMock.buildUniquePathName(Mockito.any(), Mockito.anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        unixApiProcessorMock = Mockito.mock(IZosmfRestApiProcessor.class);
+        IZosmfManagerSpi zosmfManagerMock = Mockito.mock(IZosmfManagerSpi.class);
+        Mockito.when(zosmfManagerMock.newZosmfRestApiProcessor(Mockito.any(), Mockito.anyBoolean())).thenReturn(unixApiProcessorMock);
+        ZosmfZosFileHandlerImpl zosFileHandlerMock = Mockito.mock(ZosmfZosFileHandlerImpl.class);
+        Mockito.when(zosFileHandlerMock.getZosFileManager()).thenReturn(Mockito.mock(ZosmfZosFileManagerImpl.class));
+        Mockito.when(zosFileHandlerMock.getZosManager()).thenReturn(zosManagerMock);
+        Mockito.when(zosFileHandlerMock.getZosmfManager()).thenReturn(zosmfManagerMock);
+        Mockito.when(zosFileHandlerMock.getArtifactsRoot()).thenReturn(artifactsRoot);
+
+        ZosmfZosUNIXFileImpl zosUnixFile = Mockito.spy(new ZosmfZosUNIXFileImpl(zosFileHandlerMock, zosImageMock, UNIX_PATH));
+        Mockito.doReturn(true).when(zosUnixFile).exists(Mockito.anyString());
+        Mockito.doReturn(false).when(zosUnixFile).isDirectory(Mockito.anyString());
+        return zosUnixFile;
+    }
+
+    private IZosmfResponse mockFileContent(int statusCode, Object content) throws Exception {
+        IZosmfResponse responseMock = Mockito.mock(IZosmfResponse.class);
+        Mockito.when(responseMock.getStatusCode()).thenReturn(statusCode);
+        Mockito.when(responseMock.getContent()).thenReturn(content);
+        if (content instanceof JsonObject) {
+            Mockito.when(responseMock.getJsonContent()).thenReturn((JsonObject) content);
+        }
+        Mockito.when(unixApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith(UNIX_PATH), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(false))).thenReturn(responseMock);
+        return responseMock;
+    }
+
+    private Path newArtifactsRootMock() throws IOException {
+        FileSystem fileSystemMock = Mockito.mock(FileSystem.class);
+        FileSystemProvider fileSystemProviderMock = Mockito.mock(FileSystemProvider.class);
+        Mockito.when(fileSystemMock.provider()).thenReturn(fileSystemProviderMock);
+        Mockito.when(fileSystemProviderMock.newByteChannel(Mockito.any(), Mockito.any(), Mockito.any(FileAttribute[].class))).thenReturn(Mockito.mock(SeekableByteChannel.class));
+        Mockito.when(fileSystemProviderMock.newOutputStream(Mockito.any(Path.class), Mockito.any(OpenOption[].class))).thenAnswer(invocation -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            artifacts.put(invocation.getArgument(0).toString(), out);
+            return out;
+        });
+        Path directoryMock = Mockito.mock(Path.class);
+        Mockito.when(directoryMock.resolve(Mockito.anyString())).thenAnswer(invocation -> {
+            Path fileMock = Mockito.mock(Path.class);
+            Mockito.when(fileMock.toString()).thenReturn(invocation.getArgument(0));
+            Mockito.when(fileMock.getFileSystem()).thenReturn(fileSystemMock);
+            return fileMock;
+        });
+        Path artifactsRootMock = Mockito.mock(Path.class);
+        Mockito.when(artifactsRootMock.resolve(Mockito.anyString())).thenReturn(directoryMock);
+        return artifactsRootMock;
+    }
+
+    @Test
+    public void testRetrieveAsStreamText() throws Exception {
+        ZosmfZosUNIXFileImpl zosUnixFile = newUnixFile(Mockito.mock(Path.class));
+        InputStream content = new ByteArrayInputStream("text\n".getBytes(StandardCharsets.UTF_8));
+        mockFileContent(HttpStatus.SC_OK, content);
+
+        Assert.assertSame("retrieveAsStream() should return the streamed response content", content, zosUnixFile.retrieveAsStream());
+        Mockito.verify(unixApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith(UNIX_PATH), Mockito.argThat(headers -> "text".equals(headers.get("X-IBM-Data-Type"))), Mockito.any(), Mockito.any(), Mockito.eq(false));
+    }
+
+    @Test
+    public void testRetrieveAsStreamBinary() throws Exception {
+        ZosmfZosUNIXFileImpl zosUnixFile = newUnixFile(Mockito.mock(Path.class));
+        zosUnixFile.setDataType(UNIXFileDataType.BINARY);
+        InputStream content = new ByteArrayInputStream(new byte[] {0x00, (byte) 0xC1});
+        mockFileContent(HttpStatus.SC_OK, content);
+
+        Assert.assertSame("retrieveAsStream() should return the streamed response content", content, zosUnixFile.retrieveAsStream());
+        Mockito.verify(unixApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.endsWith(UNIX_PATH), Mockito.argThat(headers -> "binary".equals(headers.get("X-IBM-Data-Type"))), Mockito.any(), Mockito.any(), Mockito.eq(false));
+    }
+
+    @Test
+    public void testRetrieveAsStreamDirectory() throws Exception {
+        ZosmfZosUNIXFileImpl zosUnixFile = newUnixFile(Mockito.mock(Path.class));
+        Mockito.doReturn(true).when(zosUnixFile).isDirectory(Mockito.anyString());
+
+        ZosUNIXFileException expectedException = Assert.assertThrows("expected exception should be thrown", ZosUNIXFileException.class, ()->{
+            zosUnixFile.retrieveAsStream();
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().endsWith("is a directory"));
+    }
+
+    @Test
+    public void testRetrieveAsStreamFailedClosesResponse() throws Exception {
+        ZosmfZosUNIXFileImpl zosUnixFile = newUnixFile(Mockito.mock(Path.class));
+        JsonObject errorResponseBody = new JsonObject();
+        errorResponseBody.addProperty("category", 6);
+        errorResponseBody.addProperty("rc", 4);
+        errorResponseBody.addProperty("reason", 10);
+        errorResponseBody.addProperty("message", "failed");
+        IZosmfResponse responseMock = mockFileContent(HttpStatus.SC_INTERNAL_SERVER_ERROR, errorResponseBody);
+
+        ZosUNIXFileException expectedException = Assert.assertThrows("expected exception should be thrown", ZosUNIXFileException.class, ()->{
+            zosUnixFile.retrieveAsStream();
+        });
+
+        Assert.assertTrue("exception should contain expected message", expectedException.getMessage().contains("failed"));
+        Mockito.verify(responseMock).close();
+    }
+
+    @Test
+    public void testSaveToResultsArchiveText() throws Exception {
+        ZosmfZosUNIXFileImpl zosUnixFile = newUnixFile(newArtifactsRootMock());
+        byte[] streamedContent = "text \u00e9\n".getBytes(StandardCharsets.UTF_8);
+        mockFileContent(HttpStatus.SC_OK, new ByteArrayInputStream(streamedContent));
+
+        zosUnixFile.saveToResultsArchive("rasPath");
+
+        Assert.assertArrayEquals("saveToResultsArchive() should copy the streamed content unchanged", streamedContent, artifacts.get("file").toByteArray());
+        Mockito.verify(unixApiProcessorMock, Mockito.never()).sendRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(true));
+    }
+
+    @Test
+    public void testSaveToResultsArchiveBinary() throws Exception {
+        ZosmfZosUNIXFileImpl zosUnixFile = newUnixFile(newArtifactsRootMock());
+        zosUnixFile.setDataType(UNIXFileDataType.BINARY);
+        byte[] streamedContent = new byte[] {0x00, (byte) 0xC1, (byte) 0xFF};
+        mockFileContent(HttpStatus.SC_OK, new ByteArrayInputStream(streamedContent));
+
+        zosUnixFile.saveToResultsArchive("rasPath");
+
+        Assert.assertArrayEquals("saveToResultsArchive() should copy the streamed content unchanged", streamedContent, artifacts.get("file").toByteArray());
+    }
 }
@@ -13,6 +13,7 @@ import java.io.OutputStream;
 import java.util.Calendar;
 import java.util.regex.Pattern;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -22,6 +23,7 @@ import dev.galasa.textscan.IncorrectOccurrencesException;
 import dev.galasa.textscan.MissingTextException;
 import dev.galasa.textscan.TextScanException;
 import dev.galasa.zosfile.IZosUNIXFile;
+import dev.galasa.zosfile.IZosUNIXFile.UNIXFileDataType;
 import dev.galasa.zosfile.ZosUNIXFileException;
 import dev.galasa.zosliberty.IZosLibertyServerLog;
 import dev.galasa.zosliberty.ZosLibertyServerException;
@@ -60,17 +62,15 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
 
     @Override
     public OutputStream retrieve() throws ZosLibertyServerException {
-        try {
-            if (checkExists()) {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                baos.write(this.zosUnixFile.retrieveAsBinary());
-                return baos;
-            } else {
-                return new ByteArrayOutputStream();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        if (checkExists()) {
+            try (InputStream content = retrieveStream(0)) {
+                IOUtils.copy(content, baos);
+            } catch (IOException e) {
+                throw new ZosLibertyServerException("Problem retrieving content of log", e);
             }
-        } catch (ZosUNIXFileException | IOException e) {
-            throw new ZosLibertyServerException("Problem retrieving content of log", e);
         }
+        return baos;
     }
     
     @Override
@@ -117,23 +117,16 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
 
     @Override
     public OutputStream retrieveSinceCheckpoint() throws ZosLibertyServerException {
-        try {
-            if (checkExists()) {
-                ByteArrayInputStream bais = new ByteArrayInputStream(((ByteArrayOutputStream) retrieve()).toByteArray());
-                long checkpoint = getCheckpoint();
-                long skipped = bais.skip(checkpoint);
-                if (skipped != getCheckpoint()) {
-                    throw new IOException("Failed to skip " + checkpoint + " bytes. Actual bytes skipped " + skipped);
-                }
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                baos.writeTo(baos);
-                return baos;
-            } else {
-                return null;
-            }
+        if (!checkExists()) {
+            return null;
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream content = retrieveStream(getCheckpoint())) {
+            IOUtils.copy(content, baos);
         } catch (IOException e) {
             throw new ZosLibertyServerException("Problem retrieving log since last checkpoint", e);
         }
+        return baos;
     }
 
     @Override
@@ -375,10 +368,35 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
         return this;
     }
 
+    @Override
+    public boolean isScannableSeekable() {
+        return true;
+    }
+
+    @Override
+    public long getScannableSize() throws TextScanException {
+        try {
+            if (checkExists()) {
+                return this.zosUnixFile.getSize();
+            }
+            return 0;
+        } catch (ZosLibertyServerException | ZosUNIXFileException e) {
+            throw new TextScanException("Problem finding the size of " + getScannableName(), e);
+        }
+    }
+
     @Override
     public InputStream getScannableInputStream() throws TextScanException {
+        return getScannableInputStream(0);
+    }
+
+    @Override
+    public InputStream getScannableInputStream(long offset) throws TextScanException {
         try {
-            return new ByteArrayInputStream(((ByteArrayOutputStream) retrieve()).toByteArray());
+            if (checkExists()) {
+                return retrieveStream(offset);
+            }
+            return new ByteArrayInputStream(new byte[0]);
         } catch (ZosLibertyServerException e) {
             throw new TextScanException("Problem retrieving " + getScannableName(), e);
         }
@@ -392,6 +410,15 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
             throw new TextScanException("Problem retrieving " + getScannableName(), e);
         }
     }
+
+    @Override
+    public String getScannableString(long offset) throws TextScanException {
+        try (InputStream content = getScannableInputStream(offset)) {
+            return new String(IOUtils.toByteArray(content));
+        } catch (IOException e) {
+            throw new TextScanException("Problem retrieving " + getScannableName(), e);
+        }
+    }
     
     @Override
     public String toString() {
@@ -409,4 +436,37 @@ public class ZosLibertyServerLogImpl implements IZosLibertyServerLog, ITextScann
         logger.warn("File " + getName() + " does not exist");
         return false;
     }
+
+    /**
+     * Stream the log in binary, so that offsets match the size of the file. The stream is skipped to
+     * the offset as it is read, so only the part of the log after the offset is held in memory
+     * @param offset the number of bytes to skip, or -1 to read the whole log
+     * @return the log content, which the caller must close
+     * @throws ZosLibertyServerException
+     */
+    private InputStream retrieveStream(long offset) throws ZosLibertyServerException {
+        InputStream content;
+        try {
+            this.zosUnixFile.setDataType(UNIXFileDataType.BINARY);
+            content = this.zosUnixFile.retrieveAsStream();
+        } catch (ZosUNIXFileException e) {
+            throw new ZosLibertyServerException("Problem retrieving content of log", e);
+        }
+        try {
+            if (offset > 0) {
+                long skipped = IOUtils.skip(content, offset);
+                if (skipped != offset) {
+                    throw new IOException("Failed to skip " + offset + " bytes. Actual bytes skipped " + skipped);
+                }
+            }
+            return content;
+        } catch (IOException e) {
+            try {
+                content.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw new ZosLibertyServerException("Problem retrieving log since last checkpoint", e);
+        }
+    }
 }
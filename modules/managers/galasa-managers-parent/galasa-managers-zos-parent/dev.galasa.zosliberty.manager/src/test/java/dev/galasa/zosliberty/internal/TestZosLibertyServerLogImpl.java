@@ -0,0 +1,223 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosliberty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import dev.galasa.textscan.TextScanException;
+import dev.galasa.textscan.internal.LogScannerImpl;
+import dev.galasa.zosfile.IZosUNIXFile;
+import dev.galasa.zosfile.IZosUNIXFile.UNIXFileDataType;
+import dev.galasa.zosfile.ZosUNIXFileException;
+import dev.galasa.zosliberty.ZosLibertyServerException;
+
+public class TestZosLibertyServerLogImpl {
+
+    private static final String LOG_BEFORE_CHECKPOINT = "[18/10/26 12:00:00:000 UTC] 00000001 CWWKE0001I: The server defaultServer has been launched.\nSRVE0777E: Exception thrown before the checkpoint\n";
+    private static final String LOG_AFTER_CHECKPOINT = "CWWKF0011I: The server is ready\n";
+
+    private IZosUNIXFile zosUnixFileMock;
+
+    private String logContent;
+
+    // The streams handed out by the mocked zOS UNIX file, so we can check they are closed
+    private List<TrackingInputStream> retrievedStreams;
+
+    @Before
+    public void setup() throws Exception {
+        logContent = LOG_BEFORE_CHECKPOINT;
+        retrievedStreams = new ArrayList<>();
+
+        zosUnixFileMock = Mockito.mock(IZosUNIXFile.class);
+        Mockito.when(zosUnixFileMock.exists()).thenReturn(true);
+        Mockito.when(zosUnixFileMock.getFileName()).thenReturn("messages.log");
+        Mockito.when(zosUnixFileMock.getUnixPath()).thenReturn("/u/liberty/servers/defaultServer/logs/messages.log");
+        Mockito.when(zosUnixFileMock.getSize()).thenAnswer(invocation -> logContent.getBytes(StandardCharsets.UTF_8).length);
+        Mockito.when(zosUnixFileMock.retrieveAsStream()).thenAnswer(invocation -> {
+            TrackingInputStream stream = new TrackingInputStream(logContent.getBytes(StandardCharsets.UTF_8));
+            retrievedStreams.add(stream);
+            return stream;
+        });
+    }
+
+    @Test
+    public void testZosUNIXFileLogIsSeekable() throws Exception {
+        // Given...
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+
+        // Then...
+        assertThat(log.isScannableSeekable()).isTrue();
+        assertThat(log.getScannableSize()).isEqualTo(LOG_BEFORE_CHECKPOINT.length());
+    }
+
+    @Test
+    public void testScannableInputStreamStartsAtTheOffset() throws Exception {
+        // Given...
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+        logContent = LOG_BEFORE_CHECKPOINT + LOG_AFTER_CHECKPOINT;
+
+        // When...
+        String content;
+        try (InputStream stream = log.getScannableInputStream(LOG_BEFORE_CHECKPOINT.length())) {
+            content = IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+
+        // Then...
+        assertThat(content).isEqualTo(LOG_AFTER_CHECKPOINT);
+        assertThat(retrievedStreams).hasSize(1);
+        assertThat(retrievedStreams.get(0).isClosed()).isTrue();
+        Mockito.verify(zosUnixFileMock).setDataType(UNIXFileDataType.BINARY);
+    }
+
+    @Test
+    public void testCheckpointRecordsTheSizeOfTheLog() throws Exception {
+        // Given...
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+
+        // When...
+        long checkpoint = log.checkpoint();
+
+        // Then...
+        assertThat(checkpoint).isEqualTo(LOG_BEFORE_CHECKPOINT.length());
+        assertThat(log.getCheckpoint()).isEqualTo(checkpoint);
+    }
+
+    @Test
+    public void testSearchSinceCheckpointOnlyFindsTextAfterTheCheckpoint() throws Exception {
+        // Given...
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+        log.checkpoint();
+        logContent = LOG_BEFORE_CHECKPOINT + LOG_AFTER_CHECKPOINT;
+
+        // When...
+        String errorSinceCheckpoint = log.searchForTextSinceCheckpoint("SRVE0777E");
+        String readySinceCheckpoint = log.searchForTextSinceCheckpoint("CWWKF0011I");
+
+        // Then...
+        assertThat(errorSinceCheckpoint).isNull();
+        assertThat(readySinceCheckpoint).isEqualTo("CWWKF0011I");
+        assertThat(log.searchForText("SRVE0777E")).isEqualTo("SRVE0777E");
+        assertThat(retrievedStreams).allMatch(TrackingInputStream::isClosed);
+    }
+
+    @Test
+    public void testRetrieveSinceCheckpointReturnsOnlyTheNewText() throws Exception {
+        // Given...
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+        log.checkpoint();
+        logContent = LOG_BEFORE_CHECKPOINT + LOG_AFTER_CHECKPOINT;
+
+        // When...
+        ByteArrayOutputStream sinceCheckpoint = (ByteArrayOutputStream) log.retrieveSinceCheckpoint();
+
+        // Then...
+        assertThat(sinceCheckpoint.toString(StandardCharsets.UTF_8.name())).isEqualTo(LOG_AFTER_CHECKPOINT);
+        assertThat(((ByteArrayOutputStream) log.retrieve()).toString(StandardCharsets.UTF_8.name())).isEqualTo(logContent);
+    }
+
+    @Test
+    public void testRetrieveSinceCheckpointFailsAndClosesTheStreamWhenTheLogIsShorterThanTheCheckpoint() throws Exception {
+        // Given...
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+        log.checkpoint();
+        logContent = "[18/10/26";
+
+        // When...
+        Throwable thrown = catchThrowable(() -> log.retrieveSinceCheckpoint());
+
+        // Then...
+        assertThat(thrown).isInstanceOf(ZosLibertyServerException.class)
+            .hasMessage("Problem retrieving log since last checkpoint");
+        assertThat(thrown.getCause()).hasMessageContaining("Failed to skip " + LOG_BEFORE_CHECKPOINT.length() + " bytes");
+        assertThat(retrievedStreams).hasSize(1);
+        assertThat(retrievedStreams.get(0).isClosed()).isTrue();
+    }
+
+    @Test
+    public void testRetrieveSinceCheckpointReturnsTheTextAddedAfterTheCheckpointWithoutRepeatingIt() throws Exception {
+        // Given...
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+        log.checkpoint();
+        logContent = LOG_BEFORE_CHECKPOINT + LOG_AFTER_CHECKPOINT + LOG_AFTER_CHECKPOINT;
+
+        // When...
+        ByteArrayOutputStream sinceCheckpoint = (ByteArrayOutputStream) log.retrieveSinceCheckpoint();
+
+        // Then...
+        assertThat(sinceCheckpoint.toString(StandardCharsets.UTF_8.name())).isEqualTo(LOG_AFTER_CHECKPOINT + LOG_AFTER_CHECKPOINT);
+    }
+
+    @Test
+    public void testMissingLogIsEmptyAndIsNotRetrieved() throws Exception {
+        // Given...
+        Mockito.when(zosUnixFileMock.exists()).thenReturn(false);
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+
+        // When...
+        long checkpoint = log.checkpoint();
+        String content;
+        try (InputStream stream = log.getScannableInputStream(LOG_BEFORE_CHECKPOINT.length())) {
+            content = IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+
+        // Then...
+        assertThat(checkpoint).isEqualTo(-1);
+        assertThat(log.getScannableSize()).isZero();
+        assertThat(content).isEmpty();
+        assertThat(log.retrieveSinceCheckpoint()).isNull();
+        Mockito.verify(zosUnixFileMock, Mockito.never()).retrieveAsStream();
+    }
+
+    @Test
+    public void testScannableSizeFailureIsReported() throws Exception {
+        // Given...
+        Mockito.when(zosUnixFileMock.getSize()).thenThrow(new ZosUNIXFileException("size failed"));
+        ZosLibertyServerLogImpl log = new ZosLibertyServerLogImpl(zosUnixFileMock, new LogScannerImpl());
+
+        // When...
+        Throwable thrown = catchThrowable(() -> log.getScannableSize());
+
+        // Then...
+        assertThat(thrown).isInstanceOf(TextScanException.class)
+            .hasMessage("Problem finding the size of /u/liberty/servers/defaultServer/logs/messages.log");
+    }
+
+    /**
+     * Log content which remembers whether it has been closed
+     */
+    private static class TrackingInputStream extends ByteArrayInputStream {
+
+        private boolean isClosed = false;
+
+        TrackingInputStream(byte[] content) {
+            super(content);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.isClosed = true;
+            super.close();
+        }
+
+        boolean isClosed() {
+            return this.isClosed;
+        }
+    }
+}
@@ -117,7 +117,8 @@ public interface IZosmf {
     }
     
     /**
-     * Set an HTTP Header for the pending zOSMF request
+     * Set an HTTP Header for the zOSMF requests issued by this object. Requests sent
+     * through an {@link IZosmfRestApiProcessor} carry their own headers instead
      * 
      * @param name header name
      * @param value header value 
@@ -125,7 +126,7 @@ public interface IZosmf {
     public void setHeader(String name, String value);
     
     /**
-     * Clear the existing HTTP Headers ready for the next zOSMF request
+     * Clear the HTTP Headers set for the zOSMF requests issued by this object
      *  
      */
     void clearHeaders();
@@ -64,4 +64,12 @@ public interface IZosmfResponse {
      * @return the request URL
      */
     public URL getRequestUrl();
+
+    /**
+     * Close the response. Content that is streamed from the server holds its connection until
+     * it has been read to the end or the response is closed
+     * @throws ZosmfException
+     */
+    public default void close() throws ZosmfException {
+    }
 }
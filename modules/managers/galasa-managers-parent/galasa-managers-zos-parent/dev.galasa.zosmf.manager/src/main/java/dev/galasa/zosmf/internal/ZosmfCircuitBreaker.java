@@ -0,0 +1,63 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosmf.internal;
+
+/**
+ * Stops requests being sent to a zOSMF server that keeps failing. After
+ * {@link #FAILURE_THRESHOLD} failures in a row the breaker opens and the server
+ * is not used for {@link #OPEN_MILLIS}. After that one trial request is let through,
+ * which closes the breaker if it works and opens it again if it fails.
+ */
+public class ZosmfCircuitBreaker {
+
+    protected static final int FAILURE_THRESHOLD = 3;
+    protected static final long OPEN_MILLIS = 30000;
+
+    private int consecutiveFailures;
+    private long openUntilMillis;
+    private boolean trialInProgress;
+
+    /**
+     * Ask to send a request to the server
+     * @return true if the request can be sent, in which case its outcome must be recorded
+     */
+    public synchronized boolean tryAcquire() {
+        if (this.consecutiveFailures < FAILURE_THRESHOLD) {
+            return true;
+        }
+        if (this.trialInProgress || System.currentTimeMillis() < this.openUntilMillis) {
+            return false;
+        }
+        this.trialInProgress = true;
+        return true;
+    }
+
+    /**
+     * Record a request that worked
+     */
+    public synchronized void recordSuccess() {
+        this.consecutiveFailures = 0;
+        this.trialInProgress = false;
+    }
+
+    /**
+     * Record a request that failed
+     */
+    public synchronized void recordFailure() {
+        this.consecutiveFailures++;
+        this.trialInProgress = false;
+        if (this.consecutiveFailures >= FAILURE_THRESHOLD) {
+            this.openUntilMillis = System.currentTimeMillis() + OPEN_MILLIS;
+        }
+    }
+
+    /**
+     * @return true if requests are not being sent to the server
+     */
+    public synchronized boolean isOpen() {
+        return this.consecutiveFailures >= FAILURE_THRESHOLD;
+    }
+}
@@ -9,11 +9,19 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.validation.constraints.NotNull;
 
@@ -38,11 +46,15 @@ import dev.galasa.zosmf.internal.properties.Https;
 import dev.galasa.zosmf.internal.properties.RequestRetry;
 import dev.galasa.zosmf.internal.properties.ServerCreds;
 import dev.galasa.zosmf.internal.properties.ServerImage;
+import dev.galasa.zosmf.internal.properties.ServerMaxRequests;
 import dev.galasa.zosmf.internal.properties.ServerPort;
 
 /**
  * Implementation of {@link IZosmf}
- *
+ * 
+ * <p>Requests are sent on a pool of HTTP clients, each used by one request at a time,
+ * so the headers of a request are never seen by another. The size of the pool limits
+ * the number of requests in progress on the server.</p>
  */
 public class ZosmfImpl implements IZosmf {
     
@@ -50,14 +62,23 @@ public class ZosmfImpl implements IZosmf {
     
     private static final Log logger = LogFactory.getLog(ZosmfImpl.class);
 
+    public static final Duration DEFAULT_HTTP_CLIENT_TIMEOUT = Duration.ofMinutes(5);
+
     private final ZosmfManagerImpl zosmfManager;
     private final String serverId;
     private IZosImage image;
-    private IHttpClient httpClient;
     private String zosmfUrl;
+    private ICredentials creds;
     protected int requestRetry;
+    protected int maxRequests;
+    protected Duration httpClientTimeout = DEFAULT_HTTP_CLIENT_TIMEOUT;
+
+    private final BlockingQueue<IHttpClient> idleHttpClients = new LinkedBlockingQueue<>();
+    private int httpClientCount;
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final ZosmfCircuitBreaker circuitBreaker = new ZosmfCircuitBreaker();
 
-    private HashMap<String, String> commonHeaders = new HashMap<>();
+    private Map<String, String> commonHeaders = new ConcurrentHashMap<>();
 
 	private static final String PATH_SERVERDETAILS = "/zosmf/info";
 
@@ -87,168 +108,163 @@ public class ZosmfImpl implements IZosmf {
     @Override
     public void clearHeaders() {
         this.commonHeaders.clear();
-        this.httpClient.clearCommonHeaders();
     }
 
     @Override
     public @NotNull IZosmfResponse get(String path, List<Integer> validStatusCodes, boolean convert) throws ZosmfException {
-        String method = ZosmfRequestType.GET.name();
-        if (validStatusCodes == null) {
-            validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
-        }
-        ZosmfResponseImpl zosmfResponse;
-        try {
-            setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
-            zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
-            logger.trace(logRequest(method, zosmfResponse.getRequestUrl()));
-            if (convert) {
-                zosmfResponse.setHttpClientresponse(this.httpClient.getText(validPath(path)));
-            } else {
-                zosmfResponse.setHttpClientresponse(this.httpClient.getFile(validPath(path)));
-            }
-            
-            logger.trace(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
-            if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
-                throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
-            }
-        } catch (MalformedURLException | HttpClientException | IllegalArgumentException e) {
-            logger.error(e);
-            throw new ZosmfException(logBadRequest(method), e);
-        }
-        
-        return zosmfResponse;
+        return validResponse(sendRequest(ZosmfRequestType.GET, path, this.commonHeaders, null, convert), validStatusCodes);
     }
 
     @Override
     public @NotNull IZosmfResponse postJson(String path, JsonObject requestBody, List<Integer> validStatusCodes) throws ZosmfException {
-        String method = ZosmfRequestType.POST.name();
-        if (validStatusCodes == null) {
-            validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
-        }
-        ZosmfResponseImpl zosmfResponse;
-        try {
-            setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
-            zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
-            logger.trace(logRequest(method, zosmfResponse.getRequestUrl()));
-            logger.trace(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.postJson(validPath(path), requestBody));
-            logger.trace(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
-            if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
-                throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
-            }
-        } catch (MalformedURLException | HttpClientException  e) {
-            logger.error(e);
-            throw new ZosmfException(logBadRequest(method), e);
-        }
-        
-        return zosmfResponse;
+        return validResponse(sendRequest(ZosmfRequestType.POST_JSON, path, this.commonHeaders, requestBody, true), validStatusCodes);
     }
 
     @Override
     public @NotNull IZosmfResponse putText(String path, String requestBody, List<Integer> validStatusCodes) throws ZosmfException {
-        String method = ZosmfRequestType.PUT.name();
-        if (validStatusCodes == null) {
-            validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
-        }
-        ZosmfResponseImpl zosmfResponse;
-        try {
-            setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
-            zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
-            logger.trace(logRequest(method, zosmfResponse.getRequestUrl()));
-            logger.trace(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.putText(validPath(path), requestBody));
-            logger.trace(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
-            if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
-                throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
-            }
-        } catch (MalformedURLException | HttpClientException  e) {
-            logger.error(e);
-            throw new ZosmfException(logBadRequest(method), e);
-        }
-        
-        return zosmfResponse;
+        return validResponse(sendRequest(ZosmfRequestType.PUT_TEXT, path, this.commonHeaders, requestBody, true), validStatusCodes);
     }
 
     @Override
     public @NotNull IZosmfResponse putJson(String path, JsonObject requestBody, List<Integer> validStatusCodes) throws ZosmfException {
-        String method = ZosmfRequestType.PUT.name();
-        if (validStatusCodes == null) {
-            validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
-        }
-        ZosmfResponseImpl zosmfResponse;
-        try {
-            setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
-            zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
-            logger.trace(logRequest(method, zosmfResponse.getRequestUrl()));
-            logger.trace(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.putJson(validPath(path), requestBody));
-            logger.trace(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
-            if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
-                throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
-            }
-        } catch (MalformedURLException | HttpClientException  e) {
-            logger.error(e);
-            throw new ZosmfException(logBadRequest(method), e);
-        }
-        
-        return zosmfResponse;
+        return validResponse(sendRequest(ZosmfRequestType.PUT_JSON, path, this.commonHeaders, requestBody, true), validStatusCodes);
     }
 
     @Override
     public @NotNull IZosmfResponse putBinary(String path, byte[] requestBody, List<Integer> validStatusCodes) throws ZosmfException  {
-        String method = ZosmfRequestType.PUT.name();
-        if (validStatusCodes == null) {
-            validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
-        }
-        ZosmfResponseImpl zosmfResponse;
+        return validResponse(sendRequest(ZosmfRequestType.PUT_BINARY, path, this.commonHeaders, requestBody, true), validStatusCodes);
+    }
+
+    @Override
+    public @NotNull IZosmfResponse delete(String path, List<Integer> validStatusCodes) throws ZosmfException {
+        return validResponse(sendRequest(ZosmfRequestType.DELETE, path, this.commonHeaders, null, true), validStatusCodes);
+    }
 
+    /**
+     * Send a request to the zOSMF server with its own headers. The request waits for an HTTP client
+     * if the server already has the maximum number of requests in progress. A GET without data
+     * conversion streams its content, and holds its HTTP client until the content has been read
+     * to the end or closed.
+     * @param requestType the request type
+     * @param path identifies the zOSMF REST API
+     * @param headers the headers of this request
+     * @param body the request body, or null
+     * @param convert for a GET, is data conversion required
+     * @return the zOSMF server response, whatever its status code
+     * @throws ZosmfException if the request could not be sent
+     */
+    protected @NotNull IZosmfResponse sendRequest(ZosmfRequestType requestType, String path, Map<String, String> headers, Object body, boolean convert) throws ZosmfException {
+        String method = requestedMethod(requestType);
+        this.outstandingRequests.incrementAndGet();
+        IHttpClient httpClient;
+        try {
+            httpClient = borrowHttpClient();
+        } catch (ZosmfException | RuntimeException e) {
+            this.outstandingRequests.decrementAndGet();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releaseHttpClient = () -> {
+            if (released.compareAndSet(false, true)) {
+                this.idleHttpClients.add(httpClient);
+                this.outstandingRequests.decrementAndGet();
+            }
+        };
+        boolean streaming = false;
         try {
-            setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
-            zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
+            ZosmfResponseImpl zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
+            setHeaders(httpClient, headers, method);
             logger.trace(logRequest(method, zosmfResponse.getRequestUrl()));
-            logger.trace(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.putBinary(path, requestBody));
-            logger.trace(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
-            if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
-                throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
+            if (body != null) {
+                logger.trace(LOG_BODY + body);
+            }
+            switch (requestType) {
+            case GET:
+                if (convert) {
+                    zosmfResponse.setHttpClientresponse(httpClient.getText(validPath(path)));
+                } else {
+                    zosmfResponse.setHttpClientresponse(httpClient.getFile(validPath(path)), releaseHttpClient);
+                    streaming = true;
+                }
+                break;
+            case POST_JSON:
+                zosmfResponse.setHttpClientresponse(httpClient.postJson(validPath(path), (JsonObject) body));
+                break;
+            case PUT_TEXT:
+                zosmfResponse.setHttpClientresponse(httpClient.putText(validPath(path), (String) body));
+                break;
+            case PUT_JSON:
+                zosmfResponse.setHttpClientresponse(httpClient.putJson(validPath(path), (JsonObject) body));
+                break;
+            case PUT_BINARY:
+                zosmfResponse.setHttpClientresponse(httpClient.putBinary(validPath(path), (byte[]) body));
+                break;
+            default:
+                zosmfResponse.setHttpClientresponse(httpClient.deleteJson(validPath(path)));
+                break;
             }
-        } catch (MalformedURLException | HttpClientException  e) {
+            logger.trace(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
+            return zosmfResponse;
+        } catch (MalformedURLException | HttpClientException | IllegalArgumentException e) {
             logger.error(e);
             throw new ZosmfException(logBadRequest(method), e);
+        } finally {
+            if (!streaming) {
+                releaseHttpClient.run();
+            }
         }
+    }
 
-        return zosmfResponse;
+    /**
+     * @param requestType the request type
+     * @return the HTTP method of the request type
+     * @throws ZosmfException if the request type is not supported
+     */
+    protected static String requestedMethod(ZosmfRequestType requestType) throws ZosmfException {
+        switch (requestType) {
+        case GET:
+            return ZosmfRequestType.GET.name();
+        case POST_JSON:
+            return ZosmfRequestType.POST.name();
+        case PUT_TEXT:
+        case PUT_JSON:
+        case PUT_BINARY:
+            return ZosmfRequestType.PUT.name();
+        case DELETE:
+            return ZosmfRequestType.DELETE.name();
+        default:
+            throw new ZosmfException("Invalid request type");
+        }
     }
 
-    @Override
-    public @NotNull IZosmfResponse delete(String path, List<Integer> validStatusCodes) throws ZosmfException {
-        String method = ZosmfRequestType.DELETE.name();
+    protected IZosmfResponse validResponse(IZosmfResponse zosmfResponse, List<Integer> validStatusCodes) throws ZosmfException {
         if (validStatusCodes == null) {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
-        ZosmfResponseImpl zosmfResponse;
-        try {
-            setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
-            zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
-            logger.trace(logRequest(method, zosmfResponse.getRequestUrl()));
-            zosmfResponse.setHttpClientresponse(this.httpClient.deleteJson(validPath(path)));
-            logger.trace(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
-            if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
-                throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
+        if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
+            ZosmfException badStatusCode = new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
+            // A streamed response holds its HTTP client until it is closed
+            try {
+                zosmfResponse.close();
+            } catch (ZosmfException e) {
+                badStatusCode.addSuppressed(e);
             }
-        } catch (MalformedURLException | HttpClientException  e) {
-            throw new ZosmfException(logBadRequest(method), e);
+            throw badStatusCode;
         }
-        
         return zosmfResponse;
     }
 
+    /**
+     * @return the number of requests in progress or waiting for an HTTP client
+     */
+    protected int getOutstandingRequests() {
+        return this.outstandingRequests.get();
+    }
+
+    protected ZosmfCircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+
     @Override
 	public @NotNull JsonObject serverInfo() throws ZosmfException {
         return get(PATH_SERVERDETAILS, null, false).getJsonContent();
@@ -293,48 +309,89 @@ public class ZosmfImpl implements IZosmf {
         
         this.zosmfUrl = scheme + "://" + zosmfHostname + ":" + zosmfPort;
 
-        this.httpClient = this.zosmfManager.getHttpManager().newHttpClient();
-        
         try {
-            ICredentials creds = null;
             String credsId = ServerCreds.get(this.serverId);
             if (credsId != null) {
                 try {
-                    creds = this.zosmfManager.getFramework().getCredentialsService().getCredentials(credsId);
+                    this.creds = this.zosmfManager.getFramework().getCredentialsService().getCredentials(credsId);
                 } catch (CredentialsException e) {
                     throw new ZosmfException("Problem accessing credentials store", e);
                 }
             }
             
-            if (creds == null) {
-                creds = image.getDefaultCredentials();
-            }
-
-            this.httpClient.setURI(new URI(this.zosmfUrl));
-            if (creds instanceof ICredentialsUsernamePassword) {
-                this.httpClient.setAuthorisation(((ICredentialsUsernamePassword) creds).getUsername(), ((ICredentialsUsernamePassword) creds).getPassword());
+            if (this.creds == null) {
+                this.creds = image.getDefaultCredentials();
             }
-            if (scheme.equals("https")) {
-                this.httpClient.setTrustingSSLContext();
-            }
-            this.httpClient.build();
-        } catch (HttpClientException | ZosManagerException | URISyntaxException e) {
+        } catch (ZosManagerException e) {
             throw new ZosmfException("Unable to create HTTP Client", e);
         }
         
         try {
             this.requestRetry = RequestRetry.get(this.serverId);
+            this.maxRequests = ServerMaxRequests.get(this.serverId);
         } catch (ZosManagerException e) {
             throw new ZosmfException(e);
         }
+
+        this.idleHttpClients.add(newHttpClient());
+        this.httpClientCount = 1;
+    }
+
+    protected IHttpClient newHttpClient() throws ZosmfException {
+        IHttpClient httpClient = this.zosmfManager.getHttpManager().newHttpClient();
+        try {
+            httpClient.setURI(new URI(this.zosmfUrl));
+            if (this.creds instanceof ICredentialsUsernamePassword) {
+                httpClient.setAuthorisation(((ICredentialsUsernamePassword) this.creds).getUsername(), ((ICredentialsUsernamePassword) this.creds).getPassword());
+            }
+            if (this.zosmfUrl.startsWith("https")) {
+                httpClient.setTrustingSSLContext();
+            }
+            httpClient.build();
+        } catch (HttpClientException | URISyntaxException e) {
+            throw new ZosmfException("Unable to create HTTP Client", e);
+        }
+        return httpClient;
     }
 
-    protected void addCommonHeaders() {
-        for (Entry<String, String> entry : this.commonHeaders.entrySet()) {
+    /**
+     * Take an idle HTTP client, creating one if the server has fewer than the maximum
+     * number, otherwise waiting for one to be returned
+     * @return the HTTP client, to be returned to the idle queue when the request is complete
+     * @throws ZosmfException if no HTTP client was returned within the timeout
+     */
+    protected IHttpClient borrowHttpClient() throws ZosmfException {
+        IHttpClient httpClient = this.idleHttpClients.poll();
+        if (httpClient != null) {
+            return httpClient;
+        }
+        synchronized (this) {
+            if (this.httpClientCount < this.maxRequests) {
+                httpClient = newHttpClient();
+                this.httpClientCount++;
+                return httpClient;
+            }
+        }
+        try {
+            httpClient = this.idleHttpClients.poll(this.httpClientTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZosmfException("Interrupted waiting for an HTTP client for zOSMF server " + this.serverId, e);
+        }
+        if (httpClient == null) {
+            throw new ZosmfException("Timed out after " + this.httpClientTimeout.getSeconds() + " seconds waiting for an HTTP client for zOSMF server " + this.serverId);
+        }
+        return httpClient;
+    }
+
+    protected void setHeaders(IHttpClient httpClient, Map<String, String> headers, String method) {
+        httpClient.clearCommonHeaders();
+        Map<String, String> requestHeaders = new HashMap<>(headers);
+        requestHeaders.put(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
+        for (Entry<String, String> entry : requestHeaders.entrySet()) {
             logger.trace("Adding HTTP header: " + entry.getKey() + ": " + entry.getValue());
-            this.httpClient.addCommonHeader(entry.getKey(), entry.getValue());
+            httpClient.addCommonHeader(entry.getKey(), entry.getValue());
         }
-        
     }
 
     protected String logRequest(String method, URL requestUrl) {
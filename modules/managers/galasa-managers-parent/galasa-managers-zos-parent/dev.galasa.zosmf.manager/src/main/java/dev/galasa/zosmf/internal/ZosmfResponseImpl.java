@@ -5,11 +5,13 @@
  */
 package dev.galasa.zosmf.internal;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -39,7 +41,11 @@ public class ZosmfResponseImpl implements IZosmfResponse {
         } else if (this.content instanceof byte[]) {
             return new JsonParser().parse(new String((byte[]) this.content)).getAsJsonObject();
         } else if (this.content instanceof InputStream) {
-            return new JsonParser().parse(new InputStreamReader((InputStream) this.content)).getAsJsonObject();
+            try (InputStreamReader reader = new InputStreamReader((InputStream) this.content)) {
+                return new JsonParser().parse(reader).getAsJsonObject();
+            } catch (IOException e) {
+                throw new ZosmfException("Could not close response", e);
+            }
         } else if (content instanceof JsonObject) {
             return (JsonObject) this.content;
         }
@@ -54,7 +60,11 @@ public class ZosmfResponseImpl implements IZosmfResponse {
         } else if (this.content instanceof byte[]) {
             return new JsonParser().parse(new String((byte[]) this.content)).getAsJsonArray();
         } else if (this.content instanceof InputStream) {
-            return new JsonParser().parse(new InputStreamReader((InputStream) this.content)).getAsJsonArray();
+            try (InputStreamReader reader = new InputStreamReader((InputStream) this.content)) {
+                return new JsonParser().parse(reader).getAsJsonArray();
+            } catch (IOException e) {
+                throw new ZosmfException("Could not close response", e);
+            }
         }
         
         throw new ZosmfException("Content not a JsonArray Object - " + content.getClass().getName());
@@ -94,14 +104,91 @@ public class ZosmfResponseImpl implements IZosmfResponse {
         this.statusLine = httpClientResponse.getStatusLine();
     }
 
-    protected void setHttpClientresponse(CloseableHttpResponse httpClientResponse) throws ZosmfException{
+    /**
+     * Set a response whose content is streamed from the server. The content is an input stream
+     * that closes the response, and runs the release action, when it is read to the end or closed.
+     * @param httpClientResponse the response
+     * @param release run once when the content is no longer being read
+     * @throws ZosmfException
+     */
+    protected void setHttpClientresponse(CloseableHttpResponse httpClientResponse, Runnable release) throws ZosmfException{
         try{
-            this.content = httpClientResponse.getEntity().getContent();
+            this.content = new ReleasingInputStream(httpClientResponse, release);
             this.statusCode = httpClientResponse.getStatusLine().getStatusCode();
             this.statusLine = httpClientResponse.getStatusLine().getReasonPhrase();
         } catch (IOException e) {
+            try {
+                httpClientResponse.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
             throw new ZosmfException("Could not retrieve response", e);
         }
     }
 
+    @Override
+    public void close() throws ZosmfException {
+        if (this.content instanceof InputStream) {
+            try {
+                ((InputStream) this.content).close();
+            } catch (IOException e) {
+                throw new ZosmfException("Could not close response", e);
+            }
+        }
+    }
+
+    /**
+     * The content of a streamed response, which holds the HTTP client that is receiving it
+     * until it has been read to the end or closed
+     */
+    protected static class ReleasingInputStream extends FilterInputStream {
+
+        private final CloseableHttpResponse httpClientResponse;
+        private final Runnable release;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        protected ReleasingInputStream(CloseableHttpResponse httpClientResponse, Runnable release) throws IOException {
+            super(httpClientResponse.getEntity().getContent());
+            this.httpClientResponse = httpClientResponse;
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                release();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count == -1) {
+                release();
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        private void release() throws IOException {
+            if (this.released.compareAndSet(false, true)) {
+                try {
+                    this.httpClientResponse.close();
+                } finally {
+                    this.release.run();
+                }
+            }
+        }
+    }
+
 }
@@ -8,11 +8,9 @@ package dev.galasa.zosmf.internal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.validation.constraints.NotNull;
 
@@ -20,8 +18,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpStatus;
 
-import com.google.gson.JsonObject;
-
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosmf.IZosmf;
 import dev.galasa.zosmf.IZosmf.ZosmfCustomHeaders;
@@ -31,19 +27,24 @@ import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.ZosmfException;
 import dev.galasa.zosmf.ZosmfManagerException;
 
+/**
+ * Sends zOSMF requests to the zOSMF servers of an image, and can be used by many threads at once.
+ * Each request goes to the server with the fewest requests in progress, skipping servers whose
+ * circuit breaker is open unless no other server is available. A failed request is retried on
+ * a server it has not yet been sent to, where there is one.
+ */
 public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
     
-    private IZosmf currentZosmf;
-    private String currentZosmfImageId;
+    private final List<ZosmfImpl> zosmfs = new ArrayList<>();
     
-    private final HashMap<String, IZosmf> zosmfs = new LinkedHashMap<>();
+    private final AtomicInteger nextZosmf = new AtomicInteger();
     
     private static final Log logger = LogFactory.getLog(ZosmfRestApiProcessor.class);
     
     public ZosmfRestApiProcessor(Map<String, IZosmf> zosmfs) {
-        this.zosmfs.putAll(zosmfs);
-        this.currentZosmfImageId = this.zosmfs.entrySet().iterator().next().getKey();
-        this.currentZosmf = this.zosmfs.get(this.currentZosmfImageId);
+        for (IZosmf zosmf : zosmfs.values()) {
+            this.zosmfs.add((ZosmfImpl) zosmf);
+        }
     }
     
     
@@ -61,78 +62,70 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
         if (validStatusCodes == null) {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
-        IZosmfResponse response = null;
-        for (int i = 0; i <= ((ZosmfImpl) currentZosmf).getRequestRetry(); i++) {
+        // Reject request types that cannot be sent before using any server
+        ZosmfImpl.requestedMethod(requestType);
+        HashMap<String, String> requestHeaders = new HashMap<>();
+        if (headers != null) {
+            requestHeaders.putAll(headers);
+        }
+        requestHeaders.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
+
+        List<ZosmfImpl> tried = new ArrayList<>();
+        for (int i = 0; i <= this.zosmfs.get(0).getRequestRetry(); i++) {
+            ZosmfImpl zosmfServer = selectZosmfServer(tried);
+            tried.add(zosmfServer);
+            // The outcome is recorded whatever is thrown, so a trial request cannot leave the breaker stuck
+            boolean failed = true;
             try {
-                IZosmf zosmfServer = getCurrentZosmfServer();
-                if (headers != null) {
-                    for (Entry<String, String> entry : headers.entrySet()) {
-                        zosmfServer.setHeader(entry.getKey(), entry.getValue());
-                    }
-                }
-                zosmfServer.setHeader(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
-                switch (requestType) {
-                case GET:
-                    response = zosmfServer.get(path, validStatusCodes, convert);
-                    break;
-                case POST_JSON:
-                    response = zosmfServer.postJson(path, (JsonObject) body, validStatusCodes);
-                    break;
-                case PUT_TEXT:
-                    response = zosmfServer.putText(path, (String) body, validStatusCodes);
-                    break;
-                case PUT_JSON:
-                    response = zosmfServer.putJson(path, (JsonObject) body, validStatusCodes);
-                    break;
-                case PUT_BINARY:
-                    response = zosmfServer.putBinary(path, (byte[]) body, validStatusCodes);
-                    break;
-                case DELETE:
-                    response = zosmfServer.delete(path, validStatusCodes);
-                    break;
-                default:
-                    throw new ZosmfException("Invalid request type");
-                }
-    
+                logger.trace("Using zOSMF on " + zosmfServer);
+                IZosmfResponse response = zosmfServer.sendRequest(requestType, path, requestHeaders, body, convert);
                 if (validStatusCodes.contains(response.getStatusCode())) {
+                    failed = false;
                     return response;
-                } else {
-                    logger.error("Expected HTTP status codes: " + validStatusCodes);
-                    getNextZosmf();
                 }
+                failed = response.getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+                logger.error("Expected HTTP status codes: " + validStatusCodes);
+                response.close();
             } catch (ZosmfManagerException e) {
                 logger.error("Problem with zOSMF request", e);
-                getNextZosmf();
+            } finally {
+                if (failed) {
+                    zosmfServer.getCircuitBreaker().recordFailure();
+                } else {
+                    zosmfServer.getCircuitBreaker().recordSuccess();
+                }
             }
         }
         throw new ZosmfException("Unable to get valid response from zOS/MF server");
     }
-    
-    protected IZosmf getCurrentZosmfServer() {
-        logger.trace("Using zOSMF on " + this.currentZosmf);
-        this.currentZosmf.clearHeaders();
-        return this.currentZosmf;
-    }
 
-    protected void getNextZosmf() {
-        if (this.zosmfs.size() == 1) {
-            logger.debug("Only one zOSMF server available");
-            return;
+    /**
+     * Choose the zOSMF server for a request, preferring servers the request has not been sent
+     * to, then servers with fewer requests in progress. Servers with equal counts take turns.
+     * @param tried the servers the request has already been sent to
+     * @return the server
+     */
+    protected ZosmfImpl selectZosmfServer(List<ZosmfImpl> tried) {
+        int size = this.zosmfs.size();
+        int start = Math.floorMod(this.nextZosmf.getAndIncrement(), size);
+        List<ZosmfImpl> servers = new ArrayList<>(size);
+        List<Integer> loads = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ZosmfImpl zosmf = this.zosmfs.get((start + i) % size);
+            int load = zosmf.getOutstandingRequests() + (tried.contains(zosmf) ? Integer.MAX_VALUE / 2 : 0);
+            int position = 0;
+            while (position < loads.size() && loads.get(position) <= load) {
+                position++;
+            }
+            servers.add(position, zosmf);
+            loads.add(position, load);
         }
-        Iterator<Entry<String, IZosmf>> zosmfsIterator = this.zosmfs.entrySet().iterator();
-        while (zosmfsIterator.hasNext()) {
-            if (zosmfsIterator.next().getKey().equals(this.currentZosmfImageId)) {
-                Entry<String, IZosmf> entry;
-                if (zosmfsIterator.hasNext()) {
-                    entry = zosmfsIterator.next();
-                } else {
-                    entry = this.zosmfs.entrySet().iterator().next();
-                }
-                this.currentZosmfImageId = entry.getKey();
-                this.currentZosmf = this.zosmfs.get(this.currentZosmfImageId);
-                return;
+        for (ZosmfImpl zosmf : servers) {
+            if (zosmf.getCircuitBreaker().tryAcquire()) {
+                return zosmf;
             }
         }
-        logger.debug("No alternate zOSMF server available");
+        logger.debug("No zOSMF server available with a closed circuit breaker, using " + servers.get(0));
+        return servers.get(0);
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosmf.internal.properties;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zosmf.ZosmfManagerException;
+
+/**
+ * zOSMF Server maximum concurrent requests
+ *
+ * @galasa.cps.property
+ *
+ * @galasa.name zosmf.server.[SERVERID].max.requests
+ *
+ * @galasa.description The maximum number of requests a test will have in progress at the same time on the zOSMF server
+ *
+ * @galasa.required No
+ *
+ * @galasa.default 5
+ *
+ * @galasa.valid_values numerical value > 0
+ *
+ * @galasa.examples
+ * <code>zosmf.server.max.requests=10</code><br>
+ * <code>zosmf.server.MFSYSA.max.requests=10</code>
+ *
+ */
+public class ServerMaxRequests extends CpsProperties {
+
+    private static final String DEFAULT_MAX_REQUESTS = "5";
+
+    public static int get(@NotNull String serverId) throws ZosmfManagerException {
+        String maxRequestsString = getStringWithDefault(ZosmfPropertiesSingleton.cps(), DEFAULT_MAX_REQUESTS, "server", "max.requests", serverId);
+        try {
+            int maxRequests = Integer.parseInt(maxRequestsString);
+            if (maxRequests < 1) {
+                throw new ZosmfManagerException("Invalid value given for zosmf.server.*.max.requests '" + maxRequestsString + "'");
+            }
+            return maxRequests;
+        } catch(NumberFormatException e) {
+            throw new ZosmfManagerException("Invalid value given for zosmf.server.*.max.requests '" + maxRequestsString + "'", e);
+        }
+    }
+
+}
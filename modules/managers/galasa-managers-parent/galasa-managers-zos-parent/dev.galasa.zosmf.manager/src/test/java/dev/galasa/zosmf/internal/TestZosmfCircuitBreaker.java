@@ -0,0 +1,40 @@
+/*
+ * Copyright contributors to the Galasa project
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package dev.galasa.zosmf.internal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestZosmfCircuitBreaker {
+
+    @Test
+    public void testBreakerOpensAfterConsecutiveFailures() {
+        ZosmfCircuitBreaker circuitBreaker = new ZosmfCircuitBreaker();
+        for (int i = 1; i < ZosmfCircuitBreaker.FAILURE_THRESHOLD; i++) {
+            circuitBreaker.recordFailure();
+        }
+        Assert.assertTrue("tryAcquire() should return true", circuitBreaker.tryAcquire());
+
+        circuitBreaker.recordFailure();
+
+        Assert.assertTrue("isOpen() should return true", circuitBreaker.isOpen());
+        Assert.assertFalse("tryAcquire() should return false", circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void testSuccessResetsFailures() {
+        ZosmfCircuitBreaker circuitBreaker = new ZosmfCircuitBreaker();
+        for (int i = 1; i < ZosmfCircuitBreaker.FAILURE_THRESHOLD; i++) {
+            circuitBreaker.recordFailure();
+        }
+
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+
+        Assert.assertFalse("isOpen() should return false", circuitBreaker.isOpen());
+        Assert.assertTrue("tryAcquire() should return true", circuitBreaker.tryAcquire());
+    }
+}
@@ -7,9 +7,13 @@ package dev.galasa.zosmf.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
@@ -32,6 +36,7 @@ import com.google.gson.JsonObject;
 import dev.galasa.ICredentials;
 import dev.galasa.ICredentialsToken;
 import dev.galasa.ICredentialsUsernamePassword;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.creds.CredentialsException;
 import dev.galasa.framework.spi.creds.ICredentialsService;
@@ -42,6 +47,7 @@ import dev.galasa.http.spi.IHttpManagerSpi;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.internal.ZosManagerImpl;
+import dev.galasa.zos.spi.IZosManagerSpi;
 import dev.galasa.zosmf.IZosmfResponse;
 import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.ZosmfException;
@@ -52,6 +58,7 @@ import dev.galasa.zosmf.internal.properties.ServerCreds;
 import dev.galasa.zosmf.internal.properties.ServerImage;
 import dev.galasa.zosmf.internal.properties.ServerPort;
 import dev.galasa.zosmf.internal.properties.SysplexServers;
+import dev.galasa.zosmf.internal.properties.ZosmfPropertiesSingleton;
 
 //@RunWith(PowerMockRunner.class)
 //@PrepareForTest({SysplexServers.class, ServerImage.class, ServerCreds.class, ServerPort.class, Https.class, RequestRetry.class})
@@ -592,4 +599,96 @@ public class TestZosmfImpl {
 //        });
 //    	Assert.assertEquals("exception should contain expected message", expectedMessage, expectedException.getCause().getMessage());
 //    }
+
+    private static final String SERVER_ID = "SERVER";
+
+    private static final String STREAMED_PATH = "/streamed-path";
+
+    private AtomicInteger streamedStatusCode;
+
+    private List<IHttpClient> httpClientsCreated;
+
+    private ZosmfImpl newZosmf() throws Exception {
+        new ZosmfPropertiesSingleton().activate();
+        ZosmfPropertiesSingleton.setCps(Mockito.mock(IConfigurationPropertyStoreService.class));
+
+        IZosImage zosImageMock = Mockito.mock(IZosImage.class);
+        Mockito.when(zosImageMock.getImageID()).thenReturn("IMAGE");
+        Mockito.when(zosImageMock.getDefaultHostname()).thenReturn("hostname");
+        Mockito.when(zosImageMock.getDefaultCredentials()).thenReturn(Mockito.mock(ICredentialsUsernamePassword.class));
+        IZosManagerSpi zosManagerMock = Mockito.mock(IZosManagerSpi.class);
+        Mockito.when(zosManagerMock.getUnmanagedImage(Mockito.anyString())).thenReturn(zosImageMock);
+
+        streamedStatusCode = new AtomicInteger(HttpStatus.SC_OK);
+        httpClientsCreated = new ArrayList<>();
+        IHttpManagerSpi httpManagerMock = Mockito.mock(IHttpManagerSpi.class);
+        Mockito.when(httpManagerMock.newHttpClient()).thenAnswer(invocation -> {
+            IHttpClient httpClientMock = Mockito.mock(IHttpClient.class);
+            Mockito.when(httpClientMock.getFile(Mockito.anyString())).thenAnswer(getFile -> newStreamedResponseMock(streamedStatusCode.get()));
+            httpClientsCreated.add(httpClientMock);
+            return httpClientMock;
+        });
+
+        ZosmfManagerImpl zosmfManagerMock = Mockito.mock(ZosmfManagerImpl.class);
+        Mockito.when(zosmfManagerMock.getZosManager()).thenReturn(zosManagerMock);
+        Mockito.when(zosmfManagerMock.getHttpManager()).thenReturn(httpManagerMock);
+
+        ZosmfImpl zosmf = new ZosmfImpl(zosmfManagerMock, SERVER_ID);
+        zosmf.httpClientTimeout = Duration.ofSeconds(2);
+        return zosmf;
+    }
+
+    private CloseableHttpResponse newStreamedResponseMock(int statusCode) throws IOException {
+        CloseableHttpResponse closeableHttpResponseMock = Mockito.mock(CloseableHttpResponse.class);
+        HttpEntity httpEntityMock = Mockito.mock(HttpEntity.class);
+        StatusLine statusLineMock = Mockito.mock(StatusLine.class);
+        Mockito.when(closeableHttpResponseMock.getEntity()).thenReturn(httpEntityMock);
+        Mockito.when(httpEntityMock.getContent()).thenReturn(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+        Mockito.when(closeableHttpResponseMock.getStatusLine()).thenReturn(statusLineMock);
+        Mockito.when(statusLineMock.getStatusCode()).thenReturn(statusCode);
+        return closeableHttpResponseMock;
+    }
+
+    @Test
+    public void testStreamedResponsesWithUnexpectedStatusCodesDoNotKeepTheirHttpClients() throws Exception {
+        ZosmfImpl zosmf = newZosmf();
+        streamedStatusCode.set(HttpStatus.SC_NOT_FOUND);
+
+        for (int i = 0; i < zosmf.maxRequests + 1; i++) {
+            ZosmfException expectedException = Assert.assertThrows("expected exception should be thrown", ZosmfException.class, ()->{
+                zosmf.get(STREAMED_PATH, null, false);
+            });
+            Assert.assertEquals("exception should contain expected message", "Unexpected HTTP status code: 404", expectedException.getMessage());
+        }
+
+        streamedStatusCode.set(HttpStatus.SC_OK);
+        IZosmfResponse response = zosmf.get(STREAMED_PATH, null, false);
+
+        Assert.assertEquals("get() should return the expected value", HttpStatus.SC_OK, response.getStatusCode());
+        Assert.assertEquals("the rejected responses should have given back their HTTP clients", 1, zosmf.getOutstandingRequests());
+        Assert.assertEquals("the HTTP clients should be reused", 1, httpClientsCreated.size());
+        response.close();
+    }
+
+    @Test
+    public void testWaitForAnHttpClientTimesOut() throws Exception {
+        ZosmfImpl zosmf = newZosmf();
+        zosmf.httpClientTimeout = Duration.ofSeconds(1);
+        List<IZosmfResponse> unreadResponses = new ArrayList<>();
+        for (int i = 0; i < zosmf.maxRequests; i++) {
+            unreadResponses.add(zosmf.get(STREAMED_PATH, null, false));
+        }
+
+        ZosmfException expectedException = Assert.assertThrows("expected exception should be thrown", ZosmfException.class, ()->{
+            zosmf.get(STREAMED_PATH, null, false);
+        });
+
+        Assert.assertEquals("exception should contain expected message", "Timed out after 1 seconds waiting for an HTTP client for zOSMF server " + SERVER_ID, expectedException.getMessage());
+        Assert.assertEquals("the timed out request should not be left outstanding", zosmf.maxRequests, zosmf.getOutstandingRequests());
+
+        unreadResponses.get(0).close();
+        IZosmfResponse response = zosmf.get(STREAMED_PATH, null, false);
+        Assert.assertEquals("get() should use the HTTP client given back", HttpStatus.SC_OK, response.getStatusCode());
+        Assert.assertEquals("no more HTTP clients should be created", zosmf.maxRequests, httpClientsCreated.size());
+    }
 }
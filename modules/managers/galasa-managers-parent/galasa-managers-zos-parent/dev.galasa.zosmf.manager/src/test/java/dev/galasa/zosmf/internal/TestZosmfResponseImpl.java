@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
@@ -183,4 +184,48 @@ public class TestZosmfResponseImpl {
 //    public void testGetRequestUrl() throws ZosmfException, MalformedURLException {
 //        Assert.assertTrue("getRequestUrl() should return the expected value", new URL(URL + PATH).equals(zosmfResponseSpy.getRequestUrl()));
 //    }
+
+    private static final String STREAMED_CONTENT = "streamed content";
+
+    private CloseableHttpResponse newStreamedResponseMock() throws IOException {
+        CloseableHttpResponse closeableHttpResponseMock = Mockito.mock(CloseableHttpResponse.class);
+        HttpEntity httpEntityMock = Mockito.mock(HttpEntity.class);
+        StatusLine statusLineMock = Mockito.mock(StatusLine.class);
+        Mockito.when(closeableHttpResponseMock.getEntity()).thenReturn(httpEntityMock);
+        Mockito.when(httpEntityMock.getContent()).thenReturn(new ByteArrayInputStream(STREAMED_CONTENT.getBytes(StandardCharsets.UTF_8)));
+        Mockito.when(closeableHttpResponseMock.getStatusLine()).thenReturn(statusLineMock);
+        Mockito.when(statusLineMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        return closeableHttpResponseMock;
+    }
+
+    @Test
+    public void testStreamedResponseIsReleasedWhenReadToTheEnd() throws Exception {
+        CloseableHttpResponse closeableHttpResponseMock = newStreamedResponseMock();
+        AtomicInteger releases = new AtomicInteger();
+        ZosmfResponseImpl zosmfResponse = new ZosmfResponseImpl("http://host:1234", "/path");
+
+        zosmfResponse.setHttpClientresponse(closeableHttpResponseMock, releases::incrementAndGet);
+        Assert.assertEquals("the HTTP client should be held until the content is read", 0, releases.get());
+
+        InputStream content = (InputStream) zosmfResponse.getContent();
+        Assert.assertEquals("getContent() should return the expected value", STREAMED_CONTENT, IOUtils.toString(content, StandardCharsets.UTF_8));
+        Assert.assertEquals("the HTTP client should be released at the end of the content", 1, releases.get());
+        Mockito.verify(closeableHttpResponseMock).close();
+
+        content.close();
+        Assert.assertEquals("the HTTP client should only be released once", 1, releases.get());
+    }
+
+    @Test
+    public void testStreamedResponseIsReleasedWhenClosed() throws Exception {
+        CloseableHttpResponse closeableHttpResponseMock = newStreamedResponseMock();
+        AtomicInteger releases = new AtomicInteger();
+        ZosmfResponseImpl zosmfResponse = new ZosmfResponseImpl("http://host:1234", "/path");
+        zosmfResponse.setHttpClientresponse(closeableHttpResponseMock, releases::incrementAndGet);
+
+        zosmfResponse.close();
+
+        Assert.assertEquals("the HTTP client should be released when the content is closed", 1, releases.get());
+        Mockito.verify(closeableHttpResponseMock).close();
+    }
 }
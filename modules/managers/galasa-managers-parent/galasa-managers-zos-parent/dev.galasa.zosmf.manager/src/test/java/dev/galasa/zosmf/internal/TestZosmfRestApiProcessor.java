@@ -9,11 +9,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.http.HttpStatus;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 //import org.powermock.api.mockito.PowerMockito;
@@ -149,4 +153,139 @@ public class TestZosmfRestApiProcessor {
 //        zosmfRestApiProcessorSpy.getNextZosmf();
 //        Assert.assertEquals("getNextZosmf() should set the expected value", zosmfMock1, Whitebox.getInternalState(zosmfRestApiProcessorSpy, "currentZosmf"));
 //    }
+
+    private ZosmfRestApiProcessor processor;
+
+    private ZosmfImpl zosmf1;
+
+    private ZosmfImpl zosmf2;
+
+    private List<ZosmfImpl> serversUsed;
+
+    private static final String REQUEST_PATH = "request-path";
+
+    @Before
+    public void setup() throws Exception {
+        serversUsed = new ArrayList<>();
+        zosmf1 = newZosmfMock(HttpStatus.SC_OK);
+        zosmf2 = newZosmfMock(HttpStatus.SC_OK);
+        Map<String, IZosmf> servers = new LinkedHashMap<>();
+        servers.put("SERVER1", zosmf1);
+        servers.put("SERVER2", zosmf2);
+        processor = new ZosmfRestApiProcessor(servers);
+    }
+
+    private ZosmfImpl newZosmfMock(int statusCode) throws Exception {
+        ZosmfImpl zosmfMock = Mockito.mock(ZosmfImpl.class);
+        Mockito.when(zosmfMock.getRequestRetry()).thenReturn(3);
+        Mockito.when(zosmfMock.getCircuitBreaker()).thenReturn(new ZosmfCircuitBreaker());
+        mockResponse(zosmfMock, statusCode);
+        return zosmfMock;
+    }
+
+    private void mockResponse(ZosmfImpl zosmfMock, int statusCode) throws Exception {
+        Mockito.doAnswer(invocation -> {
+            serversUsed.add(zosmfMock);
+            IZosmfResponse responseMock = Mockito.mock(IZosmfResponse.class);
+            Mockito.when(responseMock.getStatusCode()).thenReturn(statusCode);
+            return responseMock;
+        }).when(zosmfMock).sendRequest(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testRequestGoesToServerWithFewestOutstandingRequests() throws Exception {
+        Mockito.when(zosmf1.getOutstandingRequests()).thenReturn(2);
+        Mockito.when(zosmf2.getOutstandingRequests()).thenReturn(1);
+
+        for (int i = 0; i < 2; i++) {
+            processor.sendRequest(ZosmfRequestType.GET, REQUEST_PATH, null, null, null, true);
+        }
+
+        Assert.assertEquals("sendRequest() should use the least busy server", Arrays.asList(zosmf2, zosmf2), serversUsed);
+    }
+
+    @Test
+    public void testServersWithEqualLoadTakeTurns() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            processor.sendRequest(ZosmfRequestType.GET, REQUEST_PATH, null, null, null, true);
+        }
+
+        Assert.assertEquals("sendRequest() should spread requests over the servers", Arrays.asList(zosmf1, zosmf2, zosmf1, zosmf2), serversUsed);
+    }
+
+    @Test
+    public void testFailedRequestIsRetriedOnAnotherServer() throws Exception {
+        mockResponse(zosmf1, HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+        IZosmfResponse response = processor.sendRequest(ZosmfRequestType.GET, REQUEST_PATH, null, null, null, true);
+
+        Assert.assertEquals("sendRequest() should return the expected value", HttpStatus.SC_OK, response.getStatusCode());
+        Assert.assertEquals("sendRequest() should retry on the other server", Arrays.asList(zosmf1, zosmf2), serversUsed);
+    }
+
+    @Test
+    public void testServerWithOpenCircuitBreakerIsNotUsed() throws Exception {
+        for (int i = 0; i < ZosmfCircuitBreaker.FAILURE_THRESHOLD; i++) {
+            zosmf1.getCircuitBreaker().recordFailure();
+        }
+        Mockito.when(zosmf2.getOutstandingRequests()).thenReturn(3);
+
+        for (int i = 0; i < 2; i++) {
+            processor.sendRequest(ZosmfRequestType.GET, REQUEST_PATH, null, null, null, true);
+        }
+
+        Assert.assertEquals("sendRequest() should not use the failing server", Arrays.asList(zosmf2, zosmf2), serversUsed);
+    }
+
+    @Test
+    public void testOutcomeIsRecordedWhenTheRequestThrows() throws Exception {
+        Map<String, IZosmf> servers = new LinkedHashMap<>();
+        servers.put("SERVER1", zosmf1);
+        processor = new ZosmfRestApiProcessor(servers);
+        Mockito.doThrow(new IllegalStateException("unexpected")).when(zosmf1).sendRequest(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+
+        for (int i = 0; i < ZosmfCircuitBreaker.FAILURE_THRESHOLD; i++) {
+            Assert.assertThrows("the unexpected exception should be thrown", IllegalStateException.class, ()->{
+                processor.sendRequest(ZosmfRequestType.GET, REQUEST_PATH, null, null, null, true);
+            });
+        }
+
+        Assert.assertTrue("each failed request should be recorded against the server", zosmf1.getCircuitBreaker().isOpen());
+    }
+
+    @Test
+    public void testRejectedStreamedResponseIsClosed() throws Exception {
+        ZosmfResponseImpl rejectedResponseMock = Mockito.mock(ZosmfResponseImpl.class);
+        Mockito.when(rejectedResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_NOT_FOUND);
+        Mockito.doReturn(rejectedResponseMock).when(zosmf1).sendRequest(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+
+        processor.sendRequest(ZosmfRequestType.GET, REQUEST_PATH, null, null, null, false);
+
+        Mockito.verify(rejectedResponseMock).close();
+    }
+
+    @Test
+    public void testHeadersAreSentWithTheRequest() throws Exception {
+        HashMap<String, String> headers = new HashMap<>();
+        headers.put("key", "value");
+
+        processor.sendRequest(ZosmfRequestType.GET, REQUEST_PATH, headers, null, null, true);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(zosmf1).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.eq(REQUEST_PATH), captor.capture(), Mockito.any(), Mockito.eq(true));
+        Assert.assertEquals("sendRequest() should send the supplied header", "value", captor.getValue().get("key"));
+        Assert.assertEquals("sendRequest() should send the CSRF header", "", captor.getValue().get(IZosmf.ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString()));
+        Mockito.verify(zosmf1, Mockito.never()).setHeader(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    public void testInvalidRequestTypeIsNotSent() throws Exception {
+        ZosmfException expectedException = Assert.assertThrows("expected exception should be thrown", ZosmfException.class, ()->{
+            processor.sendRequest(ZosmfRequestType.PUT, REQUEST_PATH, null, null, null, true);
+        });
+
+        Assert.assertEquals("exception should contain expected message", "Invalid request type", expectedException.getMessage());
+        Assert.assertTrue("sendRequest() should not use any server", serversUsed.isEmpty());
+    }
 }
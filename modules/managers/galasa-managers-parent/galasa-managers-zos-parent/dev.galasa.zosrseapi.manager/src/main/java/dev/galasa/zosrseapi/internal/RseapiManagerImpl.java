@@ -175,6 +175,10 @@ public class RseapiManagerImpl extends AbstractManager implements IRseapiManager
     }
 
     public Map<String, IRseapi> getRseapis(@NotNull IZosImage zosImage) throws RseapiManagerException {
+        return getRseapis(zosImage, true);
+    }
+
+    protected Map<String, IRseapi> getRseapis(IZosImage zosImage, boolean shared) throws RseapiManagerException {
         HashMap<String, IRseapi> possibleRseapis = new HashMap<>();
 
         try {
@@ -190,6 +194,10 @@ public class RseapiManagerImpl extends AbstractManager implements IRseapiManager
 
 
             for (String serverId : possibleServers) {
+                if (!shared) {
+                    possibleRseapis.put(serverId, new RseapiImpl(this, serverId));
+                    continue;
+                }
             	IRseapi actualRseapi = this.rseapis.get(serverId);
 
                 if (actualRseapi == null) {
@@ -207,8 +215,17 @@ public class RseapiManagerImpl extends AbstractManager implements IRseapiManager
 
     @Override
     public IRseapiRestApiProcessor newRseapiRestApiProcessor(IZosImage image, boolean restrictToImage) throws RseapiManagerException {
+        return newRseapiRestApiProcessor(image, restrictToImage, true);
+    }
+
+    @Override
+    public IRseapiRestApiProcessor newUnsharedRseapiRestApiProcessor(IZosImage image, boolean restrictToImage) throws RseapiManagerException {
+        return newRseapiRestApiProcessor(image, restrictToImage, false);
+    }
+
+    protected IRseapiRestApiProcessor newRseapiRestApiProcessor(IZosImage image, boolean restrictToImage, boolean shared) throws RseapiManagerException {
     	if (restrictToImage) {
-            Map<String, IRseapi> rseapiMap = getRseapis(image);
+            Map<String, IRseapi> rseapiMap = getRseapis(image, shared);
             for(IRseapi rseapi : rseapiMap.values()) {
                 if (rseapi.getImage().getImageID().equals(image.getImageID())) {
                     return new RseapiRestApiProcessor(rseapiMap);
@@ -216,6 +233,6 @@ public class RseapiManagerImpl extends AbstractManager implements IRseapiManager
             }
             throw new RseapiManagerException("No RSE API server configured on " + image.getImageID());
         }
-        return new RseapiRestApiProcessor(getRseapis(image));
+        return new RseapiRestApiProcessor(getRseapis(image, shared));
     }
 }
@@ -45,4 +45,14 @@ public interface IRseapiManagerSpi extends IRseapiManager {
      * @throws RseapiManagerException
      */
     public IRseapiRestApiProcessor newRseapiRestApiProcessor(IZosImage image, boolean restrictToImage) throws RseapiManagerException;
+
+    /**
+     * Returns a {@link IRseapiRestApiProcessor} for a single image with its own connections to the
+     * RSE API servers, so that it can be used on a different thread to the other processors
+     * @param image
+     * @param restrictToImage
+     * @return {@link IRseapiRestApiProcessor}
+     * @throws RseapiManagerException
+     */
+    public IRseapiRestApiProcessor newUnsharedRseapiRestApiProcessor(IZosImage image, boolean restrictToImage) throws RseapiManagerException;
 }